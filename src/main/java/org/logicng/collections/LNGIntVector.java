@@ -29,6 +29,7 @@
 package org.logicng.collections;
 
 import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
 
 /**
  * A simple vector for integer elements implementation (inspired by MiniSat and CleaneLing).
@@ -36,7 +37,7 @@ import java.util.Arrays;
  * In theory one could use the {@link LNGVector} also for integers.  But Java's auto-boxing comes with such a large
  * performance penalty that for the mission critical data structures of the SAT solvers we use this specialized
  * implementation.
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public final class LNGIntVector {
@@ -207,6 +208,72 @@ public final class LNGIntVector {
     Arrays.sort(this.elements, 0, this.size);
   }
 
+  /**
+   * Sorts this vector with a given comparator.  The comparator returns a negative number if its first argument has to
+   * be sorted before its second argument.
+   * @param comparator the comparator
+   */
+  public void manualSort(final IntBinaryOperator comparator) {
+    this.sort(0, this.size, comparator);
+  }
+
+  /**
+   * Selection sort implementation for a range of this vector.
+   * @param start the start index for sorting
+   * @param end   the end index for sorting
+   * @param lt    the comparator for elements of the vector
+   */
+  private void selectionSort(int start, int end, final IntBinaryOperator lt) {
+    int i;
+    int j;
+    int bestI;
+    int tmp;
+    for (i = start; i < end; i++) {
+      bestI = i;
+      for (j = i + 1; j < end; j++) {
+        if (lt.applyAsInt(this.elements[j], this.elements[bestI]) < 0)
+          bestI = j;
+      }
+      tmp = this.elements[i];
+      this.elements[i] = this.elements[bestI];
+      this.elements[bestI] = tmp;
+    }
+  }
+
+  /**
+   * Quick sort implementation for a range of this vector.
+   * @param start the start index for sorting
+   * @param end   the end index for sorting
+   * @param lt    the comparator for elements of the vector
+   */
+  private void sort(int start, int end, final IntBinaryOperator lt) {
+    if (start == end)
+      return;
+    if ((end - start) <= 15)
+      this.selectionSort(start, end, lt);
+    else {
+      final int pivot = this.elements[start + ((end - start) / 2)];
+      int tmp;
+      int i = start - 1;
+      int j = end;
+      while (true) {
+        do
+          i++;
+        while (lt.applyAsInt(this.elements[i], pivot) < 0);
+        do
+          j--;
+        while (lt.applyAsInt(pivot, this.elements[j]) < 0);
+        if (i >= j)
+          break;
+        tmp = this.elements[i];
+        this.elements[i] = this.elements[j];
+        this.elements[j] = tmp;
+      }
+      this.sort(start, i, lt);
+      this.sort(i, end, lt);
+    }
+  }
+
   /**
    * Sorts this vector in reverse order.
    */
@@ -30,7 +30,7 @@ package org.logicng.configurations;
 
 /**
  * The different types of configurations in LogicNG.
- * @version 1.1
+ * @version 1.2
  * @since 1.1
  */
 public enum ConfigurationType {
@@ -42,5 +42,6 @@ public enum ConfigurationType {
   MUS,
   CC_ENCODER,
   PB_ENCODER,
-  BDD
+  BDD,
+  FORMULA_FACTORY
 }
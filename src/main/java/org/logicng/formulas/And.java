@@ -31,6 +31,7 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 
@@ -56,7 +57,7 @@ public final class And extends NAryOperator {
    * @param f        the factory which created this instance
    * @param isCNF    is {@code true} if the formula is in CNF, {@code false} otherwise
    */
-  And(final LinkedHashSet<? extends Formula> operands, final FormulaFactory f, boolean isCNF) {
+  And(final Collection<? extends Formula> operands, final FormulaFactory f, boolean isCNF) {
     super(FType.AND, operands, f);
     if (isCNF) {
       this.setPredicateCacheEntry(IS_CNF, true);
@@ -0,0 +1,430 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * A bit-parallel evaluator for a formula.
+ * <p>
+ * The formula is compiled once into a flat instruction array in which each node of the formula DAG occupies one
+ * register.  An evaluation then processes 64 assignments at once: the value of a variable in a batch is given as a
+ * {@code long} mask whose bit {@code i} is set iff the variable is true in the {@code i}-th assignment, and the
+ * result is a mask of the same form.  Like in {@link Formula#evaluate(Assignment)} variables which are not assigned
+ * are considered false.
+ * <p>
+ * Large numbers of batches are evaluated in parallel.  An evaluator is immutable and can be shared between threads.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BatchEvaluator {
+
+  /**
+   * The number of assignments in one batch.
+   */
+  public static final int BATCH_SIZE = 64;
+
+  private static final int PARALLEL_THRESHOLD = 64;
+
+  private static final int OP_FALSE = 0;
+  private static final int OP_TRUE = 1;
+  private static final int OP_POS = 2;
+  private static final int OP_NEG = 3;
+  private static final int OP_NOT = 4;
+  private static final int OP_IMPL = 5;
+  private static final int OP_EQUIV = 6;
+  private static final int OP_AND = 7;
+  private static final int OP_OR = 8;
+  private static final int OP_PBC = 9;
+
+  private final Formula formula;
+  private final List<Variable> variables;
+  private final Map<Variable, Integer> variableIndices;
+  private final int[] code;
+  private final int numRegisters;
+  private final int frameSize;
+  private final CompiledPBC[] pbcs;
+
+  /**
+   * Constructs a new evaluator for a given formula.
+   * @param formula the formula
+   */
+  public BatchEvaluator(final Formula formula) {
+    this.formula = formula;
+    this.variables = Collections.unmodifiableList(new ArrayList<>(formula.variables()));
+    this.variableIndices = new HashMap<>();
+    for (int i = 0; i < this.variables.size(); i++)
+      this.variableIndices.put(this.variables.get(i), i);
+    final LNGIntVector instructions = new LNGIntVector();
+    final List<PBConstraint> constraints = new ArrayList<>();
+    this.numRegisters = this.compile(instructions, constraints);
+    this.code = instructions.toArray();
+    this.pbcs = new CompiledPBC[constraints.size()];
+    int maxWidth = 0;
+    for (int i = 0; i < this.pbcs.length; i++) {
+      this.pbcs[i] = new CompiledPBC(constraints.get(i), this.variableIndices);
+      maxWidth = Math.max(maxWidth, this.pbcs[i].width);
+    }
+    this.frameSize = this.numRegisters + maxWidth;
+  }
+
+  /**
+   * Returns the formula of this evaluator.
+   * @return the formula of this evaluator
+   */
+  public Formula formula() {
+    return this.formula;
+  }
+
+  /**
+   * Returns the variables of the formula.  The position of a variable in this list is its index in the masks passed
+   * to {@link #evaluate(long[])}.
+   * @return the variables of the formula
+   */
+  public List<Variable> variables() {
+    return this.variables;
+  }
+
+  /**
+   * Evaluates a batch of up to 64 assignments.
+   * @param masks the assignment masks, one for each variable in the order of {@link #variables()}
+   * @return the result mask: bit {@code i} is set iff the formula is true under the {@code i}-th assignment
+   * @throws IllegalArgumentException if the number of masks does not match the number of variables
+   */
+  public long evaluate(final long[] masks) {
+    if (masks.length != this.variables.size())
+      throw new IllegalArgumentException(String.format("Expected %d variable masks but got %d", this.variables.size(), masks.length));
+    return this.run(masks, new long[this.frameSize]);
+  }
+
+  /**
+   * Evaluates many batches of assignments.  For a large number of batches the evaluation runs in parallel.
+   * @param batches the batches, each one holding one mask for each variable in the order of {@link #variables()}
+   * @return the result masks, one for each batch
+   * @throws IllegalArgumentException if the number of masks of a batch does not match the number of variables
+   */
+  public long[] evaluate(final long[][] batches) {
+    for (final long[] masks : batches)
+      if (masks.length != this.variables.size())
+        throw new IllegalArgumentException(String.format("Expected %d variable masks but got %d", this.variables.size(), masks.length));
+    final long[] results = new long[batches.length];
+    if (batches.length < PARALLEL_THRESHOLD) {
+      final long[] registers = new long[this.frameSize];
+      for (int i = 0; i < batches.length; i++)
+        results[i] = this.run(batches[i], registers);
+    } else
+      IntStream.range(0, batches.length).parallel().forEach(i -> results[i] = this.run(batches[i], new long[this.frameSize]));
+    return results;
+  }
+
+  /**
+   * Evaluates a list of assignments.  The assignments are packed into batches of 64 assignments, for a large number of
+   * assignments the batches are evaluated in parallel.
+   * @param assignments the assignments
+   * @return the result masks: bit {@code i % 64} of mask {@code i / 64} is set iff the formula is true under the
+   * {@code i}-th assignment; the bits of the last mask beyond the number of assignments are always unset
+   */
+  public long[] evaluate(final List<Assignment> assignments) {
+    final long[] results = this.evaluate(this.pack(assignments));
+    final int rest = assignments.size() % BATCH_SIZE;
+    if (rest != 0)
+      results[results.length - 1] &= (1L << rest) - 1;
+    return results;
+  }
+
+  /**
+   * Packs a list of assignments into batches of variable masks.  If the number of assignments is not a multiple of 64,
+   * the bits of the last batch beyond the number of assignments are unset, i.e. they represent assignments in which all
+   * variables are false.  The results of {@link #evaluate(long[][])} for these bits are meaningless.
+   * @param assignments the assignments
+   * @return the batches, one for every 64 assignments
+   */
+  public long[][] pack(final List<Assignment> assignments) {
+    final long[][] batches = new long[(assignments.size() + BATCH_SIZE - 1) / BATCH_SIZE][this.variables.size()];
+    for (int i = 0; i < assignments.size(); i++) {
+      final long[] masks = batches[i / BATCH_SIZE];
+      final long bit = 1L << (i % BATCH_SIZE);
+      for (final Variable var : assignments.get(i).positiveLiterals()) {
+        final Integer index = this.variableIndices.get(var);
+        if (index != null)
+          masks[index] |= bit;
+      }
+    }
+    return batches;
+  }
+
+  /**
+   * Executes the instructions on a batch.
+   * @param masks     the variable masks
+   * @param registers the registers
+   * @return the result mask
+   */
+  private long run(final long[] masks, final long[] registers) {
+    int reg = 0;
+    int pc = 0;
+    while (pc < this.code.length) {
+      final int op = this.code[pc++];
+      final long value;
+      switch (op) {
+        case OP_FALSE:
+          value = 0L;
+          break;
+        case OP_TRUE:
+          value = -1L;
+          break;
+        case OP_POS:
+          value = masks[this.code[pc++]];
+          break;
+        case OP_NEG:
+          value = ~masks[this.code[pc++]];
+          break;
+        case OP_NOT:
+          value = ~registers[this.code[pc++]];
+          break;
+        case OP_IMPL:
+          value = ~registers[this.code[pc]] | registers[this.code[pc + 1]];
+          pc += 2;
+          break;
+        case OP_EQUIV:
+          value = ~(registers[this.code[pc]] ^ registers[this.code[pc + 1]]);
+          pc += 2;
+          break;
+        case OP_AND: {
+          final int n = this.code[pc++];
+          long acc = -1L;
+          for (int i = 0; i < n; i++)
+            acc &= registers[this.code[pc++]];
+          value = acc;
+          break;
+        }
+        case OP_OR: {
+          final int n = this.code[pc++];
+          long acc = 0L;
+          for (int i = 0; i < n; i++)
+            acc |= registers[this.code[pc++]];
+          value = acc;
+          break;
+        }
+        case OP_PBC:
+          value = evaluatePBC(this.pbcs[this.code[pc++]], masks, registers, this.numRegisters);
+          break;
+        default:
+          throw new IllegalStateException("Unknown instruction: " + op);
+      }
+      registers[reg++] = value;
+    }
+    return registers[reg - 1];
+  }
+
+  /**
+   * Evaluates a pseudo-Boolean constraint on a batch.  The left-hand sides of all 64 assignments are summed up at once
+   * in a bit-sliced accumulator: bit {@code j} of slice {@code k} is bit {@code k} of the sum of the {@code j}-th
+   * assignment.  Each weighted literal is added with a ripple-carry adder for each set bit of its weight, and the sums
+   * are finally compared with the right-hand side slice by slice.
+   * @param pbc     the compiled constraint
+   * @param masks   the variable masks
+   * @param scratch the array holding the accumulator
+   * @param offset  the index of the accumulator in the scratch array
+   * @return the result mask
+   */
+  private static long evaluatePBC(final CompiledPBC pbc, final long[] masks, final long[] scratch, final int offset) {
+    final int end = offset + pbc.width;
+    for (int k = offset; k < end; k++)
+      scratch[k] = 0L;
+    for (int i = 0; i < pbc.vars.length; i++) {
+      final long mask = pbc.phases[i] ? masks[pbc.vars[i]] : ~masks[pbc.vars[i]];
+      for (long weight = pbc.weights[i]; weight != 0; weight &= weight - 1) {
+        long carry = mask;
+        for (int k = offset + Long.numberOfTrailingZeros(weight); carry != 0; k++) {
+          final long next = scratch[k] & carry;
+          scratch[k] ^= carry;
+          carry = next;
+        }
+      }
+    }
+    long less;
+    long equal;
+    if (pbc.rhs < 0) {
+      less = 0L;
+      equal = 0L;
+    } else if (pbc.width < 63 && pbc.rhs >>> pbc.width != 0) {
+      less = -1L;
+      equal = 0L;
+    } else {
+      less = 0L;
+      equal = -1L;
+      for (int k = pbc.width - 1; k >= 0; k--) {
+        if ((pbc.rhs >>> k & 1L) != 0) {
+          less |= equal & ~scratch[offset + k];
+          equal &= scratch[offset + k];
+        } else
+          equal &= ~scratch[offset + k];
+      }
+    }
+    switch (pbc.comparator) {
+      case EQ:
+        return equal;
+      case LE:
+        return less | equal;
+      case LT:
+        return less;
+      case GE:
+        return ~less;
+      case GT:
+        return ~(less | equal);
+      default:
+        throw new IllegalStateException("Unknown pseudo-Boolean comparator: " + pbc.comparator);
+    }
+  }
+
+  /**
+   * Compiles the formula into a sequence of instructions in post order.  Each instruction writes one register, the
+   * register of the formula itself is the last one.
+   * @param instructions the vector for the instructions
+   * @param constraints  the list for the pseudo-Boolean constraints
+   * @return the number of registers
+   */
+  private int compile(final LNGIntVector instructions, final List<PBConstraint> constraints) {
+    final Map<Formula, Integer> registers = new IdentityHashMap<>();
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(this.formula);
+    while (!stack.isEmpty()) {
+      final Formula current = stack.peek();
+      if (registers.containsKey(current)) {
+        stack.pop();
+        continue;
+      }
+      boolean ready = true;
+      if (current.type() != FType.PBC)
+        for (final Formula op : current)
+          if (!registers.containsKey(op)) {
+            stack.push(op);
+            ready = false;
+          }
+      if (!ready)
+        continue;
+      stack.pop();
+      switch (current.type()) {
+        case FALSE:
+          instructions.push(OP_FALSE);
+          break;
+        case TRUE:
+          instructions.push(OP_TRUE);
+          break;
+        case LITERAL:
+          final Literal lit = (Literal) current;
+          instructions.push(lit.phase() ? OP_POS : OP_NEG);
+          instructions.push(this.variableIndices.get(lit.variable()));
+          break;
+        case NOT:
+          instructions.push(OP_NOT);
+          instructions.push(registers.get(((Not) current).operand()));
+          break;
+        case IMPL:
+        case EQUIV:
+          final BinaryOperator binary = (BinaryOperator) current;
+          instructions.push(current.type() == FType.IMPL ? OP_IMPL : OP_EQUIV);
+          instructions.push(registers.get(binary.left()));
+          instructions.push(registers.get(binary.right()));
+          break;
+        case AND:
+        case OR:
+          instructions.push(current.type() == FType.AND ? OP_AND : OP_OR);
+          instructions.push(current.numberOfOperands());
+          for (final Formula op : current)
+            instructions.push(registers.get(op));
+          break;
+        case PBC:
+          instructions.push(OP_PBC);
+          instructions.push(constraints.size());
+          constraints.add((PBConstraint) current);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown formula type: " + current.type());
+      }
+      registers.put(current, registers.size());
+    }
+    return registers.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BatchEvaluator{formula=%s, variables=%d, instructions=%d}", this.formula, this.variables.size(), this.code.length);
+  }
+
+  /**
+   * A pseudo-Boolean constraint prepared for the bit-sliced evaluation.  Negative coefficients are eliminated by
+   * negating their literals, i.e. {@code c * l} is replaced by {@code -c * ~l + c}, such that all weights are
+   * non-negative and the sum of the weights bounds the left-hand side.
+   */
+  private static final class CompiledPBC {
+    private final int[] vars;
+    private final boolean[] phases;
+    private final long[] weights;
+    private final long rhs;
+    private final CType comparator;
+    private final int width;
+
+    /**
+     * Constructs a new compiled constraint.
+     * @param pbc             the constraint
+     * @param variableIndices the indices of the variables
+     */
+    private CompiledPBC(final PBConstraint pbc, final Map<Variable, Integer> variableIndices) {
+      final Literal[] lits = pbc.operands();
+      final int[] coeffs = pbc.coefficients();
+      this.vars = new int[lits.length];
+      this.phases = new boolean[lits.length];
+      this.weights = new long[lits.length];
+      long rhs = pbc.rhs();
+      long sum = 0;
+      for (int i = 0; i < lits.length; i++) {
+        this.vars[i] = variableIndices.get(lits[i].variable());
+        this.phases[i] = lits[i].phase() == coeffs[i] >= 0;
+        this.weights[i] = Math.abs((long) coeffs[i]);
+        if (coeffs[i] < 0)
+          rhs -= coeffs[i];
+        sum += this.weights[i];
+      }
+      this.rhs = rhs;
+      this.comparator = pbc.comparator();
+      this.width = 64 - Long.numberOfLeadingZeros(sum);
+    }
+  }
+}
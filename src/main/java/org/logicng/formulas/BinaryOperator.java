@@ -32,12 +32,10 @@ import org.logicng.datastructures.Substitution;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Super class for Boolean binary operators.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public abstract class BinaryOperator extends Formula {
@@ -95,27 +93,8 @@ public abstract class BinaryOperator extends Formula {
   }
 
   @Override
-  public SortedSet<Variable> variables() {
-    if (this.variables == null) {
-      final SortedSet<Variable> set = new TreeSet<>();
-      set.addAll(this.left.variables());
-      set.addAll(this.right.variables());
-      this.variables = set;
-    }
-    return this.variables;
-  }
-
-  @Override
-  public SortedSet<Literal> literals() {
-    final SortedSet<Literal> set = new TreeSet<>();
-    set.addAll(this.left.literals());
-    set.addAll(this.right.literals());
-    return set;
-  }
-
-  @Override
-  public boolean containsVariable(final Variable variable) {
-    return this.left.containsVariable(variable) || this.right.containsVariable(variable);
+  protected Literal[] computeLiteralArray() {
+    return LiteralArrays.merge(this.left.literalArray(), this.right.literalArray());
   }
 
   @Override
@@ -125,7 +104,7 @@ public abstract class BinaryOperator extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    return f.binaryOperator(type, this.left.substitute(substitution), this.right.substitute(substitution));
+    return DAGTraversal.substitute(this, substitution);
   }
 
   @Override
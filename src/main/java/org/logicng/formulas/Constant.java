@@ -38,7 +38,7 @@ import java.util.TreeSet;
 
 /**
  * Super class for Boolean constants.
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public abstract class Constant extends Formula {
@@ -102,6 +102,16 @@ public abstract class Constant extends Formula {
     return EMPTY_LITERAL_SET;
   }
 
+  @Override
+  public Variable[] variableArray() {
+    return LiteralArrays.EMPTY_VARIABLES;
+  }
+
+  @Override
+  public Literal[] literalArray() {
+    return LiteralArrays.EMPTY_LITERALS;
+  }
+
   @Override
   public boolean containsVariable(final Variable variable) {
     return false;
@@ -0,0 +1,307 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
+
+/**
+ * Iterative traversals of formula DAGs for restrictions, substitutions and the negation normal form.
+ * <p>
+ * Each traversal uses an explicit stack instead of recursion, so deep formulas cannot overflow the call stack, and a
+ * per-invocation memo table, so each shared sub-formula is processed only once.  The memo tables compare formulas by
+ * identity, which is sufficient since a formula factory creates each formula exactly once.
+ * @version 1.2
+ * @since 1.2
+ */
+final class DAGTraversal {
+
+  /**
+   * Private constructor.
+   */
+  private DAGTraversal() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Restricts a formula with a given assignment.
+   * @param formula    the formula
+   * @param assignment the assignment
+   * @return the restricted formula
+   */
+  static Formula restrict(final Formula formula, final Assignment assignment) {
+    return restrict(Collections.singletonList(formula), assignment).get(0);
+  }
+
+  /**
+   * Restricts a collection of formulas with a given assignment.  Sub-formulas shared between the formulas are
+   * restricted only once.
+   * @param formulas   the formulas
+   * @param assignment the assignment
+   * @return the restricted formulas in the order of the given formulas
+   */
+  static List<Formula> restrict(final Collection<? extends Formula> formulas, final Assignment assignment) {
+    return rebuild(formulas, leaf -> leaf.restrict(assignment));
+  }
+
+  /**
+   * Performs a substitution on a formula.
+   * @param formula      the formula
+   * @param substitution the substitution
+   * @return the substituted formula
+   */
+  static Formula substitute(final Formula formula, final Substitution substitution) {
+    return rebuild(Collections.singletonList(formula), leaf -> leaf.substitute(substitution)).get(0);
+  }
+
+  /**
+   * Computes the negation normal form of a formula.  The results for the positive sub-formulas are stored in their
+   * transformation caches, already cached results are reused.
+   * @param formula the formula
+   * @return the negation normal form
+   */
+  static Formula nnf(final Formula formula) {
+    final Map<Formula, Formula> positive = new IdentityHashMap<>();
+    final Map<Formula, Formula> negative = new IdentityHashMap<>();
+    final Deque<NNFTask> stack = new ArrayDeque<>();
+    stack.push(new NNFTask(formula, true));
+    while (!stack.isEmpty()) {
+      final NNFTask task = stack.peek();
+      final Map<Formula, Formula> results = task.phase ? positive : negative;
+      if (results.containsKey(task.formula)) {
+        stack.pop();
+        continue;
+      }
+      final Formula cached = task.phase ? task.formula.transformationCacheEntry(NNF) : null;
+      if (cached != null) {
+        stack.pop();
+        results.put(task.formula, cached);
+        continue;
+      }
+      final int size = stack.size();
+      final Formula nnf = nnfStep(task.formula, task.phase, positive, negative, stack);
+      if (stack.size() == size) {
+        stack.pop();
+        results.put(task.formula, nnf);
+        if (task.phase && isOperator(task.formula))
+          task.formula.setTransformationCacheEntry(NNF, nnf);
+      }
+    }
+    return positive.get(formula);
+  }
+
+  /**
+   * Rebuilds the operators of the given formulas bottom-up after applying a transformation to their atomic
+   * sub-formulas.
+   * @param formulas the formulas
+   * @param leafOp   the transformation for constants, literals and pseudo-Boolean constraints
+   * @return the rebuilt formulas in the order of the given formulas
+   */
+  private static List<Formula> rebuild(final Collection<? extends Formula> formulas, final Function<Formula, Formula> leafOp) {
+    final Map<Formula, Formula> results = new IdentityHashMap<>();
+    final Deque<Formula> stack = new ArrayDeque<>();
+    final List<Formula> rebuilt = new ArrayList<>(formulas.size());
+    for (final Formula formula : formulas) {
+      stack.push(formula);
+      while (!stack.isEmpty()) {
+        final Formula current = stack.peek();
+        if (results.containsKey(current)) {
+          stack.pop();
+          continue;
+        }
+        if (!isOperator(current)) {
+          stack.pop();
+          results.put(current, leafOp.apply(current));
+          continue;
+        }
+        boolean ready = true;
+        for (final Formula op : current)
+          if (!results.containsKey(op)) {
+            stack.push(op);
+            ready = false;
+          }
+        if (ready) {
+          stack.pop();
+          results.put(current, combine(current, results));
+        }
+      }
+      rebuilt.add(results.get(formula));
+    }
+    return rebuilt;
+  }
+
+  /**
+   * Rebuilds an operator from the already computed results of its operands.
+   * @param operator the operator
+   * @param results  the results of the operands
+   * @return the rebuilt operator
+   */
+  private static Formula combine(final Formula operator, final Map<Formula, Formula> results) {
+    final FormulaFactory f = operator.factory();
+    switch (operator.type()) {
+      case NOT:
+        return f.not(results.get(((Not) operator).operand()));
+      case IMPL:
+      case EQUIV:
+        final BinaryOperator binary = (BinaryOperator) operator;
+        return f.binaryOperator(operator.type(), results.get(binary.left()), results.get(binary.right()));
+      case AND:
+      case OR:
+        final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
+        for (final Formula op : operator)
+          nops.add(results.get(op));
+        return f.naryOperator(operator.type(), nops);
+      default:
+        throw new IllegalArgumentException("Not an operator: " + operator.type());
+    }
+  }
+
+  /**
+   * Computes the negation normal form of a formula or its negation if the results for all required sub-formulas are
+   * known.  Otherwise the missing sub-formulas are pushed on the stack and {@code null} is returned.
+   * @param formula  the formula
+   * @param phase    {@code true} for the formula itself, {@code false} for its negation
+   * @param positive the known results for positive sub-formulas
+   * @param negative the known results for negated sub-formulas
+   * @param stack    the stack of open tasks
+   * @return the negation normal form or {@code null} if sub-formulas are missing
+   */
+  private static Formula nnfStep(final Formula formula, final boolean phase, final Map<Formula, Formula> positive,
+                                 final Map<Formula, Formula> negative, final Deque<NNFTask> stack) {
+    final FormulaFactory f = formula.factory();
+    switch (formula.type()) {
+      case TRUE:
+      case FALSE:
+      case LITERAL:
+        return phase ? formula : formula.negate();
+      case PBC:
+        return phase ? formula.nnf() : formula.negate().nnf();
+      case NOT:
+        return require(((Not) formula).operand(), !phase, positive, negative, stack);
+      case AND:
+      case OR:
+        final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
+        boolean complete = true;
+        for (final Formula op : formula) {
+          final Formula nnf = require(op, phase, positive, negative, stack);
+          complete &= nnf != null;
+          nops.add(nnf);
+        }
+        if (!complete)
+          return null;
+        final FType dual = formula.type() == FType.AND ? FType.OR : FType.AND;
+        return f.naryOperator(phase ? formula.type() : dual, nops);
+      case IMPL:
+        final Implication impl = (Implication) formula;
+        if (!phase)
+          return require(f.and(impl.left(), impl.right().negate()), true, positive, negative, stack);
+        final Formula negLeft = require(impl.left(), false, positive, negative, stack);
+        final Formula posRight = require(impl.right(), true, positive, negative, stack);
+        return negLeft == null || posRight == null ? null : f.or(negLeft, posRight);
+      case EQUIV:
+        final Equivalence equiv = (Equivalence) formula;
+        final Formula posL = require(equiv.left(), true, positive, negative, stack);
+        final Formula posR = require(equiv.right(), true, positive, negative, stack);
+        final Formula negL = require(equiv.left(), false, positive, negative, stack);
+        final Formula negR = require(equiv.right(), false, positive, negative, stack);
+        if (posL == null || posR == null || negL == null || negR == null)
+          return null;
+        return phase ? f.or(f.and(posL, posR), f.and(negL, negR)) : f.and(f.or(negL, negR), f.or(posL, posR));
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Returns the known negation normal form of a formula or its negation.  If it is not known yet, a new task is pushed
+   * on the stack and {@code null} is returned.
+   * @param formula  the formula
+   * @param phase    {@code true} for the formula itself, {@code false} for its negation
+   * @param positive the known results for positive sub-formulas
+   * @param negative the known results for negated sub-formulas
+   * @param stack    the stack of open tasks
+   * @return the negation normal form or {@code null}
+   */
+  private static Formula require(final Formula formula, final boolean phase, final Map<Formula, Formula> positive,
+                                 final Map<Formula, Formula> negative, final Deque<NNFTask> stack) {
+    final Formula result = (phase ? positive : negative).get(formula);
+    if (result == null)
+      stack.push(new NNFTask(formula, phase));
+    return result;
+  }
+
+  /**
+   * Returns {@code true} if a given formula is a Boolean operator, {@code false} for constants, literals and
+   * pseudo-Boolean constraints.
+   * @param formula the formula
+   * @return {@code true} if the formula is a Boolean operator
+   */
+  private static boolean isOperator(final Formula formula) {
+    switch (formula.type()) {
+      case NOT:
+      case IMPL:
+      case EQUIV:
+      case AND:
+      case OR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * A task of the negation normal form traversal: a formula and the phase in which it occurs.
+   */
+  private static final class NNFTask {
+    private final Formula formula;
+    private final boolean phase;
+
+    /**
+     * Constructs a new task.
+     * @param formula the formula
+     * @param phase   {@code true} for the formula itself, {@code false} for its negation
+     */
+    private NNFTask(final Formula formula, final boolean phase) {
+      this.formula = formula;
+      this.phase = phase;
+    }
+  }
+}
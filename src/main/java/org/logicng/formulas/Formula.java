@@ -33,23 +33,31 @@ import org.logicng.datastructures.Substitution;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.CacheEntry;
 
-import java.util.SortedMap;
+import java.util.Arrays;
 import java.util.SortedSet;
-import java.util.TreeMap;
 
 /**
  * Super class for formulas.
- * @version 1.0
+ * <p>
+ * The transformation, predicate, and function caches of a formula are allocated on their first use.  Each cache is a
+ * small array of alternating keys and values which is replaced (copy on write) when a new entry is added.  If the
+ * factory of the formula was configured with {@link FormulaFactoryConfig.Builder#sideTableCaches(boolean)}, the
+ * caches are stored in side tables of the factory instead.
+ * <p>
+ * The variables and literals of a formula are cached as arrays ordered by the indices of the variables (see
+ * {@link Literal#index()}).  Sorted sets of them are only created on request.
+ * @version 1.2
  * @since 1.0
  */
 public abstract class Formula implements Iterable<Formula> {
 
   protected final FType type;
   protected final FormulaFactory f;
-  protected final SortedMap<CacheEntry, Formula> transformationCache;
-  protected final SortedMap<CacheEntry, Tristate> predicateCache;
-  protected final SortedMap<CacheEntry, Object> functionCache;
-  protected SortedSet<Variable> variables;
+  private volatile Object[] transformationCache;
+  private volatile Object[] predicateCache;
+  private volatile Object[] functionCache;
+  private volatile Literal[] literalArray;
+  private volatile Variable[] variableArray;
   protected long numberOfAtoms;
   protected long numberOfNodes;
 
@@ -61,10 +69,6 @@ public abstract class Formula implements Iterable<Formula> {
   protected Formula(final FType type, final FormulaFactory f) {
     this.type = type;
     this.f = f;
-    this.transformationCache = new TreeMap<>();
-    this.predicateCache = new TreeMap<>();
-    this.functionCache = new TreeMap<>();
-    this.variables = null;
     this.numberOfAtoms = -1;
     this.numberOfNodes = -1;
   }
@@ -119,16 +123,71 @@ public abstract class Formula implements Iterable<Formula> {
   public abstract boolean isAtomicFormula();
 
   /**
-   * Returns all variables occurring in this formula.
+   * Returns all variables occurring in this formula.  The returned set is a new set ordered by the names of the
+   * variables.
    * @return all variables occurring in this formula
    */
-  public abstract SortedSet<Variable> variables();
+  public SortedSet<Variable> variables() {
+    return LiteralArrays.sortedSet(this.variableArray());
+  }
 
   /**
-   * Returns all literals occurring in this formula.
+   * Returns all literals occurring in this formula.  The returned set is a new set ordered by the names of the
+   * literals.
    * @return all literals occurring in this formula
    */
-  public abstract SortedSet<Literal> literals();
+  public SortedSet<Literal> literals() {
+    return LiteralArrays.sortedSet(this.literalArray());
+  }
+
+  /**
+   * Returns all variables occurring in this formula ordered by their indices.
+   * <p>
+   * The array is cached in this formula and must not be modified.
+   * @return all variables occurring in this formula
+   */
+  public Variable[] variableArray() {
+    Variable[] result = this.variableArray;
+    if (result == null) {
+      result = this.computeVariableArray();
+      this.variableArray = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns all literals occurring in this formula ordered by the indices of their variables.  A positive literal is
+   * ordered before the negative literal of the same variable.
+   * <p>
+   * The array is cached in this formula and must not be modified.
+   * @return all literals occurring in this formula
+   */
+  public Literal[] literalArray() {
+    Literal[] result = this.literalArray;
+    if (result == null) {
+      result = this.computeLiteralArray();
+      this.literalArray = result;
+    }
+    return result;
+  }
+
+  /**
+   * Computes the sorted array of the variables of this formula.  The default implementation takes the variables of
+   * the literal array.
+   * @return the variables of this formula
+   */
+  protected Variable[] computeVariableArray() {
+    return LiteralArrays.variables(this.literalArray());
+  }
+
+  /**
+   * Computes the sorted array of the literals of this formula.  The default implementation merges the literal arrays
+   * of the operands.
+   * @return the literals of this formula
+   */
+  protected Literal[] computeLiteralArray() {
+    return LiteralArrays.union(this);
+  }
 
   /**
    * Returns {@code true} if a given variable name is found in this formula, {@code false} otherwise.
@@ -144,7 +203,14 @@ public abstract class Formula implements Iterable<Formula> {
    * @param variable the variable to search for
    * @return {@code true} if a given variable is found in this formula
    */
-  public abstract boolean containsVariable(final Variable variable);
+  public boolean containsVariable(final Variable variable) {
+    if (variable.factory() == this.f)
+      return LiteralArrays.contains(this.variableArray(), variable);
+    for (final Variable var : this.variableArray())
+      if (var.name().equals(variable.name()))
+        return true;
+    return false;
+  }
 
   /**
    * Evaluates this formula with a given assignment.  A literal not covered by the assignment evaluates
@@ -279,7 +345,9 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Formula transformationCacheEntry(final CacheEntry key) {
-    return this.transformationCache.get(key);
+    if (this.hasSideTableCaches())
+      return (Formula) this.f.transformationTable().get(this, key);
+    return (Formula) lookup(this.transformationCache, key);
   }
 
   /**
@@ -288,7 +356,14 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setTransformationCacheEntry(final CacheEntry key, final Formula value) {
-    this.transformationCache.put(key, value);
+    if (this.hasSideTableCaches())
+      this.f.transformationTable().put(this, key, value);
+    else if (this.f != null && this.f.isConcurrent())
+      synchronized (this) {
+        this.transformationCache = insert(this.transformationCache, key, value);
+      }
+    else
+      this.transformationCache = insert(this.transformationCache, key, value);
   }
 
   /**
@@ -297,10 +372,12 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value (which is {@code UNDEF} if nothing is present)
    */
   public Tristate predicateCacheEntry(final CacheEntry key) {
-    final Tristate tristate = this.predicateCache.get(key);
+    final Object tristate = this.hasSideTableCaches()
+            ? this.f.predicateTable().get(this, key)
+            : lookup(this.predicateCache, key);
     if (tristate == null)
       return Tristate.UNDEF;
-    return tristate;
+    return (Tristate) tristate;
   }
 
   /**
@@ -309,7 +386,7 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, boolean value) {
-    this.predicateCache.put(key, Tristate.fromBool(value));
+    this.setPredicateCacheEntry(key, Tristate.fromBool(value));
   }
 
   /**
@@ -318,7 +395,14 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setPredicateCacheEntry(final CacheEntry key, final Tristate value) {
-    this.predicateCache.put(key, value);
+    if (this.hasSideTableCaches())
+      this.f.predicateTable().put(this, key, value);
+    else if (this.f != null && this.f.isConcurrent())
+      synchronized (this) {
+        this.predicateCache = insert(this.predicateCache, key, value);
+      }
+    else
+      this.predicateCache = insert(this.predicateCache, key, value);
   }
 
   /**
@@ -327,7 +411,9 @@ public abstract class Formula implements Iterable<Formula> {
    * @return the cache value or {@code null} if the key is not found
    */
   public Object functionCacheEntry(final CacheEntry key) {
-    return this.functionCache.get(key);
+    if (this.hasSideTableCaches())
+      return this.f.functionTable().get(this, key);
+    return lookup(this.functionCache, key);
   }
 
   /**
@@ -336,7 +422,77 @@ public abstract class Formula implements Iterable<Formula> {
    * @param value the cache value
    */
   public void setFunctionCacheEntry(final CacheEntry key, final Object value) {
-    this.functionCache.put(key, value);
+    if (this.hasSideTableCaches())
+      this.f.functionTable().put(this, key, value);
+    else if (this.f != null && this.f.isConcurrent())
+      synchronized (this) {
+        this.functionCache = insert(this.functionCache, key, value);
+      }
+    else
+      this.functionCache = insert(this.functionCache, key, value);
+  }
+
+  /**
+   * Returns {@code true} if the caches of this formula are stored in side tables of its factory.
+   * @return {@code true} if the caches of this formula are stored in side tables
+   */
+  private boolean hasSideTableCaches() {
+    return this.f != null && this.f.hasSideTableCaches();
+  }
+
+  /**
+   * Estimates the number of bytes of the cache arrays and the literal and variable arrays of this formula which are
+   * currently allocated, excluding the cached values.
+   * @return the estimated number of bytes
+   */
+  long cacheBytes() {
+    return arrayBytes(this.transformationCache) + arrayBytes(this.predicateCache) + arrayBytes(this.functionCache)
+            + arrayBytes(this.literalArray) + arrayBytes(this.variableArray);
+  }
+
+  /**
+   * Estimates the number of bytes of an array.
+   * @param array the array, may be {@code null}
+   * @return the estimated number of bytes or 0 if the array is {@code null}
+   */
+  private static long arrayBytes(final Object[] array) {
+    return array == null ? 0 : FormulaFactory.arrayBytes(array.length);
+  }
+
+  /**
+   * Returns the value for a given key in a cache array.
+   * @param cache the cache array (alternating keys and values), may be {@code null}
+   * @param key   the key
+   * @return the value or {@code null} if the key is not found
+   */
+  private static Object lookup(final Object[] cache, final CacheEntry key) {
+    if (cache != null)
+      for (int i = 0; i < cache.length; i += 2)
+        if (cache[i] == key || cache[i].equals(key))
+          return cache[i + 1];
+    return null;
+  }
+
+  /**
+   * Returns a new cache array which contains all entries of the given array and the given entry.
+   * @param cache the cache array (alternating keys and values), may be {@code null}
+   * @param key   the key
+   * @param value the value
+   * @return the new cache array
+   */
+  private static Object[] insert(final Object[] cache, final CacheEntry key, final Object value) {
+    if (cache == null)
+      return new Object[]{key, value};
+    for (int i = 0; i < cache.length; i += 2)
+      if (cache[i] == key || cache[i].equals(key)) {
+        final Object[] copy = cache.clone();
+        copy[i + 1] = value;
+        return copy;
+      }
+    final Object[] extended = Arrays.copyOf(cache, cache.length + 2);
+    extended[cache.length] = key;
+    extended[cache.length + 1] = value;
+    return extended;
   }
 
   @Override
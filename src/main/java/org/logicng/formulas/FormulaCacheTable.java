@@ -0,0 +1,103 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.formulas.cache.CacheEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A side table for one kind of formula caches (transformations, predicates, or functions).
+ * <p>
+ * If a formula factory is configured to use side tables, the formulas do not store their cached results themselves,
+ * but in one table per cache key in the factory.
+ * @version 1.2
+ * @since 1.2
+ */
+final class FormulaCacheTable {
+
+  private final boolean concurrent;
+  private final Map<CacheEntry, Map<Formula, Object>> tables;
+
+  /**
+   * Constructs a new side table.
+   * @param concurrent {@code true} if the table should be thread-safe, {@code false} otherwise
+   */
+  FormulaCacheTable(boolean concurrent) {
+    this.concurrent = concurrent;
+    this.tables = concurrent ? new ConcurrentHashMap<CacheEntry, Map<Formula, Object>>()
+                             : new HashMap<CacheEntry, Map<Formula, Object>>();
+  }
+
+  /**
+   * Returns the cached value for a given formula and key.
+   * @param formula the formula
+   * @param key     the cache key
+   * @return the cached value or {@code null} if there is none
+   */
+  Object get(final Formula formula, final CacheEntry key) {
+    final Map<Formula, Object> table = this.tables.get(key);
+    return table == null ? null : table.get(formula);
+  }
+
+  /**
+   * Stores a value for a given formula and key.  A {@code null} value removes the entry.
+   * @param formula the formula
+   * @param key     the cache key
+   * @param value   the value
+   */
+  void put(final Formula formula, final CacheEntry key, final Object value) {
+    Map<Formula, Object> table = this.tables.get(key);
+    if (table == null) {
+      if (value == null)
+        return;
+      table = this.concurrent ? new ConcurrentHashMap<Formula, Object>() : new HashMap<Formula, Object>();
+      final Map<Formula, Object> existing = this.tables.putIfAbsent(key, table);
+      if (existing != null)
+        table = existing;
+    }
+    if (value == null)
+      table.remove(formula);
+    else
+      table.put(formula, value);
+  }
+
+  /**
+   * Returns the number of cached values in this table.
+   * @return the number of cached values
+   */
+  int size() {
+    int size = 0;
+    for (final Map<Formula, Object> table : this.tables.values())
+      size += table.size();
+    return size;
+  }
+}
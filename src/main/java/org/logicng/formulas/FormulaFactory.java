@@ -30,6 +30,7 @@ package org.logicng.formulas;
 
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.datastructures.Assignment;
 import org.logicng.formulas.printer.DefaultStringRepresentation;
 import org.logicng.formulas.printer.FormulaStringRepresentation;
 import org.logicng.functions.SubNodeFunction;
@@ -39,17 +40,26 @@ import org.logicng.pseudobooleans.PBEncoder;
 import org.logicng.transformations.cnf.CNFEncoder;
 import org.logicng.util.Pair;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.logicng.formulas.FType.AND;
 import static org.logicng.formulas.FType.FALSE;
@@ -64,9 +74,16 @@ import static org.logicng.formulas.FType.TRUE;
  * New formulas can only be generated by a formula factory.  It is implemented s.t. it is guaranteed that equivalent
  * formulas (in terms of associativity and commutativity) are hold exactly once in memory.
  * <p>
- * A formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to synchronize the formula factory
- * yourself or you use a formula factory for each single thread.
- * @version 1.1
+ * By default a formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to
+ * synchronize the formula factory yourself, use a formula factory for each single thread, or construct a concurrent
+ * formula factory via {@link FormulaFactoryConfig.Builder#concurrent(boolean)}.  A concurrent formula factory still
+ * guarantees that each formula is hold exactly once in memory, even if it is constructed by many threads at the same
+ * time.
+ * <p>
+ * Usually a formula factory holds all its formulas until {@link #clear()} is called.  For long-running applications
+ * it can be configured via {@link FormulaFactoryConfig.Builder#weakUniqueTables(boolean)} to hold its formulas only
+ * weakly, so that formulas which are not used anymore can be collected by the garbage collector.
+ * @version 1.2
  * @since 1.0
  */
 public final class FormulaFactory {
@@ -75,7 +92,28 @@ public final class FormulaFactory {
   public static final String PB_PREFIX = "@RESERVED_PB_";
   public static final String CNF_PREFIX = "@RESERVED_CNF_";
 
+  // Sizes for the estimate of the retained memory, assuming a 64-bit JVM with compressed references
+  private static final long REFERENCE_BYTES = 4; // a compressed reference or an int
+  private static final long ARRAY_HEADER_BYTES = 16; // object header and length of an array
+  private static final long ENTRY_BYTES = 40; // a hash map node (header, hash, key, value, next) and its bucket slot
+  private static final long WEAK_ENTRY_BYTES = 72; // a hash map node plus the weak reference to the formula
+  private static final long FORMULA_BYTES = 56; // object header and the common fields of Formula
+  private static final long LITERAL_BYTES = 24; // name, phase, variable, index, negation and hash code of a literal
+  private static final long NAME_BYTES = 48; // a short name string with its character array, charged once per variable
+  private static final long NOT_BYTES = 8; // operand and hash code of a negation
+  private static final long BINARY_BYTES = 16; // left and right operand and hash code of a binary operator, padded
+  private static final long PAIR_KEY_BYTES = 24; // the pair which is the lookup key of an implication
+  private static final long NARY_BYTES = 8; // operand array reference and hash code of an n-ary operator
+  private static final long NARY_KEY_BYTES = 32; // object header and fields of the lookup key of an n-ary operator
+  private static final long LINKED_SET_BYTES = 56; // the linked hash set and its map of a key with many operands
+  private static final long LINKED_ENTRY_BYTES = 48; // a linked hash map node and its bucket slot per operand
+  private static final long PB_BYTES = 32; // comparator, right-hand side, encoding, hash code, weight and flag
+  private static final long PB_KEY_BYTES = 32; // object header and fields of the lookup key of a constraint
+
   private final String name;
+  private final boolean concurrent;
+  private final boolean weakUniqueTables;
+  private final boolean sideTableCaches;
 
   private final CFalse cFalse;
   private final CTrue cTrue;
@@ -88,40 +126,65 @@ public final class FormulaFactory {
   private final PBEncoder pbEncoder;
   private final CNFEncoder cnfEncoder;
   private final PseudoBooleanParser parser;
+  private final ThreadLocal<PseudoBooleanParser> threadParsers;
+  private final AtomicInteger ccCounter;
+  private final AtomicInteger pbCounter;
+  private final AtomicInteger cnfCounter;
+  private final AtomicInteger variableCounter;
+  private final LongAdder[] hits;
+  private final LongAdder[] misses;
+  private volatile int generation;
   private Map<String, Variable> posLiterals;
   private Map<String, Literal> negLiterals;
   private Set<Variable> generatedVariables;
   private Map<Formula, Not> nots;
   private Map<Pair<Formula, Formula>, Implication> implications;
-  private Map<LinkedHashSet<? extends Formula>, Equivalence> equivalences;
-  private Map<LinkedHashSet<? extends Formula>, And> ands2;
-  private Map<LinkedHashSet<? extends Formula>, And> ands3;
-  private Map<LinkedHashSet<? extends Formula>, And> ands4;
-  private Map<LinkedHashSet<? extends Formula>, And> andsN;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors2;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors3;
-  private Map<LinkedHashSet<? extends Formula>, Or> ors4;
-  private Map<LinkedHashSet<? extends Formula>, Or> orsN;
+  private Map<NAryOperands, Equivalence> equivalences;
+  private Map<NAryOperands, And> ands2;
+  private Map<NAryOperands, And> ands3;
+  private Map<NAryOperands, And> ands4;
+  private Map<NAryOperands, And> andsN;
+  private Map<NAryOperands, Or> ors2;
+  private Map<NAryOperands, Or> ors3;
+  private Map<NAryOperands, Or> ors4;
+  private Map<NAryOperands, Or> orsN;
   private Map<PBOperands, PBConstraint> pbConstraints;
-  private boolean cnfCheck;
-  private boolean[] formulaAdditionResult;
-  private int ccCounter;
-  private int pbCounter;
-  private int cnfCounter;
+  private FormulaCacheTable transformationTable;
+  private FormulaCacheTable predicateTable;
+  private FormulaCacheTable functionTable;
+  private final NAryOperands probe;
+  private final ThreadLocal<NAryOperands> threadProbes;
 
   /**
    * Constructor for a new formula factory.
    * @param name                 the name of the factory
    * @param stringRepresentation the string representation of the formulas
+   * @param config               the configuration of the factory
    */
-  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation,
+                        final FormulaFactoryConfig config) {
     this.name = name;
+    this.concurrent = config.concurrent;
+    this.weakUniqueTables = config.weakUniqueTables;
+    this.sideTableCaches = config.sideTableCaches;
     this.cFalse = new CFalse(this);
     this.cTrue = new CTrue(this);
+    this.ccCounter = new AtomicInteger();
+    this.pbCounter = new AtomicInteger();
+    this.cnfCounter = new AtomicInteger();
+    this.variableCounter = new AtomicInteger();
+    if (config.instrumentation) {
+      this.hits = newCounters();
+      this.misses = newCounters();
+    } else {
+      this.hits = null;
+      this.misses = null;
+    }
     this.clear();
-    this.formulaAdditionResult = new boolean[2];
     this.stringRepresentation = stringRepresentation;
-    this.configurations = new EnumMap<>(ConfigurationType.class);
+    this.configurations = this.concurrent ? new ConcurrentHashMap<ConfigurationType, Configuration>()
+            : new EnumMap<ConfigurationType, Configuration>(ConfigurationType.class);
+    this.configurations.put(ConfigurationType.FORMULA_FACTORY, config);
     this.cnfEncoder = new CNFEncoder(this);
     this.subformulaFunction = new SubNodeFunction();
     if (!name.isEmpty()) {
@@ -134,7 +197,35 @@ public final class FormulaFactory {
       this.cnfPrefix = CNF_PREFIX;
     }
     this.pbEncoder = new PBEncoder(this);
-    this.parser = new PseudoBooleanParser(this);
+    if (this.concurrent) {
+      this.parser = null;
+      this.threadParsers = ThreadLocal.withInitial(() -> new PseudoBooleanParser(this));
+      this.probe = null;
+      this.threadProbes = ThreadLocal.withInitial(NAryOperands::new);
+    } else {
+      this.parser = new PseudoBooleanParser(this);
+      this.threadParsers = null;
+      this.probe = new NAryOperands();
+      this.threadProbes = null;
+    }
+  }
+
+  /**
+   * Constructor for a new formula factory.
+   * @param name                 the name of the factory
+   * @param stringRepresentation the string representation of the formulas
+   */
+  public FormulaFactory(final String name, final FormulaStringRepresentation stringRepresentation) {
+    this(name, stringRepresentation, new FormulaFactoryConfig.Builder().build());
+  }
+
+  /**
+   * Constructor for a new formula factory with a given name and configuration.
+   * @param name   the name of the factory
+   * @param config the configuration of the factory
+   */
+  public FormulaFactory(final String name, final FormulaFactoryConfig config) {
+    this(name, new DefaultStringRepresentation(), config);
   }
 
   /**
@@ -166,28 +257,114 @@ public final class FormulaFactory {
     return formulas.contains(f.negate());
   }
 
+  /**
+   * Stores a newly created formula in a unique table if there is no formula for the given key yet.  In a concurrent
+   * factory another thread could have stored a formula for the same key in the meantime - in this case the already
+   * stored formula is returned and the new one is discarded.
+   * @param table   the unique table
+   * @param key     the key
+   * @param formula the newly created formula
+   * @param <K>     the type of the key
+   * @param <T>     the type of the formula
+   * @return the unique formula for the given key
+   */
+  private <K, T extends Formula> T register(final Map<K, T> table, final K key, final T formula) {
+    final T existing = table.putIfAbsent(key, formula);
+    if (existing != null)
+      return this.hit(existing);
+    if (this.misses != null)
+      this.misses[formula.type.ordinal()].increment();
+    return formula;
+  }
+
+  /**
+   * Counts a cache hit for a formula if this factory is instrumented.
+   * @param formula the formula which was found in a unique table
+   * @param <T>     the type of the formula
+   * @return the formula
+   */
+  private <T extends Formula> T hit(final T formula) {
+    if (this.hits != null)
+      this.hits[formula.type.ordinal()].increment();
+    return formula;
+  }
+
+  /**
+   * Returns a new array of counters, one for each formula type.
+   * @return the counters
+   */
+  private static LongAdder[] newCounters() {
+    final LongAdder[] counters = new LongAdder[FType.values().length];
+    for (int i = 0; i < counters.length; i++)
+      counters[i] = new LongAdder();
+    return counters;
+  }
+
+  /**
+   * Returns a new unique table, which is thread-safe if this factory is concurrent and holds its formulas weakly if
+   * this factory uses weak unique tables.
+   * @param <K> the type of the keys
+   * @param <V> the type of the formulas
+   * @return the new table
+   */
+  private <K, V extends Formula> Map<K, V> newTable() {
+    if (this.weakUniqueTables)
+      return new WeakUniqueTable<>(this.concurrent);
+    return this.concurrent ? new ConcurrentHashMap<K, V>() : new HashMap<K, V>();
+  }
+
+  /**
+   * Returns a new set for the generated variables with the same properties as the unique tables.
+   * @return the new set
+   */
+  private Set<Variable> newVariableSet() {
+    if (this.weakUniqueTables) {
+      final Set<Variable> set = Collections.newSetFromMap(new WeakHashMap<Variable, Boolean>());
+      return this.concurrent ? Collections.synchronizedSet(set) : set;
+    }
+    return this.concurrent ? ConcurrentHashMap.<Variable>newKeySet() : new HashSet<Variable>();
+  }
+
   /**
    * Removes all formulas from the factory cache.
+   * <p>
+   * Attention: this method must not be called while other threads are using a concurrent factory.
    */
   public void clear() {
-    this.posLiterals = new HashMap<>();
-    this.negLiterals = new HashMap<>();
-    this.generatedVariables = new HashSet<>();
-    this.nots = new HashMap<>();
-    this.implications = new HashMap<>();
-    this.equivalences = new HashMap<>();
-    this.ands2 = new HashMap<>();
-    this.ands3 = new HashMap<>();
-    this.ands4 = new HashMap<>();
-    this.andsN = new HashMap<>();
-    this.ors2 = new HashMap<>();
-    this.ors3 = new HashMap<>();
-    this.ors4 = new HashMap<>();
-    this.orsN = new HashMap<>();
-    this.pbConstraints = new HashMap<>();
-    this.ccCounter = 0;
-    this.pbCounter = 0;
-    this.cnfCounter = 0;
+    this.posLiterals = this.newTable();
+    this.negLiterals = this.newTable();
+    this.generatedVariables = this.newVariableSet();
+    this.nots = this.newTable();
+    this.implications = this.newTable();
+    this.equivalences = this.newTable();
+    this.ands2 = this.newTable();
+    this.ands3 = this.newTable();
+    this.ands4 = this.newTable();
+    this.andsN = this.newTable();
+    this.ors2 = this.newTable();
+    this.ors3 = this.newTable();
+    this.ors4 = this.newTable();
+    this.orsN = this.newTable();
+    this.pbConstraints = this.newTable();
+    if (this.sideTableCaches) {
+      this.transformationTable = new FormulaCacheTable(this.concurrent);
+      this.predicateTable = new FormulaCacheTable(this.concurrent);
+      this.functionTable = new FormulaCacheTable(this.concurrent);
+    }
+    this.ccCounter.set(0);
+    this.pbCounter.set(0);
+    this.cnfCounter.set(0);
+    this.generation++;
+  }
+
+  /**
+   * Returns the generation of this factory, i.e. the number of times its formula cache was {@link #clear() cleared}.
+   * Components which cache formulas of this factory can compare the generation in order to detect that their cached
+   * formulas are no longer the unique instances of the factory.
+   * @return the generation of this factory
+   */
+  public int generation() {
+    return this.generation;
   }
 
   /**
@@ -198,6 +375,57 @@ public final class FormulaFactory {
     return this.name;
   }
 
+  /**
+   * Returns {@code true} if this formula factory can be used concurrently from more than one thread, {@code false}
+   * otherwise.
+   * @return {@code true} if this formula factory is thread-safe
+   */
+  public boolean isConcurrent() {
+    return this.concurrent;
+  }
+
+  /**
+   * Returns {@code true} if the unique tables of this formula factory hold their formulas only weakly, {@code false}
+   * otherwise.
+   * @return {@code true} if this formula factory uses weak unique tables
+   */
+  public boolean hasWeakUniqueTables() {
+    return this.weakUniqueTables;
+  }
+
+  /**
+   * Returns {@code true} if the caches of the formulas of this factory are stored in side tables of the factory,
+   * {@code false} otherwise.
+   * @return {@code true} if this formula factory uses side table caches
+   */
+  public boolean hasSideTableCaches() {
+    return this.sideTableCaches;
+  }
+
+  /**
+   * Returns the side table for transformation caches.
+   * @return the side table for transformation caches or {@code null} if this factory does not use side tables
+   */
+  FormulaCacheTable transformationTable() {
+    return this.transformationTable;
+  }
+
+  /**
+   * Returns the side table for predicate caches.
+   * @return the side table for predicate caches or {@code null} if this factory does not use side tables
+   */
+  FormulaCacheTable predicateTable() {
+    return this.predicateTable;
+  }
+
+  /**
+   * Returns the side table for function caches.
+   * @return the side table for function caches or {@code null} if this factory does not use side tables
+   */
+  FormulaCacheTable functionTable() {
+    return this.functionTable;
+  }
+
   /**
    * Returns the configuration for a given configuration type or {@code null} if there isn't any.
    * @param cType the configuration type
@@ -275,12 +503,10 @@ public final class FormulaFactory {
     if (left.equals(right))
       return this.verum();
     final Pair<Formula, Formula> key = new Pair<>(left, right);
-    Implication implication = this.implications.get(key);
-    if (implication == null) {
-      implication = new Implication(left, right, this);
-      this.implications.put(key, implication);
-    }
-    return implication;
+    final Implication implication = this.implications.get(key);
+    if (implication == null)
+      return register(this.implications, key, new Implication(left, right, this));
+    return this.hit(implication);
   }
 
   /**
@@ -302,13 +528,12 @@ public final class FormulaFactory {
       return this.verum();
     if (left.equals(right.negate()))
       return this.falsum();
-    final LinkedHashSet<Formula> key = new LinkedHashSet<>(Arrays.asList(left, right));
-    Equivalence equivalence = this.equivalences.get(key);
-    if (equivalence == null) {
-      equivalence = new Equivalence(left, right, this);
-      this.equivalences.put(key, equivalence);
-    }
-    return equivalence;
+    final NAryOperands key = this.probe();
+    key.set(left, right);
+    final Equivalence equivalence = this.equivalences.get(key);
+    if (equivalence == null)
+      return register(this.equivalences, key.copy(), new Equivalence(left, right, this));
+    return this.hit(equivalence);
   }
 
   /**
@@ -330,12 +555,10 @@ public final class FormulaFactory {
   public Formula not(final Formula operand) {
     if (operand.type() == LITERAL || operand.type() == FALSE || operand.type() == TRUE || operand.type() == NOT)
       return operand.negate();
-    Not not = this.nots.get(operand);
-    if (not == null) {
-      not = new Not(operand, this);
-      this.nots.put(operand, not);
-    }
-    return not;
+    final Not not = this.nots.get(operand);
+    if (not == null)
+      return register(this.nots, operand, new Not(operand, this));
+    return this.hit(not);
   }
 
   /**
@@ -381,20 +604,21 @@ public final class FormulaFactory {
    * @return a new conjunction
    */
   public Formula and(final Formula... operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands.length);
-    Collections.addAll(ops, operands);
+    final NAryOperands ops = this.probe();
+    ops.set(operands);
     return this.constructAnd(ops);
   }
 
   /**
    * Creates a new conjunction from a collection of formulas.
    * <p>
-   * Note: The LinkedHashSet is used to eliminate duplicate sub-formulas and to respect the commutativity of operands.
+   * Note: Duplicate sub-formulas are eliminated and the commutativity of operands is respected.
    * @param operands the array of formulas
    * @return a new conjunction
    */
   public Formula and(final Collection<? extends Formula> operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands);
+    final NAryOperands ops = this.probe();
+    ops.set(operands);
     return this.constructAnd(ops);
   }
 
@@ -403,59 +627,33 @@ public final class FormulaFactory {
    * @param operands the formulas
    * @return a new conjunction
    */
-  private Formula constructAnd(final LinkedHashSet<? extends Formula> operands) {
-    And tempAnd = null;
-    Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
+  private Formula constructAnd(final NAryOperands operands) {
+    final Map<NAryOperands, And> opAndMap = this.andMap(operands.size());
     if (operands.size() > 1) {
-      switch (operands.size()) {
-        case 2:
-          opAndMap = this.ands2;
-          break;
-        case 3:
-          opAndMap = this.ands3;
-          break;
-        case 4:
-          opAndMap = this.ands4;
-          break;
-        default:
-          break;
-      }
-      tempAnd = opAndMap.get(operands);
+      final And tempAnd = opAndMap.get(operands);
+      if (tempAnd != null)
+        return this.hit(tempAnd);
     }
-    if (tempAnd != null)
-      return tempAnd;
-    LinkedHashSet<? extends Formula> condensedOperands = operands.size() < 2
-            ? operands
-            : this.condenseOperandsAnd(operands);
+    if (operands.size() == 0)
+      return this.verum();
+    if (operands.size() == 1)
+      return operands.first();
+    final NAryOperands key = operands.copy();
+    final LinkedHashSet<Formula> condensedOperands = this.condenseOperandsAnd(key);
     if (condensedOperands == null)
       return this.falsum();
     if (condensedOperands.isEmpty())
       return this.verum();
     if (condensedOperands.size() == 1)
       return condensedOperands.iterator().next();
-    And and;
-    Map<LinkedHashSet<? extends Formula>, And> condAndMap = this.andsN;
-    switch (condensedOperands.size()) {
-      case 2:
-        condAndMap = this.ands2;
-        break;
-      case 3:
-        condAndMap = this.ands3;
-        break;
-      case 4:
-        condAndMap = this.ands4;
-        break;
-      default:
-        break;
-    }
-    and = condAndMap.get(condensedOperands);
-    if (and == null) {
-      tempAnd = new And(condensedOperands, this, this.cnfCheck);
-      opAndMap.put(operands, tempAnd);
-      condAndMap.put(condensedOperands, tempAnd);
-      return tempAnd;
-    }
-    opAndMap.put(operands, and);
+    final NAryOperands condensedKey = NAryOperands.of(condensedOperands);
+    final Map<NAryOperands, And> condAndMap = this.andMap(condensedOperands.size());
+    And and = condAndMap.get(condensedKey);
+    if (and == null)
+      and = register(condAndMap, condensedKey, new And(condensedOperands, this, isCNF(condensedOperands)));
+    else
+      this.hit(and);
+    opAndMap.put(key, and);
     return and;
   }
 
@@ -469,8 +667,8 @@ public final class FormulaFactory {
    * @return a new CNF
    */
   public Formula cnf(final Formula... clauses) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(clauses.length);
-    Collections.addAll(ops, clauses);
+    final NAryOperands ops = this.probe();
+    ops.set(clauses);
     return this.constructCNF(ops);
   }
 
@@ -484,7 +682,8 @@ public final class FormulaFactory {
    * @return a new CNF
    */
   public Formula cnf(final Collection<? extends Formula> clauses) {
-    final LinkedHashSet<? extends Formula> ops = new LinkedHashSet<>(clauses);
+    final NAryOperands ops = this.probe();
+    ops.set(clauses);
     return this.constructCNF(ops);
   }
 
@@ -493,31 +692,17 @@ public final class FormulaFactory {
    * @param clauses the clauses
    * @return a new CNF
    */
-  private Formula constructCNF(final LinkedHashSet<? extends Formula> clauses) {
-    if (clauses.isEmpty())
+  private Formula constructCNF(final NAryOperands clauses) {
+    if (clauses.size() == 0)
       return this.verum();
     if (clauses.size() == 1)
-      return clauses.iterator().next();
-    Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
-    switch (clauses.size()) {
-      case 2:
-        opAndMap = this.ands2;
-        break;
-      case 3:
-        opAndMap = this.ands3;
-        break;
-      case 4:
-        opAndMap = this.ands4;
-        break;
-      default:
-        break;
-    }
-    And tempAnd = opAndMap.get(clauses);
+      return clauses.first();
+    final Map<NAryOperands, And> opAndMap = this.andMap(clauses.size());
+    final And tempAnd = opAndMap.get(clauses);
     if (tempAnd != null)
-      return tempAnd;
-    tempAnd = new And(clauses, this, true);
-    opAndMap.put(clauses, tempAnd);
-    return tempAnd;
+      return this.hit(tempAnd);
+    final NAryOperands key = clauses.copy();
+    return register(opAndMap, key, new And(key.toList(), this, true));
   }
 
   /**
@@ -526,20 +711,21 @@ public final class FormulaFactory {
    * @return a new disjunction
    */
   public Formula or(final Formula... operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands.length);
-    Collections.addAll(ops, operands);
+    final NAryOperands ops = this.probe();
+    ops.set(operands);
     return this.constructOr(ops);
   }
 
   /**
    * Creates a new disjunction from a collection of formulas.
    * <p>
-   * Note: The LinkedHashSet is used to eliminate duplicate sub-formulas and to respect the commutativity of operands.
+   * Note: Duplicate sub-formulas are eliminated and the commutativity of operands is respected.
    * @param operands the collection of formulas
    * @return a new disjunction
    */
   public Formula or(final Collection<? extends Formula> operands) {
-    final LinkedHashSet<Formula> ops = new LinkedHashSet<>(operands);
+    final NAryOperands ops = this.probe();
+    ops.set(operands);
     return this.constructOr(ops);
   }
 
@@ -548,59 +734,33 @@ public final class FormulaFactory {
    * @param operands the formulas
    * @return a new disjunction
    */
-  private Formula constructOr(final LinkedHashSet<? extends Formula> operands) {
-    Or tempOr = null;
-    Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
+  private Formula constructOr(final NAryOperands operands) {
+    final Map<NAryOperands, Or> opOrMap = this.orMap(operands.size());
     if (operands.size() > 1) {
-      switch (operands.size()) {
-        case 2:
-          opOrMap = this.ors2;
-          break;
-        case 3:
-          opOrMap = this.ors3;
-          break;
-        case 4:
-          opOrMap = this.ors4;
-          break;
-        default:
-          break;
-      }
-      tempOr = opOrMap.get(operands);
+      final Or tempOr = opOrMap.get(operands);
+      if (tempOr != null)
+        return this.hit(tempOr);
     }
-    if (tempOr != null)
-      return tempOr;
-    LinkedHashSet<? extends Formula> condensedOperands = operands.size() < 2
-            ? operands
-            : this.condenseOperandsOr(operands);
+    if (operands.size() == 0)
+      return this.falsum();
+    if (operands.size() == 1)
+      return operands.first();
+    final NAryOperands key = operands.copy();
+    final LinkedHashSet<Formula> condensedOperands = this.condenseOperandsOr(key);
     if (condensedOperands == null)
       return this.verum();
     if (condensedOperands.isEmpty())
       return this.falsum();
     if (condensedOperands.size() == 1)
       return condensedOperands.iterator().next();
-    Or or;
-    Map<LinkedHashSet<? extends Formula>, Or> condOrMap = this.orsN;
-    switch (condensedOperands.size()) {
-      case 2:
-        condOrMap = this.ors2;
-        break;
-      case 3:
-        condOrMap = this.ors3;
-        break;
-      case 4:
-        condOrMap = this.ors4;
-        break;
-      default:
-        break;
-    }
-    or = condOrMap.get(condensedOperands);
-    if (or == null) {
-      tempOr = new Or(condensedOperands, this, this.cnfCheck);
-      opOrMap.put(operands, tempOr);
-      condOrMap.put(condensedOperands, tempOr);
-      return tempOr;
-    }
-    opOrMap.put(operands, or);
+    final NAryOperands condensedKey = NAryOperands.of(condensedOperands);
+    final Map<NAryOperands, Or> condOrMap = this.orMap(condensedOperands.size());
+    Or or = condOrMap.get(condensedKey);
+    if (or == null)
+      or = register(condOrMap, condensedKey, new Or(condensedOperands, this, isClause(condensedOperands)));
+    else
+      this.hit(or);
+    opOrMap.put(key, or);
     return or;
   }
 
@@ -613,8 +773,8 @@ public final class FormulaFactory {
    * @return a new clause
    */
   public Formula clause(final Literal... literals) {
-    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(literals.length);
-    Collections.addAll(ops, literals);
+    final NAryOperands ops = this.probe();
+    ops.set(literals);
     return this.constructClause(ops);
   }
 
@@ -627,7 +787,8 @@ public final class FormulaFactory {
    * @return a new clause
    */
   public Formula clause(final Collection<? extends Literal> literals) {
-    final LinkedHashSet<Literal> ops = new LinkedHashSet<>(literals);
+    final NAryOperands ops = this.probe();
+    ops.set(literals);
     return this.constructClause(ops);
   }
 
@@ -636,34 +797,79 @@ public final class FormulaFactory {
    * @param literals the literals
    * @return a new clause
    */
-  private Formula constructClause(final LinkedHashSet<Literal> literals) {
-    if (literals.isEmpty())
+  private Formula constructClause(final NAryOperands literals) {
+    if (literals.size() == 0)
       return this.falsum();
     if (literals.size() == 1)
-      return literals.iterator().next();
-    Or tempOr = null;
-    Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
-    if (literals.size() > 1) {
-      switch (literals.size()) {
-        case 2:
-          opOrMap = this.ors2;
-          break;
-        case 3:
-          opOrMap = this.ors3;
-          break;
-        case 4:
-          opOrMap = this.ors4;
-          break;
-        default:
-          break;
-      }
-      tempOr = opOrMap.get(literals);
-    }
+      return literals.first();
+    final Map<NAryOperands, Or> opOrMap = this.orMap(literals.size());
+    final Or tempOr = opOrMap.get(literals);
     if (tempOr != null)
-      return tempOr;
-    tempOr = new Or(literals, this, true);
-    opOrMap.put(literals, tempOr);
-    return tempOr;
+      return this.hit(tempOr);
+    final NAryOperands key = literals.copy();
+    return register(opOrMap, key, new Or(key.toList(), this, true));
+  }
+
+  /**
+   * Returns the unique table for conjunctions with the given number of operands.
+   * @param size the number of operands
+   * @return the unique table
+   */
+  private Map<NAryOperands, And> andMap(int size) {
+    switch (size) {
+      case 2:
+        return this.ands2;
+      case 3:
+        return this.ands3;
+      case 4:
+        return this.ands4;
+      default:
+        return this.andsN;
+    }
+  }
+
+  /**
+   * Returns the unique table for disjunctions with the given number of operands.
+   * @param size the number of operands
+   * @return the unique table
+   */
+  private Map<NAryOperands, Or> orMap(int size) {
+    switch (size) {
+      case 2:
+        return this.ors2;
+      case 3:
+        return this.ors3;
+      case 4:
+        return this.ors4;
+      default:
+        return this.orsN;
+    }
+  }
+
+  /**
+   * Returns the reusable lookup key for n-ary operators of the current thread.
+   * @return the lookup key
+   */
+  private NAryOperands probe() {
+    return this.concurrent ? this.threadProbes.get() : this.probe;
+  }
+
+  /**
+   * Returns the next free variable index.  Variable indices are never reset - not even by {@link #clear()} - so that
+   * the indices of formulas created before remain unique.
+   * @return the next free variable index
+   */
+  int nextVariableIndex() {
+    return this.variableCounter.getAndIncrement();
+  }
+
+  /**
+   * Returns the number of variable indices assigned by this factory.  All variables of this factory have an index
+   * smaller than this number.
+   * @return the number of variable indices
+   */
+  public int numberOfVariableIndices() {
+    return this.variableCounter.get();
   }
 
   /**
@@ -678,12 +884,10 @@ public final class FormulaFactory {
     if (phase)
       return this.variable(name);
     else {
-      Literal lit = this.negLiterals.get(name);
-      if (lit == null) {
-        lit = new Literal(name, false, this);
-        this.negLiterals.put(name, lit);
-      }
-      return lit;
+      final Literal lit = this.negLiterals.get(name);
+      if (lit == null)
+        return register(this.negLiterals, name, new Literal(name, false, this));
+      return this.hit(lit);
     }
   }
 
@@ -693,11 +897,27 @@ public final class FormulaFactory {
    * @return a new literal with the given name and positive phase
    */
   public Variable variable(final String name) {
-    Variable var = this.posLiterals.get(name);
-    if (var == null) {
-      var = new Variable(name, this);
-      this.posLiterals.put(name, var);
-    }
+    final Variable var = this.posLiterals.get(name);
+    if (var == null)
+      return this.registerVariable(name);
+    return this.hit(var);
+  }
+
+  /**
+   * Creates a new variable and stores it in the unique table if there is no variable with the given name yet.  Unlike
+   * {@link #register(Map, Object, Formula)} the variable is only constructed - and draws its index - if it is really
+   * stored, so that no variable index is lost if another thread of a concurrent factory stores the same variable in
+   * the meantime.
+   * @param name the variable name
+   * @return the unique variable with the given name
+   */
+  private Variable registerVariable(final String name) {
+    final Variable[] created = new Variable[1];
+    final Variable var = this.posLiterals.computeIfAbsent(name, n -> created[0] = new Variable(n, this));
+    if (var != created[0])
+      return this.hit(var);
+    if (this.misses != null)
+      this.misses[LITERAL.ordinal()].increment();
     return var;
   }
 
@@ -730,14 +950,31 @@ public final class FormulaFactory {
     return constructPBC(comparator, rhs, Arrays.copyOf(literals, literals.length), Arrays.copyOf(coefficients, coefficients.length));
   }
 
+  /**
+   * Creates a new pseudo-Boolean constraint from the first {@code size} literals and coefficients of two arrays.  Only
+   * these elements are copied, exactly once, so the arrays can be reused by the caller afterwards, e.g. as buffers of a
+   * parser.
+   * @param comparator   the comparator of the constraint
+   * @param rhs          the right-hand side of the constraint
+   * @param literals     the array holding the literals of the constraint
+   * @param coefficients the array holding the coefficients of the constraint
+   * @param size         the number of literals and coefficients of the constraint
+   * @return the pseudo-Boolean constraint
+   * @throws IllegalArgumentException if one of the arrays holds less than {@code size} elements
+   */
+  public PBConstraint pbc(final CType comparator, int rhs, final Literal[] literals, final int[] coefficients, final int size) {
+    if (size < 0 || size > literals.length || size > coefficients.length)
+      throw new IllegalArgumentException(String.format("Cannot take %d literals and coefficients from arrays of length %d and %d",
+              size, literals.length, coefficients.length));
+    return constructPBC(comparator, rhs, Arrays.copyOf(literals, size), Arrays.copyOf(coefficients, size));
+  }
+
   private PBConstraint constructPBC(final CType comparator, int rhs, final Literal[] literals, final int[] coefficients) {
     final PBOperands operands = new PBOperands(literals, coefficients, comparator, rhs);
-    PBConstraint constraint = this.pbConstraints.get(operands);
-    if (constraint == null) {
-      constraint = new PBConstraint(literals, coefficients, comparator, rhs, this);
-      this.pbConstraints.put(operands, constraint);
-    }
-    return constraint;
+    final PBConstraint constraint = this.pbConstraints.get(operands);
+    if (constraint == null)
+      return register(this.pbConstraints, operands, new PBConstraint(literals, coefficients, comparator, rhs, this));
+    return this.hit(constraint);
   }
 
   /**
@@ -823,7 +1060,7 @@ public final class FormulaFactory {
    * @return the new cardinality constraint auxiliary literal
    */
   public Variable newCCVariable() {
-    final Variable var = this.variable(this.ccPrefix + this.ccCounter++);
+    final Variable var = this.variable(this.ccPrefix + this.ccCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -835,7 +1072,7 @@ public final class FormulaFactory {
    * @return the new pseudo Boolean auxiliary literal
    */
   public Variable newPBVariable() {
-    final Variable var = this.variable(this.pbPrefix + this.pbCounter++);
+    final Variable var = this.variable(this.pbPrefix + this.pbCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -847,7 +1084,7 @@ public final class FormulaFactory {
    * @return the new CNF auxiliary literal
    */
   public Variable newCNFVariable() {
-    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter++);
+    final Variable var = this.variable(this.cnfPrefix + this.cnfCounter.getAndIncrement());
     this.generatedVariables.add(var);
     return var;
   }
@@ -857,25 +1094,15 @@ public final class FormulaFactory {
    * @param operands the formulas
    * @return a condensed array of operands
    */
-  private LinkedHashSet<Formula> condenseOperandsOr(Collection<? extends Formula> operands) {
+  private LinkedHashSet<Formula> condenseOperandsOr(final Iterable<? extends Formula> operands) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
     for (Formula form : operands)
       if (form.type() == OR) {
-        for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaOr(ops, f);
-          if (!formulaAdditionResult[0])
+        for (Formula f : ((NAryOperator) form).operands)
+          if (!addFormulaOr(ops, f))
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
-        }
-      } else {
-        this.addFormulaOr(ops, form);
-        if (!formulaAdditionResult[0])
-          return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
-      }
+      } else if (!addFormulaOr(ops, form))
+        return null;
     return ops;
   }
 
@@ -884,28 +1111,42 @@ public final class FormulaFactory {
    * @param operands the formulas
    * @return a condensed array of operands
    */
-  private LinkedHashSet<Formula> condenseOperandsAnd(Collection<? extends Formula> operands) {
+  private LinkedHashSet<Formula> condenseOperandsAnd(final Iterable<? extends Formula> operands) {
     final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-    this.cnfCheck = true;
     for (Formula form : operands)
       if (form.type() == AND) {
-        for (Formula f : ((NAryOperator) form).operands) {
-          this.addFormulaAnd(ops, f);
-          if (!formulaAdditionResult[0])
+        for (Formula f : ((NAryOperator) form).operands)
+          if (!addFormulaAnd(ops, f))
             return null;
-          if (!formulaAdditionResult[1])
-            this.cnfCheck = false;
-        }
-      } else {
-        this.addFormulaAnd(ops, form);
-        if (!formulaAdditionResult[0])
-          return null;
-        if (!formulaAdditionResult[1])
-          this.cnfCheck = false;
-      }
+      } else if (!addFormulaAnd(ops, form))
+        return null;
     return ops;
   }
 
+  /**
+   * Returns {@code true} if all given operands of a disjunction are literals, {@code false} otherwise.
+   * @param operands the condensed operands
+   * @return {@code true} if the operands form a clause
+   */
+  private static boolean isClause(final Collection<? extends Formula> operands) {
+    for (final Formula op : operands)
+      if (op.type != LITERAL)
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if all given operands of a conjunction are literals or clauses, {@code false} otherwise.
+   * @param operands the condensed operands
+   * @return {@code true} if the operands form a CNF
+   */
+  private static boolean isCNF(final Collection<? extends Formula> operands) {
+    for (final Formula op : operands)
+      if (op.type != LITERAL && !(op.type == OR && ((Or) op).isCNFClause()))
+        return false;
+    return true;
+  }
+
   /**
    * Returns {@code true} if the given variable was generated, {@code false} otherwise.
    * @param var the variable to check
@@ -924,6 +1165,17 @@ public final class FormulaFactory {
     return formula.apply(this.subformulaFunction).size();
   }
 
+  /**
+   * Restricts a collection of formulas with a given assignment in a single traversal.  Sub-formulas which are shared
+   * between the formulas are restricted only once.
+   * @param formulas   the formulas
+   * @param assignment the assignment
+   * @return the restricted formulas in the order of the given formulas
+   */
+  public List<Formula> restrict(final Collection<? extends Formula> formulas, final Assignment assignment) {
+    return DAGTraversal.restrict(formulas, assignment);
+  }
+
   /**
    * Parses a given string to a formula using a pseudo boolean parser.
    * @param string a string representing the formula
@@ -931,53 +1183,41 @@ public final class FormulaFactory {
    * @throws ParserException if the parser throws an exception
    */
   public Formula parse(final String string) throws ParserException {
-    return parser.parse(string);
+    return this.concurrent ? this.threadParsers.get().parse(string) : this.parser.parse(string);
   }
 
   /**
    * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
    * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-   * formula is the dual element, {@code false} is stored as first element of the result array,
-   * otherwise {@code true} is the first element of the result array.  If the added formula was a literal, the second
-   * element in the result array is {@code true}, {@code false} otherwise.
+   * formula is the dual element, {@code false} is returned, otherwise {@code true}.
    * @param ops the list of operands
    * @param f   the formula
+   * @return {@code false} if the disjunction is a tautology, {@code true} otherwise
    */
-  private void addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
-    if (f.type == FALSE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
-    } else if (f.type == TRUE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
-    } else {
-      ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL;
-    }
+  private static boolean addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
+    if (f.type == FALSE)
+      return true;
+    if (f.type == TRUE || containsComplement(ops, f))
+      return false;
+    ops.add(f);
+    return true;
   }
 
   /**
    * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
    * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-   * formula is the dual element, {@code false} is stored as first element of the result array,
-   * otherwise {@code true} is the first element of the result array.  If the added formula was a clause, the second
-   * element in the result array is {@code true}, {@code false} otherwise.
+   * formula is the dual element, {@code false} is returned, otherwise {@code true}.
    * @param ops the list of operands
    * @param f   the formula
+   * @return {@code false} if the conjunction is a contradiction, {@code true} otherwise
    */
-  private void addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
-    if (f.type() == TRUE) {
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = true;
-    } else if (f.type == FALSE || containsComplement(ops, f)) {
-      formulaAdditionResult[0] = false;
-      formulaAdditionResult[1] = false;
-    } else {
-      ops.add(f);
-      formulaAdditionResult[0] = true;
-      formulaAdditionResult[1] = f.type == LITERAL || f.type == OR && ((Or) f).isCNFClause();
-    }
+  private static boolean addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
+    if (f.type == TRUE)
+      return true;
+    if (f.type == FALSE || containsComplement(ops, f))
+      return false;
+    ops.add(f);
+    return true;
   }
 
   /**
@@ -997,7 +1237,157 @@ public final class FormulaFactory {
    */
   public String string(final Formula formula, final FormulaStringRepresentation stringRepresentation) {
     return stringRepresentation.toString(formula);
-  }  @Override
+  }
+
+  /**
+   * Writes a string representation of a formula with this factories string representation to an appendable without
+   * building the whole string in memory.
+   * @param formula the formula
+   * @param out     the appendable, e.g. a {@link java.io.Writer}
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  public void string(final Formula formula, final Appendable out) throws IOException {
+    this.stringRepresentation.write(formula, out);
+  }
+
+  /**
+   * Returns a snapshot of the statistics of this factory: the number of entries in each unique table, the number of
+   * generated variables, an estimate of the retained memory, and - if this factory is instrumented - the cache hits and
+   * misses for the construction of formulas.
+   * <p>
+   * The estimate of the retained memory visits every formula in the unique tables, so its cost is linear in the
+   * number of formulas.  Use {@link #statistics(boolean)} for periodic scraping of large factories.
+   * @return the statistics of this factory
+   */
+  public FormulaFactoryStatistics statistics() {
+    return this.statistics(true);
+  }
+
+  /**
+   * Returns a snapshot of the statistics of this factory.  Without the estimate of the retained memory the snapshot
+   * only reads counters and table sizes and its cost is independent of the number of formulas.
+   * @param estimateMemory {@code true} if the retained memory should be estimated (see {@link #statistics()}),
+   *                       {@code false} if the estimate should be left out and reported as {@code -1}
+   * @return the statistics of this factory
+   */
+  public FormulaFactoryStatistics statistics(final boolean estimateMemory) {
+    final Map<String, Long> tables = new LinkedHashMap<>();
+    tables.put("positiveLiterals", (long) this.posLiterals.size());
+    tables.put("negativeLiterals", (long) this.negLiterals.size());
+    tables.put("negations", (long) this.nots.size());
+    tables.put("implications", (long) this.implications.size());
+    tables.put("equivalences", (long) this.equivalences.size());
+    tables.put("conjunctions2", (long) this.ands2.size());
+    tables.put("conjunctions3", (long) this.ands3.size());
+    tables.put("conjunctions4", (long) this.ands4.size());
+    tables.put("conjunctionsN", (long) this.andsN.size());
+    tables.put("disjunctions2", (long) this.ors2.size());
+    tables.put("disjunctions3", (long) this.ors3.size());
+    tables.put("disjunctions4", (long) this.ors4.size());
+    tables.put("disjunctionsN", (long) this.orsN.size());
+    tables.put("pbConstraints", (long) this.pbConstraints.size());
+    final long[] generated = {this.ccCounter.get(), this.pbCounter.get(), this.cnfCounter.get()};
+    return new FormulaFactoryStatistics(this.name, tables, generated, this.variableCounter.get(), sums(this.hits),
+            sums(this.misses), estimateMemory ? this.estimateRetainedBytes() : -1);
+  }
+
+  /**
+   * Returns the current values of an array of counters.
+   * @param counters the counters, may be {@code null}
+   * @return the values or {@code null} if the counters are {@code null}
+   */
+  private static long[] sums(final LongAdder[] counters) {
+    if (counters == null)
+      return null;
+    final long[] values = new long[counters.length];
+    for (int i = 0; i < counters.length; i++)
+      values[i] = counters[i].sum();
+    return values;
+  }
+
+  /**
+   * Estimates the number of bytes retained by the formulas in the unique tables of this factory.  Each table entry is
+   * charged for its lookup key and the hash table entry, each formula object is charged once even if it is registered
+   * under several keys.  The cache arrays and the literal and variable arrays of the formulas as well as the entries of
+   * the side table caches are included, the cached values themselves are not.
+   * @return the estimated number of retained bytes
+   */
+  private long estimateRetainedBytes() {
+    final long entry = this.weakUniqueTables ? WEAK_ENTRY_BYTES : ENTRY_BYTES;
+    long bytes = tableBytes(this.posLiterals.values(), entry + LITERAL_BYTES + NAME_BYTES);
+    bytes += tableBytes(this.negLiterals.values(), entry + LITERAL_BYTES);
+    bytes += tableBytes(this.nots.values(), entry + NOT_BYTES);
+    bytes += tableBytes(this.implications.values(), entry + BINARY_BYTES + PAIR_KEY_BYTES);
+    bytes += tableBytes(this.equivalences.values(), entry + BINARY_BYTES + naryKeyBytes(2));
+    final Set<Formula> counted = Collections.newSetFromMap(new IdentityHashMap<Formula, Boolean>());
+    bytes += naryTableBytes(this.ands2, entry, counted) + naryTableBytes(this.ors2, entry, counted);
+    bytes += naryTableBytes(this.ands3, entry, counted) + naryTableBytes(this.ors3, entry, counted);
+    bytes += naryTableBytes(this.ands4, entry, counted) + naryTableBytes(this.ors4, entry, counted);
+    bytes += naryTableBytes(this.andsN, entry, counted) + naryTableBytes(this.orsN, entry, counted);
+    for (final PBConstraint pbc : this.pbConstraints.values())
+      bytes += entry + FORMULA_BYTES + PB_BYTES + 2 * arrayBytes(pbc.numberOfOperands()) + PB_KEY_BYTES
+              + pbc.cacheBytes();
+    if (this.sideTableCaches)
+      bytes += ((long) this.transformationTable.size() + this.predicateTable.size() + this.functionTable.size())
+              * ENTRY_BYTES;
+    return bytes;
+  }
+
+  /**
+   * Estimates the number of bytes of the formulas of a unique table with one entry per formula.
+   * @param formulas the formulas of the table
+   * @param perEntry the number of bytes per entry in addition to the common formula fields and the cache arrays
+   * @return the estimated number of bytes
+   */
+  private static long tableBytes(final Collection<? extends Formula> formulas, final long perEntry) {
+    long bytes = 0;
+    for (final Formula formula : formulas)
+      bytes += perEntry + FORMULA_BYTES + formula.cacheBytes();
+    return bytes;
+  }
+
+  /**
+   * Estimates the number of bytes of the entries of a unique table for n-ary operators.  A table can hold several keys
+   * for the same operator, e.g. for different orderings of its operands, therefore operators which were already
+   * counted are only charged for their keys.
+   * @param table   the unique table
+   * @param entry   the number of bytes of a hash table entry
+   * @param counted the operators which were already counted
+   * @return the estimated number of bytes
+   */
+  private static long naryTableBytes(final Map<NAryOperands, ? extends NAryOperator> table, final long entry,
+                                     final Set<Formula> counted) {
+    long bytes = 0;
+    for (final Map.Entry<NAryOperands, ? extends NAryOperator> e : table.entrySet()) {
+      bytes += entry + naryKeyBytes(e.getKey().size());
+      final NAryOperator operator = e.getValue();
+      if (counted.add(operator))
+        bytes += FORMULA_BYTES + NARY_BYTES + arrayBytes(operator.numberOfOperands()) + operator.cacheBytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * Estimates the number of bytes of the lookup key for an n-ary operator or an equivalence.  Keys with up to
+   * {@code MAX_ARRAY_SIZE} operands store them in an array, larger keys in a linked hash set.
+   * @param size the number of operands
+   * @return the estimated number of bytes
+   */
+  private static long naryKeyBytes(final int size) {
+    return size <= NAryOperands.MAX_ARRAY_SIZE ? NARY_KEY_BYTES + arrayBytes(size)
+                                               : NARY_KEY_BYTES + LINKED_SET_BYTES + LINKED_ENTRY_BYTES * size;
+  }
+
+  /**
+   * Estimates the number of bytes of an array of references or ints.
+   * @param length the length of the array
+   * @return the estimated number of bytes
+   */
+  static long arrayBytes(final int length) {
+    return ARRAY_HEADER_BYTES + REFERENCE_BYTES * length;
+  }
+
+  @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
     sb.append("Name:              ").append(this.name).append("\n");
@@ -1017,6 +1407,212 @@ public final class FormulaFactory {
     return sb.toString();
   }
 
+  /**
+   * Helper class for the operands of an n-ary operator or an equivalence.
+   * <p>
+   * The operands are stored without duplicates in the order of their first occurrence and the hash code is the sum of
+   * the hash codes of the operands, so it is independent of the order of the operands.  Small operand sets are stored
+   * in an array, larger ones in a linked hash set.  An instance of this class is used as reusable lookup key by the
+   * factory, s.t. a lookup for an existing formula with at most {@link #MAX_ARRAY_SIZE} operands allocates no memory.
+   * Only on a miss, an immutable copy of the lookup key is stored in the unique table.
+   */
+  private static final class NAryOperands implements Iterable<Formula> {
+    private static final int MAX_ARRAY_SIZE = 16;
+
+    private Formula[] operands;
+    private LinkedHashSet<Formula> set;
+    private int size;
+    private int hashCode;
+
+    /**
+     * Constructs a new empty lookup key.
+     */
+    private NAryOperands() {
+      this.operands = new Formula[MAX_ARRAY_SIZE];
+    }
+
+    /**
+     * Constructs a new immutable key.
+     * @param operands the operands or {@code null} if the operands are stored in a set
+     * @param set      the set of operands or {@code null} if the operands are stored in an array
+     * @param size     the number of operands
+     * @param hashCode the hash code
+     */
+    private NAryOperands(final Formula[] operands, final LinkedHashSet<Formula> set, int size, int hashCode) {
+      this.operands = operands;
+      this.set = set;
+      this.size = size;
+      this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns a new immutable key for a given set of operands.  The set must not be changed afterwards.
+     * @param operands the operands
+     * @return the key
+     */
+    private static NAryOperands of(final LinkedHashSet<Formula> operands) {
+      int hash = 0;
+      for (final Formula op : operands)
+        hash += op.hashCode();
+      if (operands.size() > MAX_ARRAY_SIZE)
+        return new NAryOperands(null, operands, operands.size(), hash);
+      return new NAryOperands(operands.toArray(new Formula[operands.size()]), null, operands.size(), hash);
+    }
+
+    /**
+     * Returns {@code true} if two formulas are equal.  For formulas of the same factory this is the case iff they are
+     * the same object.
+     * @param f1 the first formula
+     * @param f2 the second formula
+     * @return {@code true} if the two formulas are equal
+     */
+    private static boolean same(final Formula f1, final Formula f2) {
+      return f1 == f2 || f1.f != f2.f && f1.equals(f2);
+    }
+
+    /**
+     * Sets the operands of this lookup key.
+     * @param ops the operands
+     */
+    private void set(final Formula[] ops) {
+      this.reset();
+      for (final Formula op : ops)
+        this.add(op);
+    }
+
+    /**
+     * Sets the operands of this lookup key.
+     * @param ops the operands
+     */
+    private void set(final Collection<? extends Formula> ops) {
+      this.reset();
+      for (final Formula op : ops)
+        this.add(op);
+    }
+
+    /**
+     * Sets the two operands of this lookup key.
+     * @param op1 the first operand
+     * @param op2 the second operand
+     */
+    private void set(final Formula op1, final Formula op2) {
+      this.reset();
+      this.add(op1);
+      this.add(op2);
+    }
+
+    /**
+     * Removes all operands of this lookup key.
+     */
+    private void reset() {
+      Arrays.fill(this.operands, 0, this.size > MAX_ARRAY_SIZE ? MAX_ARRAY_SIZE : this.size, null);
+      this.set = null;
+      this.size = 0;
+      this.hashCode = 0;
+    }
+
+    /**
+     * Adds an operand to this lookup key if it is not already present.
+     * @param op the operand
+     */
+    private void add(final Formula op) {
+      if (this.set != null) {
+        if (this.set.add(op)) {
+          this.size++;
+          this.hashCode += op.hashCode();
+        }
+        return;
+      }
+      for (int i = 0; i < this.size; i++)
+        if (same(this.operands[i], op))
+          return;
+      if (this.size == MAX_ARRAY_SIZE) {
+        this.set = new LinkedHashSet<>(2 * MAX_ARRAY_SIZE);
+        Collections.addAll(this.set, this.operands);
+        this.set.add(op);
+      } else
+        this.operands[this.size] = op;
+      this.size++;
+      this.hashCode += op.hashCode();
+    }
+
+    /**
+     * Returns an immutable copy of this key.
+     * @return an immutable copy of this key
+     */
+    private NAryOperands copy() {
+      if (this.set != null)
+        return new NAryOperands(null, this.set, this.size, this.hashCode);
+      return new NAryOperands(Arrays.copyOf(this.operands, this.size), null, this.size, this.hashCode);
+    }
+
+    /**
+     * Returns the number of operands.
+     * @return the number of operands
+     */
+    private int size() {
+      return this.size;
+    }
+
+    /**
+     * Returns the first operand.
+     * @return the first operand
+     */
+    private Formula first() {
+      return this.set != null ? this.set.iterator().next() : this.operands[0];
+    }
+
+    /**
+     * Returns the operands of an immutable key as list.
+     * @return the operands
+     */
+    private List<Formula> toList() {
+      return this.set != null ? new ArrayList<>(this.set) : Arrays.asList(this.operands);
+    }
+
+    /**
+     * Returns {@code true} if the given formula is an operand, {@code false} otherwise.
+     * @param formula the formula
+     * @return {@code true} if the given formula is an operand
+     */
+    private boolean contains(final Formula formula) {
+      if (this.set != null)
+        return this.set.contains(formula);
+      for (int i = 0; i < this.size; i++)
+        if (same(this.operands[i], formula))
+          return true;
+      return false;
+    }
+
+    @Override
+    public Iterator<Formula> iterator() {
+      return this.set != null ? this.set.iterator() : Arrays.asList(this.operands).subList(0, this.size).iterator();
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other)
+        return true;
+      if (other instanceof NAryOperands) {
+        final NAryOperands o = (NAryOperands) other;
+        if (this.size != o.size || this.hashCode != o.hashCode)
+          return false;
+        if (this.set != null)
+          return this.set.equals(o.set);
+        for (int i = 0; i < this.size; i++)
+          if (!o.contains(this.operands[i]))
+            return false;
+        return true;
+      }
+      return false;
+    }
+  }
+
   /**
    * Helper class for the operands of a pseudo-Boolean constraint.
    */
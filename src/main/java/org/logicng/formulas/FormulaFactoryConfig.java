@@ -0,0 +1,143 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for a formula factory.
+ * <p>
+ * In contrast to the other configurations, this configuration is passed once to the constructor of a formula factory
+ * and cannot be changed afterwards.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class FormulaFactoryConfig extends Configuration {
+
+  final boolean concurrent;
+  final boolean weakUniqueTables;
+  final boolean sideTableCaches;
+  final boolean instrumentation;
+
+  /**
+   * Constructs a new configuration with a given type.
+   * @param builder the builder
+   */
+  private FormulaFactoryConfig(final Builder builder) {
+    super(ConfigurationType.FORMULA_FACTORY);
+    this.concurrent = builder.concurrent;
+    this.weakUniqueTables = builder.weakUniqueTables;
+    this.sideTableCaches = builder.sideTableCaches;
+    this.instrumentation = builder.instrumentation;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("FormulaFactoryConfig{\n");
+    sb.append("concurrent=").append(this.concurrent).append("\n");
+    sb.append("weakUniqueTables=").append(this.weakUniqueTables).append("\n");
+    sb.append("sideTableCaches=").append(this.sideTableCaches).append("\n");
+    sb.append("instrumentation=").append(this.instrumentation).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * The builder for a formula factory configuration.
+   */
+  public static class Builder {
+
+    private boolean concurrent = false;
+    private boolean weakUniqueTables = false;
+    private boolean sideTableCaches = false;
+    private boolean instrumentation = false;
+
+    /**
+     * Sets whether the formula factory can be used concurrently from more than one thread.  In this case the unique
+     * tables of the factory are concurrent hash maps, the caches of the formulas are thread-safe, and the counters for
+     * generated variables are atomic.  The default value is {@code false}.
+     * @param concurrent {@code true} if the factory should be thread-safe, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder concurrent(boolean concurrent) {
+      this.concurrent = concurrent;
+      return this;
+    }
+
+    /**
+     * Sets whether the unique tables of the formula factory hold their formulas only weakly.  In this case formulas
+     * which are not used anymore - together with their cached transformations - can be collected by the garbage
+     * collector.  Formulas which are still reachable keep their identity.  This costs some additional memory per
+     * formula, but the heap usage follows the formulas currently in use instead of all formulas ever created.
+     * The default value is {@code false}.
+     * @param weakUniqueTables {@code true} if the unique tables should hold their formulas weakly, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder weakUniqueTables(boolean weakUniqueTables) {
+      this.weakUniqueTables = weakUniqueTables;
+      return this;
+    }
+
+    /**
+     * Sets whether the transformation, predicate, and function caches of the formulas are stored in side tables of
+     * the formula factory instead of the formulas themselves.  Since each formula allocates its caches only on first
+     * use, this is mainly useful if only a few formulas are transformed at all.  Side table caches cannot be combined
+     * with weak unique tables.  The default value is {@code false}.
+     * @param sideTableCaches {@code true} if the caches should be stored in side tables, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder sideTableCaches(boolean sideTableCaches) {
+      this.sideTableCaches = sideTableCaches;
+      return this;
+    }
+
+    /**
+     * Sets whether the formula factory counts the cache hits and misses for the construction of formulas.  The
+     * counters are reported by {@link FormulaFactory#statistics()}.  The default value is {@code false}.
+     * @param instrumentation {@code true} if the factory should count cache hits and misses, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder instrumentation(boolean instrumentation) {
+      this.instrumentation = instrumentation;
+      return this;
+    }
+
+    /**
+     * Builds the configuration.
+     * @return the configuration.
+     * @throws IllegalStateException if side table caches are combined with weak unique tables
+     */
+    public FormulaFactoryConfig build() {
+      if (this.sideTableCaches && this.weakUniqueTables)
+        throw new IllegalStateException("Side table caches cannot be combined with weak unique tables");
+      return new FormulaFactoryConfig(this);
+    }
+  }
+}
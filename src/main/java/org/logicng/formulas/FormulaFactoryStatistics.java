@@ -0,0 +1,247 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics of a formula factory.
+ * <p>
+ * The statistics comprise the number of entries in each unique table of the factory, the number of generated
+ * variables, an estimate of the memory retained by the formulas in the unique tables, and - if the factory was
+ * configured with {@link FormulaFactoryConfig.Builder#instrumentation(boolean)} - the number of cache hits and misses
+ * for the construction of formulas.  A hit means that an already existing formula was returned from a unique table,
+ * a miss that a new formula was created.  Hits and misses are counted since the creation of the factory, they are
+ * not reset by {@link FormulaFactory#clear()}.
+ * <p>
+ * The entry counts of the conjunction and disjunction tables include the additional entries which map a not yet
+ * condensed operand list to its formula, so the retained memory is an upper estimate.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class FormulaFactoryStatistics {
+
+  private static final FType[] TYPES = FType.values();
+
+  private final String name;
+  private final Map<String, Long> values;
+  private final boolean instrumented;
+  private final long[] hits;
+  private final long[] misses;
+
+  /**
+   * Constructs a new statistics object.
+   * @param name       the name of the factory
+   * @param tableSizes the entry counts of the unique tables (in the order of their insertion)
+   * @param generated  the numbers of generated cardinality constraint, pseudo-Boolean and CNF variables
+   * @param indices    the number of variable indices
+   * @param hits       the cache hits per formula type or {@code null} if the factory is not instrumented
+   * @param misses     the cache misses per formula type or {@code null} if the factory is not instrumented
+   * @param retained   the estimated number of retained bytes or -1 if it was not estimated
+   */
+  FormulaFactoryStatistics(final String name, final Map<String, Long> tableSizes, final long[] generated,
+                           final long indices, final long[] hits, final long[] misses, final long retained) {
+    this.name = name;
+    this.instrumented = hits != null;
+    this.hits = hits != null ? hits : new long[TYPES.length];
+    this.misses = misses != null ? misses : new long[TYPES.length];
+    final Map<String, Long> map = new LinkedHashMap<>(tableSizes);
+    map.put("generatedCCVariables", generated[0]);
+    map.put("generatedPBVariables", generated[1]);
+    map.put("generatedCNFVariables", generated[2]);
+    map.put("variableIndices", indices);
+    if (this.instrumented)
+      for (final FType type : TYPES) {
+        map.put("hits." + type, this.hits[type.ordinal()]);
+        map.put("misses." + type, this.misses[type.ordinal()]);
+      }
+    map.put("estimatedRetainedBytes", retained);
+    this.values = Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * Returns the name of the factory.
+   * @return the name of the factory
+   */
+  public String name() {
+    return this.name;
+  }
+
+  /**
+   * Returns the number of entries in a unique table of the factory.  The tables are {@code positiveLiterals},
+   * {@code negativeLiterals}, {@code negations}, {@code implications}, {@code equivalences}, {@code conjunctions2},
+   * {@code conjunctions3}, {@code conjunctions4}, {@code conjunctionsN}, {@code disjunctions2}, {@code disjunctions3},
+   * {@code disjunctions4}, {@code disjunctionsN}, and {@code pbConstraints}.
+   * @param table the name of the table
+   * @return the number of entries in the table
+   * @throws IllegalArgumentException if there is no table with the given name
+   */
+  public long tableSize(final String table) {
+    final Long size = this.values.get(table);
+    if (size == null || !isTable(table))
+      throw new IllegalArgumentException("Unknown unique table: " + table);
+    return size;
+  }
+
+  /**
+   * Returns the total number of entries in all unique tables of the factory.
+   * @return the total number of entries
+   */
+  public long totalTableSize() {
+    long sum = 0;
+    for (final Map.Entry<String, Long> entry : this.values.entrySet())
+      if (isTable(entry.getKey()))
+        sum += entry.getValue();
+    return sum;
+  }
+
+  /**
+   * Returns the number of generated variables for cardinality constraints.
+   * @return the number of generated variables for cardinality constraints
+   */
+  public long generatedCCVariables() {
+    return this.values.get("generatedCCVariables");
+  }
+
+  /**
+   * Returns the number of generated variables for pseudo-Boolean constraints.
+   * @return the number of generated variables for pseudo-Boolean constraints
+   */
+  public long generatedPBVariables() {
+    return this.values.get("generatedPBVariables");
+  }
+
+  /**
+   * Returns the number of generated variables for CNF transformations.
+   * @return the number of generated variables for CNF transformations
+   */
+  public long generatedCNFVariables() {
+    return this.values.get("generatedCNFVariables");
+  }
+
+  /**
+   * Returns the number of variable indices assigned by the factory.
+   * @return the number of variable indices
+   */
+  public long variableIndices() {
+    return this.values.get("variableIndices");
+  }
+
+  /**
+   * Returns {@code true} if the factory counts cache hits and misses, {@code false} otherwise.
+   * @return {@code true} if the factory is instrumented
+   */
+  public boolean isInstrumented() {
+    return this.instrumented;
+  }
+
+  /**
+   * Returns the number of cache hits for the construction of formulas of a given type.
+   * @param type the formula type
+   * @return the number of cache hits (0 if the factory is not instrumented)
+   */
+  public long hits(final FType type) {
+    return this.hits[type.ordinal()];
+  }
+
+  /**
+   * Returns the number of cache misses for the construction of formulas of a given type.
+   * @param type the formula type
+   * @return the number of cache misses (0 if the factory is not instrumented)
+   */
+  public long misses(final FType type) {
+    return this.misses[type.ordinal()];
+  }
+
+  /**
+   * Returns the total number of cache hits for the construction of formulas.
+   * @return the total number of cache hits (0 if the factory is not instrumented)
+   */
+  public long hits() {
+    long sum = 0;
+    for (final long hit : this.hits)
+      sum += hit;
+    return sum;
+  }
+
+  /**
+   * Returns the total number of cache misses for the construction of formulas.
+   * @return the total number of cache misses (0 if the factory is not instrumented)
+   */
+  public long misses() {
+    long sum = 0;
+    for (final long miss : this.misses)
+      sum += miss;
+    return sum;
+  }
+
+  /**
+   * Returns an estimate of the number of bytes retained by the formulas in the unique tables of the factory,
+   * including the table entries and the cache arrays of the formulas but excluding the cached values.
+   * @return the estimated number of retained bytes or -1 if the statistics were taken without the estimate (see
+   * {@link FormulaFactory#statistics(boolean)})
+   */
+  public long estimatedRetainedBytes() {
+    return this.values.get("estimatedRetainedBytes");
+  }
+
+  /**
+   * Returns all values of these statistics as an unmodifiable map with stable keys, e.g. for the export to a
+   * monitoring system.  The keys are the table names (see {@link #tableSize(String)}), {@code generatedCCVariables},
+   * {@code generatedPBVariables}, {@code generatedCNFVariables}, {@code variableIndices},
+   * {@code estimatedRetainedBytes}, and - if the factory is instrumented - {@code hits.<TYPE>} and
+   * {@code misses.<TYPE>} for each formula type.
+   * @return the values of these statistics
+   */
+  public Map<String, Long> toMap() {
+    return this.values;
+  }
+
+  /**
+   * Returns {@code true} if a key of the value map denotes a unique table.
+   * @param key the key
+   * @return {@code true} if the key denotes a unique table
+   */
+  private static boolean isTable(final String key) {
+    return key.endsWith("Literals") || key.equals("negations") || key.equals("implications")
+            || key.equals("equivalences") || key.startsWith("conjunctions") || key.startsWith("disjunctions")
+            || key.equals("pbConstraints");
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("FormulaFactoryStatistics{\n");
+    sb.append("name=").append(this.name).append("\n");
+    for (final Map.Entry<String, Long> entry : this.values.entrySet())
+      sb.append(entry.getKey()).append("=").append(entry.getValue()).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
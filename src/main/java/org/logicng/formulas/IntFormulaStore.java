@@ -0,0 +1,911 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.logicng.formulas.FType.AND;
+import static org.logicng.formulas.FType.EQUIV;
+import static org.logicng.formulas.FType.FALSE;
+import static org.logicng.formulas.FType.IMPL;
+import static org.logicng.formulas.FType.LITERAL;
+import static org.logicng.formulas.FType.NOT;
+import static org.logicng.formulas.FType.OR;
+import static org.logicng.formulas.FType.PBC;
+import static org.logicng.formulas.FType.TRUE;
+
+/**
+ * A compact store for formula DAGs which identifies nodes by integer handles.
+ * <p>
+ * Similar to the node table of the BDD kernel all nodes are held in primitive arrays: each node occupies four
+ * consecutive integers holding its type code and its data, the operands of conjunctions, disjunctions and
+ * pseudo-Boolean constraints are stored as index ranges in a shared operand pool.  A node can only reference nodes
+ * which were created before it, therefore the handles are always topologically ordered.  Nodes are hash-consed in an
+ * open addressing unique table, so - like in a formula factory - each formula is stored exactly once.  {@code Formula}
+ * objects are only materialized on demand by {@link #formula(int, FormulaFactory)}.
+ * <p>
+ * The store performs the same simplifications as a formula factory for constants, literals, negations, nested
+ * operators and duplicate or complementary operands.  The operands of conjunctions, disjunctions and equivalences are
+ * ordered by their handles.
+ * <p>
+ * Handles are only valid for the store which created them.  All methods check that the given handles denote existing
+ * nodes and throw an {@link IllegalArgumentException} otherwise.
+ * <p>
+ * A store is not thread-safe.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class IntFormulaStore {
+
+  /**
+   * The handle of the constant "False".
+   */
+  public static final int FALSUM = 0;
+
+  /**
+   * The handle of the constant "True".
+   */
+  public static final int VERUM = 1;
+
+  private static final int NODE_SIZE = 4;
+  private static final FType[] TYPES = FType.values();
+  private static final CType[] COMPARATORS = CType.values();
+
+  private int[] nodes; // header (type | comparator << 4), a, b, c
+  private int nodeCount;
+  private int[] pool; // operands of n-ary operators, literals followed by coefficients for pseudo-Boolean constraints
+  private int poolSize;
+  private int[] table; // the unique table holding node handles + 1, 0 marks an empty slot
+  private String[] names;
+  private int varCount;
+  private final Map<String, Integer> name2idx;
+
+  /**
+   * Constructs a new formula store.
+   */
+  public IntFormulaStore() {
+    this(1024);
+  }
+
+  /**
+   * Constructs a new formula store with a given initial capacity.
+   * @param initialSize the expected number of nodes
+   */
+  public IntFormulaStore(final int initialSize) {
+    final int size = Math.max(16, initialSize);
+    this.nodes = new int[size * NODE_SIZE];
+    this.pool = new int[size * 2];
+    this.table = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+    this.names = new String[16];
+    this.name2idx = new HashMap<>();
+    this.unique(FALSE.ordinal(), 0, 0, 0);
+    this.unique(TRUE.ordinal(), 0, 0, 0);
+  }
+
+  /**
+   * Returns the handle of the constant "False".
+   * @return the handle of the constant "False"
+   */
+  public int falsum() {
+    return FALSUM;
+  }
+
+  /**
+   * Returns the handle of the constant "True".
+   * @return the handle of the constant "True"
+   */
+  public int verum() {
+    return VERUM;
+  }
+
+  /**
+   * Returns the handle of a positive literal with a given name.
+   * @param name the name of the variable
+   * @return the handle of the variable
+   */
+  public int variable(final String name) {
+    return this.literal(name, true);
+  }
+
+  /**
+   * Returns the handle of a literal with a given name and phase.
+   * @param name  the name of the variable
+   * @param phase the phase of the literal
+   * @return the handle of the literal
+   */
+  public int literal(final String name, final boolean phase) {
+    Integer idx = this.name2idx.get(name);
+    if (idx == null) {
+      idx = this.varCount;
+      if (this.varCount == this.names.length)
+        this.names = Arrays.copyOf(this.names, this.names.length * 2);
+      this.names[this.varCount++] = name;
+      this.name2idx.put(name, idx);
+    }
+    return this.unique(LITERAL.ordinal(), idx, phase ? 1 : 0, 0);
+  }
+
+  /**
+   * Returns the handle of the negation of a given node.  Constants, literals and negations are negated directly.
+   * @param operand the handle of the operand
+   * @return the handle of the negation
+   */
+  public int not(final int operand) {
+    final int pos = operand * NODE_SIZE;
+    switch (this.type(operand)) {
+      case FALSE:
+        return VERUM;
+      case TRUE:
+        return FALSUM;
+      case LITERAL:
+        return this.unique(LITERAL.ordinal(), this.nodes[pos + 1], 1 - this.nodes[pos + 2], 0);
+      case NOT:
+        return this.nodes[pos + 1];
+      default:
+        return this.unique(NOT.ordinal(), operand, 0, 0);
+    }
+  }
+
+  /**
+   * Returns the handle of an implication.
+   * @param left  the handle of the left-hand side
+   * @param right the handle of the right-hand side
+   * @return the handle of the implication
+   */
+  public int implication(final int left, final int right) {
+    this.checkedHandle(left);
+    this.checkedHandle(right);
+    if (left == FALSUM || right == VERUM)
+      return VERUM;
+    if (left == VERUM)
+      return right;
+    if (right == FALSUM)
+      return this.not(left);
+    if (left == right)
+      return VERUM;
+    return this.unique(IMPL.ordinal(), left, right, 0);
+  }
+
+  /**
+   * Returns the handle of an equivalence.
+   * @param left  the handle of the left-hand side
+   * @param right the handle of the right-hand side
+   * @return the handle of the equivalence
+   */
+  public int equivalence(final int left, final int right) {
+    this.checkedHandle(left);
+    this.checkedHandle(right);
+    if (left == VERUM)
+      return right;
+    if (right == VERUM)
+      return left;
+    if (left == FALSUM)
+      return this.not(right);
+    if (right == FALSUM)
+      return this.not(left);
+    if (left == right)
+      return VERUM;
+    if (this.complement(right) == left)
+      return FALSUM;
+    return this.unique(EQUIV.ordinal(), Math.min(left, right), Math.max(left, right), 0);
+  }
+
+  /**
+   * Returns the handle of a conjunction.
+   * @param operands the handles of the operands
+   * @return the handle of the conjunction
+   */
+  public int and(final int... operands) {
+    return this.naryOperator(AND, operands);
+  }
+
+  /**
+   * Returns the handle of a conjunction.
+   * @param operands the handles of the operands
+   * @return the handle of the conjunction
+   */
+  public int and(final LNGIntVector operands) {
+    return this.naryOperator(AND, operands.toArray());
+  }
+
+  /**
+   * Returns the handle of a disjunction.
+   * @param operands the handles of the operands
+   * @return the handle of the disjunction
+   */
+  public int or(final int... operands) {
+    return this.naryOperator(OR, operands);
+  }
+
+  /**
+   * Returns the handle of a disjunction.
+   * @param operands the handles of the operands
+   * @return the handle of the disjunction
+   */
+  public int or(final LNGIntVector operands) {
+    return this.naryOperator(OR, operands.toArray());
+  }
+
+  /**
+   * Returns the handle of a pseudo-Boolean constraint.
+   * @param comparator   the comparator of the constraint
+   * @param rhs          the right-hand side of the constraint
+   * @param literals     the handles of the literals of the constraint
+   * @param coefficients the coefficients of the constraint
+   * @return the handle of the pseudo-Boolean constraint
+   * @throws IllegalArgumentException if the number of literals and coefficients do not correspond or if one of the
+   *                                  handles is not a literal
+   */
+  public int pbc(final CType comparator, final int rhs, final int[] literals, final int[] coefficients) {
+    if (literals.length != coefficients.length)
+      throw new IllegalArgumentException("Cannot generate a pseudo-Boolean constraint with literals.length != coefficients.length");
+    final int start = this.poolSize;
+    this.ensurePool(start + 2 * literals.length);
+    for (int i = 0; i < literals.length; i++) {
+      if (this.type(literals[i]) != LITERAL)
+        throw new IllegalArgumentException("Not a literal handle in a pseudo-Boolean constraint: " + literals[i]);
+      this.pool[start + i] = literals[i];
+      this.pool[start + literals.length + i] = coefficients[i];
+    }
+    return this.uniquePoolNode(PBC.ordinal() | comparator.ordinal() << 4, start, literals.length, rhs);
+  }
+
+  /**
+   * Returns the type of a given node.
+   * @param node the handle of the node
+   * @return the type of the node
+   * @throws IllegalArgumentException if the handle does not denote a node of this store
+   */
+  public FType type(final int node) {
+    return TYPES[this.nodes[this.checkedHandle(node) * NODE_SIZE] & 0xF];
+  }
+
+  /**
+   * Returns the number of operands of a given node.  The operands of a pseudo-Boolean constraint are its literals.
+   * @param node the handle of the node
+   * @return the number of operands
+   */
+  public int numberOfOperands(final int node) {
+    switch (this.type(node)) {
+      case AND:
+      case OR:
+      case PBC:
+        return this.nodes[node * NODE_SIZE + 2];
+      case IMPL:
+      case EQUIV:
+        return 2;
+      case NOT:
+        return 1;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Returns an operand of a given node.  For binary operators the index 0 denotes the left-hand side and the index 1
+   * the right-hand side.
+   * @param node  the handle of the node
+   * @param index the index of the operand
+   * @return the handle of the operand
+   * @throws IllegalArgumentException if the node has no operand with the given index
+   */
+  public int operand(final int node, final int index) {
+    if (index < 0 || index >= this.numberOfOperands(node))
+      throw new IllegalArgumentException("Node " + node + " has no operand with index " + index);
+    final int pos = node * NODE_SIZE;
+    switch (this.type(node)) {
+      case AND:
+      case OR:
+      case PBC:
+        return this.pool[this.nodes[pos + 1] + index];
+      default:
+        return this.nodes[pos + 1 + index];
+    }
+  }
+
+  /**
+   * Returns the variable name of a given literal.
+   * @param literal the handle of the literal
+   * @return the variable name of the literal
+   * @throws IllegalArgumentException if the node is not a literal
+   */
+  public String name(final int literal) {
+    this.checkType(literal, LITERAL);
+    return this.names[this.nodes[literal * NODE_SIZE + 1]];
+  }
+
+  /**
+   * Returns the phase of a given literal.
+   * @param literal the handle of the literal
+   * @return the phase of the literal
+   * @throws IllegalArgumentException if the node is not a literal
+   */
+  public boolean phase(final int literal) {
+    this.checkType(literal, LITERAL);
+    return this.nodes[literal * NODE_SIZE + 2] == 1;
+  }
+
+  /**
+   * Returns the comparator of a given pseudo-Boolean constraint.
+   * @param pbc the handle of the constraint
+   * @return the comparator of the constraint
+   * @throws IllegalArgumentException if the node is not a pseudo-Boolean constraint
+   */
+  public CType comparator(final int pbc) {
+    this.checkType(pbc, PBC);
+    return COMPARATORS[this.nodes[pbc * NODE_SIZE] >>> 4];
+  }
+
+  /**
+   * Returns the right-hand side of a given pseudo-Boolean constraint.
+   * @param pbc the handle of the constraint
+   * @return the right-hand side of the constraint
+   * @throws IllegalArgumentException if the node is not a pseudo-Boolean constraint
+   */
+  public int rhs(final int pbc) {
+    this.checkType(pbc, PBC);
+    return this.nodes[pbc * NODE_SIZE + 3];
+  }
+
+  /**
+   * Returns a coefficient of a given pseudo-Boolean constraint.
+   * @param pbc   the handle of the constraint
+   * @param index the index of the coefficient
+   * @return the coefficient
+   * @throws IllegalArgumentException if the node is not a pseudo-Boolean constraint or has no coefficient with the
+   *                                  given index
+   */
+  public int coefficient(final int pbc, final int index) {
+    this.checkType(pbc, PBC);
+    final int pos = pbc * NODE_SIZE;
+    if (index < 0 || index >= this.nodes[pos + 2])
+      throw new IllegalArgumentException("Node " + pbc + " has no coefficient with index " + index);
+    return this.pool[this.nodes[pos + 1] + this.nodes[pos + 2] + index];
+  }
+
+  /**
+   * Returns the number of nodes in this store including the two constants.
+   * @return the number of nodes
+   */
+  public int numberOfNodes() {
+    return this.nodeCount;
+  }
+
+  /**
+   * Returns the number of variables in this store.
+   * @return the number of variables
+   */
+  public int numberOfVariables() {
+    return this.varCount;
+  }
+
+  /**
+   * Returns {@code true} if a given node is in conjunctive normal form, {@code false} otherwise.
+   * @param node the handle of the node
+   * @return {@code true} if the node is in conjunctive normal form
+   */
+  public boolean isCNF(final int node) {
+    switch (this.type(node)) {
+      case TRUE:
+      case FALSE:
+      case LITERAL:
+        return true;
+      case OR:
+        return this.isClause(node);
+      case AND:
+        for (int i = 0; i < this.numberOfOperands(node); i++) {
+          final int op = this.operand(node, i);
+          if (this.type(op) != LITERAL && !(this.type(op) == OR && this.isClause(op)))
+            return false;
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Adds a formula and all its sub-formulas to this store.
+   * @param formula the formula
+   * @return the handle of the formula
+   */
+  public int add(final Formula formula) {
+    final Map<Formula, Integer> handles = new HashMap<>();
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(formula);
+    while (!stack.isEmpty()) {
+      final Formula current = stack.peek();
+      if (handles.containsKey(current)) {
+        stack.pop();
+        continue;
+      }
+      boolean ready = true;
+      for (final Formula op : current)
+        if (!handles.containsKey(op)) {
+          stack.push(op);
+          ready = false;
+        }
+      if (ready) {
+        stack.pop();
+        handles.put(current, this.convert(current, handles));
+      }
+    }
+    return handles.get(formula);
+  }
+
+  /**
+   * Materializes the formula of a given node in a formula factory.
+   * @param node the handle of the node
+   * @param f    the formula factory
+   * @return the formula
+   */
+  public Formula formula(final int node, final FormulaFactory f) {
+    final Map<Integer, Formula> formulas = new HashMap<>();
+    final LNGIntVector stack = new LNGIntVector();
+    stack.push(node);
+    while (!stack.empty()) {
+      final int current = stack.back();
+      if (formulas.containsKey(current)) {
+        stack.pop();
+        continue;
+      }
+      boolean ready = true;
+      for (int i = 0; i < this.numberOfOperands(current); i++) {
+        final int op = this.operand(current, i);
+        if (!formulas.containsKey(op)) {
+          stack.push(op);
+          ready = false;
+        }
+      }
+      if (ready) {
+        stack.pop();
+        formulas.put(current, this.materialize(current, formulas, f));
+      }
+    }
+    return formulas.get(node);
+  }
+
+  /**
+   * Adds the clauses of a given node in conjunctive normal form to a MiniSat-style solver.  The variables of the store
+   * are mapped to the solver variables with the same name, unknown variables are introduced as new solver variables.
+   * @param solver the solver
+   * @param node   the handle of the node
+   * @throws IllegalArgumentException if the node is not in conjunctive normal form
+   */
+  public void addClauses(final MiniSatStyleSolver solver, final int node) {
+    if (!this.isCNF(node))
+      throw new IllegalArgumentException("Only nodes in conjunctive normal form can be added to a solver: " + node);
+    final int[] solverVars = new int[this.varCount];
+    Arrays.fill(solverVars, -1);
+    final LNGIntVector clause = new LNGIntVector();
+    switch (this.type(node)) {
+      case TRUE:
+        break;
+      case FALSE:
+        solver.addClause(clause);
+        break;
+      case AND:
+        for (int i = 0; i < this.numberOfOperands(node); i++)
+          this.addClause(solver, this.operand(node, i), solverVars, clause);
+        break;
+      default:
+        this.addClause(solver, node, solverVars, clause);
+    }
+  }
+
+  /**
+   * Returns the handle of a conjunction or disjunction.  Nested operators of the same type are flattened, neutral
+   * elements are removed and the operands are sorted.
+   * @param type     the type of the operator
+   * @param operands the handles of the operands
+   * @return the handle of the operator
+   */
+  private int naryOperator(final FType type, final int[] operands) {
+    final int neutral = type == AND ? VERUM : FALSUM;
+    final int dual = type == AND ? FALSUM : VERUM;
+    for (final int op : operands)
+      this.checkedHandle(op);
+    int size = 0;
+    for (final int op : operands) {
+      if (op == dual)
+        return dual;
+      size += this.type(op) == type ? this.numberOfOperands(op) : 1;
+    }
+    final int start = this.poolSize;
+    this.ensurePool(start + size);
+    int end = start;
+    for (final int op : operands)
+      if (this.type(op) == type) {
+        final int opStart = this.nodes[op * NODE_SIZE + 1];
+        final int opSize = this.nodes[op * NODE_SIZE + 2];
+        System.arraycopy(this.pool, opStart, this.pool, end, opSize);
+        end += opSize;
+      } else if (op != neutral)
+        this.pool[end++] = op;
+    Arrays.sort(this.pool, start, end);
+    int condensedEnd = start;
+    for (int i = start; i < end; i++)
+      if (condensedEnd == start || this.pool[condensedEnd - 1] != this.pool[i])
+        this.pool[condensedEnd++] = this.pool[i];
+    for (int i = start; i < condensedEnd; i++) {
+      final int complement = this.complement(this.pool[i]);
+      if (complement != -1 && Arrays.binarySearch(this.pool, start, condensedEnd, complement) >= 0)
+        return dual;
+    }
+    if (condensedEnd == start)
+      return neutral;
+    if (condensedEnd == start + 1)
+      return this.pool[start];
+    return this.uniquePoolNode(type.ordinal(), start, condensedEnd - start, 0);
+  }
+
+  /**
+   * Returns the handle of an existing negation of a given node or -1 if the negation is not in this store.
+   * @param node the handle of the node
+   * @return the handle of the negation or -1
+   */
+  private int complement(final int node) {
+    final int pos = node * NODE_SIZE;
+    switch (this.type(node)) {
+      case FALSE:
+        return VERUM;
+      case TRUE:
+        return FALSUM;
+      case LITERAL:
+        return this.lookup(LITERAL.ordinal(), this.nodes[pos + 1], 1 - this.nodes[pos + 2], 0);
+      case NOT:
+        return this.nodes[pos + 1];
+      default:
+        return this.lookup(NOT.ordinal(), node, 0, 0);
+    }
+  }
+
+  /**
+   * Returns {@code true} if all operands of a given disjunction are literals, {@code false} otherwise.
+   * @param node the handle of the disjunction
+   * @return {@code true} if the disjunction is a clause
+   */
+  private boolean isClause(final int node) {
+    for (int i = 0; i < this.numberOfOperands(node); i++)
+      if (this.type(this.operand(node, i)) != LITERAL)
+        return false;
+    return true;
+  }
+
+  /**
+   * Converts a single formula whose operands are already in this store.
+   * @param formula the formula
+   * @param handles the handles of the already converted formulas
+   * @return the handle of the formula
+   */
+  private int convert(final Formula formula, final Map<Formula, Integer> handles) {
+    switch (formula.type()) {
+      case FALSE:
+        return FALSUM;
+      case TRUE:
+        return VERUM;
+      case LITERAL:
+        final Literal lit = (Literal) formula;
+        return this.literal(lit.name(), lit.phase());
+      case NOT:
+        return this.not(handles.get(((Not) formula).operand()));
+      case IMPL:
+        final Implication impl = (Implication) formula;
+        return this.implication(handles.get(impl.left()), handles.get(impl.right()));
+      case EQUIV:
+        final Equivalence equiv = (Equivalence) formula;
+        return this.equivalence(handles.get(equiv.left()), handles.get(equiv.right()));
+      case AND:
+      case OR:
+        final int[] ops = new int[formula.numberOfOperands()];
+        int i = 0;
+        for (final Formula op : formula)
+          ops[i++] = handles.get(op);
+        return this.naryOperator(formula.type(), ops);
+      case PBC:
+        final PBConstraint pbc = (PBConstraint) formula;
+        final int[] literals = new int[pbc.operands().length];
+        for (int j = 0; j < literals.length; j++)
+          literals[j] = this.literal(pbc.operands()[j].name(), pbc.operands()[j].phase());
+        return this.pbc(pbc.comparator(), pbc.rhs(), literals, pbc.coefficients());
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Materializes a single node whose operands are already materialized.
+   * @param node     the handle of the node
+   * @param formulas the already materialized formulas
+   * @param f        the formula factory
+   * @return the formula
+   */
+  private Formula materialize(final int node, final Map<Integer, Formula> formulas, final FormulaFactory f) {
+    final int pos = node * NODE_SIZE;
+    switch (this.type(node)) {
+      case FALSE:
+        return f.falsum();
+      case TRUE:
+        return f.verum();
+      case LITERAL:
+        return f.literal(this.names[this.nodes[pos + 1]], this.nodes[pos + 2] == 1);
+      case NOT:
+        return f.not(formulas.get(this.nodes[pos + 1]));
+      case IMPL:
+        return f.implication(formulas.get(this.nodes[pos + 1]), formulas.get(this.nodes[pos + 2]));
+      case EQUIV:
+        return f.equivalence(formulas.get(this.nodes[pos + 1]), formulas.get(this.nodes[pos + 2]));
+      case AND:
+      case OR:
+        final Formula[] ops = new Formula[this.nodes[pos + 2]];
+        for (int i = 0; i < ops.length; i++)
+          ops[i] = formulas.get(this.pool[this.nodes[pos + 1] + i]);
+        return this.type(node) == AND ? f.and(ops) : f.or(ops);
+      case PBC:
+        final Literal[] literals = new Literal[this.nodes[pos + 2]];
+        final int[] coefficients = new int[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+          literals[i] = (Literal) formulas.get(this.pool[this.nodes[pos + 1] + i]);
+          coefficients[i] = this.pool[this.nodes[pos + 1] + literals.length + i];
+        }
+        return f.pbc(this.comparator(node), this.nodes[pos + 3], literals, coefficients);
+      default:
+        throw new IllegalStateException("Unknown formula type: " + this.type(node));
+    }
+  }
+
+  /**
+   * Adds a single clause or literal to a solver.
+   * @param solver     the solver
+   * @param node       the handle of the clause or literal
+   * @param solverVars the mapping from store variables to solver variables
+   * @param clause     the clause vector to fill
+   */
+  private void addClause(final MiniSatStyleSolver solver, final int node, final int[] solverVars, final LNGIntVector clause) {
+    clause.clear();
+    if (this.type(node) == LITERAL)
+      clause.push(this.solverLiteral(solver, node, solverVars));
+    else
+      for (int i = 0; i < this.numberOfOperands(node); i++)
+        clause.push(this.solverLiteral(solver, this.operand(node, i), solverVars));
+    solver.addClause(clause);
+  }
+
+  /**
+   * Returns the solver literal for a given literal node.
+   * @param solver     the solver
+   * @param literal    the handle of the literal
+   * @param solverVars the mapping from store variables to solver variables
+   * @return the solver literal
+   */
+  private int solverLiteral(final MiniSatStyleSolver solver, final int literal, final int[] solverVars) {
+    final int var = this.nodes[literal * NODE_SIZE + 1];
+    int index = solverVars[var];
+    if (index == -1) {
+      index = solver.idxForName(this.names[var]);
+      if (index == -1) {
+        index = solver.newVar(!solver.config().initialPhase(), true);
+        solver.addName(this.names[var], index);
+      }
+      solverVars[var] = index;
+    }
+    return MiniSatStyleSolver.mkLit(index, this.nodes[literal * NODE_SIZE + 2] == 0);
+  }
+
+  /**
+   * Checks that a handle denotes a node of this store.
+   * @param node the handle
+   * @return the handle
+   * @throws IllegalArgumentException if the handle does not denote a node of this store
+   */
+  private int checkedHandle(final int node) {
+    if (node < 0 || node >= this.nodeCount)
+      throw new IllegalArgumentException("Invalid node handle: " + node);
+    return node;
+  }
+
+  /**
+   * Throws an exception if a given node is not of the given type.
+   * @param node the handle of the node
+   * @param type the expected type
+   * @throws IllegalArgumentException if the node is not of the given type
+   */
+  private void checkType(final int node, final FType type) {
+    if (this.type(node) != type)
+      throw new IllegalArgumentException("Node " + node + " is not of type " + type);
+  }
+
+  /**
+   * Returns the handle of a node whose operands were written to the operand pool starting at the given position.  If
+   * the node already exists, the operands are discarded from the pool.
+   * @param header the header of the node
+   * @param start  the start position of the operands in the pool
+   * @param size   the number of operands
+   * @param data   the additional data of the node
+   * @return the handle of the node
+   */
+  private int uniquePoolNode(final int header, final int start, final int size, final int data) {
+    final int count = this.nodeCount;
+    final int node = this.unique(header, start, size, data);
+    if (this.nodeCount != count)
+      this.poolSize = start + poolLength(header, size);
+    return node;
+  }
+
+  /**
+   * Returns the handle of a node with the given content.  If there is no such node yet, it is created.
+   * @param header the header of the node
+   * @param a      the first data field
+   * @param b      the second data field
+   * @param c      the third data field
+   * @return the handle of the node
+   */
+  private int unique(final int header, final int a, final int b, final int c) {
+    final int slot = this.probe(header, a, b, c);
+    if (this.table[slot] != 0)
+      return this.table[slot] - 1;
+    this.table[slot] = this.nodeCount + 1;
+    final int node = this.nodeCount++;
+    if (this.nodeCount * 2 > this.table.length)
+      this.rehash();
+    return node;
+  }
+
+  /**
+   * Returns the handle of a node with the given content or -1 if there is no such node.
+   * @param header the header of the node
+   * @param a      the first data field
+   * @param b      the second data field
+   * @param c      the third data field
+   * @return the handle of the node or -1
+   */
+  private int lookup(final int header, final int a, final int b, final int c) {
+    return this.table[this.probe(header, a, b, c)] - 1;
+  }
+
+  /**
+   * Writes a candidate node behind the last node and returns the slot of the unique table which either holds an
+   * equal node or is the empty slot for the candidate.
+   * @param header the header of the node
+   * @param a      the first data field
+   * @param b      the second data field
+   * @param c      the third data field
+   * @return the slot in the unique table
+   */
+  private int probe(final int header, final int a, final int b, final int c) {
+    if ((this.nodeCount + 1) * NODE_SIZE > this.nodes.length)
+      this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+    final int pos = this.nodeCount * NODE_SIZE;
+    this.nodes[pos] = header;
+    this.nodes[pos + 1] = a;
+    this.nodes[pos + 2] = b;
+    this.nodes[pos + 3] = c;
+    final int mask = this.table.length - 1;
+    int slot = this.hash(this.nodeCount) & mask;
+    while (this.table[slot] != 0 && !this.equalNodes(this.table[slot] - 1, this.nodeCount))
+      slot = (slot + 1) & mask;
+    return slot;
+  }
+
+  /**
+   * Doubles the size of the unique table and re-inserts all nodes.
+   */
+  private void rehash() {
+    this.table = new int[this.table.length * 2];
+    final int mask = this.table.length - 1;
+    for (int node = 0; node < this.nodeCount; node++) {
+      int slot = this.hash(node) & mask;
+      while (this.table[slot] != 0)
+        slot = (slot + 1) & mask;
+      this.table[slot] = node + 1;
+    }
+  }
+
+  /**
+   * Computes the hash code of a given node.  For nodes with operands in the pool the operands are hashed instead of
+   * their position.
+   * @param node the handle of the node
+   * @return the hash code
+   */
+  private int hash(final int node) {
+    final int pos = node * NODE_SIZE;
+    int hash = this.nodes[pos];
+    if (isPoolNode(this.nodes[pos])) {
+      final int start = this.nodes[pos + 1];
+      final int end = start + poolLength(this.nodes[pos], this.nodes[pos + 2]);
+      for (int i = start; i < end; i++)
+        hash = 31 * hash + this.pool[i];
+    } else
+      hash = 31 * hash + this.nodes[pos + 1];
+    hash = 31 * (31 * hash + this.nodes[pos + 2]) + this.nodes[pos + 3];
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Returns {@code true} if two given nodes have the same content, {@code false} otherwise.
+   * @param n1 the handle of the first node
+   * @param n2 the handle of the second node
+   * @return {@code true} if the nodes have the same content
+   */
+  private boolean equalNodes(final int n1, final int n2) {
+    final int p1 = n1 * NODE_SIZE;
+    final int p2 = n2 * NODE_SIZE;
+    if (this.nodes[p1] != this.nodes[p2] || this.nodes[p1 + 2] != this.nodes[p2 + 2] || this.nodes[p1 + 3] != this.nodes[p2 + 3])
+      return false;
+    if (!isPoolNode(this.nodes[p1]))
+      return this.nodes[p1 + 1] == this.nodes[p2 + 1];
+    final int length = poolLength(this.nodes[p1], this.nodes[p1 + 2]);
+    final int s1 = this.nodes[p1 + 1];
+    final int s2 = this.nodes[p2 + 1];
+    for (int i = 0; i < length; i++)
+      if (this.pool[s1 + i] != this.pool[s2 + i])
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if a node with the given header stores its operands in the pool, {@code false} otherwise.
+   * @param header the header of the node
+   * @return {@code true} if the node stores its operands in the pool
+   */
+  private static boolean isPoolNode(final int header) {
+    final FType type = TYPES[header & 0xF];
+    return type == AND || type == OR || type == PBC;
+  }
+
+  /**
+   * Returns the number of pool entries of a node.
+   * @param header the header of the node
+   * @param size   the number of operands of the node
+   * @return the number of pool entries
+   */
+  private static int poolLength(final int header, final int size) {
+    return TYPES[header & 0xF] == PBC ? 2 * size : size;
+  }
+
+  /**
+   * Ensures that the operand pool can hold a given number of entries.
+   * @param size the number of entries
+   */
+  private void ensurePool(final int size) {
+    if (size > this.pool.length)
+      this.pool = Arrays.copyOf(this.pool, Math.max(size, this.pool.length * 2));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("IntFormulaStore{nodes=%d, variables=%d, operands=%d}", this.nodeCount, this.varCount, this.poolSize);
+  }
+}
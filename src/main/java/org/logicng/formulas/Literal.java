@@ -31,17 +31,14 @@ package org.logicng.formulas;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Boolean literals.
  * <p>
  * A literal is a positive or negative variable.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class Literal extends Formula implements Comparable<Literal> {
@@ -65,8 +62,8 @@ public class Literal extends Formula implements Comparable<Literal> {
 
   private final String name;
   private final boolean phase;
-  private final SortedSet<Literal> literals;
   private final Variable var;
+  private final int index;
   private volatile Literal negated;
   private volatile int hashCode;
 
@@ -81,8 +78,7 @@ public class Literal extends Formula implements Comparable<Literal> {
     this.name = name;
     this.phase = phase;
     this.var = phase ? (Variable) this : (Variable) this.negate();
-    this.variables = new TreeSet<>(Collections.singletonList(var));
-    this.literals = new TreeSet<>(Collections.singletonList(this));
+    this.index = phase ? (f != null ? f.nextVariableIndex() : -1) : this.var.index();
   }
 
   @Override
@@ -111,13 +107,13 @@ public class Literal extends Formula implements Comparable<Literal> {
   }
 
   @Override
-  public SortedSet<Variable> variables() {
-    return this.variables;
+  protected Variable[] computeVariableArray() {
+    return new Variable[]{this.var};
   }
 
   @Override
-  public SortedSet<Literal> literals() {
-    return this.literals;
+  protected Literal[] computeLiteralArray() {
+    return new Literal[]{this};
   }
 
   @Override
@@ -176,6 +172,16 @@ public class Literal extends Formula implements Comparable<Literal> {
     return this.phase;
   }
 
+  /**
+   * Returns the index of the variable of this literal.  The variables of a formula factory are numbered densely in the
+   * order of their creation, a literal and its negation share the index of their variable.  Variables which were not
+   * created by a formula factory have the index -1.
+   * @return the index of the variable of this literal
+   */
+  public int index() {
+    return this.index;
+  }
+
   /**
    * Returns a positive version of this literal (aka a variable).
    * @return a positive version of this literal
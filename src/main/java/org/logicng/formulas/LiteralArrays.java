@@ -0,0 +1,203 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Helper methods for the sorted literal and variable arrays of formulas.
+ * <p>
+ * The arrays are ordered by the indices of the variables, literals with the same variable are ordered positive first.
+ * Literals of different factories may share an index, in this case they are ordered by their names.  Each literal
+ * occurs at most once in an array.
+ * @version 1.2
+ * @since 1.2
+ */
+final class LiteralArrays {
+
+  static final Literal[] EMPTY_LITERALS = new Literal[0];
+  static final Variable[] EMPTY_VARIABLES = new Variable[0];
+
+  private static final Comparator<Literal> COMPARATOR = LiteralArrays::compare;
+
+  /**
+   * Private constructor.
+   */
+  private LiteralArrays() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Compares two literals by the index of their variable, their name, and their phase.
+   * @param lit1 the first literal
+   * @param lit2 the second literal
+   * @return a negative value, zero, or a positive value if the first literal is ordered before, equal to, or after
+   * the second literal
+   */
+  static int compare(final Literal lit1, final Literal lit2) {
+    if (lit1 == lit2)
+      return 0;
+    if (lit1.index() != lit2.index())
+      return lit1.index() < lit2.index() ? -1 : 1;
+    final int res = lit1.name() == lit2.name() ? 0 : lit1.name().compareTo(lit2.name());
+    if (res == 0 && lit1.phase() != lit2.phase())
+      return lit1.phase() ? -1 : 1;
+    return res;
+  }
+
+  /**
+   * Returns the sorted array of all literals of the operands of a formula.
+   * @param formula the formula
+   * @return the union of the literals of the operands
+   */
+  static Literal[] union(final Formula formula) {
+    if (formula.numberOfOperands() == 2) {
+      final Iterator<Formula> it = formula.iterator();
+      return merge(it.next().literalArray(), it.next().literalArray());
+    }
+    int size = 0;
+    for (final Formula op : formula)
+      size += op.literalArray().length;
+    final Literal[] all = new Literal[size];
+    int pos = 0;
+    for (final Formula op : formula) {
+      final Literal[] lits = op.literalArray();
+      System.arraycopy(lits, 0, all, pos, lits.length);
+      pos += lits.length;
+    }
+    return sortedUnique(all);
+  }
+
+  /**
+   * Merges two sorted literal arrays.
+   * @param lits1 the first array
+   * @param lits2 the second array
+   * @return the sorted union of both arrays
+   */
+  static Literal[] merge(final Literal[] lits1, final Literal[] lits2) {
+    if (lits2.length == 0 || lits1 == lits2)
+      return lits1;
+    if (lits1.length == 0)
+      return lits2;
+    final Literal[] result = new Literal[lits1.length + lits2.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < lits1.length && j < lits2.length) {
+      final int cmp = compare(lits1[i], lits2[j]);
+      if (cmp < 0)
+        result[k++] = lits1[i++];
+      else if (cmp > 0)
+        result[k++] = lits2[j++];
+      else {
+        result[k++] = lits1[i++];
+        j++;
+      }
+    }
+    while (i < lits1.length)
+      result[k++] = lits1[i++];
+    while (j < lits2.length)
+      result[k++] = lits2[j++];
+    if (k == lits1.length)
+      return lits1;
+    return k == result.length ? result : Arrays.copyOf(result, k);
+  }
+
+  /**
+   * Sorts an array of literals and removes duplicates.  The given array is modified.
+   * @param lits the literals
+   * @return the sorted array without duplicates
+   */
+  static Literal[] sortedUnique(final Literal[] lits) {
+    if (lits.length == 0)
+      return EMPTY_LITERALS;
+    Arrays.sort(lits, COMPARATOR);
+    int k = 1;
+    for (int i = 1; i < lits.length; i++)
+      if (compare(lits[k - 1], lits[i]) != 0)
+        lits[k++] = lits[i];
+    return k == lits.length ? lits : Arrays.copyOf(lits, k);
+  }
+
+  /**
+   * Returns the sorted array of the variables of a sorted literal array.
+   * @param lits the literals
+   * @return the variables of the literals
+   */
+  static Variable[] variables(final Literal[] lits) {
+    if (lits.length == 0)
+      return EMPTY_VARIABLES;
+    final Variable[] result = new Variable[lits.length];
+    int k = 0;
+    for (final Literal lit : lits) {
+      final Variable var = lit.variable();
+      if (k == 0 || compare(result[k - 1], var) != 0)
+        result[k++] = var;
+    }
+    return k == result.length ? result : Arrays.copyOf(result, k);
+  }
+
+  /**
+   * Returns {@code true} if a sorted array contains a given literal, {@code false} otherwise.
+   * @param lits the sorted literals
+   * @param lit  the literal
+   * @return {@code true} if the literal is found in the array
+   */
+  static boolean contains(final Literal[] lits, final Literal lit) {
+    int low = 0;
+    int high = lits.length - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = compare(lits[mid], lit);
+      if (cmp < 0)
+        low = mid + 1;
+      else if (cmp > 0)
+        high = mid - 1;
+      else
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns a new sorted set (ordered by the names of the literals) with the elements of a given array.
+   * @param lits the literals
+   * @param <T>  the type of the literals
+   * @return the sorted set
+   */
+  static <T extends Literal> SortedSet<T> sortedSet(final T[] lits) {
+    final SortedSet<T> set = new TreeSet<>();
+    Collections.addAll(set, lits);
+    return set;
+  }
+}
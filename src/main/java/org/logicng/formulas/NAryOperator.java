@@ -34,17 +34,12 @@ import org.logicng.datastructures.Substitution;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.SortedSet;
-import java.util.TreeSet;
-
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
 
 /**
  * Super class for Boolean n-ary operators.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public abstract class NAryOperator extends Formula {
@@ -94,39 +89,9 @@ public abstract class NAryOperator extends Formula {
     return false;
   }
 
-  @Override
-  public SortedSet<Variable> variables() {
-    if (this.variables == null) {
-      final SortedSet<Variable> set = new TreeSet<>();
-      for (final Formula op : this.operands)
-        set.addAll(op.variables());
-      this.variables = set;
-    }
-    return this.variables;
-  }
-
-  @Override
-  public SortedSet<Literal> literals() {
-    final SortedSet<Literal> set = new TreeSet<>();
-    for (final Formula op : this.operands)
-      set.addAll(op.literals());
-    return set;
-  }
-
-  @Override
-  public boolean containsVariable(final Variable variable) {
-    for (final Formula op : this.operands)
-      if (op.containsVariable(variable))
-        return true;
-    return false;
-  }
-
   @Override
   public Formula restrict(final Assignment assignment) {
-    final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-    for (final Formula op : this.operands)
-      nops.add(op.restrict(assignment));
-    return f.naryOperator(type, nops);
+    return DAGTraversal.restrict(this, assignment);
   }
 
   @Override
@@ -152,10 +117,7 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-    for (final Formula op : this.operands)
-      nops.add(op.substitute(substitution));
-    return f.naryOperator(type, nops);
+    return DAGTraversal.substitute(this, substitution);
   }
 
   @Override
@@ -165,15 +127,7 @@ public abstract class NAryOperator extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-      for (final Formula op : this.operands)
-        nops.add(op.nnf());
-      nnf = f.naryOperator(type, nops);
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return DAGTraversal.nnf(this);
   }
 
   /**
@@ -32,15 +32,11 @@ import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
-import java.util.SortedSet;
-
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
 
 /**
  * Boolean negation.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class Not extends Formula {
@@ -94,15 +90,13 @@ public final class Not extends Formula {
   }
 
   @Override
-  public SortedSet<Variable> variables() {
-    if (this.variables == null)
-      this.variables = this.operand.variables();
-    return this.variables;
+  public Variable[] variableArray() {
+    return this.operand.variableArray();
   }
 
   @Override
-  public SortedSet<Literal> literals() {
-    return this.operand.literals();
+  public Literal[] literalArray() {
+    return this.operand.literalArray();
   }
 
   @Override
@@ -117,7 +111,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula restrict(final Assignment assignment) {
-    return f.not(this.operand.restrict(assignment));
+    return DAGTraversal.restrict(this, assignment);
   }
 
   @Override
@@ -127,7 +121,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula substitute(final Substitution substitution) {
-    return f.not(this.operand.substitute(substitution));
+    return DAGTraversal.substitute(this, substitution);
   }
 
   @Override
@@ -137,32 +131,7 @@ public final class Not extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
-    if (nnf == null) {
-      switch (this.operand.type) {
-        case AND:
-        case OR:
-          final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-          for (final Formula op : this.operand)
-            nops.add(op.negate().nnf());
-          nnf = f.naryOperator(this.operand.type == FType.AND ? FType.OR : FType.AND, nops);
-          break;
-        case IMPL:
-          nnf = f.and(((BinaryOperator) this.operand).left, ((BinaryOperator) this.operand).right.negate()).nnf();
-          break;
-        case EQUIV:
-          nnf = f.and(f.or(((BinaryOperator) this.operand).left.negate().nnf(), ((BinaryOperator) this.operand).right.negate().nnf()),
-                  f.or(((BinaryOperator) this.operand).left.nnf(), ((BinaryOperator) this.operand).right.nnf()));
-          break;
-        case PBC:
-          nnf = this.operand.negate().nnf();
-          break;
-        default:
-          nnf = this;
-      }
-      this.transformationCache.put(NNF, nnf);
-    }
-    return nnf;
+    return DAGTraversal.nnf(this);
   }
 
   @Override
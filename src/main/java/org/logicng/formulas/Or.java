@@ -31,6 +31,7 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 
@@ -58,7 +59,7 @@ public final class Or extends NAryOperator {
    * @param f        the factory which created this instance
    * @param isClause is {@code true} if the formula is a clause, {@code false} otherwise
    */
-  Or(final LinkedHashSet<? extends Formula> operands, final FormulaFactory f, boolean isClause) {
+  Or(final Collection<? extends Formula> operands, final FormulaFactory f, boolean isClause) {
     super(FType.OR, operands, f);
     if (isClause) {
       this.setPredicateCacheEntry(IS_CNF, true);
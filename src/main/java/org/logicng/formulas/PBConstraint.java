@@ -36,23 +36,20 @@ import org.logicng.datastructures.Substitution;
 import org.logicng.util.Pair;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
 
 /**
  * A pseudo-Boolean constraint of the form {@code c_1 * l_1 + ... + c_n * l_n R k} where {@code R} is one of
  * {@code =, >, >=, <, <=}.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class PBConstraint extends Formula {
@@ -330,28 +327,8 @@ public final class PBConstraint extends Formula {
   }
 
   @Override
-  public SortedSet<Variable> variables() {
-    if (this.variables == null) {
-      this.variables = new TreeSet<>();
-      for (final Literal lit : this.literals)
-        this.variables.add(lit.variable());
-    }
-    return this.variables;
-  }
-
-  @Override
-  public SortedSet<Literal> literals() {
-    final SortedSet<Literal> lits = new TreeSet<>();
-    Collections.addAll(lits, this.literals);
-    return lits;
-  }
-
-  @Override
-  public boolean containsVariable(final Variable variable) {
-    for (final Literal lit : this.literals)
-      if (lit.containsVariable(variable))
-        return true;
-    return false;
+  protected Literal[] computeLiteralArray() {
+    return LiteralArrays.sortedUnique(Arrays.copyOf(this.literals, this.literals.length));
   }
 
   @Override
@@ -445,7 +422,7 @@ public final class PBConstraint extends Formula {
 
   @Override
   public Formula nnf() {
-    Formula nnf = this.transformationCache.get(NNF);
+    Formula nnf = this.transformationCacheEntry(NNF);
     if (nnf == null) {
       if (this.encoding == null)
         this.encode();
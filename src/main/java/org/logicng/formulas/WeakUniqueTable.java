@@ -0,0 +1,174 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A unique table of a formula factory which holds its formulas only weakly.
+ * <p>
+ * A formula which is not reachable from outside the factory anymore can be collected by the garbage collector.  Its
+ * table entry is removed lazily on the next write access to the table.  As long as a formula is reachable, the table
+ * returns exactly this instance for its key.
+ * @param <K> the type of the keys
+ * @param <V> the type of the formulas
+ * @version 1.2
+ * @since 1.2
+ */
+final class WeakUniqueTable<K, V extends Formula> extends AbstractMap<K, V> {
+
+  private final Map<K, Entry<K, V>> table;
+  private final ReferenceQueue<V> queue;
+
+  /**
+   * Constructs a new weak unique table.
+   * @param concurrent {@code true} if the table should be thread-safe, {@code false} otherwise
+   */
+  WeakUniqueTable(boolean concurrent) {
+    this.table = concurrent ? new ConcurrentHashMap<K, Entry<K, V>>() : new HashMap<K, Entry<K, V>>();
+    this.queue = new ReferenceQueue<>();
+  }
+
+  @Override
+  public V get(final Object key) {
+    final Entry<K, V> entry = this.table.get(key);
+    return entry == null ? null : entry.get();
+  }
+
+  @Override
+  public V put(final K key, final V value) {
+    this.expunge();
+    final Entry<K, V> old = this.table.put(key, new Entry<>(key, value, this.queue));
+    return old == null ? null : old.get();
+  }
+
+  @Override
+  public V putIfAbsent(final K key, final V value) {
+    this.expunge();
+    final Entry<K, V> entry = new Entry<>(key, value, this.queue);
+    while (true) {
+      final Entry<K, V> old = this.table.putIfAbsent(key, entry);
+      if (old == null)
+        return null;
+      final V oldValue = old.get();
+      if (oldValue != null)
+        return oldValue;
+      if (this.table.replace(key, old, entry))
+        return null;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+    this.expunge();
+    final Object[] result = new Object[1];
+    this.table.compute(key, (k, old) -> {
+      final V oldValue = old == null ? null : old.get();
+      if (oldValue != null) {
+        result[0] = oldValue;
+        return old;
+      }
+      final V value = mappingFunction.apply(k);
+      result[0] = value;
+      return new Entry<>(k, value, this.queue);
+    });
+    return (V) result[0];
+  }
+
+  @Override
+  public int size() {
+    this.expunge();
+    return this.table.size();
+  }
+
+  @Override
+  public void clear() {
+    this.table.clear();
+    while (this.queue.poll() != null) {
+      // drain the queue
+    }
+  }
+
+  /**
+   * Returns a snapshot of the entries whose formulas are still reachable.
+   * @return a snapshot of the live entries
+   */
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    final Set<Map.Entry<K, V>> entries = new LinkedHashSet<>();
+    for (final Entry<K, V> entry : this.table.values()) {
+      final V value = entry.get();
+      if (value != null)
+        entries.add(new SimpleImmutableEntry<>(entry.key, value));
+    }
+    return entries;
+  }
+
+  /**
+   * Removes all entries whose formulas were collected by the garbage collector.
+   */
+  @SuppressWarnings("unchecked")
+  private void expunge() {
+    Reference<? extends V> ref;
+    while ((ref = this.queue.poll()) != null) {
+      final Entry<K, V> entry = (Entry<K, V>) ref;
+      this.table.remove(entry.key, entry);
+    }
+  }
+
+  /**
+   * An entry of the table: a weak reference to the formula which also knows its key.
+   * @param <K> the type of the key
+   * @param <V> the type of the formula
+   */
+  private static final class Entry<K, V> extends WeakReference<V> {
+    private final K key;
+
+    /**
+     * Constructs a new entry.
+     * @param key   the key
+     * @param value the formula
+     * @param queue the reference queue of the table
+     */
+    private Entry(final K key, final V value, final ReferenceQueue<V> queue) {
+      super(value, queue);
+      this.key = key;
+    }
+  }
+}
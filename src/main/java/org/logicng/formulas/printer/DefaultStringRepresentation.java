@@ -110,6 +110,11 @@ public final class DefaultStringRepresentation extends FormulaStringRepresentati
     return ")";
   }
 
+  @Override
+  protected boolean streaming() {
+    return true;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName();
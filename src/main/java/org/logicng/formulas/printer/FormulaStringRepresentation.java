@@ -37,9 +37,28 @@ import org.logicng.formulas.NAryOperator;
 import org.logicng.formulas.Not;
 import org.logicng.formulas.PBConstraint;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Super class for a formula string representation.
- * @version 1.0
+ * <p>
+ * Formulas are rendered iteratively to an {@link Appendable}, so neither deep formulas overflow the call stack nor
+ * large formulas have to be built as a single string.  Formulas with many shared subformulas can be rendered as a DAG
+ * where each shared subformula is defined once by a name and only referenced by this name afterwards.
+ * <p>
+ * Subclasses usually only provide the symbols and customize literals by overriding {@link #literal(Literal)}.  Such
+ * subclasses can enable the iterative renderer by returning {@code true} in {@link #streaming()}.  Otherwise formulas
+ * are rendered recursively through {@link #toString(Formula)} and the methods for brackets and operators, so that
+ * overridden versions of these methods are used for all subformulas.
+ * @version 1.2
  * @since 1.0
  */
 public abstract class FormulaStringRepresentation {
@@ -50,27 +69,219 @@ public abstract class FormulaStringRepresentation {
    * @return the string representation of the formula
    */
   public String toString(final Formula formula) {
+    if (!this.streaming())
+      return this.recursiveString(formula);
+    final StringBuilder sb = new StringBuilder();
+    try {
+      this.write(formula, sb);
+    } catch (final IOException e) {
+      throw new IllegalStateException("A string builder cannot throw an IO exception", e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the string representation of the given formula to an appendable.
+   * @param formula the formula
+   * @param out     the appendable, e.g. a {@link java.io.Writer}
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  public void write(final Formula formula, final Appendable out) throws IOException {
+    if (!this.streaming())
+      out.append(this.toString(formula));
+    else
+      this.writeExpression(formula, out, null);
+  }
+
+  /**
+   * Writes the string representation of the given formula to an appendable where shared subformulas are not expanded.
+   * Each non-atomic subformula which occurs more than once in the formula DAG is written in a separate line
+   * {@code #k := <subformula>} before its first use and referenced by its name {@code #k} afterwards (see {@link
+   * #sharedName(int)}).  The last line is the formula itself.  The size of the output is linear in the size of the formula DAG.  The formula is always
+   * rendered iteratively, overridden versions of {@link #toString(Formula)}, {@link #bracket(Formula)}, {@link
+   * #binaryOperator(BinaryOperator, String)} and {@link #naryOperator(NAryOperator, String)} are not used.
+   * @param formula the formula
+   * @param out     the appendable, e.g. a {@link java.io.Writer}
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  public void writeShared(final Formula formula, final Appendable out) throws IOException {
+    final Map<Formula, String> names = new IdentityHashMap<>();
+    for (final Formula shared : sharedSubformulas(formula)) {
+      final String name = this.sharedName(names.size() + 1);
+      out.append(name).append(" ").append(this.definition()).append(" ");
+      this.writeExpression(shared, out, names);
+      out.append('\n');
+      names.put(shared, name);
+    }
+    this.writeExpression(formula, out, names);
+  }
+
+  /**
+   * Returns the non-atomic subformulas with more than one occurrence in the DAG of a formula in post-order.
+   * @param formula the formula
+   * @return the shared subformulas, each one after its own shared subformulas
+   */
+  private static List<Formula> sharedSubformulas(final Formula formula) {
+    final Map<Formula, Integer> occurrences = new IdentityHashMap<>();
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(formula);
+    occurrences.put(formula, 1);
+    while (!stack.isEmpty())
+      for (final Formula op : operands(stack.pop())) {
+        final Integer count = occurrences.put(op, occurrences.containsKey(op) ? occurrences.get(op) + 1 : 1);
+        if (count == null)
+          stack.push(op);
+      }
+    final List<Formula> shared = new ArrayList<>();
+    final Map<Formula, Boolean> done = new IdentityHashMap<>();
+    final Deque<Iterator<Formula>> iterators = new ArrayDeque<>();
+    final Deque<Formula> path = new ArrayDeque<>();
+    path.push(formula);
+    iterators.push(operands(formula).iterator());
+    while (!path.isEmpty()) {
+      if (iterators.peek().hasNext()) {
+        final Formula op = iterators.peek().next();
+        if (done.put(op, Boolean.TRUE) == null) {
+          path.push(op);
+          iterators.push(operands(op).iterator());
+        }
+      } else {
+        final Formula current = path.pop();
+        iterators.pop();
+        if (current != formula && current.type() != FType.LITERAL && occurrences.get(current) > 1)
+          shared.add(current);
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * Returns the operands of a formula whose occurrences are relevant for sharing.
+   * @param formula the formula
+   * @return the operands or an empty iterable for atomic formulas and pseudo-Boolean constraints
+   */
+  private static Iterable<Formula> operands(final Formula formula) {
+    return formula.type() == FType.LITERAL || formula.type() == FType.PBC ? Collections.<Formula>emptyList() : formula;
+  }
+
+  /**
+   * Writes a formula to an appendable.  The formula DAG is traversed iteratively with an explicit stack of operators
+   * whose operands are currently written.
+   * @param formula the formula
+   * @param out     the appendable
+   * @param names   the names of the shared subformulas which are not expanded or {@code null}
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  private void writeExpression(final Formula formula, final Appendable out, final Map<Formula, String> names) throws IOException {
+    final Deque<Frame> stack = new ArrayDeque<>();
+    this.open(formula, false, out, stack);
+    while (!stack.isEmpty()) {
+      final Frame frame = stack.peek();
+      if (!frame.operands.hasNext()) {
+        stack.pop();
+        if (frame.bracket)
+          out.append(this.rbr());
+        continue;
+      }
+      final Formula op = frame.operands.next();
+      if (frame.first)
+        frame.first = false;
+      else
+        out.append(" ").append(this.operator(frame.operator.type())).append(" ");
+      final String name = names == null ? null : names.get(op);
+      if (name != null)
+        out.append(name);
+      else
+        this.open(op, frame.operator.type() == FType.NOT || frame.operator.type().precedence() >= op.type().precedence(), out, stack);
+    }
+  }
+
+  /**
+   * Starts writing a formula.  Atomic formulas and pseudo-Boolean constraints are written completely, for all other
+   * formulas the opening bracket and negation sign are written and a frame for their operands is pushed.
+   * @param formula the formula
+   * @param bracket whether the formula has to be written in brackets
+   * @param out     the appendable
+   * @param stack   the stack of operators
+   * @throws IOException if there was a problem writing to the appendable
+   */
+  private void open(final Formula formula, final boolean bracket, final Appendable out, final Deque<Frame> stack) throws IOException {
+    if (bracket)
+      out.append(this.lbr());
+    switch (formula.type()) {
+      case FALSE:
+        out.append(this.falsum());
+        break;
+      case TRUE:
+        out.append(this.verum());
+        break;
+      case LITERAL:
+        out.append(this.literal((Literal) formula));
+        break;
+      case PBC:
+        final PBConstraint pbc = (PBConstraint) formula;
+        out.append(this.pbLhs(pbc.operands(), pbc.coefficients())).append(" ").append(this.pbComparator(pbc.comparator()))
+                .append(" ").append(String.valueOf(pbc.rhs()));
+        break;
+      case NOT:
+        out.append(this.negation());
+        stack.push(new Frame(formula, bracket));
+        return;
+      case IMPL:
+      case EQUIV:
+      case AND:
+      case OR:
+        stack.push(new Frame(formula, bracket));
+        return;
+      default:
+        throw new IllegalArgumentException("Cannot print the unknown formula type " + formula.type());
+    }
+    if (bracket)
+      out.append(this.rbr());
+  }
+
+  /**
+   * Returns the string representation of the operator of a binary or n-ary formula type.
+   * @param type the formula type
+   * @return the string representation of the operator
+   */
+  private String operator(final FType type) {
+    switch (type) {
+      case IMPL:
+        return this.implication();
+      case EQUIV:
+        return this.equivalence();
+      case AND:
+        return this.and();
+      case OR:
+        return this.or();
+      default:
+        throw new IllegalArgumentException("Formula type " + type + " has no infix operator");
+    }
+  }
+
+  /**
+   * Returns the string representation of a formula by recursively descending into its operands.
+   * @param formula the formula
+   * @return the string representation of the formula
+   */
+  private String recursiveString(final Formula formula) {
     switch (formula.type()) {
       case FALSE:
         return this.falsum();
       case TRUE:
         return this.verum();
       case LITERAL:
-        final Literal lit = (Literal) formula;
-        return lit.phase() ? lit.name() : this.negation() + lit.name();
+        return this.literal((Literal) formula);
       case NOT:
         final Not not = (Not) formula;
         return this.negation() + this.bracket(not.operand());
       case IMPL:
       case EQUIV:
-        final BinaryOperator binary = (BinaryOperator) formula;
-        String op = formula.type() == FType.IMPL ? this.implication() : this.equivalence();
-        return this.binaryOperator(binary, op);
+        return this.binaryOperator((BinaryOperator) formula, this.operator(formula.type()));
       case AND:
       case OR:
-        final NAryOperator nary = (NAryOperator) formula;
-        op = formula.type() == FType.AND ? this.and() : this.or();
-        return this.naryOperator(nary, String.format(" %s ", op));
+        return this.naryOperator((NAryOperator) formula, String.format(" %s ", this.operator(formula.type())));
       case PBC:
         final PBConstraint pbc = (PBConstraint) formula;
         return String.format("%s %s %d", this.pbLhs(pbc.operands(), pbc.coefficients()), this.pbComparator(pbc.comparator()), pbc.rhs());
@@ -111,7 +322,7 @@ public abstract class FormulaStringRepresentation {
   protected String naryOperator(final NAryOperator operator, final String opString) {
     final StringBuilder sb = new StringBuilder();
     int count = 0;
-    int size = operator.numberOfOperands();
+    final int size = operator.numberOfOperands();
     Formula last = null;
     for (final Formula op : operator) {
       if (++count == size)
@@ -126,6 +337,44 @@ public abstract class FormulaStringRepresentation {
     return sb.toString();
   }
 
+  /**
+   * Returns the string representation of a literal.
+   * @param lit the literal
+   * @return the string representation of the literal
+   */
+  protected String literal(final Literal lit) {
+    return lit.phase() ? lit.name() : this.negation() + lit.name();
+  }
+
+  /**
+   * Returns whether formulas are rendered by the iterative renderer.  The default implementation returns {@code false},
+   * so that formulas are rendered recursively through {@link #toString(Formula)}, {@link #bracket(Formula)}, {@link
+   * #binaryOperator(BinaryOperator, String)} and {@link #naryOperator(NAryOperator, String)}.  Subclasses which do not
+   * override these methods should return {@code true}.
+   * @return {@code true} if formulas are rendered iteratively, {@code false} if they are rendered recursively
+   */
+  protected boolean streaming() {
+    return false;
+  }
+
+  /**
+   * Returns the name of a shared subformula in the output of {@link #writeShared(Formula, Appendable)}.  The default
+   * name {@code #k} cannot be the name of a variable, so shared subformulas and variables are never confused.
+   * @param index the index of the shared subformula, starting with 1
+   * @return the name of the shared subformula
+   */
+  protected String sharedName(int index) {
+    return "#" + index;
+  }
+
+  /**
+   * Returns the string representation of the definition of a shared subformula.
+   * @return the string representation of the definition of a shared subformula
+   */
+  protected String definition() {
+    return ":=";
+  }
+
   /**
    * Returns the string representation of the left-hand side of a pseudo-Boolean constraint.
    * @param operands     the literals of the constraint
@@ -222,4 +471,26 @@ public abstract class FormulaStringRepresentation {
    * @return the string representation of right bracket
    */
   protected abstract String rbr();
+
+  /**
+   * An operator whose operands are currently written.
+   */
+  private static final class Frame {
+    private final Formula operator;
+    private final Iterator<Formula> operands;
+    private final boolean bracket;
+    private boolean first;
+
+    /**
+     * Constructs a new frame.
+     * @param operator the operator
+     * @param bracket  whether the operator is written in brackets
+     */
+    private Frame(final Formula operator, final boolean bracket) {
+      this.operator = operator;
+      this.operands = operator.iterator();
+      this.bracket = bracket;
+      this.first = true;
+    }
+  }
 }
@@ -29,7 +29,6 @@
 package org.logicng.formulas.printer;
 
 import org.logicng.formulas.CType;
-import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 
 import java.util.regex.Matcher;
@@ -37,7 +36,7 @@ import java.util.regex.Pattern;
 
 /**
  * The LaTeX string representation for formulas.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class LatexStringRepresentation extends FormulaStringRepresentation {
@@ -59,14 +58,8 @@ public final class LatexStringRepresentation extends FormulaStringRepresentation
   }
 
   @Override
-  public String toString(final Formula formula) {
-    switch (formula.type()) {
-      case LITERAL:
-        final Literal lit = (Literal) formula;
-        return lit.phase() ? latexName(lit.name()) : this.negation() + " " + latexName(lit.name());
-      default:
-        return super.toString(formula);
-    }
+  protected String literal(final Literal lit) {
+    return lit.phase() ? latexName(lit.name()) : this.negation() + " " + latexName(lit.name());
   }
 
   @Override
@@ -142,6 +135,16 @@ public final class LatexStringRepresentation extends FormulaStringRepresentation
     return "\\right)";
   }
 
+  @Override
+  protected boolean streaming() {
+    return true;
+  }
+
+  @Override
+  protected String sharedName(int index) {
+    return "\\#" + index;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName();
@@ -29,7 +29,6 @@
 package org.logicng.formulas.printer;
 
 import org.logicng.formulas.CType;
-import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 
 import java.util.regex.Matcher;
@@ -37,7 +36,7 @@ import java.util.regex.Pattern;
 
 /**
  * The UTF8 string representation for formulas.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class UTF8StringRepresentation extends FormulaStringRepresentation {
@@ -99,14 +98,8 @@ public final class UTF8StringRepresentation extends FormulaStringRepresentation
   }
 
   @Override
-  public String toString(final Formula formula) {
-    switch (formula.type()) {
-      case LITERAL:
-        final Literal lit = (Literal) formula;
-        return lit.phase() ? utf8Name(lit.name()) : this.negation() + utf8Name(lit.name());
-      default:
-        return super.toString(formula);
-    }
+  protected String literal(final Literal lit) {
+    return lit.phase() ? utf8Name(lit.name()) : this.negation() + utf8Name(lit.name());
   }
 
   @Override
@@ -182,6 +175,11 @@ public final class UTF8StringRepresentation extends FormulaStringRepresentation
     return ")";
   }
 
+  @Override
+  protected boolean streaming() {
+    return true;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName();
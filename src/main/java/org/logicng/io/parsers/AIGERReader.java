@@ -0,0 +1,279 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reader for combinational And-Inverter Graphs in the ASCII ({@code aag}) and binary ({@code aig}) AIGER format.
+ * <p>
+ * Each output of the circuit is returned as a formula in AIG form.  The AND gates are mapped directly to conjunctions
+ * and negations of the formula factory, so each gate is constructed only once and shared between all outputs which
+ * use it.  The inputs are named by the symbol table, inputs without a symbol are named {@code i<k>} where {@code k} is
+ * the index of the input.  Circuits with latches or with the property sections of AIGER 1.9 are not supported.
+ * Gzip-compressed files are decompressed on the fly.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class AIGERReader {
+
+  private static final byte INPUT = 1;
+  private static final byte GATE = 2;
+
+  /**
+   * Private constructor.
+   */
+  private AIGERReader() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Reads an AIGER file.
+   * @param file the file
+   * @param f    the formula factory
+   * @return the formulas of the outputs
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid combinational AIGER file
+   */
+  public static List<Formula> read(final File file, final FormulaFactory f) throws IOException, ParserException {
+    try (InputStream in = DimacsTokenizer.open(file)) {
+      return read(in, f);
+    }
+  }
+
+  /**
+   * Reads an AIGER circuit from an input stream.  The stream is not closed.
+   * @param in the input stream
+   * @param f  the formula factory
+   * @return the formulas of the outputs
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the stream does not contain a valid combinational AIGER circuit
+   */
+  public static List<Formula> read(final InputStream in, final FormulaFactory f) throws IOException, ParserException {
+    final DimacsTokenizer tokenizer = new DimacsTokenizer(in);
+    final String format = tokenizer.nextWord();
+    if (!"aag".equals(format) && !"aig".equals(format))
+      throw tokenizer.error("Expected an AIGER header");
+    final boolean binary = "aig".equals(format);
+    final int maxVar = nextUnsigned(tokenizer);
+    final int numInputs = nextUnsigned(tokenizer);
+    final int numLatches = nextUnsigned(tokenizer);
+    final int numOutputs = nextUnsigned(tokenizer);
+    final int numGates = nextUnsigned(tokenizer);
+    tokenizer.skipBlanks();
+    while (tokenizer.peek() >= '0' && tokenizer.peek() <= '9') {
+      if (tokenizer.nextInt() != 0)
+        throw tokenizer.error("Properties are not supported");
+      tokenizer.skipBlanks();
+    }
+    tokenizer.skipLine();
+    if (numLatches != 0)
+      throw tokenizer.error("Latches are not supported");
+    if (binary ? (long) numInputs + numGates != maxVar : (long) numInputs + numGates > maxVar)
+      throw tokenizer.error("Inconsistent header");
+    final int[] inputs = new int[numInputs];
+    final int[] rhs0 = new int[maxVar + 1];
+    final int[] rhs1 = new int[maxVar + 1];
+    final byte[] kinds = new byte[maxVar + 1];
+    for (int i = 0; i < numInputs; i++) {
+      final int var = binary ? i + 1 : definedVariable(tokenizer, maxVar, kinds);
+      kinds[var] = INPUT;
+      inputs[i] = var;
+    }
+    final int[] outputs = new int[numOutputs];
+    for (int i = 0; i < numOutputs; i++)
+      outputs[i] = literal(tokenizer, tokenizer.nextInt(), maxVar);
+    if (binary && numOutputs > 0)
+      tokenizer.skipLine();
+    for (int i = 0; i < numGates; i++) {
+      final int var;
+      if (binary) {
+        var = numInputs + i + 1;
+        rhs0[var] = 2 * var - readUnsigned(tokenizer);
+        rhs1[var] = rhs0[var] - readUnsigned(tokenizer);
+        if (rhs0[var] < 0 || rhs1[var] < 0 || rhs0[var] >= 2 * var)
+          throw tokenizer.error("Invalid AND gate");
+      } else {
+        var = definedVariable(tokenizer, maxVar, kinds);
+        rhs0[var] = literal(tokenizer, tokenizer.nextInt(), maxVar);
+        rhs1[var] = literal(tokenizer, tokenizer.nextInt(), maxVar);
+      }
+      kinds[var] = GATE;
+    }
+    final String[] names = readSymbols(tokenizer, numInputs);
+    final Formula[] nodes = new Formula[maxVar + 1];
+    nodes[0] = f.falsum();
+    for (int i = 0; i < numInputs; i++)
+      nodes[inputs[i]] = f.variable(names[i] != null ? names[i] : "i" + i);
+    final List<Formula> result = new ArrayList<>(numOutputs);
+    final boolean[] onStack = new boolean[maxVar + 1];
+    final LNGIntVector stack = new LNGIntVector();
+    for (final int output : outputs) {
+      stack.push(output >> 1);
+      while (!stack.empty()) {
+        final int var = stack.back();
+        if (nodes[var] != null) {
+          stack.pop();
+          continue;
+        }
+        if (kinds[var] != GATE)
+          throw new ParserException("Undefined variable " + var, null);
+        onStack[var] = true;
+        final int child = nodes[rhs0[var] >> 1] == null ? rhs0[var] >> 1 : nodes[rhs1[var] >> 1] == null ? rhs1[var] >> 1 : -1;
+        if (child == -1) {
+          nodes[var] = f.and(node(f, nodes, rhs0[var]), node(f, nodes, rhs1[var]));
+          stack.pop();
+        } else if (onStack[child])
+          throw new ParserException("Cyclic definition of variable " + child, null);
+        else
+          stack.push(child);
+      }
+      result.add(node(f, nodes, output));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the formula of an AIGER literal whose variable is already constructed.
+   * @param f     the formula factory
+   * @param nodes the formulas of the variables
+   * @param lit   the AIGER literal
+   * @return the formula
+   */
+  private static Formula node(final FormulaFactory f, final Formula[] nodes, final int lit) {
+    final Formula node = nodes[lit >> 1];
+    return (lit & 1) == 0 ? node : f.not(node);
+  }
+
+  /**
+   * Reads the symbol table and returns the names of the inputs.  Symbols of outputs are ignored, the comment section
+   * ends the symbol table.
+   * @param tokenizer the tokenizer
+   * @param numInputs the number of inputs
+   * @return the names of the inputs indexed by input ({@code null} if an input has no name)
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the symbol table is not valid
+   */
+  private static String[] readSymbols(final DimacsTokenizer tokenizer, final int numInputs) throws IOException, ParserException {
+    final String[] names = new String[numInputs];
+    while (true) {
+      tokenizer.skipWhitespace();
+      final int c = tokenizer.peek();
+      if (c == -1 || c == 'c')
+        break;
+      if (c == 'i') {
+        tokenizer.read();
+        final long index = tokenizer.nextLong();
+        if (index < 0 || index >= numInputs || tokenizer.read() != ' ')
+          throw tokenizer.error("Invalid symbol");
+        names[(int) index] = tokenizer.nextLine();
+      } else if (c == 'o' || c == 'l' || c == 'b' || c == 'j' || c == 'f')
+        tokenizer.skipLine();
+      else
+        throw tokenizer.error("Invalid symbol");
+    }
+    return names;
+  }
+
+  /**
+   * Reads the literal of a newly defined input or gate in the ASCII format and returns its variable.
+   * @param tokenizer the tokenizer
+   * @param maxVar    the maximum variable index
+   * @param kinds     the kinds of the already defined variables
+   * @return the variable
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the literal is negative, a constant, or already defined
+   */
+  private static int definedVariable(final DimacsTokenizer tokenizer, final int maxVar, final byte[] kinds)
+          throws IOException, ParserException {
+    final int lit = literal(tokenizer, tokenizer.nextInt(), maxVar);
+    if ((lit & 1) != 0 || lit == 0 || kinds[lit >> 1] != 0)
+      throw tokenizer.error("Invalid definition of literal " + lit);
+    return lit >> 1;
+  }
+
+  /**
+   * Checks that an AIGER literal is in range.
+   * @param tokenizer the tokenizer
+   * @param lit       the literal
+   * @param maxVar    the maximum variable index
+   * @return the literal
+   * @throws ParserException if the literal is out of range
+   */
+  private static int literal(final DimacsTokenizer tokenizer, final int lit, final int maxVar) throws ParserException {
+    if (lit < 0 || lit >> 1 > maxVar)
+      throw tokenizer.error("Invalid literal " + lit);
+    return lit;
+  }
+
+  /**
+   * Reads a non-negative number of the header.
+   * @param tokenizer the tokenizer
+   * @return the number
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the next token is not a non-negative number
+   */
+  private static int nextUnsigned(final DimacsTokenizer tokenizer) throws IOException, ParserException {
+    final int value = tokenizer.nextInt();
+    if (value < 0 || value == Integer.MAX_VALUE)
+      throw tokenizer.error("Invalid header");
+    return value;
+  }
+
+  /**
+   * Reads an unsigned number of the binary format with seven bits per byte and the highest bit set on all but the last
+   * byte.
+   * @param tokenizer the tokenizer
+   * @return the number
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the stream ends or the number is too large
+   */
+  private static int readUnsigned(final DimacsTokenizer tokenizer) throws IOException, ParserException {
+    long value = 0;
+    int shift = 0;
+    int c;
+    do {
+      c = tokenizer.read();
+      if (c == -1)
+        throw tokenizer.error("Unexpected end of file");
+      value |= (long) (c & 0x7f) << shift;
+      shift += 7;
+      if (value > Integer.MAX_VALUE)
+        throw tokenizer.error("Number too large");
+    } while ((c & 0x80) != 0);
+    return (int) value;
+  }
+}
@@ -0,0 +1,222 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.io.writers.BinaryCNFWriter;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * A reader for CNFs in the binary format of the {@link BinaryCNFWriter}.
+ * <p>
+ * Files are memory-mapped and the clauses are decoded directly into the literal vectors of a solver, so no text has to
+ * be tokenized.  Files are limited to 2 GB.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BinaryCNFReader {
+
+  private final ByteBuffer buffer;
+  private final int numVars;
+  private final int numClauses;
+  private final long numLiterals;
+  private final String[] names;
+
+  /**
+   * Constructs a new reader and reads the header.
+   * @param buffer the buffer, positioned at the start of the data
+   * @throws ParserException if the header is not valid
+   */
+  private BinaryCNFReader(final ByteBuffer buffer) throws ParserException {
+    this.buffer = buffer;
+    try {
+      if (buffer.getInt() != BinaryCNFWriter.MAGIC)
+        throw new ParserException("Not a binary CNF file", null);
+      final int version = buffer.getInt();
+      if (version != BinaryCNFWriter.VERSION)
+        throw new ParserException("Unsupported binary CNF version: " + version, null);
+      this.numVars = buffer.getInt();
+      this.numClauses = buffer.getInt();
+      this.numLiterals = buffer.getLong();
+      if (this.numVars < 0 || this.numClauses < 0 || this.numLiterals < 0)
+        throw new ParserException("Illegal counts in binary CNF header", null);
+      this.names = new String[this.numVars];
+      final int numNames = buffer.getInt();
+      for (int i = 0; i < numNames; i++) {
+        final int var = buffer.getInt();
+        if (var < 0 || var >= this.numVars)
+          throw new ParserException("Illegal variable index in name table: " + var, null);
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining())
+          throw new ParserException("Illegal name length in binary CNF data: " + length, null);
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        this.names[var] = new String(bytes, StandardCharsets.UTF_8);
+      }
+    } catch (final BufferUnderflowException e) {
+      throw new ParserException("Unexpected end of binary CNF data", e);
+    }
+  }
+
+  /**
+   * Reads a binary CNF file and passes each clause to a consumer as a vector of solver literal codes
+   * ({@code 2 * v + (negative ? 1 : 0)}).  The vector passed to the consumer is reused for the next clause, so the
+   * consumer must copy it if it wants to keep it.
+   * @param file     the file
+   * @param consumer the consumer for the clauses
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid binary CNF file
+   */
+  public static int read(final File file, final Consumer<LNGIntVector> consumer) throws IOException, ParserException {
+    final BinaryCNFReader reader = new BinaryCNFReader(map(file));
+    reader.readClauses(consumer);
+    return reader.numClauses;
+  }
+
+  /**
+   * Reads a binary CNF file directly into a MiniSat-style solver.  A solver variable is created for each variable of
+   * the file.  Variables with a name in the file get this name; if a solver variable with this name already exists,
+   * it is used instead of a new one.  Variables without a name are named {@code <prefix><v + 1>} if a prefix is given,
+   * i.e. like the variables read by {@link DimacsReader#read(File, MiniSatStyleSolver, String)} from the equivalent
+   * DIMACS file.
+   * @param file   the file
+   * @param solver the solver
+   * @param prefix the prefix for the names of unnamed variables or {@code null} if they should not be named
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid binary CNF file
+   */
+  public static int read(final File file, final MiniSatStyleSolver solver, final String prefix) throws IOException, ParserException {
+    final BinaryCNFReader reader = new BinaryCNFReader(map(file));
+    final int[] varMap = new int[reader.numVars];
+    final boolean sign = !solver.config().initialPhase();
+    for (int i = 0; i < reader.numVars; i++) {
+      final String name = reader.names[i] != null ? reader.names[i] : prefix != null ? prefix + (i + 1) : null;
+      int index = name != null ? solver.idxForName(name) : -1;
+      if (index == -1) {
+        index = solver.newVar(sign, true);
+        if (name != null)
+          solver.addName(name, index);
+      }
+      varMap[i] = index;
+    }
+    reader.readClauses(clause -> {
+      for (int i = 0; i < clause.size(); i++) {
+        final int code = clause.get(i);
+        clause.set(i, MiniSatStyleSolver.mkLit(varMap[MiniSatStyleSolver.var(code)], MiniSatStyleSolver.sign(code)));
+      }
+      solver.addClause(clause);
+    });
+    return reader.numClauses;
+  }
+
+  /**
+   * Reads a binary CNF file directly into a CleaneLing-style solver.  The variable {@code v} of the file is added as
+   * the external variable {@code v + 1}, the variable names are ignored.
+   * @param file   the file
+   * @param solver the solver
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid binary CNF file
+   */
+  public static int read(final File file, final CleaneLingStyleSolver solver) throws IOException, ParserException {
+    return read(file, clause -> {
+      for (int i = 0; i < clause.size(); i++) {
+        final int code = clause.get(i);
+        final int var = MiniSatStyleSolver.var(code) + 1;
+        solver.addlit(MiniSatStyleSolver.sign(code) ? -var : var);
+      }
+      solver.addlit(0);
+    });
+  }
+
+  /**
+   * Memory-maps a file.
+   * @param file the file
+   * @return the mapped buffer
+   * @throws IOException if there was a problem mapping the file
+   */
+  private static ByteBuffer map(final File file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Decodes all clauses and passes them to a consumer.
+   * @param consumer the consumer
+   * @throws ParserException if the clause data is not valid
+   */
+  private void readClauses(final Consumer<LNGIntVector> consumer) throws ParserException {
+    final LNGIntVector clause = new LNGIntVector();
+    final int maxCode = 2 * this.numVars;
+    try {
+      for (int i = 0; i < this.numClauses; i++) {
+        clause.clear();
+        final int size = this.getVarInt();
+        int code = 0;
+        for (int j = 0; j < size; j++) {
+          code += this.getVarInt();
+          if (code < 0 || code >= maxCode)
+            throw new ParserException(String.format("Illegal literal in clause %d", i), null);
+          clause.push(code);
+        }
+        consumer.accept(clause);
+      }
+    } catch (final BufferUnderflowException e) {
+      throw new ParserException("Unexpected end of binary CNF data", e);
+    }
+  }
+
+  /**
+   * Reads an unsigned variable-length integer.
+   * @return the value
+   * @throws ParserException if the value does not fit into an integer
+   */
+  private int getVarInt() throws ParserException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final byte b = this.buffer.get();
+      value |= (b & 0x7f) << shift;
+      if (b >= 0)
+        return value;
+    }
+    throw new ParserException("Illegal variable-length integer in binary CNF data", null);
+  }
+}
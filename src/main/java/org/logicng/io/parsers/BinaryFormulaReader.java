@@ -0,0 +1,213 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.writers.BinaryFormulaWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_AND;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_EQUIV;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_FALSE;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_IMPL;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_LITERAL;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_NOT;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_OR;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_PBC;
+import static org.logicng.io.writers.BinaryFormulaWriter.TYPE_TRUE;
+
+/**
+ * A reader for formulas in the binary format of the {@link BinaryFormulaWriter}.
+ * <p>
+ * Files are memory-mapped and decoded without an intermediate string representation.  Since the nodes are stored in
+ * topological order, each node is built exactly once by the formula factory from its already built operands.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BinaryFormulaReader {
+
+  private static final CType[] COMPARATORS = CType.values();
+
+  /**
+   * Private constructor.
+   */
+  private BinaryFormulaReader() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Reads the formulas of a given file.
+   * @param file the file
+   * @param f    the formula factory
+   * @return the formulas in the order in which they were written
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid binary formula file
+   */
+  public static List<Formula> read(final File file, final FormulaFactory f) throws IOException, ParserException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), f);
+    }
+  }
+
+  /**
+   * Reads the formulas from a given byte buffer, starting at its current position.
+   * @param buffer the byte buffer
+   * @param f      the formula factory
+   * @return the formulas in the order in which they were written
+   * @throws ParserException if the buffer does not contain valid binary formula data
+   */
+  public static List<Formula> read(final ByteBuffer buffer, final FormulaFactory f) throws ParserException {
+    try {
+      if (buffer.getInt() != BinaryFormulaWriter.MAGIC)
+        throw new ParserException("Not a binary formula file", null);
+      final int version = buffer.getInt();
+      if (version != BinaryFormulaWriter.VERSION)
+        throw new ParserException("Unsupported binary formula version: " + version, null);
+      final Variable[] variables = new Variable[checkedCount(buffer)];
+      for (int i = 0; i < variables.length; i++) {
+        final byte[] bytes = new byte[checkedCount(buffer)];
+        buffer.get(bytes);
+        variables[i] = f.variable(new String(bytes, StandardCharsets.UTF_8));
+      }
+      final Formula[] nodes = new Formula[checkedCount(buffer)];
+      for (int i = 0; i < nodes.length; i++)
+        nodes[i] = readNode(buffer, f, variables, nodes, i);
+      final int numRoots = checkedCount(buffer);
+      final List<Formula> formulas = new ArrayList<>(numRoots);
+      for (int i = 0; i < numRoots; i++)
+        formulas.add(nodes[checkedId(buffer.getInt(), nodes.length)]);
+      return Collections.unmodifiableList(formulas);
+    } catch (final BufferUnderflowException e) {
+      throw new ParserException("Unexpected end of binary formula data", e);
+    }
+  }
+
+  /**
+   * Reads a single node.
+   * @param buffer    the byte buffer
+   * @param f         the formula factory
+   * @param variables the variables
+   * @param nodes     the already read nodes
+   * @param id        the id of the node
+   * @return the node
+   * @throws ParserException if the node is not valid
+   */
+  private static Formula readNode(final ByteBuffer buffer, final FormulaFactory f, final Variable[] variables,
+                                  final Formula[] nodes, final int id) throws ParserException {
+    final byte type = buffer.get();
+    switch (type) {
+      case TYPE_FALSE:
+        return f.falsum();
+      case TYPE_TRUE:
+        return f.verum();
+      case TYPE_LITERAL:
+        return readLiteral(buffer, variables);
+      case TYPE_NOT:
+        return f.not(nodes[checkedId(buffer.getInt(), id)]);
+      case TYPE_IMPL:
+        return f.implication(nodes[checkedId(buffer.getInt(), id)], nodes[checkedId(buffer.getInt(), id)]);
+      case TYPE_EQUIV:
+        return f.equivalence(nodes[checkedId(buffer.getInt(), id)], nodes[checkedId(buffer.getInt(), id)]);
+      case TYPE_AND:
+      case TYPE_OR:
+        final Formula[] operands = new Formula[checkedCount(buffer)];
+        for (int i = 0; i < operands.length; i++)
+          operands[i] = nodes[checkedId(buffer.getInt(), id)];
+        return type == TYPE_AND ? f.and(operands) : f.or(operands);
+      case TYPE_PBC:
+        final int comparator = buffer.get();
+        if (comparator < 0 || comparator >= COMPARATORS.length)
+          throw new ParserException("Unknown pseudo-Boolean comparator: " + comparator, null);
+        final int rhs = buffer.getInt();
+        final int size = checkedCount(buffer);
+        final Literal[] literals = new Literal[size];
+        final int[] coefficients = new int[size];
+        for (int i = 0; i < size; i++) {
+          literals[i] = readLiteral(buffer, variables);
+          coefficients[i] = buffer.getInt();
+        }
+        return f.pbc(COMPARATORS[comparator], rhs, literals, coefficients);
+      default:
+        throw new ParserException("Unknown node type: " + type, null);
+    }
+  }
+
+  /**
+   * Reads a literal given by its code {@code 2 * i + (negative ? 1 : 0)} where {@code i} is the index of its variable.
+   * @param buffer    the byte buffer
+   * @param variables the variables
+   * @return the literal
+   * @throws ParserException if the variable index is out of range
+   */
+  private static Literal readLiteral(final ByteBuffer buffer, final Variable[] variables) throws ParserException {
+    final int code = buffer.getInt();
+    final Variable var = variables[checkedId(code >>> 1, variables.length)];
+    return (code & 1) == 0 ? var : var.negate();
+  }
+
+  /**
+   * Reads a count of entries which follow in the buffer.  Since each entry takes at least one byte, the count cannot
+   * exceed the number of remaining bytes.
+   * @param buffer the byte buffer
+   * @return the count
+   * @throws ParserException if the count is negative or larger than the remaining data
+   */
+  private static int checkedCount(final ByteBuffer buffer) throws ParserException {
+    final int count = buffer.getInt();
+    if (count < 0 || count > buffer.remaining())
+      throw new ParserException("Illegal count in binary formula data: " + count, null);
+    return count;
+  }
+
+  /**
+   * Checks that an id references an existing entry.
+   * @param id    the id
+   * @param bound the number of existing entries
+   * @return the id
+   * @throws ParserException if the id is out of range
+   */
+  private static int checkedId(final int id, final int bound) throws ParserException {
+    if (id < 0 || id >= bound)
+      throw new ParserException("Invalid reference in binary formula data: " + id, null);
+    return id;
+  }
+}
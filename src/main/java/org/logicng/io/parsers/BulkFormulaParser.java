@@ -0,0 +1,128 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A parser for files with one pseudo-Boolean formula per line.
+ * <p>
+ * The lines are split into chunks which are parsed by {@link FastFormulaParser}s.  If the formula factory is
+ * concurrent, the chunks are parsed in parallel directly into the factory, otherwise they are parsed sequentially.  In
+ * both cases the result holds the formula of the {@code i}-th line at position {@code i}, an empty line yields the
+ * constant {@code $true}.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BulkFormulaParser {
+
+  private static final int CHUNK_SIZE = 1024;
+
+  /**
+   * Private constructor.
+   */
+  private BulkFormulaParser() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Parses a UTF-8 encoded file with one formula per line.
+   * @param file the file
+   * @param f    the formula factory
+   * @return the formulas in the order of the lines
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if a line is not a valid formula, the message contains the number of the first invalid
+   *                         line (starting at 1)
+   */
+  public static List<Formula> parse(final File file, final FormulaFactory f) throws IOException, ParserException {
+    return parse(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8), f);
+  }
+
+  /**
+   * Parses a list of lines with one formula per line.
+   * @param lines the lines
+   * @param f     the formula factory
+   * @return the formulas in the order of the lines
+   * @throws ParserException if a line is not a valid formula, the message contains the number of the first invalid
+   *                         line (starting at 1)
+   */
+  public static List<Formula> parse(final List<? extends CharSequence> lines, final FormulaFactory f) throws ParserException {
+    final CharSequence[] input = lines.toArray(new CharSequence[lines.size()]);
+    final Formula[] formulas = new Formula[input.length];
+    final int numChunks = (input.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final ParserException[] errors = new ParserException[numChunks];
+    final int[] errorLines = new int[numChunks];
+    if (f.isConcurrent() && numChunks > 1) {
+      final ThreadLocal<FastFormulaParser> parsers = ThreadLocal.withInitial(() -> new FastFormulaParser(f));
+      IntStream.range(0, numChunks).parallel().forEach(i -> parseChunk(parsers.get(), input, i, formulas, errors, errorLines));
+    } else {
+      final FastFormulaParser parser = new FastFormulaParser(f);
+      for (int i = 0; i < numChunks; i++) {
+        parseChunk(parser, input, i, formulas, errors, errorLines);
+        if (errors[i] != null)
+          break;
+      }
+    }
+    for (int i = 0; i < numChunks; i++)
+      if (errors[i] != null)
+        throw new ParserException(String.format("%s in line %d", errors[i].getMessage(), errorLines[i] + 1), errors[i]);
+    return Arrays.asList(formulas);
+  }
+
+  /**
+   * Parses the lines of a chunk.  Parsing stops at the first invalid line of the chunk.
+   * @param parser     the parser
+   * @param input      the lines
+   * @param chunk      the index of the chunk
+   * @param formulas   the array for the parsed formulas
+   * @param errors     the array for the first error of each chunk
+   * @param errorLines the array for the line of the first error of each chunk
+   */
+  private static void parseChunk(final FastFormulaParser parser, final CharSequence[] input, final int chunk,
+                                 final Formula[] formulas, final ParserException[] errors, final int[] errorLines) {
+    final int end = Math.min(input.length, (chunk + 1) * CHUNK_SIZE);
+    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+      try {
+        formulas[i] = parser.parse(input[i]);
+      } catch (final ParserException e) {
+        errors[chunk] = e;
+        errorLines[chunk] = i;
+        return;
+      }
+    }
+  }
+}
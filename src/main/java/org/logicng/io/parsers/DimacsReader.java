@@ -0,0 +1,266 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.solvers.sat.CleaneLingStyleSolver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A streaming reader for files in the DIMACS CNF format.
+ * <p>
+ * The clauses are read one after another and passed on as vectors of DIMACS literals (a positive or negative variable
+ * number), so no {@code Formula} objects have to be created if the clauses are added directly to a solver.  Comment
+ * lines, the problem line {@code p cnf <variables> <clauses>}, and a {@code %} terminating the clauses (as used in the
+ * SATLIB benchmarks) are supported.  Clauses may span several lines, a missing {@code 0} after the last clause is
+ * tolerated.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class DimacsReader {
+
+  /**
+   * Private constructor.
+   */
+  private DimacsReader() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Reads a DIMACS file and passes each clause to a consumer.  The vector passed to the consumer is reused for the next
+   * clause, so the consumer must copy it if it wants to keep it.  Gzip-compressed files are decompressed on the fly.
+   * @param file     the file
+   * @param consumer the consumer for the clauses
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid DIMACS file
+   */
+  public static int read(final File file, final Consumer<LNGIntVector> consumer) throws IOException, ParserException {
+    try (InputStream in = DimacsTokenizer.open(file)) {
+      return read(in, consumer);
+    }
+  }
+
+  /**
+   * Reads DIMACS clauses from an input stream and passes each clause to a consumer.  The vector passed to the consumer
+   * is reused for the next clause, so the consumer must copy it if it wants to keep it.  The stream is not closed.
+   * @param in       the input stream
+   * @param consumer the consumer for the clauses
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the stream does not contain valid DIMACS clauses
+   */
+  public static int read(final InputStream in, final Consumer<LNGIntVector> consumer) throws IOException, ParserException {
+    final DimacsTokenizer tokenizer = new DimacsTokenizer(in);
+    final LNGIntVector clause = new LNGIntVector();
+    int numClauses = 0;
+    while (true) {
+      tokenizer.skipWhitespace();
+      final int c = tokenizer.peek();
+      if (c == -1 || c == '%')
+        break;
+      if (c == 'c') {
+        tokenizer.skipLine();
+      } else if (c == 'p') {
+        tokenizer.read();
+        if (!"cnf".equals(tokenizer.nextWord()))
+          throw tokenizer.error("Expected a 'p cnf' problem line");
+        tokenizer.nextLong();
+        tokenizer.nextLong();
+      } else {
+        final int lit = tokenizer.nextInt();
+        if (lit != 0)
+          clause.push(lit);
+        else {
+          consumer.accept(clause);
+          clause.clear();
+          numClauses++;
+        }
+      }
+    }
+    if (!clause.empty()) {
+      consumer.accept(clause);
+      numClauses++;
+    }
+    return numClauses;
+  }
+
+  /**
+   * Reads a DIMACS file directly into a MiniSat-style solver.  New solver variables are created on the first
+   * occurrence of a DIMACS variable.  If a prefix is given, the solver variable for the DIMACS variable {@code n} is
+   * named {@code <prefix><n>}, so that models can be extracted by a {@link org.logicng.solvers.MiniSat} wrapper.
+   * @param file   the file
+   * @param solver the solver
+   * @param prefix the prefix for the variable names or {@code null} if the variables should not be named
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid DIMACS file
+   */
+  public static int read(final File file, final MiniSatStyleSolver solver, final String prefix) throws IOException, ParserException {
+    return read(file, solver, prefix == null ? null : var -> prefix + var);
+  }
+
+  /**
+   * Reads a DIMACS file directly into a MiniSat-style solver and names the solver variables according to a mapping
+   * file.  Each line of the mapping file holds a DIMACS variable and its name separated by a blank, as it is written by
+   * {@link org.logicng.io.writers.DimacsWriter#write(File, File, MiniSatStyleSolver, boolean)}.  DIMACS variables
+   * without a name in the mapping file remain unnamed.
+   * @param file        the file
+   * @param mappingFile the mapping file
+   * @param solver      the solver
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the files
+   * @throws ParserException if the file is not a valid DIMACS file or the mapping file is not valid
+   */
+  public static int read(final File file, final File mappingFile, final MiniSatStyleSolver solver) throws IOException, ParserException {
+    final List<String> names = new ArrayList<>();
+    int lineNumber = 0;
+    for (final String line : Files.readAllLines(mappingFile.toPath(), StandardCharsets.UTF_8)) {
+      lineNumber++;
+      if (line.isEmpty())
+        continue;
+      final int blank = line.indexOf(' ');
+      final int var;
+      try {
+        var = blank == -1 ? -1 : Integer.parseInt(line.substring(0, blank));
+      } catch (final NumberFormatException e) {
+        throw new ParserException(String.format("Illegal variable in line %d of the mapping file", lineNumber), e);
+      }
+      if (var < 1)
+        throw new ParserException(String.format("Illegal variable in line %d of the mapping file", lineNumber), null);
+      while (names.size() <= var)
+        names.add(null);
+      names.set(var, line.substring(blank + 1));
+    }
+    return read(file, solver, var -> var < names.size() ? names.get(var) : null);
+  }
+
+  /**
+   * Reads a DIMACS file directly into a MiniSat-style solver.
+   * @param file   the file
+   * @param solver the solver
+   * @param names  the function for the names of the DIMACS variables (it may return {@code null} for unnamed
+   *               variables) or {@code null} if the variables should not be named
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid DIMACS file
+   */
+  private static int read(final File file, final MiniSatStyleSolver solver, final IntFunction<String> names)
+          throws IOException, ParserException {
+    final LNGIntVector varMap = new LNGIntVector();
+    final LNGIntVector solverClause = new LNGIntVector();
+    final boolean sign = !solver.config().initialPhase();
+    return read(file, clause -> {
+      solverClause.clear();
+      for (int i = 0; i < clause.size(); i++) {
+        final int lit = clause.get(i);
+        final int var = Math.abs(lit);
+        if (var >= varMap.size())
+          varMap.growTo(var + 1, -1);
+        int index = varMap.get(var);
+        if (index == -1) {
+          final String name = names != null ? names.apply(var) : null;
+          index = name != null ? solver.idxForName(name) : -1;
+          if (index == -1) {
+            index = solver.newVar(sign, true);
+            if (name != null)
+              solver.addName(name, index);
+          }
+          varMap.set(var, index);
+        }
+        solverClause.push(MiniSatStyleSolver.mkLit(index, lit < 0));
+      }
+      solver.addClause(solverClause);
+    });
+  }
+
+  /**
+   * Reads a DIMACS file directly into a CleaneLing-style solver.  The DIMACS literals are used as external literals of
+   * the solver.
+   * @param file   the file
+   * @param solver the solver
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid DIMACS file
+   */
+  public static int read(final File file, final CleaneLingStyleSolver solver) throws IOException, ParserException {
+    return read(file, clause -> {
+      for (int i = 0; i < clause.size(); i++)
+        solver.addlit(clause.get(i));
+      solver.addlit(0);
+    });
+  }
+
+  /**
+   * Reads a DIMACS file as a list of clauses.  The DIMACS variable {@code n} is translated to the variable
+   * {@code <prefix><n>}.
+   * @param file   the file
+   * @param f      the formula factory
+   * @param prefix the prefix for the variable names
+   * @return the clauses of the file
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid DIMACS file
+   */
+  public static List<Formula> readCNF(final File file, final FormulaFactory f, final String prefix) throws IOException, ParserException {
+    final List<Formula> clauses = new ArrayList<>();
+    final List<Literal> posLits = new ArrayList<>();
+    final List<Literal> negLits = new ArrayList<>();
+    final List<Literal> literals = new ArrayList<>();
+    read(file, clause -> {
+      literals.clear();
+      for (int i = 0; i < clause.size(); i++) {
+        final int lit = clause.get(i);
+        final int var = Math.abs(lit);
+        while (posLits.size() <= var) {
+          posLits.add(null);
+          negLits.add(null);
+        }
+        if (posLits.get(var) == null) {
+          posLits.set(var, f.variable(prefix + var));
+          negLits.set(var, posLits.get(var).negate());
+        }
+        literals.add(lit > 0 ? posLits.get(var) : negLits.get(var));
+      }
+      clauses.add(f.or(literals));
+    });
+    return clauses;
+  }
+}
@@ -0,0 +1,233 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A byte-level tokenizer for the line-oriented text formats of SAT, MaxSAT, and PB solvers and the AIGER format.
+ * <p>
+ * The tokenizer reads directly from an input stream through its own buffer and parses numbers without creating
+ * strings.  It is not thread-safe.
+ * @version 1.2
+ * @since 1.2
+ */
+final class DimacsTokenizer {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private int pos;
+  private int limit;
+  private int line;
+
+  /**
+   * Constructs a new tokenizer.
+   * @param in the input stream
+   */
+  DimacsTokenizer(final InputStream in) {
+    this.in = in;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.line = 1;
+  }
+
+  /**
+   * Opens a file for reading.  Gzip-compressed files are recognized by their magic number and decompressed on the fly.
+   * @param file the file
+   * @return the input stream
+   * @throws IOException if there was a problem opening the file
+   */
+  static InputStream open(final File file) throws IOException {
+    final BufferedInputStream in = new BufferedInputStream(new FileInputStream(file));
+    in.mark(2);
+    final int b1 = in.read();
+    final int b2 = in.read();
+    in.reset();
+    if (b1 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8))
+      return new GZIPInputStream(in, BUFFER_SIZE);
+    return in;
+  }
+
+  /**
+   * Returns the next byte without consuming it.
+   * @return the next byte or -1 at the end of the stream
+   * @throws IOException if there was a problem reading the stream
+   */
+  int peek() throws IOException {
+    if (this.pos == this.limit) {
+      this.limit = this.in.read(this.buffer, 0, this.buffer.length);
+      this.pos = 0;
+      if (this.limit <= 0) {
+        this.limit = 0;
+        return -1;
+      }
+    }
+    return this.buffer[this.pos] & 0xff;
+  }
+
+  /**
+   * Consumes and returns the next byte.
+   * @return the next byte or -1 at the end of the stream
+   * @throws IOException if there was a problem reading the stream
+   */
+  int read() throws IOException {
+    final int c = this.peek();
+    if (c != -1) {
+      this.pos++;
+      if (c == '\n')
+        this.line++;
+    }
+    return c;
+  }
+
+  /**
+   * Skips spaces, tabs, and line breaks.
+   * @throws IOException if there was a problem reading the stream
+   */
+  void skipWhitespace() throws IOException {
+    int c = this.peek();
+    while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+      this.read();
+      c = this.peek();
+    }
+  }
+
+  /**
+   * Skips spaces and tabs, but not line breaks.
+   * @throws IOException if there was a problem reading the stream
+   */
+  void skipBlanks() throws IOException {
+    int c = this.peek();
+    while (c == ' ' || c == '\t' || c == '\r') {
+      this.read();
+      c = this.peek();
+    }
+  }
+
+  /**
+   * Skips the rest of the current line including the line break.
+   * @throws IOException if there was a problem reading the stream
+   */
+  void skipLine() throws IOException {
+    int c = this.read();
+    while (c != '\n' && c != -1)
+      c = this.read();
+  }
+
+  /**
+   * Reads the next whitespace separated word.
+   * @return the word or an empty string at the end of the stream
+   * @throws IOException if there was a problem reading the stream
+   */
+  String nextWord() throws IOException {
+    this.skipWhitespace();
+    final StringBuilder sb = new StringBuilder();
+    int c = this.peek();
+    while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+      sb.append((char) c);
+      this.read();
+      c = this.peek();
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Reads the rest of the current line without the line break.  The bytes are decoded as UTF-8.
+   * @return the rest of the line
+   * @throws IOException if there was a problem reading the stream
+   */
+  String nextLine() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    int c = this.read();
+    while (c != '\n' && c != -1) {
+      if (c != '\r')
+        bytes.write(c);
+      c = this.read();
+    }
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads the next number with an optional sign.
+   * @return the number
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the next token is not a number
+   */
+  long nextLong() throws IOException, ParserException {
+    this.skipWhitespace();
+    int c = this.peek();
+    boolean negative = false;
+    if (c == '-' || c == '+') {
+      negative = c == '-';
+      this.read();
+      c = this.peek();
+    }
+    if (c < '0' || c > '9')
+      throw this.error("Expected a number");
+    long value = 0;
+    while (c >= '0' && c <= '9') {
+      final int digit = c - '0';
+      if (value > (Long.MAX_VALUE - digit) / 10)
+        throw this.error("Number too large");
+      value = value * 10 + digit;
+      this.read();
+      c = this.peek();
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Reads the next number with an optional sign which must fit into an integer.
+   * @return the number
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the next token is not a number or too large
+   */
+  int nextInt() throws IOException, ParserException {
+    final long value = this.nextLong();
+    if (value > Integer.MAX_VALUE || value < -Integer.MAX_VALUE)
+      throw this.error("Number too large");
+    return (int) value;
+  }
+
+  /**
+   * Returns a parser exception with a given message and the current line number.
+   * @param message the message
+   * @return the parser exception
+   */
+  ParserException error(final String message) {
+    return new ParserException(String.format("%s in line %d", message, this.line), null);
+  }
+}
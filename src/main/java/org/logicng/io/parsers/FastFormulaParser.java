@@ -0,0 +1,649 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hand-written recursive descent parser for propositional and pseudo-Boolean formulas.
+ * <p>
+ * The parser accepts exactly the languages of the {@link PropositionalParser} and the {@link PseudoBooleanParser} and
+ * produces the same formulas, but it does not need the ANTLR runtime.  The input is copied into a buffer which is
+ * reused for subsequent calls, and the tokens are read directly from this buffer.  Variable names are interned in a
+ * hash table over the buffer which is kept across calls, so a string for a variable name is only created at its first
+ * occurrence.  The table is reset when the formula factory was {@link FormulaFactory#clear() cleared}.
+ * <p>
+ * The parser is not thread-safe.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class FastFormulaParser {
+
+  private static final int EOF = 0;
+  private static final int LITERAL = 1;
+  private static final int NUMBER = 2;
+  private static final int TRUE = 3;
+  private static final int FALSE = 4;
+  private static final int LBR = 5;
+  private static final int RBR = 6;
+  private static final int NOT = 7;
+  private static final int AND = 8;
+  private static final int OR = 9;
+  private static final int IMPL = 10;
+  private static final int EQUIV = 11;
+  private static final int MUL = 12;
+  private static final int ADD = 13;
+  private static final int EQ = 14;
+  private static final int LE = 15;
+  private static final int LT = 16;
+  private static final int GE = 17;
+  private static final int GT = 18;
+
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+  private static final int INITIAL_TABLE_SIZE = 256;
+
+  private final FormulaFactory f;
+  private final boolean pseudoBoolean;
+
+  private char[] buffer;
+  private int length;
+  private int pos;
+
+  private int token;
+  private int tokenStart;
+  private int tokenEnd;
+  private boolean negated;
+
+  private Variable[] table;
+  private int[] hashes;
+  private int tableSize;
+  private int generation;
+
+  private Literal[] pbLiterals;
+  private int[] pbCoefficients;
+
+  /**
+   * Constructs a new parser for pseudo-Boolean formulas.
+   * @param f the formula factory
+   */
+  public FastFormulaParser(final FormulaFactory f) {
+    this(f, true);
+  }
+
+  /**
+   * Constructs a new parser.
+   * @param f             the formula factory
+   * @param pseudoBoolean {@code true} if the parser should accept pseudo-Boolean formulas, {@code false} if it should
+   *                      only accept propositional formulas
+   */
+  public FastFormulaParser(final FormulaFactory f, final boolean pseudoBoolean) {
+    this.f = f;
+    this.pseudoBoolean = pseudoBoolean;
+    this.buffer = new char[INITIAL_BUFFER_SIZE];
+    this.table = new Variable[INITIAL_TABLE_SIZE];
+    this.hashes = new int[INITIAL_TABLE_SIZE];
+    this.pbLiterals = new Literal[16];
+    this.pbCoefficients = new int[16];
+    this.generation = f.generation();
+  }
+
+  /**
+   * Parses and returns a given character sequence.
+   * @param in a character sequence
+   * @return the {@link Formula} representation of this sequence
+   * @throws ParserException if the sequence was not a valid formula
+   */
+  public Formula parse(final CharSequence in) throws ParserException {
+    if (in == null)
+      return this.f.verum();
+    this.length = in.length();
+    this.ensureCapacity(this.length);
+    if (in instanceof String)
+      ((String) in).getChars(0, this.length, this.buffer, 0);
+    else
+      for (int i = 0; i < this.length; i++)
+        this.buffer[i] = in.charAt(i);
+    return this.parseBuffer();
+  }
+
+  /**
+   * Parses and returns the content of a given reader.  The reader is not closed.
+   * @param reader a reader
+   * @return the {@link Formula} representation of the content of the reader
+   * @throws ParserException if there was a problem with the reader or its content was not a valid formula
+   */
+  public Formula parse(final Reader reader) throws ParserException {
+    this.length = 0;
+    try {
+      int read;
+      while ((read = reader.read(this.buffer, this.length, this.buffer.length - this.length)) != -1) {
+        this.length += read;
+        this.ensureCapacity(this.length + 1);
+      }
+    } catch (final IOException e) {
+      throw new ParserException("IO exception when parsing the formula", e);
+    }
+    return this.parseBuffer();
+  }
+
+  /**
+   * Grows the buffer to a given capacity, keeping its content.
+   * @param capacity the capacity
+   */
+  private void ensureCapacity(final int capacity) {
+    if (capacity > this.buffer.length)
+      this.buffer = Arrays.copyOf(this.buffer, Math.max(capacity, this.buffer.length * 2));
+  }
+
+  /**
+   * Parses the current content of the buffer.
+   * @return the formula
+   * @throws ParserException if the content of the buffer is not a valid formula
+   */
+  private Formula parseBuffer() throws ParserException {
+    this.pos = 0;
+    if (this.generation != this.f.generation()) {
+      Arrays.fill(this.table, null);
+      this.tableSize = 0;
+      this.generation = this.f.generation();
+    }
+    this.next();
+    if (this.token == EOF)
+      return this.f.verum();
+    final Formula formula = this.equiv();
+    if (this.token != EOF)
+      throw this.unexpected();
+    return formula;
+  }
+
+  /**
+   * Parses an equivalence, which is right-associative.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula equiv() throws ParserException {
+    final Formula left = this.impl();
+    if (this.token != EQUIV)
+      return left;
+    this.next();
+    return this.f.equivalence(left, this.equiv());
+  }
+
+  /**
+   * Parses an implication, which is right-associative.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula impl() throws ParserException {
+    final Formula left = this.disj();
+    if (this.token != IMPL)
+      return left;
+    this.next();
+    return this.f.implication(left, this.impl());
+  }
+
+  /**
+   * Parses a disjunction.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula disj() throws ParserException {
+    final Formula first = this.conj();
+    if (this.token != OR)
+      return first;
+    final List<Formula> operands = new ArrayList<>();
+    operands.add(first);
+    while (this.token == OR) {
+      this.next();
+      operands.add(this.conj());
+    }
+    return this.f.or(operands);
+  }
+
+  /**
+   * Parses a conjunction.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula conj() throws ParserException {
+    final Formula first = this.lit();
+    if (this.token != AND)
+      return first;
+    final List<Formula> operands = new ArrayList<>();
+    operands.add(first);
+    while (this.token == AND) {
+      this.next();
+      operands.add(this.lit());
+    }
+    return this.f.and(operands);
+  }
+
+  /**
+   * Parses a negation or a simple formula.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula lit() throws ParserException {
+    if (this.token != NOT)
+      return this.simp();
+    this.next();
+    return this.f.not(this.lit());
+  }
+
+  /**
+   * Parses a literal, a constant, a pseudo-Boolean constraint, or a formula in brackets.
+   * @return the formula
+   * @throws ParserException if the input is not valid
+   */
+  private Formula simp() throws ParserException {
+    switch (this.token) {
+      case LITERAL:
+        if (this.pseudoBoolean && this.startsComparison())
+          return this.comparison();
+        final Literal literal = this.literal();
+        this.next();
+        return literal;
+      case NUMBER:
+        return this.comparison();
+      case TRUE:
+        this.next();
+        return this.f.verum();
+      case FALSE:
+        this.next();
+        return this.f.falsum();
+      case LBR:
+        this.next();
+        final Formula formula = this.equiv();
+        this.expect(RBR);
+        return formula;
+      default:
+        throw this.unexpected();
+    }
+  }
+
+  /**
+   * Returns whether the current literal token is the start of a pseudo-Boolean constraint, i.e. whether it is followed
+   * by an addition or a comparison operator.
+   * @return {@code true} if the current literal starts a constraint, {@code false} otherwise
+   * @throws ParserException if the next token is not valid
+   */
+  private boolean startsComparison() throws ParserException {
+    final int savedPos = this.pos;
+    final int savedStart = this.tokenStart;
+    final int savedEnd = this.tokenEnd;
+    final boolean savedNegated = this.negated;
+    this.next();
+    final int lookahead = this.token;
+    this.pos = savedPos;
+    this.tokenStart = savedStart;
+    this.tokenEnd = savedEnd;
+    this.negated = savedNegated;
+    this.token = LITERAL;
+    return lookahead >= ADD;
+  }
+
+  /**
+   * Parses a pseudo-Boolean constraint.
+   * @return the constraint
+   * @throws ParserException if the input is not valid
+   */
+  private Formula comparison() throws ParserException {
+    int size = 0;
+    boolean negative = false;
+    while (true) {
+      final int coefficient;
+      if (this.token == NUMBER) {
+        coefficient = this.number();
+        this.next();
+        this.expect(MUL);
+        if (this.token != LITERAL)
+          throw this.unexpected();
+      } else if (this.token == LITERAL) {
+        coefficient = 1;
+      } else {
+        throw this.unexpected();
+      }
+      if (size == this.pbLiterals.length) {
+        this.pbLiterals = Arrays.copyOf(this.pbLiterals, size * 2);
+        this.pbCoefficients = Arrays.copyOf(this.pbCoefficients, size * 2);
+      }
+      this.pbLiterals[size] = this.literal();
+      this.pbCoefficients[size] = negative ? -coefficient : coefficient;
+      size++;
+      this.next();
+      if (this.token != ADD)
+        break;
+      negative = this.buffer[this.tokenStart] == '-';
+      this.next();
+    }
+    final CType comparator;
+    switch (this.token) {
+      case EQ:
+        comparator = CType.EQ;
+        break;
+      case LE:
+        comparator = CType.LE;
+        break;
+      case LT:
+        comparator = CType.LT;
+        break;
+      case GE:
+        comparator = CType.GE;
+        break;
+      case GT:
+        comparator = CType.GT;
+        break;
+      default:
+        throw this.unexpected();
+    }
+    this.next();
+    if (this.token != NUMBER)
+      throw this.unexpected();
+    final int rhs = this.number();
+    this.next();
+    return this.f.pbc(comparator, rhs, this.pbLiterals, this.pbCoefficients, size);
+  }
+
+  /**
+   * Consumes the current token which must be of a given type.
+   * @param type the expected token type
+   * @throws ParserException if the current token is of a different type
+   */
+  private void expect(final int type) throws ParserException {
+    if (this.token != type)
+      throw this.unexpected();
+    this.next();
+  }
+
+  /**
+   * Returns the value of the current number token.
+   * @return the value
+   * @throws ParserException if the number does not fit into an integer
+   */
+  private int number() throws ParserException {
+    final boolean negative = this.buffer[this.tokenStart] == '-';
+    long value = 0;
+    for (int i = negative ? this.tokenStart + 1 : this.tokenStart; i < this.tokenEnd; i++) {
+      value = value * 10 + (this.buffer[i] - '0');
+      if (value > (long) Integer.MAX_VALUE + 1)
+        throw this.error("Number too large");
+    }
+    if (negative)
+      value = -value;
+    if (value > Integer.MAX_VALUE)
+      throw this.error("Number too large");
+    return (int) value;
+  }
+
+  /**
+   * Returns the literal for the current literal token.  The variable is looked up in the name table and only created
+   * by the formula factory if it is not yet present.
+   * @return the literal
+   */
+  private Literal literal() {
+    final int start = this.tokenStart;
+    final int len = this.tokenEnd - start;
+    int hash = 0;
+    for (int i = start; i < this.tokenEnd; i++)
+      hash = 31 * hash + this.buffer[i];
+    final int mask = this.table.length - 1;
+    int slot = (hash ^ (hash >>> 16)) & mask;
+    Variable var;
+    while ((var = this.table[slot]) != null) {
+      if (this.hashes[slot] == hash && this.matches(var.name(), start, len))
+        return this.negated ? var.negate() : var;
+      slot = (slot + 1) & mask;
+    }
+    var = this.f.variable(new String(this.buffer, start, len));
+    this.table[slot] = var;
+    this.hashes[slot] = hash;
+    if (++this.tableSize * 2 > this.table.length)
+      this.growTable();
+    return this.negated ? var.negate() : var;
+  }
+
+  /**
+   * Returns whether a name equals a region of the buffer.
+   * @param name  the name
+   * @param start the start of the region
+   * @param len   the length of the region
+   * @return {@code true} if the name equals the region, {@code false} otherwise
+   */
+  private boolean matches(final String name, final int start, final int len) {
+    if (name.length() != len)
+      return false;
+    for (int i = 0; i < len; i++)
+      if (name.charAt(i) != this.buffer[start + i])
+        return false;
+    return true;
+  }
+
+  /**
+   * Doubles the size of the name table.
+   */
+  private void growTable() {
+    final Variable[] oldTable = this.table;
+    final int[] oldHashes = this.hashes;
+    this.table = new Variable[oldTable.length * 2];
+    this.hashes = new int[oldTable.length * 2];
+    final int mask = this.table.length - 1;
+    for (int i = 0; i < oldTable.length; i++) {
+      if (oldTable[i] != null) {
+        int slot = (oldHashes[i] ^ (oldHashes[i] >>> 16)) & mask;
+        while (this.table[slot] != null)
+          slot = (slot + 1) & mask;
+        this.table[slot] = oldTable[i];
+        this.hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  /**
+   * Reads the next token.  The lexical rules follow the ANTLR grammars, in particular the longest possible token is
+   * read.
+   * @throws ParserException if there is no valid token at the current position
+   */
+  private void next() throws ParserException {
+    char c = 0;
+    while (this.pos < this.length && ((c = this.buffer[this.pos]) == ' ' || c == '\t' || c == '\r' || c == '\n'))
+      this.pos++;
+    this.tokenStart = this.pos;
+    this.negated = false;
+    if (this.pos == this.length) {
+      this.tokenEnd = this.pos;
+      this.token = EOF;
+      return;
+    }
+    this.pos++;
+    switch (c) {
+      case '(':
+        this.token = LBR;
+        break;
+      case ')':
+        this.token = RBR;
+        break;
+      case '&':
+        this.token = AND;
+        break;
+      case '|':
+        this.token = OR;
+        break;
+      case '~':
+        if (this.pseudoBoolean && this.pos < this.length && isNameStart(this.buffer[this.pos])) {
+          this.negated = true;
+          this.tokenStart = this.pos;
+          this.pos++;
+          this.readName();
+        } else
+          this.token = NOT;
+        break;
+      case '$':
+        if (this.consume("true"))
+          this.token = TRUE;
+        else if (this.consume("false"))
+          this.token = FALSE;
+        else
+          throw this.error("Unexpected character '$'");
+        break;
+      case '=':
+        if (this.consume(">"))
+          this.token = IMPL;
+        else if (this.pseudoBoolean)
+          this.token = EQ;
+        else
+          throw this.error("Unexpected character '='");
+        break;
+      case '<':
+        if (this.consume("=>"))
+          this.token = EQUIV;
+        else if (!this.pseudoBoolean)
+          throw this.error("Unexpected character '<'");
+        else
+          this.token = this.consume("=") ? LE : LT;
+        break;
+      default:
+        if (isNameStart(c))
+          this.readName();
+        else if (this.pseudoBoolean)
+          this.pseudoBooleanToken(c);
+        else
+          throw this.error("Unexpected character '" + c + "'");
+    }
+    this.tokenEnd = this.pos;
+  }
+
+  /**
+   * Reads a token which only occurs in pseudo-Boolean formulas.
+   * @param c the first character of the token
+   * @throws ParserException if there is no valid token at the current position
+   */
+  private void pseudoBooleanToken(final char c) throws ParserException {
+    switch (c) {
+      case '>':
+        this.token = this.consume("=") ? GE : GT;
+        break;
+      case '*':
+        this.token = MUL;
+        break;
+      case '+':
+        this.token = ADD;
+        break;
+      case '-':
+        if (this.pos < this.length && isDigit(this.buffer[this.pos]))
+          this.readNumber();
+        else
+          this.token = ADD;
+        break;
+      default:
+        if (isDigit(c))
+          this.readNumber();
+        else
+          throw this.error("Unexpected character '" + c + "'");
+    }
+  }
+
+  /**
+   * Reads the rest of a variable name.
+   */
+  private void readName() {
+    while (this.pos < this.length && isNamePart(this.buffer[this.pos]))
+      this.pos++;
+    this.token = LITERAL;
+  }
+
+  /**
+   * Reads the rest of a number.
+   */
+  private void readNumber() {
+    while (this.pos < this.length && isDigit(this.buffer[this.pos]))
+      this.pos++;
+    this.token = NUMBER;
+  }
+
+  /**
+   * Consumes a given string if the buffer continues with it at the current position.
+   * @param s the string
+   * @return {@code true} if the string was consumed, {@code false} otherwise
+   */
+  private boolean consume(final String s) {
+    if (this.pos + s.length() > this.length)
+      return false;
+    for (int i = 0; i < s.length(); i++)
+      if (this.buffer[this.pos + i] != s.charAt(i))
+        return false;
+    this.pos += s.length();
+    return true;
+  }
+
+  /**
+   * Returns a parser exception for the current token.
+   * @return the parser exception
+   */
+  private ParserException unexpected() {
+    if (this.token == EOF)
+      return new ParserException("Unexpected end of input", null);
+    return new ParserException(String.format("Unexpected token '%s' at position %d",
+            new String(this.buffer, this.tokenStart, this.tokenEnd - this.tokenStart), this.tokenStart), null);
+  }
+
+  /**
+   * Returns a parser exception with a given message and the current position.
+   * @param message the message
+   * @return the parser exception
+   */
+  private ParserException error(final String message) {
+    return new ParserException(String.format("%s at position %d", message, this.tokenStart), null);
+  }
+
+  private static boolean isNameStart(final char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '@';
+  }
+
+  private static boolean isNamePart(final char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || isDigit(c);
+  }
+
+  private static boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
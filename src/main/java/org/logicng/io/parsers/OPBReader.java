@@ -0,0 +1,358 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A streaming reader for pseudo-Boolean problems in the OPB format of the pseudo-Boolean competition.
+ * <p>
+ * Each constraint like {@code +2 x1 -1 ~x2 >= 1 ;} is constructed directly as a {@link PBConstraint} by the formula
+ * factory and passed on to a consumer, so the constraints do not have to be kept in memory by the reader.  An optional
+ * objective function {@code min: +1 x1 +2 x2 ;} or {@code max: ...} is returned after the whole input was read.
+ * Comment lines start with {@code *}.  Besides {@code >=} and {@code =}, the relations {@code >}, {@code <=}, and
+ * {@code <} are accepted.  A term without a coefficient has the coefficient 1.  Non-linear terms are not supported.
+ * Gzip-compressed files are decompressed on the fly.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class OPBReader {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final DimacsTokenizer tokenizer;
+  private final FormulaFactory f;
+  private final Map<String, Variable> variables;
+  private final StringBuilder name;
+  private Literal[] literals;
+  private int[] coefficients;
+  private int size;
+
+  /**
+   * Constructs a new reader.
+   * @param in the input stream
+   * @param f  the formula factory
+   */
+  private OPBReader(final InputStream in, final FormulaFactory f) {
+    this.tokenizer = new DimacsTokenizer(in);
+    this.f = f;
+    this.variables = new HashMap<>();
+    this.name = new StringBuilder();
+    this.literals = new Literal[INITIAL_CAPACITY];
+    this.coefficients = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Reads an OPB file and passes each constraint to a consumer.
+   * @param file     the file
+   * @param f        the formula factory
+   * @param consumer the consumer for the constraints
+   * @return the objective function or {@code null} if the file has none
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid OPB file
+   */
+  public static Objective read(final File file, final FormulaFactory f, final Consumer<? super PBConstraint> consumer)
+          throws IOException, ParserException {
+    try (InputStream in = DimacsTokenizer.open(file)) {
+      return read(in, f, consumer);
+    }
+  }
+
+  /**
+   * Reads OPB constraints from an input stream and passes each constraint to a consumer.  The stream is not closed.
+   * @param in       the input stream
+   * @param f        the formula factory
+   * @param consumer the consumer for the constraints
+   * @return the objective function or {@code null} if the stream has none
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the stream does not contain valid OPB constraints
+   */
+  public static Objective read(final InputStream in, final FormulaFactory f, final Consumer<? super PBConstraint> consumer)
+          throws IOException, ParserException {
+    return new OPBReader(in, f).read(consumer);
+  }
+
+  /**
+   * Reads all statements of the input.
+   * @param consumer the consumer for the constraints
+   * @return the objective function or {@code null} if the input has none
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the input is not valid
+   */
+  private Objective read(final Consumer<? super PBConstraint> consumer) throws IOException, ParserException {
+    Objective objective = null;
+    while (true) {
+      this.tokenizer.skipWhitespace();
+      final int c = this.tokenizer.peek();
+      if (c == -1)
+        return objective;
+      if (c == '*') {
+        this.tokenizer.skipLine();
+      } else if (c == 'm') {
+        final String name = this.nextName();
+        if ("min:".equals(name) || "max:".equals(name)) {
+          if (objective != null)
+            throw this.tokenizer.error("Duplicate objective function");
+          this.readTerms(null);
+          this.expect(';');
+          objective = new Objective("min:".equals(name), Arrays.copyOf(this.literals, this.size),
+                  Arrays.copyOf(this.coefficients, this.size));
+        } else
+          this.readConstraint(this.variable(name), consumer);
+      } else
+        this.readConstraint(null, consumer);
+    }
+  }
+
+  /**
+   * Reads a constraint and passes it to the consumer.
+   * @param first    the already read literal of a leading term without coefficient or {@code null}
+   * @param consumer the consumer for the constraints
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the constraint is not valid
+   */
+  private void readConstraint(final Literal first, final Consumer<? super PBConstraint> consumer)
+          throws IOException, ParserException {
+    this.readTerms(first);
+    final CType comparator = this.readComparator();
+    final int rhs = this.tokenizer.nextInt();
+    this.expect(';');
+    consumer.accept(this.f.pbc(comparator, rhs, this.literals, this.coefficients, this.size));
+  }
+
+  /**
+   * Reads the terms of a constraint or an objective function into the literal and coefficient buffers.
+   * @param first the already read literal of a leading term without coefficient or {@code null}
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if a term is not valid
+   */
+  private void readTerms(final Literal first) throws IOException, ParserException {
+    this.size = 0;
+    if (first != null)
+      this.addTerm(first, 1);
+    while (true) {
+      this.tokenizer.skipWhitespace();
+      final int c = this.tokenizer.peek();
+      if (c == -1)
+        throw this.tokenizer.error("Unexpected end of input");
+      if (c == ';' || c == '>' || c == '<' || c == '=')
+        return;
+      final int coefficient = isNameStart(c) ? 1 : this.tokenizer.nextInt();
+      this.tokenizer.skipWhitespace();
+      if (!isNameStart(this.tokenizer.peek()))
+        throw this.tokenizer.error("Expected a literal");
+      this.addTerm(this.readLiteral(), coefficient);
+    }
+  }
+
+  /**
+   * Adds a term to the literal and coefficient buffers.  The term must not be followed by another literal.
+   * @param literal     the literal of the term
+   * @param coefficient the coefficient of the term
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the term is followed by another literal
+   */
+  private void addTerm(final Literal literal, int coefficient) throws IOException, ParserException {
+    this.tokenizer.skipWhitespace();
+    if (isNameStart(this.tokenizer.peek()))
+      throw this.tokenizer.error("Non-linear terms are not supported");
+    if (this.size == this.literals.length) {
+      this.literals = Arrays.copyOf(this.literals, this.size * 2);
+      this.coefficients = Arrays.copyOf(this.coefficients, this.size * 2);
+    }
+    this.literals[this.size] = literal;
+    this.coefficients[this.size] = coefficient;
+    this.size++;
+  }
+
+  /**
+   * Reads a literal, i.e. a variable name which is optionally preceded by {@code ~}.
+   * @return the literal
+   * @throws IOException if there was a problem reading the input
+   */
+  private Literal readLiteral() throws IOException {
+    final boolean negated = this.tokenizer.peek() == '~';
+    if (negated)
+      this.tokenizer.read();
+    final Variable var = this.variable(this.nextName());
+    return negated ? var.negate() : var;
+  }
+
+  /**
+   * Returns the variable with a given name.
+   * @param varName the name of the variable
+   * @return the variable
+   */
+  private Variable variable(final String varName) {
+    Variable var = this.variables.get(varName);
+    if (var == null) {
+      var = this.f.variable(varName);
+      this.variables.put(varName, var);
+    }
+    return var;
+  }
+
+  /**
+   * Reads a comparator.
+   * @return the comparator
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if there is no valid comparator
+   */
+  private CType readComparator() throws IOException, ParserException {
+    final int c = this.tokenizer.read();
+    if (c == '=')
+      return CType.EQ;
+    final boolean orEqual = this.tokenizer.peek() == '=';
+    if (orEqual)
+      this.tokenizer.read();
+    if (c == '>')
+      return orEqual ? CType.GE : CType.GT;
+    if (c == '<')
+      return orEqual ? CType.LE : CType.LT;
+    throw this.tokenizer.error("Expected a comparator");
+  }
+
+  /**
+   * Consumes the next non-whitespace character which must be the given one.
+   * @param expected the expected character
+   * @throws IOException     if there was a problem reading the input
+   * @throws ParserException if the next character is a different one
+   */
+  private void expect(final char expected) throws IOException, ParserException {
+    this.tokenizer.skipWhitespace();
+    if (this.tokenizer.read() != expected)
+      throw this.tokenizer.error("Expected '" + expected + "'");
+  }
+
+  /**
+   * Reads the next name up to a whitespace or {@code ;}.
+   * @return the name
+   * @throws IOException if there was a problem reading the input
+   */
+  private String nextName() throws IOException {
+    this.name.setLength(0);
+    int c = this.tokenizer.peek();
+    while (c != -1 && c != ';' && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+      this.name.append((char) (c & 0xff));
+      this.tokenizer.read();
+      c = this.tokenizer.peek();
+    }
+    return this.name.toString();
+  }
+
+  /**
+   * Returns whether a character can start a literal.
+   * @param c the character
+   * @return {@code true} if the character can start a literal, {@code false} otherwise
+   */
+  private static boolean isNameStart(final int c) {
+    return c == '~' || c == '_' || c == '@' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+  }
+
+  /**
+   * The objective function of an OPB problem.
+   * @version 1.2
+   * @since 1.2
+   */
+  public static final class Objective {
+
+    private final boolean minimize;
+    private final Literal[] literals;
+    private final int[] coefficients;
+
+    /**
+     * Constructs a new objective function.
+     * @param minimize     {@code true} if the function should be minimized, {@code false} if it should be maximized
+     * @param literals     the literals
+     * @param coefficients the coefficients
+     */
+    private Objective(final boolean minimize, final Literal[] literals, final int[] coefficients) {
+      this.minimize = minimize;
+      this.literals = literals;
+      this.coefficients = coefficients;
+    }
+
+    /**
+     * Returns whether the objective function should be minimized or maximized.
+     * @return {@code true} if the function should be minimized, {@code false} if it should be maximized
+     */
+    public boolean minimize() {
+      return this.minimize;
+    }
+
+    /**
+     * Returns the literals of the objective function.
+     * @return the literals of the objective function
+     */
+    public Literal[] literals() {
+      return Arrays.copyOf(this.literals, this.literals.length);
+    }
+
+    /**
+     * Returns the coefficients of the objective function.
+     * @return the coefficients of the objective function
+     */
+    public int[] coefficients() {
+      return Arrays.copyOf(this.coefficients, this.coefficients.length);
+    }
+
+    /**
+     * Returns the value of the objective function under a given assignment.
+     * @param assignment the assignment
+     * @return the value of the objective function
+     */
+    public long evaluate(final Assignment assignment) {
+      long value = 0;
+      for (int i = 0; i < this.literals.length; i++)
+        if (this.literals[i].evaluate(assignment))
+          value += this.coefficients[i];
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder(this.minimize ? "min:" : "max:");
+      for (int i = 0; i < this.literals.length; i++)
+        sb.append(String.format(" %+d %s", this.coefficients[i], this.literals[i]));
+      return sb.append(" ;").toString();
+    }
+  }
+}
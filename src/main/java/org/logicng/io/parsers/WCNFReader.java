@@ -0,0 +1,192 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A streaming reader for MaxSAT problems in the WCNF format.
+ * <p>
+ * The clauses are added directly to a MaxSAT solver as vectors of solver literals, so no {@code Formula} objects are
+ * created and no variable lookup in a sorted map is required.  The reader supports
+ * <ul>
+ * <li>unweighted problems with a problem line {@code p cnf <variables> <clauses>} where every clause is soft with
+ * weight 1,</li>
+ * <li>weighted problems with a problem line {@code p wcnf <variables> <clauses>} where every clause is soft and
+ * prefixed by its weight,</li>
+ * <li>partial weighted problems with a problem line {@code p wcnf <variables> <clauses> <top>} where every clause with
+ * a weight of at least {@code top} is hard, and</li>
+ * <li>files without a problem line where hard clauses are prefixed by {@code h} and soft clauses by their weight.</li>
+ * </ul>
+ * Soft clauses with weight 0 are ignored.  Gzip-compressed files are decompressed on the fly.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class WCNFReader {
+
+  /**
+   * Private constructor.
+   */
+  private WCNFReader() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Reads a WCNF file into the underlying solver of a MaxSAT solver.  The solver must not be solved yet.  Since the
+   * variables are not named, the model of the solver is not available as an assignment, it has to be extracted from
+   * the underlying solver with the returned variable mapping.
+   * @param file   the file
+   * @param solver the MaxSAT solver
+   * @return the mapping from DIMACS variables to solver variables (-1 for variables which do not occur in the file)
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid WCNF file
+   */
+  public static LNGIntVector read(final File file, final MaxSATSolver solver) throws IOException, ParserException {
+    return read(file, solver.underlyingSolver());
+  }
+
+  /**
+   * Reads a WCNF file into a MaxSAT solver.
+   * @param file   the file
+   * @param solver the MaxSAT solver
+   * @return the mapping from DIMACS variables to solver variables (-1 for variables which do not occur in the file)
+   * @throws IOException     if there was a problem reading the file
+   * @throws ParserException if the file is not a valid WCNF file
+   */
+  public static LNGIntVector read(final File file, final MaxSAT solver) throws IOException, ParserException {
+    try (InputStream in = DimacsTokenizer.open(file)) {
+      return read(in, solver);
+    }
+  }
+
+  /**
+   * Reads WCNF clauses from an input stream into a MaxSAT solver.  The stream is not closed.
+   * @param in     the input stream
+   * @param solver the MaxSAT solver
+   * @return the mapping from DIMACS variables to solver variables (-1 for variables which do not occur in the stream)
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the stream does not contain valid WCNF clauses
+   */
+  public static LNGIntVector read(final InputStream in, final MaxSAT solver) throws IOException, ParserException {
+    final DimacsTokenizer tokenizer = new DimacsTokenizer(in);
+    final LNGIntVector varMap = new LNGIntVector();
+    final LNGIntVector clause = new LNGIntVector();
+    boolean weighted = true;
+    long top = Long.MAX_VALUE;
+    while (true) {
+      tokenizer.skipWhitespace();
+      final int c = tokenizer.peek();
+      if (c == -1)
+        break;
+      if (c == 'c') {
+        tokenizer.skipLine();
+        continue;
+      }
+      if (c == 'p') {
+        tokenizer.read();
+        final String format = tokenizer.nextWord();
+        if ("cnf".equals(format))
+          weighted = false;
+        else if (!"wcnf".equals(format))
+          throw tokenizer.error("Expected a 'p cnf' or 'p wcnf' problem line");
+        tokenizer.nextLong();
+        tokenizer.nextLong();
+        tokenizer.skipBlanks();
+        final int next = tokenizer.peek();
+        if (next >= '0' && next <= '9')
+          top = tokenizer.nextLong();
+        continue;
+      }
+      final boolean hard;
+      final long weight;
+      if (c == 'h') {
+        tokenizer.read();
+        hard = true;
+        weight = 0;
+      } else if (weighted) {
+        weight = tokenizer.nextLong();
+        hard = weight >= top;
+      } else {
+        weight = 1;
+        hard = false;
+      }
+      if (!hard && weight < 0)
+        throw tokenizer.error("Negative weight");
+      if (!hard && weight >= Integer.MAX_VALUE)
+        throw tokenizer.error("Weight too large");
+      readClause(tokenizer, solver, varMap, clause);
+      if (hard)
+        solver.addHardClause(clause);
+      else if (weight > 0) {
+        solver.setCurrentWeight((int) weight);
+        solver.updateSumWeights((int) weight);
+        solver.addSoftClause((int) weight, clause);
+      }
+    }
+    return varMap;
+  }
+
+  /**
+   * Reads the literals of a clause up to the terminating {@code 0} or the end of the stream and translates them to
+   * solver literals.  New solver variables are created on the first occurrence of a DIMACS variable.
+   * @param tokenizer the tokenizer
+   * @param solver    the MaxSAT solver
+   * @param varMap    the mapping from DIMACS variables to solver variables
+   * @param clause    the vector for the solver literals
+   * @throws IOException     if there was a problem reading the stream
+   * @throws ParserException if the clause contains an illegal token
+   */
+  private static void readClause(final DimacsTokenizer tokenizer, final MaxSAT solver, final LNGIntVector varMap,
+                                 final LNGIntVector clause) throws IOException, ParserException {
+    clause.clear();
+    while (true) {
+      tokenizer.skipWhitespace();
+      if (tokenizer.peek() == -1)
+        return;
+      final int lit = tokenizer.nextInt();
+      if (lit == 0)
+        return;
+      final int var = Math.abs(lit);
+      if (var >= varMap.size())
+        varMap.growTo(var + 1, -1);
+      int index = varMap.get(var);
+      if (index == -1) {
+        index = solver.newLiteral(false) >> 1;
+        varMap.set(var, index);
+      }
+      clause.push(MiniSatStyleSolver.mkLit(index, lit < 0));
+    }
+  }
+}
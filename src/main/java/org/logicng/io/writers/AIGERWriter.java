@@ -0,0 +1,298 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.writers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+import org.logicng.formulas.Variable;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A writer for And-Inverter Graphs in the ASCII ({@code aag}) and binary ({@code aig}) AIGER format.
+ * <p>
+ * Each formula becomes one output of a combinational circuit.  The inputs of the circuit are the variables of the
+ * formulas in their natural order, their names are written to the symbol table.  The formulas are translated node by
+ * node to AND gates: an n-ary conjunction becomes a chain of binary gates, disjunctions, implications, and
+ * equivalences are expressed by conjunctions and negations, and pseudo-Boolean constraints are translated by their CNF.
+ * Since nodes shared in the formula factory and structurally equal gates are written only once, a formula in AIG
+ * form (cf. {@link org.logicng.transformations.AIGTransformation}) is written with exactly one gate per binary
+ * conjunction.  Files in this format can be loaded with {@link org.logicng.io.parsers.AIGERReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class AIGERWriter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Map<Variable, Integer> inputs;
+  private final LNGIntVector gates;
+  private final Map<Long, Integer> strash;
+  private final Map<Formula, Integer> literals;
+
+  /**
+   * Constructs a new writer.
+   * @param variables the input variables
+   */
+  private AIGERWriter(final SortedSet<Variable> variables) {
+    this.inputs = new HashMap<>();
+    for (final Variable var : variables)
+      this.inputs.put(var, 2 * (this.inputs.size() + 1));
+    this.gates = new LNGIntVector();
+    this.strash = new HashMap<>();
+    this.literals = new IdentityHashMap<>();
+  }
+
+  /**
+   * Writes a collection of formulas to an AIGER file.
+   * @param file     the file
+   * @param formulas the formulas, one for each output
+   * @param binary   {@code true} if the binary format should be written, {@code false} for the ASCII format
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void write(final File file, final Collection<? extends Formula> formulas, final boolean binary) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE)) {
+      write(out, formulas, binary);
+    }
+  }
+
+  /**
+   * Writes a collection of formulas in the AIGER format to an output stream.  The stream is not closed.
+   * @param out      the output stream
+   * @param formulas the formulas, one for each output
+   * @param binary   {@code true} if the binary format should be written, {@code false} for the ASCII format
+   * @throws IOException if there was a problem writing the stream
+   */
+  public static void write(final OutputStream out, final Collection<? extends Formula> formulas, final boolean binary) throws IOException {
+    final AIGERWriter writer = new AIGERWriter(variables(formulas));
+    final int[] outputs = new int[formulas.size()];
+    int index = 0;
+    for (final Formula formula : formulas)
+      outputs[index++] = writer.encode(formula);
+    final int numInputs = writer.inputs.size();
+    final int numGates = writer.gates.size() / 2;
+    final Variable[] variables = new Variable[numInputs];
+    for (final Map.Entry<Variable, Integer> entry : writer.inputs.entrySet())
+      variables[entry.getValue() / 2 - 1] = entry.getKey();
+    writeString(out, String.format("%s %d %d 0 %d %d\n", binary ? "aig" : "aag", numInputs + numGates, numInputs, outputs.length, numGates));
+    if (!binary)
+      for (int i = 0; i < numInputs; i++)
+        writeString(out, (2 * (i + 1)) + "\n");
+    for (final int output : outputs)
+      writeString(out, output + "\n");
+    for (int i = 0; i < numGates; i++) {
+      final int lhs = 2 * (numInputs + i + 1);
+      final int rhs0 = writer.gates.get(2 * i);
+      final int rhs1 = writer.gates.get(2 * i + 1);
+      if (binary) {
+        writeUnsigned(out, lhs - rhs0);
+        writeUnsigned(out, rhs0 - rhs1);
+      } else
+        writeString(out, lhs + " " + rhs0 + " " + rhs1 + "\n");
+    }
+    for (int i = 0; i < numInputs; i++)
+      writeString(out, "i" + i + " " + variables[i].name() + "\n");
+    out.flush();
+  }
+
+  /**
+   * Returns the variables of a collection of formulas including the auxiliary variables of the CNFs of their
+   * pseudo-Boolean constraints.
+   * @param formulas the formulas
+   * @return the variables
+   */
+  private static SortedSet<Variable> variables(final Collection<? extends Formula> formulas) {
+    final SortedSet<Variable> variables = new TreeSet<>();
+    final Map<Formula, Boolean> visited = new IdentityHashMap<>();
+    final Deque<Formula> stack = new ArrayDeque<>(formulas);
+    while (!stack.isEmpty()) {
+      final Formula formula = stack.pop();
+      if (visited.put(formula, Boolean.TRUE) != null)
+        continue;
+      switch (formula.type()) {
+        case TRUE:
+        case FALSE:
+          break;
+        case LITERAL:
+          variables.add(((Literal) formula).variable());
+          break;
+        case PBC:
+          stack.push(formula.cnf());
+          break;
+        default:
+          for (final Formula op : formula)
+            stack.push(op);
+      }
+    }
+    return variables;
+  }
+
+  /**
+   * Encodes a formula as AND gates and returns the AIGER literal of its root.  The formula DAG is traversed
+   * iteratively in post-order, so deep formulas do not overflow the call stack.
+   * @param root the formula
+   * @return the AIGER literal
+   */
+  private int encode(final Formula root) {
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      final Formula formula = stack.peek();
+      if (this.literals.containsKey(formula)) {
+        stack.pop();
+        continue;
+      }
+      boolean ready = true;
+      if (formula.type() == FType.PBC) {
+        final Formula cnf = formula.cnf();
+        if (!this.literals.containsKey(cnf)) {
+          stack.push(cnf);
+          ready = false;
+        }
+      } else
+        for (final Formula op : formula)
+          if (!this.literals.containsKey(op)) {
+            stack.push(op);
+            ready = false;
+          }
+      if (ready) {
+        stack.pop();
+        this.literals.put(formula, this.gate(formula));
+      }
+    }
+    return this.literals.get(root);
+  }
+
+  /**
+   * Returns the AIGER literal of a formula whose operands are already encoded.
+   * @param formula the formula
+   * @return the AIGER literal
+   */
+  private int gate(final Formula formula) {
+    switch (formula.type()) {
+      case FALSE:
+        return 0;
+      case TRUE:
+        return 1;
+      case LITERAL:
+        final Literal lit = (Literal) formula;
+        return this.inputs.get(lit.variable()) ^ (lit.phase() ? 0 : 1);
+      case NOT:
+        return this.literals.get(((Not) formula).operand()) ^ 1;
+      case AND:
+        int and = 1;
+        for (final Formula op : formula)
+          and = this.and(and, this.literals.get(op));
+        return and;
+      case OR:
+        int nor = 1;
+        for (final Formula op : formula)
+          nor = this.and(nor, this.literals.get(op) ^ 1);
+        return nor ^ 1;
+      case IMPL:
+      case EQUIV:
+        final int left = this.literals.get(((BinaryOperator) formula).left());
+        final int right = this.literals.get(((BinaryOperator) formula).right());
+        final int impl = this.and(left, right ^ 1) ^ 1;
+        return formula.type() == FType.IMPL ? impl : this.and(impl, this.and(left ^ 1, right) ^ 1);
+      case PBC:
+        return this.literals.get(formula.cnf());
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+    }
+  }
+
+  /**
+   * Returns the AIGER literal of the conjunction of two AIGER literals.  Constants and trivial cases are simplified
+   * and a new gate is only created if no gate with the same inputs exists.
+   * @param a the first literal
+   * @param b the second literal
+   * @return the AIGER literal of the conjunction
+   */
+  private int and(final int a, final int b) {
+    if (a == 0 || b == 0 || a == (b ^ 1))
+      return 0;
+    if (a == 1 || a == b)
+      return b;
+    if (b == 1)
+      return a;
+    final int rhs0 = Math.max(a, b);
+    final int rhs1 = Math.min(a, b);
+    final long key = ((long) rhs0 << 32) | rhs1;
+    final Integer existing = this.strash.get(key);
+    if (existing != null)
+      return existing;
+    final int lhs = 2 * (this.inputs.size() + this.gates.size() / 2 + 1);
+    this.gates.push(rhs0);
+    this.gates.push(rhs1);
+    this.strash.put(key, lhs);
+    return lhs;
+  }
+
+  /**
+   * Writes a string in UTF-8.
+   * @param out    the output stream
+   * @param string the string
+   * @throws IOException if there was a problem writing the stream
+   */
+  private static void writeString(final OutputStream out, final String string) throws IOException {
+    out.write(string.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes an unsigned number with seven bits per byte and the highest bit set on all but the last byte.
+   * @param out   the output stream
+   * @param value the number
+   * @throws IOException if there was a problem writing the stream
+   */
+  private static void writeUnsigned(final OutputStream out, final int value) throws IOException {
+    int x = value;
+    while ((x & ~0x7f) != 0) {
+      out.write((x & 0x7f) | 0x80);
+      x >>>= 7;
+    }
+    out.write(x);
+  }
+}
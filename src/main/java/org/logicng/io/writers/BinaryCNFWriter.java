@@ -0,0 +1,330 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.writers;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.DimacsReader;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A writer for CNFs in a compact binary format.
+ * <p>
+ * A literal is stored by its code {@code 2 * v + (negative ? 1 : 0)} where {@code v} is the zero-based variable index,
+ * i.e. in the literal representation of the MiniSat-style solvers.  The format consists of (all fixed-size numbers are
+ * big-endian):
+ * <ul>
+ * <li>the magic number {@link #MAGIC} and the format version {@link #VERSION} (32-bit)</li>
+ * <li>the number of variables and the number of clauses (32-bit) and the total number of literals (64-bit)</li>
+ * <li>the number of variable names (32-bit) followed by the names, each one given by its variable index, its length in
+ * bytes (32-bit), and its UTF-8 bytes</li>
+ * <li>the clauses, each one given by its size followed by its literal codes in ascending order, where the first code
+ * is stored as it is and each further code as the difference to its predecessor</li>
+ * </ul>
+ * Clause sizes, codes, and differences are stored as unsigned variable-length integers with seven bits per byte and the
+ * highest bit set on all but the last byte.  Since the literals of a clause are sorted, the order of the literals in a
+ * clause is not preserved.  CNFs in this format can be loaded with {@link org.logicng.io.parsers.BinaryCNFReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BinaryCNFWriter {
+
+  /**
+   * The magic number of the format.
+   */
+  public static final int MAGIC = 0x4C4E4743;
+
+  /**
+   * The version of the format.
+   */
+  public static final int VERSION = 1;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int COUNTS_POSITION = 8;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private int[] codes;
+  private int numClauses;
+  private long numLiterals;
+
+  /**
+   * Constructs a new writer and writes the header.
+   * @param file  the file
+   * @param names the variable names indexed by variable or {@code null} if the variables have no names
+   * @throws IOException if there was a problem writing the file
+   */
+  private BinaryCNFWriter(final File file, final String[] names) throws IOException {
+    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    this.codes = new int[16];
+    this.buffer.putInt(MAGIC);
+    this.buffer.putInt(VERSION);
+    this.buffer.putInt(0);
+    this.buffer.putInt(0);
+    this.buffer.putLong(0);
+    int numNames = 0;
+    if (names != null)
+      for (final String name : names)
+        if (name != null)
+          numNames++;
+    this.buffer.putInt(numNames);
+    for (int i = 0; names != null && i < names.length; i++) {
+      if (names[i] != null) {
+        final byte[] bytes = names[i].getBytes(StandardCharsets.UTF_8);
+        this.ensureRemaining(8);
+        this.buffer.putInt(i);
+        this.buffer.putInt(bytes.length);
+        for (final byte b : bytes) {
+          this.ensureRemaining(1);
+          this.buffer.put(b);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the CNF of a given formula to a file.  The variables are numbered in the order of their names, like in the
+   * {@link DimacsWriter}, and their names are stored in the file.
+   * @param file    the file
+   * @param formula the formula
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void write(final File file, final Formula formula) throws IOException {
+    final Formula cnf = formula.cnf();
+    final Variable[] variables = cnf.variables().toArray(new Variable[0]);
+    final Map<Variable, Integer> indices = new HashMap<>();
+    final String[] names = new String[variables.length];
+    for (int i = 0; i < variables.length; i++) {
+      indices.put(variables[i], i);
+      names[i] = variables[i].name();
+    }
+    final BinaryCNFWriter writer = new BinaryCNFWriter(file, names);
+    try {
+      final LNGIntVector clause = new LNGIntVector();
+      switch (cnf.type()) {
+        case TRUE:
+          break;
+        case FALSE:
+        case LITERAL:
+        case OR:
+          writer.addClause(clause(cnf, indices, clause));
+          break;
+        case AND:
+          for (final Formula op : cnf)
+            writer.addClause(clause(op, indices, clause));
+          break;
+        default:
+          throw new IllegalStateException("The formula type " + cnf.type() + " cannot occur in a CNF formula.");
+      }
+      writer.finish(variables.length);
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Writes the clause database of a MiniSat-style solver to a file.  The names of the solver variables are stored in
+   * the file.  The assignments on decision level 0 are written as unit clauses.
+   * @param file        the file
+   * @param solver      the solver
+   * @param withLearnts {@code true} if the learnt clauses should be written, {@code false} otherwise
+   * @throws IOException           if there was a problem writing the file
+   * @throws IllegalStateException if the clause database contains at-most constraints
+   */
+  public static void write(final File file, final MiniSatStyleSolver solver, final boolean withLearnts) throws IOException {
+    final String[] names = new String[solver.nVars()];
+    for (int i = 0; i < names.length; i++)
+      names[i] = solver.nameForIdx(i);
+    final BinaryCNFWriter writer = new BinaryCNFWriter(file, names);
+    try {
+      try {
+        solver.exportClauses(withLearnts, clause -> {
+          try {
+            writer.addClause(clause);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.finish(solver.nVars());
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Converts a DIMACS file to the binary format.  The DIMACS variable {@code n} gets the index {@code n - 1}, the
+   * variables have no names.
+   * @param dimacsFile the DIMACS file
+   * @param file       the file for the binary format
+   * @return the number of clauses
+   * @throws IOException     if there was a problem reading or writing the files
+   * @throws ParserException if the DIMACS file is not valid
+   */
+  public static int convert(final File dimacsFile, final File file) throws IOException, ParserException {
+    final BinaryCNFWriter writer = new BinaryCNFWriter(file, null);
+    try {
+      final LNGIntVector codes = new LNGIntVector();
+      final int[] maxVar = new int[1];
+      try {
+        DimacsReader.read(dimacsFile, clause -> {
+          codes.clear();
+          for (int i = 0; i < clause.size(); i++) {
+            final int lit = clause.get(i);
+            final int var = Math.abs(lit);
+            maxVar[0] = Math.max(maxVar[0], var);
+            codes.push(MiniSatStyleSolver.mkLit(var - 1, lit < 0));
+          }
+          try {
+            writer.addClause(codes);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.finish(maxVar[0]);
+      return writer.numClauses;
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Collects the literal codes of a clause.
+   * @param clause  the clause
+   * @param indices the variable indices
+   * @param codes   the vector for the codes
+   * @return the vector for the codes
+   */
+  private static LNGIntVector clause(final Formula clause, final Map<Variable, Integer> indices, final LNGIntVector codes) {
+    codes.clear();
+    for (final Literal lit : clause.literalArray())
+      codes.push(MiniSatStyleSolver.mkLit(indices.get(lit.variable()), !lit.phase()));
+    return codes;
+  }
+
+  /**
+   * Writes a clause.
+   * @param clause the literal codes of the clause
+   * @throws IOException if there was a problem writing the file
+   */
+  private void addClause(final LNGIntVector clause) throws IOException {
+    final int size = clause.size();
+    if (this.codes.length < size)
+      this.codes = new int[Math.max(size, 2 * this.codes.length)];
+    for (int i = 0; i < size; i++)
+      this.codes[i] = clause.get(i);
+    Arrays.sort(this.codes, 0, size);
+    this.ensureRemaining(5);
+    this.putVarInt(size);
+    int previous = 0;
+    for (int i = 0; i < size; i++) {
+      this.ensureRemaining(5);
+      this.putVarInt(this.codes[i] - previous);
+      previous = this.codes[i];
+    }
+    this.numClauses++;
+    this.numLiterals += size;
+  }
+
+  /**
+   * Writes an unsigned variable-length integer.
+   * @param value the value
+   */
+  private void putVarInt(final int value) {
+    int v = value;
+    while ((v & ~0x7f) != 0) {
+      this.buffer.put((byte) ((v & 0x7f) | 0x80));
+      v >>>= 7;
+    }
+    this.buffer.put((byte) v);
+  }
+
+  /**
+   * Flushes the buffer if it has less than the given number of bytes remaining.
+   * @param bytes the number of bytes
+   * @throws IOException if there was a problem writing the file
+   */
+  private void ensureRemaining(final int bytes) throws IOException {
+    if (this.buffer.remaining() < bytes)
+      this.flush();
+  }
+
+  /**
+   * Writes the content of the buffer to the channel and clears the buffer.
+   * @throws IOException if there was a problem writing the file
+   */
+  private void flush() throws IOException {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining())
+      this.channel.write(this.buffer);
+    this.buffer.clear();
+  }
+
+  /**
+   * Flushes the buffer and writes the final counts to the header.
+   * @param variables the number of variables
+   * @throws IOException if there was a problem writing the file
+   */
+  private void finish(final int variables) throws IOException {
+    this.flush();
+    final ByteBuffer counts = ByteBuffer.allocate(16);
+    counts.putInt(variables).putInt(this.numClauses).putLong(this.numLiterals).flip();
+    long position = COUNTS_POSITION;
+    while (counts.hasRemaining())
+      position += this.channel.write(counts, position);
+  }
+
+  /**
+   * Closes the channel.
+   * @throws IOException if there was a problem closing the file
+   */
+  private void close() throws IOException {
+    this.channel.close();
+  }
+}
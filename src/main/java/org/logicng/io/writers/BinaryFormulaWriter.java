@@ -0,0 +1,268 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.writers;
+
+import org.logicng.formulas.BinaryOperator;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Not;
+import org.logicng.formulas.PBConstraint;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A writer for formulas in a compact binary format.
+ * <p>
+ * A set of formulas is written as one shared DAG: each node is written exactly once and referenced by its id, which
+ * is its position in the node list.  The nodes are written in topological order, so a node only references nodes with
+ * smaller ids.  The format consists of (all numbers are big-endian 32-bit integers if not noted otherwise):
+ * <ul>
+ * <li>the magic number {@link #MAGIC} and the format version {@link #VERSION}</li>
+ * <li>the number of variable names followed by the names, each one given by its length in bytes and its UTF-8
+ * bytes</li>
+ * <li>the number of nodes followed by the nodes, each one given by a type byte and its data: nothing for constants,
+ * the literal code for literals, the operand id for negations, two operand ids for implications and equivalences, the
+ * number of operands and the operand ids for conjunctions and disjunctions, and the comparator byte (the ordinal of
+ * the {@link org.logicng.formulas.CType}), the right-hand side, the number of literals and pairs of literal codes and
+ * coefficients for pseudo-Boolean constraints</li>
+ * <li>the number of formulas followed by their node ids</li>
+ * </ul>
+ * A literal is stored by its code {@code 2 * i + (negative ? 1 : 0)} where {@code i} is the index of its name.
+ * Formulas in this format can be loaded with {@link org.logicng.io.parsers.BinaryFormulaReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class BinaryFormulaWriter {
+
+  /**
+   * The magic number of the format.
+   */
+  public static final int MAGIC = 0x4C4E4746;
+
+  /**
+   * The version of the format.
+   */
+  public static final int VERSION = 2;
+
+  /**
+   * The type codes of the nodes.
+   */
+  public static final byte TYPE_FALSE = 0;
+  public static final byte TYPE_TRUE = 1;
+  public static final byte TYPE_LITERAL = 2;
+  public static final byte TYPE_NOT = 3;
+  public static final byte TYPE_IMPL = 4;
+  public static final byte TYPE_EQUIV = 5;
+  public static final byte TYPE_AND = 6;
+  public static final byte TYPE_OR = 7;
+  public static final byte TYPE_PBC = 8;
+
+  /**
+   * Private constructor.
+   */
+  private BinaryFormulaWriter() {
+    // Intentionally left empty.
+  }
+
+  /**
+   * Writes a given collection of formulas to a file.
+   * @param file     the file
+   * @param formulas the formulas
+   * @throws IOException if there was a problem writing the file
+   */
+  public static void write(final File file, final Collection<? extends Formula> formulas) throws IOException {
+    try (OutputStream stream = new FileOutputStream(file)) {
+      write(stream, formulas);
+    }
+  }
+
+  /**
+   * Writes a given collection of formulas to an output stream.  The stream is flushed but not closed.
+   * @param stream   the output stream
+   * @param formulas the formulas
+   * @throws IOException if there was a problem writing to the stream
+   */
+  public static void write(final OutputStream stream, final Collection<? extends Formula> formulas) throws IOException {
+    final Map<Formula, Integer> ids = new IdentityHashMap<>();
+    final List<Formula> nodes = new ArrayList<>();
+    final Map<String, Integer> names = new HashMap<>();
+    final List<String> nameList = new ArrayList<>();
+    for (final Formula formula : formulas)
+      collect(formula, ids, nodes, names, nameList);
+    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(nameList.size());
+    for (final String name : nameList) {
+      final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    out.writeInt(nodes.size());
+    for (final Formula node : nodes)
+      writeNode(out, node, ids, names);
+    out.writeInt(formulas.size());
+    for (final Formula formula : formulas)
+      out.writeInt(ids.get(formula));
+    out.flush();
+  }
+
+  /**
+   * Collects the nodes of a formula in post order.
+   * @param formula  the formula
+   * @param ids      the ids of the already collected nodes
+   * @param nodes    the list of collected nodes
+   * @param names    the indices of the already collected variable names
+   * @param nameList the list of collected variable names
+   */
+  private static void collect(final Formula formula, final Map<Formula, Integer> ids, final List<Formula> nodes,
+                              final Map<String, Integer> names, final List<String> nameList) {
+    final Deque<Formula> stack = new ArrayDeque<>();
+    stack.push(formula);
+    while (!stack.isEmpty()) {
+      final Formula current = stack.peek();
+      if (ids.containsKey(current)) {
+        stack.pop();
+        continue;
+      }
+      boolean ready = true;
+      if (current.type() == FType.PBC) {
+        for (final Literal lit : ((PBConstraint) current).operands())
+          addName(lit.name(), names, nameList);
+      } else if (current.type() == FType.LITERAL)
+        addName(((Literal) current).name(), names, nameList);
+      else
+        for (final Formula op : current)
+          if (!ids.containsKey(op)) {
+            stack.push(op);
+            ready = false;
+          }
+      if (ready) {
+        stack.pop();
+        ids.put(current, nodes.size());
+        nodes.add(current);
+      }
+    }
+  }
+
+  /**
+   * Adds a variable name to the name table if it is not yet present.
+   * @param name     the name
+   * @param names    the indices of the names
+   * @param nameList the list of names
+   */
+  private static void addName(final String name, final Map<String, Integer> names, final List<String> nameList) {
+    if (!names.containsKey(name)) {
+      names.put(name, nameList.size());
+      nameList.add(name);
+    }
+  }
+
+  /**
+   * Writes a single node.
+   * @param out   the output stream
+   * @param node  the node
+   * @param ids   the node ids
+   * @param names the name indices
+   * @throws IOException if there was a problem writing the node
+   */
+  private static void writeNode(final DataOutputStream out, final Formula node, final Map<Formula, Integer> ids,
+                                final Map<String, Integer> names) throws IOException {
+    switch (node.type()) {
+      case FALSE:
+        out.writeByte(TYPE_FALSE);
+        break;
+      case TRUE:
+        out.writeByte(TYPE_TRUE);
+        break;
+      case LITERAL:
+        final Literal lit = (Literal) node;
+        out.writeByte(TYPE_LITERAL);
+        out.writeInt(literalCode(lit, names));
+        break;
+      case NOT:
+        out.writeByte(TYPE_NOT);
+        out.writeInt(ids.get(((Not) node).operand()));
+        break;
+      case IMPL:
+      case EQUIV:
+        final BinaryOperator binary = (BinaryOperator) node;
+        out.writeByte(node.type() == FType.IMPL ? TYPE_IMPL : TYPE_EQUIV);
+        out.writeInt(ids.get(binary.left()));
+        out.writeInt(ids.get(binary.right()));
+        break;
+      case AND:
+      case OR:
+        out.writeByte(node.type() == FType.AND ? TYPE_AND : TYPE_OR);
+        out.writeInt(node.numberOfOperands());
+        for (final Formula op : node)
+          out.writeInt(ids.get(op));
+        break;
+      case PBC:
+        final PBConstraint pbc = (PBConstraint) node;
+        final Literal[] lits = pbc.operands();
+        final int[] coeffs = pbc.coefficients();
+        out.writeByte(TYPE_PBC);
+        out.writeByte(pbc.comparator().ordinal());
+        out.writeInt(pbc.rhs());
+        out.writeInt(lits.length);
+        for (int i = 0; i < lits.length; i++) {
+          out.writeInt(literalCode(lits[i], names));
+          out.writeInt(coeffs[i]);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown formula type: " + node.type());
+    }
+  }
+
+  /**
+   * Returns the code of a literal.
+   * @param lit   the literal
+   * @param names the name indices
+   * @return the code of the literal
+   */
+  private static int literalCode(final Literal lit, final Map<String, Integer> names) {
+    return 2 * names.get(lit.name()) + (lit.phase() ? 0 : 1);
+  }
+}
@@ -28,27 +28,37 @@
 
 package org.logicng.io.writers;
 
+import org.logicng.collections.LNGIntVector;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Or;
 import org.logicng.formulas.Variable;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * A writer for formulas in the Dimacs CNF format.
+ * A writer for formulas and the clause databases of MiniSat-style solvers in the Dimacs CNF format.
  * @version 1.2
  * @since 1.2
  */
 public final class DimacsWriter {
 
+  private static final int BUFFER_SIZE = 1 << 16;
+
   /**
    * Private constructor.
    */
@@ -82,11 +92,11 @@ public final class DimacsWriter {
           writer.write(literal((Literal) cnf, mapping) + "0\n");
           break;
         case OR:
-          writer.write(String.format("p cnf %d 1%n", cnf.variables().size()));
+          writer.write(String.format("p cnf %d 1%n", mapping.size()));
           writer.write(or((Or) cnf, mapping));
           break;
         case AND:
-          writer.write(String.format("p cnf %d %d%n", cnf.variables().size(), cnf.numberOfOperands()));
+          writer.write(String.format("p cnf %d %d%n", mapping.size(), cnf.numberOfOperands()));
           for (final Formula op : cnf)
             writer.write(or((Or) op, mapping));
           break;
@@ -97,6 +107,121 @@ public final class DimacsWriter {
     }
   }
 
+  /**
+   * Writes the clause database of a MiniSat-style solver to a file.  The solver variable {@code i} is written as the
+   * Dimacs variable {@code i + 1}.  The assignments on decision level 0 are written as unit clauses.
+   * @param file        the file
+   * @param solver      the solver
+   * @param withLearnts {@code true} if the learnt clauses should be written, {@code false} otherwise
+   * @throws IOException           if there was a problem writing the file
+   * @throws IllegalStateException if the clause database contains at-most constraints
+   */
+  public static void write(final File file, final MiniSatStyleSolver solver, final boolean withLearnts) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      write(channel, solver, withLearnts);
+    }
+  }
+
+  /**
+   * Writes the clause database of a MiniSat-style solver to a file and the names of its variables to a mapping file.
+   * Each line of the mapping file holds a Dimacs variable and the name of the respective solver variable separated by a
+   * blank.  Variables without a name are omitted.
+   * @param file        the file
+   * @param mappingFile the mapping file
+   * @param solver      the solver
+   * @param withLearnts {@code true} if the learnt clauses should be written, {@code false} otherwise
+   * @throws IOException           if there was a problem writing the files
+   * @throws IllegalStateException if the clause database contains at-most constraints
+   */
+  public static void write(final File file, final File mappingFile, final MiniSatStyleSolver solver, final boolean withLearnts)
+          throws IOException {
+    write(file, solver, withLearnts);
+    try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mappingFile), StandardCharsets.UTF_8))) {
+      for (int i = 0; i < solver.nVars(); i++) {
+        final String name = solver.nameForIdx(i);
+        if (name != null) {
+          writer.write(String.valueOf(i + 1));
+          writer.write(' ');
+          writer.write(name);
+          writer.write('\n');
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the clause database of a MiniSat-style solver to a channel.  The channel is not closed.
+   * @param channel     the channel
+   * @param solver      the solver
+   * @param withLearnts {@code true} if the learnt clauses should be written, {@code false} otherwise
+   * @throws IOException           if there was a problem writing to the channel
+   * @throws IllegalStateException if the clause database contains at-most constraints
+   */
+  public static void write(final WritableByteChannel channel, final MiniSatStyleSolver solver, final boolean withLearnts)
+          throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    buffer.put(String.format("p cnf %d %d\n", solver.nVars(), solver.nExportedClauses(withLearnts)).getBytes(StandardCharsets.US_ASCII));
+    try {
+      solver.exportClauses(withLearnts, clause -> {
+        try {
+          for (int i = 0; i < clause.size(); i++) {
+            final int lit = clause.get(i);
+            putInt(channel, buffer, MiniSatStyleSolver.sign(lit) ? -(MiniSatStyleSolver.var(lit) + 1) : MiniSatStyleSolver.var(lit) + 1);
+          }
+          putInt(channel, buffer, 0);
+          buffer.put(buffer.position() - 1, (byte) '\n');
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+    flush(channel, buffer);
+  }
+
+  /**
+   * Writes a number followed by a blank to a buffer.  The buffer is flushed to the channel if it is almost full.
+   * @param channel the channel
+   * @param buffer  the buffer
+   * @param value   the number
+   * @throws IOException if there was a problem writing to the channel
+   */
+  private static void putInt(final WritableByteChannel channel, final ByteBuffer buffer, final int value) throws IOException {
+    if (buffer.remaining() < 13)
+      flush(channel, buffer);
+    int v = value;
+    if (v < 0) {
+      buffer.put((byte) '-');
+      v = -v;
+    }
+    final int start = buffer.position();
+    do {
+      buffer.put((byte) ('0' + v % 10));
+      v /= 10;
+    } while (v != 0);
+    for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+      final byte b = buffer.get(i);
+      buffer.put(i, buffer.get(j));
+      buffer.put(j, b);
+    }
+    buffer.put((byte) ' ');
+  }
+
+  /**
+   * Writes the content of a buffer to a channel and clears the buffer.
+   * @param channel the channel
+   * @param buffer  the buffer
+   * @throws IOException if there was a problem writing to the channel
+   */
+  private static void flush(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+    buffer.clear();
+  }
+
   /**
    * Returns the string for a given literal.
    * @param lit     the literal
@@ -48,7 +48,7 @@ import java.util.List;
 
 /**
  * An encoder for pseudo-Boolean constraints.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class PBEncoder {
@@ -103,6 +103,19 @@ public class PBEncoder {
    * @return the CNF encoding of the pseudo-Boolean constraint
    */
   public ImmutableFormulaList encode(final PBConstraint constraint) {
+    if (this.f.isConcurrent())
+      synchronized (this.f) {
+        return this.encodeConstraint(constraint);
+      }
+    return this.encodeConstraint(constraint);
+  }
+
+  /**
+   * Encodes a pseudo-Boolean constraint without synchronization.
+   * @param constraint the pseudo-Boolean constraint
+   * @return the CNF encoding of the pseudo-Boolean constraint
+   */
+  private ImmutableFormulaList encodeConstraint(final PBConstraint constraint) {
     if (constraint.isCC())
       return this.ccEncoder.encode(constraint);
     final Formula normalized = constraint.normalize();
@@ -123,7 +136,7 @@ public class PBEncoder {
             case FALSE:
               return new ImmutableFormulaList(FType.AND, this.f.falsum());
             case PBC:
-              list.addAll(this.encode((PBConstraint) op).toList());
+              list.addAll(this.encodeConstraint((PBConstraint) op).toList());
               break;
             default:
               throw new IllegalArgumentException("Illegal return value of PBConstraint.normalize");
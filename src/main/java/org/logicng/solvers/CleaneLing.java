@@ -47,13 +47,12 @@ import org.logicng.solvers.sat.CleaneLingMinimalisticSolver;
 import org.logicng.solvers.sat.CleaneLingSolver;
 import org.logicng.solvers.sat.CleaneLingStyleSolver;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
@@ -166,14 +165,14 @@ public final class CleaneLing extends SATSolver {
   @Override
   protected void addClause(final Formula formula) {
     this.result = UNDEF;
-    addClause(formula.literals());
+    addClause(formula.literalArray());
   }
 
   @Override
   protected void addClauseWithRelaxation(Variable relaxationVar, Formula formula) {
     this.result = UNDEF;
-    final SortedSet<Literal> literals = new TreeSet<>(formula.literals());
-    literals.add(relaxationVar);
+    final Literal[] literals = Arrays.copyOf(formula.literalArray(), formula.literalArray().length + 1);
+    literals[literals.length - 1] = relaxationVar;
     addClause(literals);
   }
 
@@ -249,10 +248,10 @@ public final class CleaneLing extends SATSolver {
   }
 
   /**
-   * Adds a collection of literals to the solver.
+   * Adds an array of literals to the solver.
    * @param literals the literals
    */
-  private void addClause(final Collection<Literal> literals) {
+  private void addClause(final Literal[] literals) {
     for (Literal lit : literals) {
       Integer index = this.name2idx.get(lit.variable().name());
       if (index == null) {
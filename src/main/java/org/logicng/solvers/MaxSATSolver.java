@@ -53,7 +53,7 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNSATISF
 
 /**
  * A wrapper for the OpenWBO solver.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class MaxSATSolver {
@@ -270,7 +270,7 @@ public final class MaxSATSolver {
   private void addClause(final Formula formula, int weight) {
     this.result = UNDEF;
     final LNGIntVector clauseVec = new LNGIntVector((int) formula.numberOfAtoms());
-    for (Literal lit : formula.literals()) {
+    for (Literal lit : formula.literalArray()) {
       Integer index = this.var2index.get(lit.variable());
       if (index == null) {
         index = this.solver.newLiteral(false) >> 1;
@@ -363,6 +363,17 @@ public final class MaxSATSolver {
     return this.solver.stats();
   }
 
+  /**
+   * Returns the underlying core solver.
+   * <p>
+   * ATTENTION: by influencing the underlying solver directly, you can mess things up completely!  You should really
+   * know, what you are doing.
+   * @return the underlying core solver
+   */
+  public MaxSAT underlyingSolver() {
+    return this.solver;
+  }
+
   @Override
   public String toString() {
     return String.format("MaxSATSolver{result=%s, var2index=%s}", this.result, this.var2index);
@@ -57,8 +57,6 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
@@ -178,12 +176,12 @@ public final class MiniSat extends SATSolver {
       if (constraint.isCC()) {
         if (this.style == SolverStyle.MINICARD) {
           if (constraint.comparator() == CType.LE)
-            ((MiniCard) this.solver).addAtMost(generateClauseVector(Arrays.asList(constraint.operands())), constraint.rhs());
+            ((MiniCard) this.solver).addAtMost(generateClauseVector(constraint.operands()), constraint.rhs());
           else if (constraint.comparator() == CType.LT && constraint.rhs() > 3)
-            ((MiniCard) this.solver).addAtMost(generateClauseVector(Arrays.asList(constraint.operands())), constraint.rhs() - 1);
+            ((MiniCard) this.solver).addAtMost(generateClauseVector(constraint.operands()), constraint.rhs() - 1);
           else if (constraint.comparator() == CType.EQ && constraint.rhs() == 1) {
-            ((MiniCard) this.solver).addAtMost(generateClauseVector(Arrays.asList(constraint.operands())), constraint.rhs());
-            this.solver.addClause(generateClauseVector(Arrays.asList(constraint.operands())));
+            ((MiniCard) this.solver).addAtMost(generateClauseVector(constraint.operands()), constraint.rhs());
+            this.solver.addClause(generateClauseVector(constraint.operands()));
           } else
             this.addClauseSet(constraint.cnf());
         } else {
@@ -207,14 +205,14 @@ public final class MiniSat extends SATSolver {
   @Override
   protected void addClause(final Formula formula) {
     this.result = UNDEF;
-    this.solver.addClause(generateClauseVector(formula.literals()));
+    this.solver.addClause(generateClauseVector(formula.literalArray()));
   }
 
   @Override
   protected void addClauseWithRelaxation(Variable relaxationVar, Formula formula) {
     this.result = UNDEF;
-    final SortedSet<Literal> literals = new TreeSet<>(formula.literals());
-    literals.add(relaxationVar);
+    final Literal[] literals = Arrays.copyOf(formula.literalArray(), formula.literalArray().length + 1);
+    literals[literals.length - 1] = relaxationVar;
     this.solver.addClause(generateClauseVector(literals));
   }
 
@@ -331,8 +329,8 @@ public final class MiniSat extends SATSolver {
    * @param literals the literals
    * @return the clause vector
    */
-  private LNGIntVector generateClauseVector(final Collection<Literal> literals) {
-    final LNGIntVector clauseVec = new LNGIntVector(literals.size());
+  private LNGIntVector generateClauseVector(final Literal[] literals) {
+    final LNGIntVector clauseVec = new LNGIntVector(literals.length);
     for (Literal lit : literals) {
       int index = this.solver.idxForName(lit.name());
       if (index == -1) {
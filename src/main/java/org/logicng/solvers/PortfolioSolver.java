@@ -0,0 +1,537 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers;
+
+import org.logicng.cardinalityconstraints.CCEncoder;
+import org.logicng.cardinalityconstraints.CCIncrementalData;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.EncodingResult;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.ModelEnumerationHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.sat.CleaneLingSolver;
+import org.logicng.solvers.sat.GlucoseSyrup;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * A portfolio of SAT solvers which solve the same formula concurrently.
+ * <p>
+ * Each call of a {@code sat} method starts all solvers of the portfolio in parallel and returns the result of the
+ * first solver which finishes with a definitive answer.  The other solvers are canceled via their SAT handler and
+ * stopped in the background.  A solver which is still being stopped is skipped by the next call.  Models are taken
+ * from the solver which found the result.  Solving with assumptions is restricted to the MiniSat-style solvers of the
+ * portfolio, since CleaneLing does not support assumptions.
+ * <p>
+ * The portfolio keeps a log of all clauses added to it.  Solvers which cannot add clauses after solving (CleaneLing
+ * with simplifications) and solvers which cannot save and load their state (Glucose, CleaneLing) are rebuilt from
+ * this log if necessary.  The semantics of models, assumptions, and solver states are the same as for {@link MiniSat}.
+ * <p>
+ * Cardinality constraints are encoded once by the portfolio and added as clauses to all solvers.  Therefore
+ * incremental cardinality constraints have to be tightened with {@link CCIncrementalData#newUpperBound(int)} or
+ * {@link CCIncrementalData#newLowerBound(int)} and the resulting formulas have to be added to the portfolio.
+ * <p>
+ * The portfolio is not thread-safe, i.e. it must not be used by multiple threads at the same time.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class PortfolioSolver extends SATSolver {
+
+  private final List<Engine> engines;
+  private final List<Formula> clauses;
+  private final CCEncoder ccEncoder;
+  private final ThreadPoolExecutor executor;
+  private final LNGIntVector validStates;
+  private final boolean incremental;
+  private Engine winner;
+  private int nextStateId;
+
+  /**
+   * Constructs a new portfolio.
+   * @param f       the formula factory
+   * @param solvers the solvers of the portfolio
+   * @throws IllegalArgumentException if the portfolio is empty or a solver is neither a MiniSat nor a CleaneLing solver
+   */
+  private PortfolioSolver(final FormulaFactory f, final Collection<? extends SATSolver> solvers) {
+    super(f);
+    if (solvers.isEmpty())
+      throw new IllegalArgumentException("A portfolio requires at least one solver");
+    this.engines = new ArrayList<>(solvers.size());
+    boolean incremental = true;
+    for (final SATSolver solver : solvers) {
+      if (solver instanceof MiniSat) {
+        final MiniSat miniSat = (MiniSat) solver;
+        final boolean incrementalSolver = miniSat.underlyingSolver().config().incremental();
+        incremental &= incrementalSolver;
+        this.engines.add(new Engine(solver, incrementalSolver && !(miniSat.underlyingSolver() instanceof GlucoseSyrup), true));
+      } else if (solver instanceof CleaneLing) {
+        final CleaneLing cleaneLing = (CleaneLing) solver;
+        this.engines.add(new Engine(solver, false,
+                !(cleaneLing.underlyingSolver() instanceof CleaneLingSolver) || cleaneLing.underlyingSolver().config().plain()));
+      } else
+        throw new IllegalArgumentException("Unsupported solver in a portfolio: " + solver.getClass().getSimpleName());
+    }
+    this.incremental = incremental;
+    this.clauses = new ArrayList<>();
+    this.ccEncoder = new CCEncoder(f);
+    this.executor = new ThreadPoolExecutor(this.engines.size(), this.engines.size(), 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), runnable -> {
+      final Thread thread = new Thread(runnable, "LogicNG-Portfolio");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.executor.allowCoreThreadTimeOut(true);
+    this.validStates = new LNGIntVector();
+    this.nextStateId = 0;
+    this.result = UNDEF;
+  }
+
+  /**
+   * Returns a new portfolio with the default solvers: MiniSat with its default configuration, MiniSat with positive
+   * initial phase and shorter restarts, Glucose, and the full CleaneLing solver.
+   * @param f the formula factory
+   * @return the portfolio
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f) {
+    return new PortfolioSolver(f, Arrays.asList(
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().initialPhase(true).restartFirst(50).restartInc(1.5).varDecay(0.9).build()),
+            MiniSat.glucose(f),
+            CleaneLing.full(f)));
+  }
+
+  /**
+   * Returns a new portfolio with the given solvers.  The solvers must be {@link MiniSat} or {@link CleaneLing}
+   * instances which were created with the same formula factory and must not be used outside of the portfolio.
+   * @param f       the formula factory
+   * @param solvers the solvers
+   * @return the portfolio
+   * @throws IllegalArgumentException if the portfolio is empty or a solver is neither a MiniSat nor a CleaneLing solver
+   */
+  public static PortfolioSolver portfolio(final FormulaFactory f, final Collection<? extends SATSolver> solvers) {
+    return new PortfolioSolver(f, solvers);
+  }
+
+  @Override
+  public void add(final Formula formula) {
+    if (formula.type() == FType.PBC && ((PBConstraint) formula).isCC()) {
+      final EncodingResult result = EncodingResult.resultForFormula(this.f);
+      this.ccEncoder.encode((PBConstraint) formula, result);
+      for (final Formula clause : result.result())
+        this.addClause(clause);
+    } else
+      this.addClauseSet(formula.cnf());
+  }
+
+  @Override
+  public CCIncrementalData addIncrementalCC(final PBConstraint cc) {
+    if (!cc.isCC())
+      throw new IllegalArgumentException("Cannot generate an incremental cardinality constraint on a pseudo-Boolean constraint");
+    final EncodingResult result = EncodingResult.resultForFormula(this.f);
+    final CCIncrementalData data = this.ccEncoder.encodeIncremental(cc, result);
+    for (final Formula clause : result.result())
+      this.addClause(clause);
+    return data;
+  }
+
+  @Override
+  protected void addClause(final Formula formula) {
+    this.result = UNDEF;
+    this.clauses.add(formula);
+  }
+
+  @Override
+  protected void addClauseWithRelaxation(final Variable relaxationVar, final Formula formula) {
+    final Literal[] literals = Arrays.copyOf(formula.literalArray(), formula.literalArray().length + 1);
+    literals[literals.length - 1] = relaxationVar;
+    this.addClause(this.f.clause(literals));
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler) {
+    if (this.result != UNDEF)
+      return this.result;
+    return this.solve(handler, null);
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Literal literal) {
+    return this.solve(handler, Collections.singletonList(literal));
+  }
+
+  @Override
+  public Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    return this.solve(handler, assumptions);
+  }
+
+  /**
+   * Solves the formula with all suitable solvers of the portfolio concurrently.  Solvers which are still being
+   * canceled from the last call are not used.
+   * @param handler     the SAT handler
+   * @param assumptions the assumptions or {@code null} if there are none
+   * @return the result of the first solver which found a definitive answer or {@code UNDEF} if all solvers were
+   * canceled
+   * @throws UnsupportedOperationException if there are assumptions, but no solver of the portfolio supports them
+   */
+  private Tristate solve(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+    final List<Engine> suitable = new ArrayList<>(this.engines.size());
+    for (final Engine engine : this.engines)
+      if (assumptions == null || engine.solver instanceof MiniSat)
+        suitable.add(engine);
+    if (suitable.isEmpty())
+      throw new UnsupportedOperationException("No solver of the portfolio supports solving with assumptions");
+    List<Engine> candidates = new ArrayList<>(suitable.size());
+    for (final Engine engine : suitable)
+      if (!engine.running())
+        candidates.add(engine);
+    if (candidates.isEmpty()) {
+      for (final Engine engine : suitable)
+        engine.await();
+      candidates = suitable;
+    }
+    if (handler != null)
+      handler.startedSolving();
+    final PortfolioHandler portfolioHandler = new PortfolioHandler(handler);
+    final CompletionService<Tristate> completionService = new ExecutorCompletionService<>(this.executor);
+    final Map<Future<Tristate>, Engine> futures = new IdentityHashMap<>();
+    this.result = UNDEF;
+    this.winner = null;
+    boolean interrupted = false;
+    try {
+      for (final Engine engine : candidates) {
+        engine.sync(this.clauses);
+        futures.put(engine.submit(completionService, portfolioHandler, assumptions), engine);
+      }
+      for (int i = 0; i < futures.size() && this.result == UNDEF; i++) {
+        Future<Tristate> future = null;
+        while (future == null) {
+          try {
+            future = completionService.take();
+          } catch (final InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        final Engine engine = futures.get(future);
+        final Tristate engineResult = engine.await();
+        if (engineResult != UNDEF) {
+          this.result = engineResult;
+          this.winner = engine;
+        }
+      }
+    } finally {
+      portfolioHandler.stop.set(true);
+      if (interrupted)
+        Thread.currentThread().interrupt();
+      if (handler != null)
+        handler.finishedSolving();
+    }
+    return this.result;
+  }
+
+  /**
+   * Resets the solver.  All solver states saved before are invalidated.
+   */
+  @Override
+  public void reset() {
+    for (final Engine engine : this.engines)
+      engine.invalid = true;
+    this.clauses.clear();
+    this.validStates.clear();
+    this.result = UNDEF;
+  }
+
+  @Override
+  public Assignment model(final Collection<Variable> variables) {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'sat' first.");
+    return this.result == TRUE ? this.winner.solver.model(variables) : null;
+  }
+
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables) {
+    final List<Assignment> models = new LinkedList<>();
+    SolverState stateBeforeEnumeration = null;
+    if (this.incremental)
+      stateBeforeEnumeration = this.saveState();
+    while (this.sat((SATHandler) null) == TRUE) {
+      final Assignment model = this.model(variables);
+      assert model != null;
+      models.add(model);
+      this.add(model.blockingClause(this.f, variables));
+    }
+    if (this.incremental)
+      this.loadState(stateBeforeEnumeration);
+    return models;
+  }
+
+  @Override
+  public List<Assignment> enumerateAllModels(final Collection<Variable> variables, final ModelEnumerationHandler handler) {
+    final List<Assignment> models = new LinkedList<>();
+    SolverState stateBeforeEnumeration = null;
+    if (this.incremental)
+      stateBeforeEnumeration = this.saveState();
+    boolean proceed = true;
+    while (proceed && this.sat((SATHandler) null) == TRUE) {
+      final Assignment model = this.model(variables);
+      assert model != null;
+      models.add(model);
+      proceed = handler.foundModel(model);
+      this.add(model.blockingClause(this.f, variables));
+    }
+    if (this.incremental)
+      this.loadState(stateBeforeEnumeration);
+    return models;
+  }
+
+  /**
+   * Saves the current solver state.  The state consists of the number of clauses added to the portfolio followed by
+   * the length and the content of the state of each MiniSat-style solver which supports state saving.
+   * @return the current solver state
+   * @throws IllegalStateException if a MiniSat-style solver of the portfolio is not in incremental mode
+   */
+  @Override
+  public SolverState saveState() {
+    if (!this.incremental)
+      throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
+    final LNGIntVector state = new LNGIntVector();
+    state.push(this.clauses.size());
+    for (final Engine engine : this.engines) {
+      if (engine.stateful) {
+        engine.await();
+        engine.sync(this.clauses);
+        final int[] engineState = ((MiniSat) engine.solver).underlyingSolver().saveState();
+        state.push(engineState.length);
+        for (final int value : engineState)
+          state.push(value);
+      }
+    }
+    final int id = this.nextStateId++;
+    this.validStates.push(id);
+    return new SolverState(id, state.toArray());
+  }
+
+  @Override
+  public void loadState(final SolverState state) {
+    int index = -1;
+    for (int i = this.validStates.size() - 1; i >= 0 && index == -1; i--)
+      if (this.validStates.get(i) == state.id())
+        index = i;
+    if (index == -1)
+      throw new IllegalArgumentException("The given solver state is not valid anymore.");
+    this.validStates.shrinkTo(index + 1);
+    final int[] values = state.state();
+    final int numClauses = values[0];
+    this.clauses.subList(numClauses, this.clauses.size()).clear();
+    int pos = 1;
+    for (final Engine engine : this.engines) {
+      if (engine.stateful) {
+        final int length = values[pos++];
+        engine.await();
+        ((MiniSat) engine.solver).underlyingSolver().loadState(Arrays.copyOfRange(values, pos, pos + length));
+        engine.solver.setSolverToUndef();
+        engine.numClauses = numClauses;
+        pos += length;
+      } else if (engine.numClauses > numClauses)
+        engine.invalid = true;
+    }
+    this.result = UNDEF;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PortfolioSolver{result=%s, incremental=%s, solvers=%d}", this.result, this.incremental,
+            this.engines.size());
+  }
+
+  /**
+   * A solver of the portfolio together with the number of clauses of the portfolio's clause log it knows.
+   * <p>
+   * The fields of an engine are only accessed by the thread using the portfolio.  The solver itself is only accessed
+   * by a worker thread while it is running.
+   */
+  private static final class Engine {
+    private final SATSolver solver;
+    private final boolean stateful;
+    private final boolean incremental;
+    private Future<Tristate> future;
+    private int numClauses;
+    private boolean solved;
+    private boolean invalid;
+
+    /**
+     * Constructs a new engine.
+     * @param solver      the solver
+     * @param stateful    {@code true} if the solver supports saving and loading states, {@code false} otherwise
+     * @param incremental {@code true} if clauses can be added to the solver after solving, {@code false} otherwise
+     */
+    private Engine(final SATSolver solver, final boolean stateful, final boolean incremental) {
+      this.solver = solver;
+      this.stateful = stateful;
+      this.incremental = incremental;
+    }
+
+    /**
+     * Returns whether the solver is still running.
+     * @return {@code true} if the solver is still running, {@code false} otherwise
+     */
+    private boolean running() {
+      return this.future != null && !this.future.isDone();
+    }
+
+    /**
+     * Waits until the solver is finished and returns its result.
+     * @return the result of the solver or {@code UNDEF} if it was not started
+     * @throws IllegalStateException if the solver failed with a checked exception
+     */
+    private Tristate await() {
+      if (this.future == null)
+        return UNDEF;
+      boolean interrupted = false;
+      try {
+        while (true) {
+          try {
+            return this.future.get();
+          } catch (final InterruptedException e) {
+            interrupted = true;
+          } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+              throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+              throw (Error) e.getCause();
+            throw new IllegalStateException("A solver of the portfolio failed", e.getCause());
+          }
+        }
+      } finally {
+        this.future = null;
+        if (interrupted)
+          Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * Adds the clauses of the clause log which are not yet known to the solver.  If the solver was invalidated or
+     * clauses cannot be added to it anymore, it is rebuilt from the log.  The solver must not be running.
+     * @param clauses the clause log
+     */
+    private void sync(final List<Formula> clauses) {
+      if (this.invalid || this.numClauses > clauses.size() || this.solved && !this.incremental && this.numClauses < clauses.size()) {
+        this.solver.reset();
+        this.numClauses = 0;
+        this.solved = false;
+        this.invalid = false;
+      }
+      while (this.numClauses < clauses.size())
+        this.solver.addClause(clauses.get(this.numClauses++));
+    }
+
+    /**
+     * Starts the solver on a worker thread.  The solver must not be running.
+     * @param completionService the completion service
+     * @param handler           the SAT handler
+     * @param assumptions       the assumptions or {@code null} if there are none
+     * @return the future of the solver
+     */
+    private Future<Tristate> submit(final CompletionService<Tristate> completionService, final SATHandler handler,
+                                    final Collection<? extends Literal> assumptions) {
+      this.solved = true;
+      this.future = completionService.submit(() -> assumptions == null
+              ? this.solver.sat(handler)
+              : this.solver.sat(handler, assumptions));
+      return this.future;
+    }
+  }
+
+  /**
+   * The SAT handler for the solvers of a portfolio.  It cancels all solvers as soon as one of them found a result or
+   * the handler of the caller canceled the computation.
+   */
+  private static final class PortfolioHandler implements SATHandler {
+    private final SATHandler handler;
+    private final AtomicBoolean stop;
+
+    /**
+     * Constructs a new handler.
+     * @param handler the handler of the caller or {@code null} if there is none
+     */
+    private PortfolioHandler(final SATHandler handler) {
+      this.handler = handler;
+      this.stop = new AtomicBoolean(false);
+    }
+
+    @Override
+    public boolean detectedConflict() {
+      if (this.stop.get())
+        return false;
+      if (this.handler != null) {
+        synchronized (this.handler) {
+          if (!this.handler.detectedConflict()) {
+            this.stop.set(true);
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+  }
+}
@@ -0,0 +1,492 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/******************************************************************************************
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************************/
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+
+import java.util.Arrays;
+
+/**
+ * The clause arena of MiniSAT-style solvers.
+ * <p>
+ * All clauses of a solver are stored in one contiguous integer array.  A clause is referenced by the offset of its
+ * header in this array (its <i>clause reference</i>), the literals of the clause directly follow the header.  The
+ * header contains the size of the clause, its flags, its LBD, its size without selector variables, the number of
+ * watchers of at-most constraints, and its activity.  Removed clauses leave a hole in the arena which is reclaimed by
+ * relocating all live clauses to a new arena (cf. {@link #relocate(int, MSClauseArena)}).
+ * @version 1.2
+ * @since 1.2
+ */
+public final class MSClauseArena {
+
+  /**
+   * The undefined clause reference.
+   */
+  public static final int CREF_UNDEF = -1;
+
+  private static final int SIZE = 0;
+  private static final int FLAGS = 1;
+  private static final int LBD = 2;
+  private static final int SZ_WITHOUT_SELECTORS = 3;
+  private static final int AT_MOST_WATCHERS = 4;
+  private static final int ACTIVITY_HIGH = 5;
+  private static final int ACTIVITY_LOW = 6;
+  private static final int HEADER_SIZE = 7;
+
+  private static final int LEARNT = 1;
+  private static final int SEEN = 2;
+  private static final int CAN_BE_DEL = 4;
+  private static final int ONE_WATCHED = 8;
+  private static final int AT_MOST = 16;
+  private static final int DELETED = 32;
+  private static final int RELOCATED = 64;
+
+  private int[] memory;
+  private int size;
+  private int wasted;
+
+  /**
+   * Constructs a new empty clause arena.
+   */
+  public MSClauseArena() {
+    this(1024);
+  }
+
+  /**
+   * Constructs a new empty clause arena with a given initial capacity.
+   * @param capacity the initial capacity in integers
+   */
+  public MSClauseArena(final int capacity) {
+    this.memory = new int[Math.max(capacity, HEADER_SIZE)];
+  }
+
+  /**
+   * Allocates a new clause.
+   * @param ps     the literals of the clause
+   * @param learnt {@code true} if it is a learnt clause, {@code false} otherwise
+   * @return the reference of the new clause
+   */
+  public int alloc(final LNGIntVector ps, final boolean learnt) {
+    return this.alloc(ps, learnt, false);
+  }
+
+  /**
+   * Allocates a new clause.
+   * @param ps       the literals of the clause
+   * @param learnt   {@code true} if it is a learnt clause, {@code false} otherwise
+   * @param isAtMost {@code true} if it is an at-most clause, {@code false} otherwise
+   * @return the reference of the new clause
+   */
+  public int alloc(final LNGIntVector ps, final boolean learnt, final boolean isAtMost) {
+    final int c = this.reserve(ps.size());
+    for (int i = 0; i < ps.size(); i++)
+      this.memory[c + HEADER_SIZE + i] = ps.get(i);
+    this.memory[c + FLAGS] = (learnt ? LEARNT : 0) | CAN_BE_DEL | (isAtMost ? AT_MOST : 0);
+    this.memory[c + AT_MOST_WATCHERS] = -1;
+    return c;
+  }
+
+  /**
+   * Reserves the memory for a clause with a given number of literals and initializes its header with zeros.
+   * @param numLits the number of literals
+   * @return the reference of the new clause
+   */
+  private int reserve(final int numLits) {
+    final int c = this.size;
+    final int newSize = c + HEADER_SIZE + numLits;
+    if (newSize < 0)
+      throw new IllegalStateException("The clause arena exceeds the maximum array size");
+    if (newSize > this.memory.length)
+      this.memory = Arrays.copyOf(this.memory, Math.max(newSize, this.memory.length + (this.memory.length >> 1)));
+    Arrays.fill(this.memory, c, c + HEADER_SIZE, 0);
+    this.memory[c + SIZE] = numLits;
+    this.size = newSize;
+    return c;
+  }
+
+  /**
+   * Marks a clause as removed.  Its memory is reclaimed by the next relocation.
+   * @param c the clause reference
+   */
+  public void free(final int c) {
+    assert (this.memory[c + FLAGS] & DELETED) == 0;
+    this.memory[c + FLAGS] |= DELETED;
+    this.wasted += HEADER_SIZE + this.memory[c + SIZE];
+  }
+
+  /**
+   * Returns {@code true} if a clause was removed, {@code false} otherwise.
+   * @param c the clause reference
+   * @return {@code true} if the clause was removed
+   */
+  public boolean deleted(final int c) {
+    return (this.memory[c + FLAGS] & DELETED) != 0;
+  }
+
+  /**
+   * Relocates a clause to another arena.  The first relocation of a clause copies it and stores a forward reference in
+   * this arena, so all further relocations of the same clause return the same new reference.
+   * @param c  the clause reference in this arena
+   * @param to the new arena
+   * @return the clause reference in the new arena
+   */
+  public int relocate(final int c, final MSClauseArena to) {
+    if ((this.memory[c + FLAGS] & RELOCATED) != 0)
+      return this.memory[c + LBD];
+    assert (this.memory[c + FLAGS] & DELETED) == 0;
+    final int numLits = this.memory[c + SIZE];
+    final int d = to.reserve(numLits);
+    System.arraycopy(this.memory, c, to.memory, d, HEADER_SIZE + numLits);
+    this.memory[c + FLAGS] |= RELOCATED;
+    this.memory[c + LBD] = d;
+    return d;
+  }
+
+  /**
+   * Shrinks this arena to a given size.  All clauses at or behind the given position are removed without being marked
+   * as wasted, so this method must only be used if these clauses were allocated last.
+   * @param newSize the new size
+   */
+  public void shrinkTo(final int newSize) {
+    assert newSize <= this.size;
+    this.size = newSize;
+  }
+
+  /**
+   * Returns the number of used integers of this arena, including the holes of removed clauses.
+   * @return the number of used integers
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of integers in this arena which belong to removed clauses or literals.
+   * @return the number of wasted integers
+   */
+  public int wasted() {
+    return this.wasted;
+  }
+
+  /**
+   * Returns the size (number of literals) of a clause.
+   * @param c the clause reference
+   * @return the size
+   */
+  public int size(final int c) {
+    return this.memory[c + SIZE];
+  }
+
+  /**
+   * Returns the literal at index {@code i} of a clause.
+   * @param c the clause reference
+   * @param i the index
+   * @return the literal at index {@code i}
+   */
+  public int get(final int c, final int i) {
+    return this.memory[c + HEADER_SIZE + i];
+  }
+
+  /**
+   * Sets the literal at index {@code i} of a clause.
+   * @param c   the clause reference
+   * @param i   the index
+   * @param lit the literal
+   */
+  public void set(final int c, final int i, final int lit) {
+    this.memory[c + HEADER_SIZE + i] = lit;
+  }
+
+  /**
+   * Pops (removes) the last literal of a clause.
+   * @param c the clause reference
+   */
+  public void pop(final int c) {
+    this.memory[c + SIZE]--;
+    this.wasted++;
+  }
+
+  /**
+   * Returns the activity of a clause.
+   * @param c the clause reference
+   * @return the activity of the clause
+   */
+  public double activity(final int c) {
+    return Double.longBitsToDouble(((long) this.memory[c + ACTIVITY_HIGH] << 32) | (this.memory[c + ACTIVITY_LOW] & 0xffffffffL));
+  }
+
+  /**
+   * Increments the activity of a clause by a given value.
+   * @param c   the clause reference
+   * @param inc the increment value
+   */
+  public void incrementActivity(final int c, final double inc) {
+    this.setActivity(c, this.activity(c) + inc);
+  }
+
+  /**
+   * Rescales the activity of a clause.
+   * @param c the clause reference
+   */
+  public void rescaleActivity(final int c) {
+    this.setActivity(c, this.activity(c) * 1e-20);
+  }
+
+  /**
+   * Sets the activity of a clause.
+   * @param c        the clause reference
+   * @param activity the activity
+   */
+  private void setActivity(final int c, final double activity) {
+    final long bits = Double.doubleToRawLongBits(activity);
+    this.memory[c + ACTIVITY_HIGH] = (int) (bits >>> 32);
+    this.memory[c + ACTIVITY_LOW] = (int) bits;
+  }
+
+  /**
+   * Returns {@code true} if a clause is learnt, {@code false} otherwise.
+   * @param c the clause reference
+   * @return {@code true} if the clause is learnt
+   */
+  public boolean learnt(final int c) {
+    return (this.memory[c + FLAGS] & LEARNT) != 0;
+  }
+
+  /**
+   * Returns the size of a clause without selector variables.
+   * @param c the clause reference
+   * @return the size of the clause without selector variables
+   */
+  public int sizeWithoutSelectors(final int c) {
+    return this.memory[c + SZ_WITHOUT_SELECTORS];
+  }
+
+  /**
+   * Sets the size of a clause without selector variables.
+   * @param c                  the clause reference
+   * @param szWithoutSelectors the size of the clause without selector variables
+   */
+  public void setSizeWithoutSelectors(final int c, final int szWithoutSelectors) {
+    this.memory[c + SZ_WITHOUT_SELECTORS] = szWithoutSelectors;
+  }
+
+  /**
+   * Returns {@code true} if a clause is marked 'seen', {@code false} otherwise.
+   * @param c the clause reference
+   * @return {@code true} if the clause is marked 'seen'
+   */
+  public boolean seen(final int c) {
+    return (this.memory[c + FLAGS] & SEEN) != 0;
+  }
+
+  /**
+   * Marks a clause with the given 'seen' flag.
+   * @param c    the clause reference
+   * @param seen the 'seen' flag
+   */
+  public void setSeen(final int c, final boolean seen) {
+    this.setFlag(c, SEEN, seen);
+  }
+
+  /**
+   * Returns the LBD of a clause.
+   * @param c the clause reference
+   * @return the LBD of the clause
+   */
+  public long lbd(final int c) {
+    return this.memory[c + LBD];
+  }
+
+  /**
+   * Sets the LBD of a clause.
+   * @param c   the clause reference
+   * @param lbd the LBD of the clause
+   */
+  public void setLBD(final int c, final long lbd) {
+    this.memory[c + LBD] = (int) lbd;
+  }
+
+  /**
+   * Returns {@code true} if a clause can be deleted, {@code false} otherwise.
+   * @param c the clause reference
+   * @return {@code true} if the clause can be deleted
+   */
+  public boolean canBeDel(final int c) {
+    return (this.memory[c + FLAGS] & CAN_BE_DEL) != 0;
+  }
+
+  /**
+   * Sets whether a clause can be deleted or not.
+   * @param c        the clause reference
+   * @param canBeDel {@code true} if it can be deleted, {@code false} otherwise
+   */
+  public void setCanBeDel(final int c, final boolean canBeDel) {
+    this.setFlag(c, CAN_BE_DEL, canBeDel);
+  }
+
+  /**
+   * Returns {@code true} if a clause is a one literal watched clause, {@code false} otherwise
+   * @param c the clause reference
+   * @return {@code true} if the clause is a one literal watched clause
+   */
+  public boolean oneWatched(final int c) {
+    return (this.memory[c + FLAGS] & ONE_WATCHED) != 0;
+  }
+
+  /**
+   * Sets whether a clause is a one literal watched clause or not.
+   * @param c          the clause reference
+   * @param oneWatched {@code true} if it is a one literal watched clause, {@code false} otherwise
+   */
+  public void setOneWatched(final int c, final boolean oneWatched) {
+    this.setFlag(c, ONE_WATCHED, oneWatched);
+  }
+
+  /**
+   * Returns {@code true} if a clause is an at-most clause, {@code false} otherwise.
+   * @param c the clause reference
+   * @return {@code true} if the clause is an at-most clause
+   */
+  public boolean isAtMost(final int c) {
+    return (this.memory[c + FLAGS] & AT_MOST) != 0;
+  }
+
+  /**
+   * Returns the number of watchers of an at-most clause.
+   * @param c the clause reference
+   * @return the number of watchers
+   */
+  public int atMostWatchers(final int c) {
+    assert this.isAtMost(c);
+    return this.memory[c + AT_MOST_WATCHERS];
+  }
+
+  /**
+   * Sets the number of watchers of an at-most clause.
+   * @param c              the clause reference
+   * @param atMostWatchers the number of watchers
+   */
+  public void setAtMostWatchers(final int c, final int atMostWatchers) {
+    assert this.isAtMost(c);
+    this.memory[c + AT_MOST_WATCHERS] = atMostWatchers;
+  }
+
+  /**
+   * Sets or clears a flag of a clause.
+   * @param c     the clause reference
+   * @param flag  the flag
+   * @param value {@code true} if the flag should be set, {@code false} if it should be cleared
+   */
+  private void setFlag(final int c, final int flag, final boolean value) {
+    if (value)
+      this.memory[c + FLAGS] |= flag;
+    else
+      this.memory[c + FLAGS] &= ~flag;
+  }
+
+  /**
+   * Compares two clauses based on LBD and activity (used for the Glucose solver).
+   * @param x the first clause reference
+   * @param y the second clause reference
+   * @return a negative number if the first clause should be removed before the second one, a positive number
+   * otherwise
+   */
+  public int compareGlucose(final int x, final int y) {
+    if (this.size(x) > 2 && this.size(y) == 2)
+      return -1;
+    if (this.size(y) > 2 && this.size(x) == 2)
+      return 1;
+    if (this.size(x) == 2 && this.size(y) == 2)
+      return 1;
+    if (this.lbd(x) > this.lbd(y))
+      return -1;
+    if (this.lbd(x) < this.lbd(y))
+      return 1;
+    return this.activity(x) < this.activity(y) ? -1 : 1;
+  }
+
+  /**
+   * Compares two clauses based on activity (used for the MiniSAT solver).
+   * @param x the first clause reference
+   * @param y the second clause reference
+   * @return a negative number if the first clause should be removed before the second one, a positive number
+   * otherwise
+   */
+  public int compareMiniSat(final int x, final int y) {
+    return this.size(x) > 2 && (this.size(y) == 2 || this.activity(x) < this.activity(y)) ? -1 : 1;
+  }
+
+  /**
+   * Returns a string representation of a clause.
+   * @param c the clause reference
+   * @return the string representation
+   */
+  public String toString(final int c) {
+    final StringBuilder sb = new StringBuilder("MSClause{");
+    sb.append("activity=").append(this.activity(c)).append(", ");
+    sb.append("learnt=").append(this.learnt(c)).append(", ");
+    sb.append("szWithoutSelectors=").append(this.sizeWithoutSelectors(c)).append(", ");
+    sb.append("seen=").append(this.seen(c)).append(", ");
+    sb.append("lbd=").append(this.lbd(c)).append(", ");
+    sb.append("canBeDel=").append(this.canBeDel(c)).append(", ");
+    sb.append("oneWatched=").append(this.oneWatched(c)).append(", ");
+    sb.append("isAtMost=").append(this.isAtMost(c)).append(", ");
+    sb.append("atMostWatchers=").append(this.memory[c + AT_MOST_WATCHERS]).append(", ");
+    sb.append("lits=[");
+    for (int i = 0; i < this.size(c); i++) {
+      final int lit = this.get(c, i);
+      sb.append((lit & 1) == 1 ? "-" : "").append(lit >> 1);
+      if (i != this.size(c) - 1)
+        sb.append(", ");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MSClauseArena{size=%d, wasted=%d, capacity=%d}", this.size, this.wasted, this.memory.length);
+  }
+}
@@ -0,0 +1,154 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free ring buffer for sharing clauses between the threads of a parallel MiniSAT-style solver.
+ * <p>
+ * The buffer has exactly one producer thread which publishes its clauses and an arbitrary number of consumer threads
+ * which read them.  Each consumer keeps its own read position, the buffer itself does not know its consumers.  The
+ * producer never waits: if a consumer is too slow, the producer overwrites clauses which were not yet read by it.  A
+ * consumer detects this when reading a clause and has to continue at the current {@link #head() head}, i.e. sharing
+ * clauses is lossy.
+ * <p>
+ * A clause is stored as its size, its LBD, and its literals.  Positions are absolute and grow monotonically, the
+ * position of the next clause is {@code position + MSClauseBuffer.entrySize(clause.size())}.
+ * @version 1.2
+ * @since 1.2
+ */
+public final class MSClauseBuffer {
+
+  private static final int HEADER_SIZE = 2;
+
+  private final AtomicIntegerArray elements;
+  private final int mask;
+  private final AtomicLong reserved;
+  private final AtomicLong published;
+  private long tail;
+
+  /**
+   * Constructs a new clause buffer.
+   * @param capacity the minimal capacity of the buffer in integers; it is rounded up to the next power of two
+   */
+  public MSClauseBuffer(final int capacity) {
+    final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    this.elements = new AtomicIntegerArray(size);
+    this.mask = size - 1;
+    this.reserved = new AtomicLong();
+    this.published = new AtomicLong();
+  }
+
+  /**
+   * Returns the number of integers required to store a clause of a given size.
+   * @param size the number of literals of the clause
+   * @return the number of integers required to store the clause
+   */
+  public static int entrySize(final int size) {
+    return size + HEADER_SIZE;
+  }
+
+  /**
+   * Returns the capacity of this buffer in integers.
+   * @return the capacity of this buffer
+   */
+  public int capacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Returns the position after the last published clause.
+   * @return the position after the last published clause
+   */
+  public long head() {
+    return this.published.get();
+  }
+
+  /**
+   * Publishes a clause.  This method must only be called by the producer thread.
+   * @param lits the literals of the clause
+   * @param lbd  the LBD of the clause
+   * @return {@code true} if the clause was published, {@code false} if it is too large for this buffer
+   */
+  public boolean push(final LNGIntVector lits, final int lbd) {
+    final int length = entrySize(lits.size());
+    if (length > this.capacity())
+      return false;
+    final long start = this.tail;
+    this.reserved.set(start + length);
+    this.elements.lazySet((int) (start & this.mask), lits.size());
+    this.elements.lazySet((int) (start + 1 & this.mask), lbd);
+    for (int i = 0; i < lits.size(); i++)
+      this.elements.lazySet((int) (start + HEADER_SIZE + i & this.mask), lits.get(i));
+    this.tail = start + length;
+    this.published.lazySet(this.tail);
+    return true;
+  }
+
+  /**
+   * Reads the clause at a given position.  The position must be smaller than the current {@link #head() head} and
+   * must be the start of a clause.
+   * @param position the position
+   * @param lits     the vector for the literals of the clause
+   * @return the LBD of the clause or -1 if the clause was already overwritten by the producer
+   */
+  public int read(final long position, final LNGIntVector lits) {
+    lits.clear();
+    if (this.overwritten(position))
+      return -1;
+    final int size = this.elements.get((int) (position & this.mask));
+    final int lbd = this.elements.get((int) (position + 1 & this.mask));
+    if (size < 0 || entrySize(size) > this.capacity() || this.overwritten(position))
+      return -1;
+    for (int i = 0; i < size; i++)
+      lits.push(this.elements.get((int) (position + HEADER_SIZE + i & this.mask)));
+    if (this.overwritten(position)) {
+      lits.clear();
+      return -1;
+    }
+    return lbd;
+  }
+
+  /**
+   * Returns {@code true} if the producer may already have overwritten data at a given position.
+   * @param position the position
+   * @return {@code true} if the data at the position may be overwritten
+   */
+  private boolean overwritten(final long position) {
+    return this.reserved.get() > position + this.capacity();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MSClauseBuffer{capacity=%d, head=%d}", this.capacity(), this.head());
+  }
+}
@@ -44,143 +44,136 @@
 
 package org.logicng.solvers.datastructures;
 
-import org.logicng.datastructures.Tristate;
-
-import java.util.Locale;
+import java.util.Arrays;
 
 /**
- * A variable of the SAT solver for MiniSAT-style solvers.
- * @version 1.0
- * @since 1.0
+ * A watch list of a literal for MiniSAT-style solvers.
+ * <p>
+ * The watchers are stored as pairs of a clause reference and a blocking literal in a single integer array.  During
+ * unit propagation the list is compacted in-place by copying the remaining watchers to the front with
+ * {@link #set(int, int, int)} or {@link #move(int, int)} and removing the rest with {@link #removeElements(int)}.
+ * @version 1.2
+ * @since 1.2
  */
-public class MSVariable {
-  private Tristate assignment;
-  private int level;
-  private MSClause reason;
-  private double activity;
-  private boolean polarity;
-  private boolean decision;
-
-  /**
-   * Constructs a new variable with a given initial polarity.
-   * @param polarity the initial polarity
-   */
-  public MSVariable(boolean polarity) {
-    this.assignment = Tristate.UNDEF;
-    this.level = -1;
-    this.reason = null;
-    this.activity = 0;
-    this.polarity = polarity;
-    this.decision = false;
-  }
-
-  /**
-   * Sets the decision level of this variable.
-   * @param level the decision level
-   */
-  public void setLevel(int level) {
-    this.level = level;
-  }
+public final class MSWatchList {
 
-  /**
-   * Returns the decision level of this variable.
-   * @return the decision level of this variable
-   */
-  public int level() {
-    return this.level;
-  }
+  private int[] elements;
+  private int size;
 
   /**
-   * Sets the reason for this variable.
-   * @param reason the reason for this variable
+   * Constructs a new empty watch list with an initial capacity of 4 watchers.
    */
-  public void setReason(MSClause reason) {
-    this.reason = reason;
+  public MSWatchList() {
+    this.elements = new int[8];
   }
 
   /**
-   * Returns the reason for this variable.
-   * @return the reason for this variable
+   * Returns the number of watchers in this list.
+   * @return the number of watchers in this list
    */
-  public MSClause reason() {
-    return this.reason;
+  public int size() {
+    return this.size;
   }
 
   /**
-   * Assigns this variable to a given lifted Boolean.
-   * @param assignment the lifted Boolean
+   * Returns {@code true} if this list contains no watchers, {@code false} otherwise.
+   * @return {@code true} if this list contains no watchers
    */
-  public void assign(final Tristate assignment) {
-    this.assignment = assignment;
+  public boolean empty() {
+    return this.size == 0;
   }
 
   /**
-   * Returns the current assignment of this variable.
-   * @return the current assignment of this variable
+   * Returns the reference of the watched clause of the watcher at a given position.
+   * @param i the position
+   * @return the reference of the watched clause
    */
-  public Tristate assignment() {
-    return this.assignment;
+  public int clause(int i) {
+    return this.elements[2 * i];
   }
 
   /**
-   * Rescales this variable's activity.
+   * Returns the blocking literal of the watcher at a given position.
+   * @param i the position
+   * @return the blocking literal
    */
-  public void rescaleActivity() {
-    this.activity *= 1e-100;
+  public int blocker(int i) {
+    return this.elements[2 * i + 1];
   }
 
   /**
-   * Increments this variable's activity by a given value
-   * @param inc the increment value
+   * Pushes a new watcher to the end of this list.
+   * @param clause  the reference of the watched clause
+   * @param blocker the blocking literal
    */
-  public void incrementActivity(double inc) {
-    this.activity += inc;
+  public void push(int clause, int blocker) {
+    if (2 * this.size == this.elements.length)
+      this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
+    this.elements[2 * this.size] = clause;
+    this.elements[2 * this.size + 1] = blocker;
+    this.size++;
   }
 
   /**
-   * Returns the activity of this variable.
-   * @return the activity of this variable
+   * Sets the watcher at a given position.
+   * @param i       the position
+   * @param clause  the reference of the watched clause
+   * @param blocker the blocking literal
    */
-  public double activity() {
-    return this.activity;
+  public void set(int i, int clause, int blocker) {
+    this.elements[2 * i] = clause;
+    this.elements[2 * i + 1] = blocker;
   }
 
   /**
-   * Sets the polarity of this variable.
-   * @param polarity the polarity of this variable
+   * Copies the watcher at one position to another position.
+   * @param from the position of the watcher
+   * @param to   the new position of the watcher
    */
-  public void setPolarity(boolean polarity) {
-    this.polarity = polarity;
+  public void move(int from, int to) {
+    this.elements[2 * to] = this.elements[2 * from];
+    this.elements[2 * to + 1] = this.elements[2 * from + 1];
   }
 
   /**
-   * Returns the polarity of this variable.
-   * @return the polarity of this variable
+   * Removes the first watcher of a given clause from this list.  The order of the remaining watchers is preserved.
+   * @param clause the reference of the watched clause
+   * @return {@code true} if a watcher was removed, {@code false} if there was no watcher for the clause
    */
-  public boolean polarity() {
-    return this.polarity;
+  public boolean remove(int clause) {
+    for (int i = 0; i < this.size; i++)
+      if (this.elements[2 * i] == clause) {
+        System.arraycopy(this.elements, 2 * i + 2, this.elements, 2 * i, 2 * (this.size - i - 1));
+        this.size--;
+        return true;
+      }
+    return false;
   }
 
   /**
-   * Returns {@code true} if this variable should be used as a decision variable during solving, {@code false}
-   * otherwise.
-   * @return {@code true} if this variable should be used as a decision variable
+   * Removes a given number of watchers from the end of this list.
+   * @param num the number of watchers to remove
    */
-  public boolean decision() {
-    return this.decision;
+  public void removeElements(int num) {
+    this.size -= num;
   }
 
   /**
-   * Sets whether this variable can be used as a decision variable during solving or not.
-   * @param decision {@code true} if it can be used as decision variable, {@code false} otherwise
+   * Removes all watchers from this list.
    */
-  public void setDecision(boolean decision) {
-    this.decision = decision;
+  public void clear() {
+    this.size = 0;
   }
 
   @Override
   public String toString() {
-    return String.format(Locale.ENGLISH, "MSVariable{assignment=%s, level=%d, reason=%s, activity=%f, polarity=%s, decision=%s}",
-            this.assignment, this.level, this.reason, this.activity, this.polarity, this.decision);
+    final StringBuilder sb = new StringBuilder("MSWatchList{watchers=[");
+    for (int i = 0; i < this.size; i++) {
+      sb.append(String.format("{clause=%d, blocker=%d}", this.clause(i), this.blocker(i)));
+      if (i != this.size - 1)
+        sb.append(", ");
+    }
+    sb.append("]}");
+    return sb.toString();
   }
 }
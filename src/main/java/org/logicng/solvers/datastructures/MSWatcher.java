@@ -1,96 +0,0 @@
-///////////////////////////////////////////////////////////////////////////
-//                   __                _      _   ________               //
-//                  / /   ____  ____ _(_)____/ | / / ____/               //
-//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
-//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
-//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
-//                           /____/                                      //
-//                                                                       //
-//               The Next Generation Logic Library                       //
-//                                                                       //
-///////////////////////////////////////////////////////////////////////////
-//                                                                       //
-//  Copyright 2015-2016 Christoph Zengler                                //
-//                                                                       //
-//  Licensed under the Apache License, Version 2.0 (the "License");      //
-//  you may not use this file except in compliance with the License.     //
-//  You may obtain a copy of the License at                              //
-//                                                                       //
-//  http://www.apache.org/licenses/LICENSE-2.0                           //
-//                                                                       //
-//  Unless required by applicable law or agreed to in writing, software  //
-//  distributed under the License is distributed on an "AS IS" BASIS,    //
-//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
-//  implied.  See the License for the specific language governing        //
-//  permissions and limitations under the License.                       //
-//                                                                       //
-///////////////////////////////////////////////////////////////////////////
-
-/******************************************************************************************
- * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
- * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
- * associated documentation files (the "Software"), to deal in the Software without restriction,
- * including without limitation the rights to use, copy, modify, merge, publish, distribute,
- * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- * The above copyright notice and this permission notice shall be included in all copies or
- * substantial portions of the Software.
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
- * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
- * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
- * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- ******************************************************************************************/
-
-package org.logicng.solvers.datastructures;
-
-/**
- * A watcher for clauses for MiniSAT-style solvers.
- * @version 1.0.1
- * @since 1.0
- */
-public final class MSWatcher {
-  private final MSClause clause;
-  private final int blocker;
-
-  /**
-   * Constructs a new watcher.
-   * @param clause  the watched clause
-   * @param blocker the blocking literal
-   */
-  public MSWatcher(final MSClause clause, int blocker) {
-    this.clause = clause;
-    this.blocker = blocker;
-  }
-
-  /**
-   * Returns the blocking literal of this watcher.
-   * @return the blocking literal of this watcher
-   */
-  public int blocker() {
-    return this.blocker;
-  }
-
-  /**
-   * Returns the watched clause of this watcher.
-   * @return the watched clause of this watcher
-   */
-  public MSClause clause() {
-    return this.clause;
-  }
-
-  @Override
-  public int hashCode() {
-    return this.clause.hashCode();
-  }
-
-  @Override
-  public boolean equals(final Object other) {
-    return this == other || other instanceof MSWatcher && this.clause == (((MSWatcher) other).clause);
-  }
-
-  @Override
-  public String toString() {
-    return String.format("MSWatcher{clause=%s, blocker=%d}", this.clause, this.blocker);
-  }
-}
@@ -64,7 +64,7 @@ import org.logicng.solvers.datastructures.CLWatch;
 
 /**
  * The super class for all CleaneLing-style solvers.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public abstract class CleaneLingStyleSolver {
@@ -105,6 +105,14 @@ public abstract class CleaneLingStyleSolver {
     this.initialize();
   }
 
+  /**
+   * Returns the configuration of this solver.
+   * @return the configuration of this solver
+   */
+  public CleaneLingConfig config() {
+    return this.config;
+  }
+
   /**
    * Returns the sign of a literal.
    * @param lit the literal
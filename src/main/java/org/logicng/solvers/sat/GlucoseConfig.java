@@ -33,7 +33,11 @@ import org.logicng.configurations.ConfigurationType;
 
 /**
  * The configuration object for the Glucose SAT solver.
- * @version 1.1
+ * <p>
+ * With more than one thread, the solver runs a cooperative parallel search: each thread works on its own copy of the
+ * clause database with a different phase and variable order, exports learnt clauses which are short enough and have a
+ * low enough LBD, and imports the clauses of the other threads at restarts.  Unit clauses are always shared.
+ * @version 1.2
  * @since 1.0
  */
 public final class GlucoseConfig extends Configuration {
@@ -51,6 +55,11 @@ public final class GlucoseConfig extends Configuration {
   final boolean reduceOnSize;
   final int reduceOnSizeSize;
   final double maxVarDecay;
+  final int numThreads;
+  final int shareMaxSize;
+  final int shareMaxLBD;
+  final int shareImportLimit;
+  final int shareBufferSize;
 
   /**
    * Constructs a new Glucose configuration from a given builder.
@@ -71,6 +80,11 @@ public final class GlucoseConfig extends Configuration {
     this.reduceOnSize = builder.reduceOnSize;
     this.reduceOnSizeSize = builder.reduceOnSizeSize;
     this.maxVarDecay = builder.maxVarDecay;
+    this.numThreads = builder.numThreads;
+    this.shareMaxSize = builder.shareMaxSize;
+    this.shareMaxLBD = builder.shareMaxLBD;
+    this.shareImportLimit = builder.shareImportLimit;
+    this.shareBufferSize = builder.shareBufferSize;
   }
 
   @Override
@@ -89,6 +103,11 @@ public final class GlucoseConfig extends Configuration {
     sb.append("reduceOnSize=").append(this.reduceOnSize).append("\n");
     sb.append("reduceOnSizeSize=").append(this.reduceOnSizeSize).append("\n");
     sb.append("maxVarDecay=").append(this.maxVarDecay).append("\n");
+    sb.append("numThreads=").append(this.numThreads).append("\n");
+    sb.append("shareMaxSize=").append(this.shareMaxSize).append("\n");
+    sb.append("shareMaxLBD=").append(this.shareMaxLBD).append("\n");
+    sb.append("shareImportLimit=").append(this.shareImportLimit).append("\n");
+    sb.append("shareBufferSize=").append(this.shareBufferSize).append("\n");
     sb.append("}\n");
     return sb.toString();
   }
@@ -110,6 +129,11 @@ public final class GlucoseConfig extends Configuration {
     private boolean reduceOnSize = false;
     private int reduceOnSizeSize = 12;
     private double maxVarDecay = 0.95;
+    private int numThreads = 1;
+    private int shareMaxSize = 30;
+    private int shareMaxLBD = 2;
+    private int shareImportLimit = 500;
+    private int shareBufferSize = 1 << 16;
 
     /**
      * Sets the minimal LBD required to minimize a clause to a given value.  The default value is 6.
@@ -244,6 +268,61 @@ public final class GlucoseConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets the number of threads of the cooperative parallel search to a given value.  The default value is 1, i.e.
+     * the search is sequential.
+     * @param numThreads the value (should be at least 1)
+     * @return the builder
+     */
+    public Builder numThreads(int numThreads) {
+      this.numThreads = numThreads;
+      return this;
+    }
+
+    /**
+     * Sets the maximal size of a learnt clause which is shared with the other threads to a given value.  The default
+     * value is 30.
+     * @param shareMaxSize the value
+     * @return the builder
+     */
+    public Builder shareMaxSize(int shareMaxSize) {
+      this.shareMaxSize = shareMaxSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximal LBD of a learnt clause which is shared with the other threads to a given value.  The default
+     * value is 2.
+     * @param shareMaxLBD the value
+     * @return the builder
+     */
+    public Builder shareMaxLBD(int shareMaxLBD) {
+      this.shareMaxLBD = shareMaxLBD;
+      return this;
+    }
+
+    /**
+     * Sets the maximal number of clauses a thread imports from each other thread at a restart to a given value.  Unit
+     * clauses do not count towards this limit.  The default value is 500.
+     * @param shareImportLimit the value
+     * @return the builder
+     */
+    public Builder shareImportLimit(int shareImportLimit) {
+      this.shareImportLimit = shareImportLimit;
+      return this;
+    }
+
+    /**
+     * Sets the size of the ring buffer of each thread for the shared clauses (in literals) to a given value.  The
+     * default value is 65536.
+     * @param shareBufferSize the value (should be at least 1024)
+     * @return the builder
+     */
+    public Builder shareBufferSize(int shareBufferSize) {
+      this.shareBufferSize = shareBufferSize;
+      return this;
+    }
+
     /**
      * Builds the Glucose configuration.
      * @return the configuration
@@ -84,13 +84,33 @@ import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
 import org.logicng.solvers.datastructures.LNGBoundedIntQueue;
 import org.logicng.solvers.datastructures.LNGBoundedLongQueue;
-import org.logicng.solvers.datastructures.MSClause;
-import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSClauseArena;
+import org.logicng.solvers.datastructures.MSClauseBuffer;
+import org.logicng.solvers.datastructures.MSWatchList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
 
 /**
  * Glucose 4.0 solver.
- * @version 1.1
+ * <p>
+ * If the Glucose configuration specifies more than one thread, each call of {@link #solve(SATHandler)} runs a
+ * cooperative parallel search in the style of Glucose-Syrup: additional workers are created from the clause database
+ * at the first call and solve it concurrently with this solver.  The workers exchange short learnt clauses with a low
+ * LBD and all learnt unit clauses through lock-free ring buffers ({@link MSClauseBuffer}) and import them at restarts.
+ * The first worker which finds a result stops all others.  The workers, their learnt clauses and the buffers are kept
+ * for later calls; only the variables and clauses added in the meantime are passed on to the workers.  They are
+ * rebuilt after a {@link #reset()} or a variable elimination.
+ * @version 1.2
  * @since 1.0
  */
 public final class GlucoseSyrup extends MiniSatStyleSolver {
@@ -109,7 +129,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   private final GlucoseConfig glucoseConfig;
 
   // internal solver state
-  private LNGVector<LNGVector<MSWatcher>> watchesBin;
+  private LNGVector<MSWatchList> watchesBin;
   private LNGIntVector permDiff;
   private LNGIntVector lastDecisionLevel;
   private LNGBoundedLongQueue lbdQueue;
@@ -138,6 +158,23 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   private boolean reduceOnSize;
   private int reduceOnSizeSize;
   private double maxVarDecay;
+  private int numThreads;
+  private int shareMaxSize;
+  private int shareMaxLBD;
+  private int shareImportLimit;
+  private int shareBufferSize;
+
+  // cooperative parallel search
+  private MSClauseBuffer[] sharedBuffers;
+  private AtomicBoolean sharedStop;
+  private int workerId;
+  private MSClauseBuffer[] importBuffers;
+  private long[] importPositions;
+  private LNGIntVector importedClause;
+  private ThreadPoolExecutor executor;
+  private List<GlucoseSyrup> workers;
+  private MSClauseBuffer[] workerBuffers;
+  private LNGIntVector pendingClauses; // clauses added since the last parallel search, each one preceded by its size
 
   /**
    * Constructs a new Glucose 2 solver with the default values for solver configuration.  By default, incremental mode
@@ -199,21 +236,52 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     this.reduceOnSize = glucoseConfig.reduceOnSize;
     this.reduceOnSizeSize = glucoseConfig.reduceOnSizeSize;
     this.maxVarDecay = glucoseConfig.maxVarDecay;
+    this.numThreads = glucoseConfig.numThreads;
+    this.shareMaxSize = glucoseConfig.shareMaxSize;
+    this.shareMaxLBD = glucoseConfig.shareMaxLBD;
+    this.shareImportLimit = glucoseConfig.shareImportLimit;
+    this.shareBufferSize = glucoseConfig.shareBufferSize;
+  }
+
+  /**
+   * Constructs a new worker for the cooperative parallel search of a given solver.  The worker has the same variables
+   * and clauses as the solver, but a different initial phase and variable order.
+   * @param master   the solver
+   * @param workerId the index of the worker
+   */
+  private GlucoseSyrup(final GlucoseSyrup master, final int workerId) {
+    super(master.config);
+    this.glucoseConfig = master.glucoseConfig;
+    this.initializeGlucose();
+    final Random random = new Random(workerId);
+    for (int v = 0; v < master.nVars(); v++) {
+      this.newVar(master.polarity(v) ^ (workerId % 2 == 1), master.decision(v));
+      this.activities.set(v, master.activities.get(v) + random.nextDouble() * master.varInc);
+    }
+    this.varInc = master.varInc;
+    this.varDecay = master.varDecay;
+    this.rebuildOrderHeap();
+    master.exportClauses(false, this::addClause);
+    final LNGIntVector lits = new LNGIntVector();
+    for (int i = 0; i < master.learnts.size() && this.ok; i++) {
+      final int c = master.learnts.get(i);
+      lits.clear();
+      for (int j = 0; j < master.ca.size(c); j++)
+        lits.push(master.ca.get(c, j));
+      this.ok = this.importClause(lits, master.ca.lbd(c));
+    }
   }
 
   @Override
   public int newVar(boolean sign, boolean dvar) {
-    int v = nVars();
-    MSVariable newVar = new MSVariable(sign);
-    watches.push(new LNGVector<MSWatcher>());
-    watches.push(new LNGVector<MSWatcher>());
-    watchesBin.push(new LNGVector<MSWatcher>());
-    watchesBin.push(new LNGVector<MSWatcher>());
-    vars.push(newVar);
+    int v = newVarState(sign, dvar);
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
+    watchesBin.push(new MSWatchList());
+    watchesBin.push(new MSWatchList());
     seen.push(false);
     permDiff.push(0);
     assump.push(false);
-    newVar.setDecision(dvar);
     insertVarOrder(v);
     return v;
   }
@@ -221,6 +289,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   @Override
   public boolean addClause(final LNGIntVector ps) {
     assert decisionLevel() == 0;
+    checkNotEliminated(ps);
     if (!ok)
       return false;
     ps.sort();
@@ -235,15 +304,20 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         ps.set(j++, p);
       }
     ps.removeElements(i - j);
+    if (this.pendingClauses != null && ps.size() > 0) {
+      this.pendingClauses.push(ps.size());
+      for (i = 0; i < ps.size(); i++)
+        this.pendingClauses.push(ps.get(i));
+    }
     if (ps.size() == 0) {
       ok = false;
       return false;
     } else if (ps.size() == 1) {
-      uncheckedEnqueue(ps.get(0), null);
-      ok = propagate() == null;
+      uncheckedEnqueue(ps.get(0), CREF_UNDEF);
+      ok = propagate() == CREF_UNDEF;
       return ok;
     } else {
-      final MSClause c = new MSClause(ps, false);
+      final int c = ca.alloc(ps, false);
       clauses.push(c);
       attachClause(c);
     }
@@ -263,12 +337,18 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       assump.set(var(assumptions.get(i)), true);
 
     Tristate status = Tristate.UNDEF;
-    while (status == Tristate.UNDEF && !canceledByHandler)
-      status = search();
+    if (this.numThreads > 1 && this.sharedBuffers == null)
+      status = this.parallelSearch();
+    else
+      while (status == Tristate.UNDEF && !canceledByHandler && !this.stopped())
+        status = search();
     if (status == Tristate.TRUE) {
-      model = new LNGBooleanVector(vars.size());
-      for (final MSVariable v : this.vars)
-        model.push(v.assignment() == Tristate.TRUE);
+      if (model.empty()) {
+        model = new LNGBooleanVector(nVars());
+        for (int v = 0; v < nVars(); v++)
+          model.push(varValue(v) == Tristate.TRUE);
+      }
+      extendModel();
     } else if (status == Tristate.FALSE && conflict.size() == 0)
       ok = false;
     if (this.handler != null)
@@ -285,6 +365,13 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   public void reset() {
     super.initialize();
     this.initializeGlucose();
+    this.dropWorkers();
+  }
+
+  @Override
+  public boolean eliminate() {
+    this.dropWorkers();
+    return super.eliminate();
   }
 
   @Override
@@ -298,134 +385,131 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   }
 
   @Override
-  protected void uncheckedEnqueue(int lit, MSClause reason) {
+  protected void uncheckedEnqueue(int lit, int reason) {
     assert value(lit) == Tristate.UNDEF;
-    final MSVariable var = v(lit);
-    var.assign(Tristate.fromBool(!sign(lit)));
-    var.setReason(reason);
-    var.setLevel(decisionLevel());
+    assign(lit);
+    reasons.set(var(lit), reason);
+    levels.set(var(lit), decisionLevel());
     trail.push(lit);
   }
 
   @Override
-  protected void attachClause(final MSClause c) {
-    assert c.size() > 1;
-    if (c.size() == 2) {
-      watchesBin.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watchesBin.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+  protected void attachClause(final int c) {
+    assert ca.size(c) > 1;
+    if (ca.size(c) == 2) {
+      watchesBin.get(not(ca.get(c, 0))).push(c, ca.get(c, 1));
+      watchesBin.get(not(ca.get(c, 1))).push(c, ca.get(c, 0));
     } else {
-      watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+      watches.get(not(ca.get(c, 0))).push(c, ca.get(c, 1));
+      watches.get(not(ca.get(c, 1))).push(c, ca.get(c, 0));
     }
-    if (c.learnt())
-      learntsLiterals += c.size();
+    if (ca.learnt(c))
+      learntsLiterals += ca.size(c);
     else
-      clausesLiterals += c.size();
+      clausesLiterals += ca.size(c);
   }
 
   @Override
-  protected void detachClause(final MSClause c) {
-    assert c.size() > 1;
-    if (c.size() == 2) {
-      watchesBin.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watchesBin.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+  protected void detachClause(final int c) {
+    assert ca.size(c) > 1;
+    if (ca.size(c) == 2) {
+      watchesBin.get(not(ca.get(c, 0))).remove(c);
+      watchesBin.get(not(ca.get(c, 1))).remove(c);
     } else {
-      watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      watches.get(not(ca.get(c, 0))).remove(c);
+      watches.get(not(ca.get(c, 1))).remove(c);
     }
-    if (c.learnt())
-      learntsLiterals -= c.size();
+    if (ca.learnt(c))
+      learntsLiterals -= ca.size(c);
     else
-      clausesLiterals -= c.size();
+      clausesLiterals -= ca.size(c);
   }
 
   @Override
-  protected void removeClause(final MSClause c) {
+  protected void removeClause(final int c) {
     detachClause(c);
     if (locked(c))
-      v(c.get(0)).setReason(null);
+      reasons.set(var(ca.get(c, 0)), CREF_UNDEF);
+    ca.free(c);
   }
 
   @Override
-  protected MSClause propagate() {
-    MSClause confl = null;
+  protected int propagate() {
+    int confl = CREF_UNDEF;
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
-      LNGVector<MSWatcher> wbin = watchesBin.get(p);
+      MSWatchList wbin = watchesBin.get(p);
       for (int k = 0; k < wbin.size(); k++) {
-        int imp = wbin.get(k).blocker();
+        int imp = wbin.blocker(k);
         if (value(imp) == Tristate.FALSE) {
-          return wbin.get(k).clause();
+          return wbin.clause(k);
         }
         if (value(imp) == Tristate.UNDEF) {
-          uncheckedEnqueue(imp, wbin.get(k).clause());
+          uncheckedEnqueue(imp, wbin.clause(k));
         }
       }
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
-        assert !c.oneWatched();
+        int c = ws.clause(iInd);
+        assert !ca.oneWatched(c);
         int falseLit = not(p);
-        if (c.get(0) == falseLit) {
-          c.set(0, c.get(1));
-          c.set(1, falseLit);
+        if (ca.get(c, 0) == falseLit) {
+          ca.set(c, 0, ca.get(c, 1));
+          ca.set(c, 1, falseLit);
         }
-        assert c.get(1) == falseLit;
+        assert ca.get(c, 1) == falseLit;
         iInd++;
-        int first = c.get(0);
-        MSWatcher w = new MSWatcher(c, first);
+        int first = ca.get(c, 0);
         if (first != blocker && value(first) == Tristate.TRUE) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           continue;
         }
         boolean foundWatch = false;
         if (incremental) {
           int choosenPos = -1;
-          for (int k = 2; k < c.size(); k++) {
-            if (value(c.get(k)) != Tristate.FALSE) {
+          for (int k = 2; k < ca.size(c); k++) {
+            if (value(ca.get(c, k)) != Tristate.FALSE) {
               if (decisionLevel() > assumptions.size()) {
                 choosenPos = k;
                 break;
               } else {
                 choosenPos = k;
-                if (value(c.get(k)) == Tristate.TRUE || !isSelector(var(c.get(k))))
+                if (value(ca.get(c, k)) == Tristate.TRUE || !isSelector(var(ca.get(c, k))))
                   break;
               }
             }
           }
           if (choosenPos != -1) {
-            c.set(1, c.get(choosenPos));
-            c.set(choosenPos, falseLit);
-            watches.get(not(c.get(1))).push(w);
+            ca.set(c, 1, ca.get(c, choosenPos));
+            ca.set(c, choosenPos, falseLit);
+            watches.get(not(ca.get(c, 1))).push(c, first);
             foundWatch = true;
           }
         } else {
-          for (int k = 2; k < c.size() && !foundWatch; k++)
-            if (value(c.get(k)) != Tristate.FALSE) {
-              c.set(1, c.get(k));
-              c.set(k, falseLit);
-              watches.get(not(c.get(1))).push(w);
+          for (int k = 2; k < ca.size(c) && !foundWatch; k++)
+            if (value(ca.get(c, k)) != Tristate.FALSE) {
+              ca.set(c, 1, ca.get(c, k));
+              ca.set(c, k, falseLit);
+              watches.get(not(ca.get(c, 1))).push(c, first);
               foundWatch = true;
             }
         }
         if (!foundWatch) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           if (value(first) == Tristate.FALSE) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else
             uncheckedEnqueue(first, c);
         }
@@ -442,19 +526,19 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     analyzeStack.push(p);
     int top = analyzeToClear.size();
     while (analyzeStack.size() > 0) {
-      assert v(analyzeStack.back()).reason() != null;
-      MSClause c = v(analyzeStack.back()).reason();
+      assert reason(var(analyzeStack.back())) != CREF_UNDEF;
+      int c = reason(var(analyzeStack.back()));
       analyzeStack.pop();
-      if (c.size() == 2 && value(c.get(0)) == Tristate.FALSE) {
-        assert value(c.get(1)) == Tristate.TRUE;
-        int tmp = c.get(0);
-        c.set(0, c.get(1));
-        c.set(1, tmp);
+      if (ca.size(c) == 2 && value(ca.get(c, 0)) == Tristate.FALSE) {
+        assert value(ca.get(c, 1)) == Tristate.TRUE;
+        int tmp = ca.get(c, 0);
+        ca.set(c, 0, ca.get(c, 1));
+        ca.set(c, 1, tmp);
       }
-      for (int i = 1; i < c.size(); i++) {
-        int q = c.get(i);
-        if (!seen.get(var(q)) && v(q).level() > 0) {
-          if (v(q).reason() != null && (abstractLevel(var(q)) & abstractLevels) != 0) {
+      for (int i = 1; i < ca.size(c); i++) {
+        int q = ca.get(c, i);
+        if (!seen.get(var(q)) && level(var(q)) > 0) {
+          if (reason(var(q)) != CREF_UNDEF && (abstractLevel(var(q)) & abstractLevels) != 0) {
             seen.set(var(q), true);
             analyzeStack.push(q);
             analyzeToClear.push(q);
@@ -478,19 +562,17 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       return;
     seen.set(var(p), true);
     int x;
-    MSVariable v;
     for (int i = trail.size() - 1; i >= trailLim.get(0); i--) {
       x = var(trail.get(i));
       if (seen.get(x)) {
-        v = this.vars.get(x);
-        if (v.reason() == null) {
-          assert v.level() > 0;
+        if (reason(x) == CREF_UNDEF) {
+          assert level(x) > 0;
           outConflict.push(not(trail.get(i)));
         } else {
-          final MSClause c = v.reason();
-          for (int j = c.size() == 2 ? 0 : 1; j < c.size(); j++)
-            if (v(c.get(j)).level() > 0)
-              seen.set(var(c.get(j)), true);
+          final int c = reason(x);
+          for (int j = ca.size(c) == 2 ? 0 : 1; j < ca.size(c); j++)
+            if (level(var(ca.get(c, j))) > 0)
+              seen.set(var(ca.get(c, j)), true);
         }
         seen.set(x, false);
       }
@@ -503,9 +585,8 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     if (decisionLevel() > level) {
       for (int c = trail.size() - 1; c >= trailLim.get(level); c--) {
         int x = var(trail.get(c));
-        MSVariable v = this.vars.get(x);
-        v.assign(Tristate.UNDEF);
-        v.setPolarity(sign(trail.get(c)));
+        unassign(x);
+        setPolarity(x, sign(trail.get(c)));
         insertVarOrder(x);
       }
       qhead = trailLim.get(level);
@@ -518,32 +599,33 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   protected void reduceDB() {
     int i;
     int j;
-    learnts.manualSort(MSClause.glucoseComparator);
-    if (learnts.get(learnts.size() / RATIO_REMOVE_CLAUSES).lbd() <= 3)
+    learnts.manualSort(ca::compareGlucose);
+    if (ca.lbd(learnts.get(learnts.size() / RATIO_REMOVE_CLAUSES)) <= 3)
       nbclausesbeforereduce += specialIncReduceDB;
-    if (learnts.back().lbd() <= 5)
+    if (ca.lbd(learnts.back()) <= 5)
       nbclausesbeforereduce += specialIncReduceDB;
     int limit = learnts.size() / 2;
     for (i = j = 0; i < learnts.size(); i++) {
-      final MSClause c = learnts.get(i);
-      if (c.lbd() > 2 && c.size() > 2 && c.canBeDel() && !locked(c) && (i < limit))
+      final int c = learnts.get(i);
+      if (ca.lbd(c) > 2 && ca.size(c) > 2 && ca.canBeDel(c) && !locked(c) && (i < limit))
         removeClause(learnts.get(i));
       else {
-        if (!c.canBeDel())
+        if (!ca.canBeDel(c))
           limit++;
-        c.setCanBeDel(true);
+        ca.setCanBeDel(c, true);
         learnts.set(j++, learnts.get(i));
       }
     }
     learnts.removeElements(i - j);
+    checkGarbage();
   }
 
   @Override
-  protected void removeSatisfied(final LNGVector<MSClause> cs) {
+  protected void removeSatisfied(final LNGIntVector cs) {
     int i;
     int j;
     for (i = j = 0; i < cs.size(); i++) {
-      final MSClause c = cs.get(i);
+      final int c = cs.get(i);
       if (satisfied(c))
         removeClause(cs.get(i));
       else
@@ -553,11 +635,11 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   }
 
   @Override
-  protected boolean satisfied(final MSClause c) {
+  protected boolean satisfied(final int c) {
     if (incremental)
-      return (value(c.get(0)) == Tristate.TRUE) || (value(c.get(1)) == Tristate.TRUE);
-    for (int i = 0; i < c.size(); i++)
-      if (value(c.get(i)) == Tristate.TRUE)
+      return (value(ca.get(c, 0)) == Tristate.TRUE) || (value(ca.get(c, 1)) == Tristate.TRUE);
+    for (int i = 0; i < ca.size(c); i++)
+      if (value(ca.get(c, i)) == Tristate.TRUE)
         return true;
     return false;
   }
@@ -568,8 +650,8 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     if (!ok)
       return ok = false;
     else {
-      final MSClause cr = propagate();
-      if (cr != null) {
+      final int cr = propagate();
+      if (cr != CREF_UNDEF) {
         return ok = false;
       }
     }
@@ -578,12 +660,23 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     removeSatisfied(learnts);
     if (removeSatisfied)
       removeSatisfied(clauses);
+    checkGarbage();
     rebuildOrderHeap();
     simpDBAssigns = nAssigns();
     simpDBProps = clausesLiterals + learntsLiterals;
     return true;
   }
 
+  @Override
+  protected void relocAll(final MSClauseArena to) {
+    for (int i = 0; i < watchesBin.size(); i++) {
+      final MSWatchList ws = watchesBin.get(i);
+      for (int j = 0; j < ws.size(); j++)
+        ws.set(j, ca.relocate(ws.clause(j), to), ws.blocker(j));
+    }
+    super.relocAll(to);
+  }
+
   /**
    * Computes the LBD for a given vector of literals.
    * @param lits the vector of literals
@@ -604,7 +697,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         if (isSelector(var(lits.get(i))))
           continue;
         nbDone++;
-        int l = v(lits.get(i)).level();
+        int l = level(var(lits.get(i)));
         if (permDiff.get(l) != myflag) {
           permDiff.set(l, myflag);
           nblevels++;
@@ -612,7 +705,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       }
     } else {
       for (int i = 0; i < lits.size(); i++) {
-        int l = v(lits.get(i)).level();
+        int l = level(var(lits.get(i)));
         if (permDiff.get(l) != myflag) {
           permDiff.set(l, myflag);
           nblevels++;
@@ -631,26 +724,26 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
    * @param c the clause
    * @return the LBD
    */
-  private long computeLBD(final MSClause c) {
+  private long computeLBD(final int c) {
     long nblevels = 0;
     myflag++;
     if (incremental) {
       long nbDone = 0;
-      for (int i = 0; i < c.size(); i++) {
-        if (nbDone >= c.sizeWithoutSelectors())
+      for (int i = 0; i < ca.size(c); i++) {
+        if (nbDone >= ca.sizeWithoutSelectors(c))
           break;
-        if (isSelector(var(c.get(i))))
+        if (isSelector(var(ca.get(c, i))))
           continue;
         nbDone++;
-        int l = v(c.get(i)).level();
+        int l = level(var(ca.get(c, i)));
         if (permDiff.get(l) != myflag) {
           permDiff.set(l, myflag);
           nblevels++;
         }
       }
     } else {
-      for (int i = 0; i < c.size(); i++) {
-        int l = v(c.get(i)).level();
+      for (int i = 0; i < ca.size(c); i++) {
+        int l = level(var(ca.get(c, i)));
         if (permDiff.get(l) != myflag) {
           permDiff.set(l, myflag);
           nblevels++;
@@ -659,9 +752,9 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     }
     if (!reduceOnSize)
       return nblevels;
-    if (c.size() < reduceOnSizeSize)
-      return c.size();
-    return c.size() + nblevels;
+    if (ca.size(c) < reduceOnSizeSize)
+      return ca.size(c);
+    return ca.size(c) + nblevels;
   }
 
   /**
@@ -685,8 +778,9 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       for (int i = 1; i < outLearnt.size(); i++)
         permDiff.set(var(outLearnt.get(i)), myflag);
       int nb = 0;
-      for (final MSWatcher wbin : watchesBin.get(p)) {
-        int imp = wbin.blocker();
+      final MSWatchList wbin = watchesBin.get(p);
+      for (int k = 0; k < wbin.size(); k++) {
+        int imp = wbin.blocker(k);
         if (permDiff.get(var(imp)) == myflag && value(imp) == Tristate.TRUE) {
           nb++;
           permDiff.set(var(imp), myflag - 1);
@@ -719,12 +813,14 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     LNGIntVector selectors = new LNGIntVector();
     boolean blocked = false;
     while (true) {
-      final MSClause confl = propagate();
-      if (confl != null) {
+      final int confl = propagate();
+      if (confl != CREF_UNDEF) {
         if (handler != null && !handler.detectedConflict()) {
           canceledByHandler = true;
           return Tristate.UNDEF;
         }
+        if (this.stopped())
+          return Tristate.UNDEF;
         conflicts++;
         conflictsRestarts++;
         if (conflicts % 5000 == 0 && varDecay < maxVarDecay)
@@ -743,13 +839,15 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         lbdQueue.push(analyzeLBD);
         sumLBD += analyzeLBD;
         cancelUntil(analyzeBtLevel);
+        if (this.sharedBuffers != null)
+          this.exportClause(learntClause);
         if (learntClause.size() == 1) {
-          uncheckedEnqueue(learntClause.get(0), null);
+          uncheckedEnqueue(learntClause.get(0), CREF_UNDEF);
         } else {
-          final MSClause cr = new MSClause(learntClause, true);
-          cr.setLBD(analyzeLBD);
-          cr.setOneWatched(false);
-          cr.setSizeWithoutSelectors(analyzeSzWithoutSelectors);
+          final int cr = ca.alloc(learntClause, true);
+          ca.setLBD(cr, analyzeLBD);
+          ca.setOneWatched(cr, false);
+          ca.setSizeWithoutSelectors(cr, analyzeSzWithoutSelectors);
           learnts.push(cr);
           attachClause(cr);
           claBumpActivity(cr);
@@ -761,12 +859,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
         if (lbdQueue.valid() && (lbdQueue.avg() * factorK) > (sumLBD / conflictsRestarts)) {
           lbdQueue.fastClear();
           int bt = 0;
-          if (incremental)
+          if (incremental && this.sharedBuffers == null)
             bt = (decisionLevel() < assumptions.size()) ? decisionLevel() : assumptions.size();
           cancelUntil(bt);
           return Tristate.UNDEF;
         }
-        if (decisionLevel() == 0 && !simplify())
+        if (decisionLevel() == 0 && (this.sharedBuffers != null && !this.importClauses() || !simplify()))
           return Tristate.FALSE;
         if (conflicts >= (curRestart * nbclausesbeforereduce) && learnts.size() > 0) {
           curRestart = (conflicts / nbclausesbeforereduce) + 1;
@@ -792,7 +890,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
             return Tristate.TRUE;
         }
         trailLim.push(trail.size());
-        uncheckedEnqueue(next, null);
+        uncheckedEnqueue(next, CREF_UNDEF);
       }
     }
   }
@@ -804,45 +902,45 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
    * @param outLearnt      the vector where the new learnt 1-UIP clause is stored
    * @param selectors      a vector of selector variables
    */
-  private void analyze(final MSClause conflictClause, final LNGIntVector outLearnt,
+  private void analyze(final int conflictClause, final LNGIntVector outLearnt,
                        final LNGIntVector selectors) {
-    MSClause c = conflictClause;
+    int c = conflictClause;
     int pathC = 0;
     int p = LIT_UNDEF;
     outLearnt.push(-1);
     int index = trail.size() - 1;
     do {
-      assert c != null;
-      if (p != LIT_UNDEF && c.size() == 2 && value(c.get(0)) == Tristate.FALSE) {
-        assert value(c.get(1)) == Tristate.TRUE;
-        int tmp = c.get(0);
-        c.set(0, c.get(1));
-        c.set(1, tmp);
+      assert c != CREF_UNDEF;
+      if (p != LIT_UNDEF && ca.size(c) == 2 && value(ca.get(c, 0)) == Tristate.FALSE) {
+        assert value(ca.get(c, 1)) == Tristate.TRUE;
+        int tmp = ca.get(c, 0);
+        ca.set(c, 0, ca.get(c, 1));
+        ca.set(c, 1, tmp);
       }
-      if (c.learnt())
+      if (ca.learnt(c))
         claBumpActivity(c);
       else {
-        if (!c.seen())
-          c.setSeen(true);
+        if (!ca.seen(c))
+          ca.setSeen(c, true);
       }
-      if (c.learnt() && c.lbd() > 2) {
+      if (ca.learnt(c) && ca.lbd(c) > 2) {
         long nblevels = computeLBD(c);
-        if (nblevels + 1 < c.lbd()) {
-          if (c.lbd() <= lbLBDFrozenClause) {
-            c.setCanBeDel(false);
+        if (nblevels + 1 < ca.lbd(c)) {
+          if (ca.lbd(c) <= lbLBDFrozenClause) {
+            ca.setCanBeDel(c, false);
           }
-          c.setLBD(nblevels);
+          ca.setLBD(c, nblevels);
         }
       }
-      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < c.size(); j++) {
-        int q = c.get(j);
-        if (!seen.get(var(q)) && v(q).level() != 0) {
+      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < ca.size(c); j++) {
+        int q = ca.get(c, j);
+        if (!seen.get(var(q)) && level(var(q)) != 0) {
           if (!isSelector(var(q)))
             varBumpActivity(var(q));
           seen.set(var(q), true);
-          if (v(q).level() >= decisionLevel()) {
+          if (level(var(q)) >= decisionLevel()) {
             pathC++;
-            if (!isSelector(var(q)) && (v(q).reason() != null) && v(q).reason().learnt())
+            if (!isSelector(var(q)) && (reason(var(q)) != CREF_UNDEF) && ca.learnt(reason(var(q))))
               lastDecisionLevel.push(q);
           } else {
             if (isSelector(var(q))) {
@@ -855,7 +953,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       }
       while (!seen.get(var(trail.get(index--)))) ;
       p = trail.get(index + 1);
-      c = v(p).reason();
+      c = reason(var(p));
       seen.set(var(p), false);
       pathC--;
     } while (pathC > 0);
@@ -879,17 +977,16 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       for (i = 1; i < outLearnt.size(); i++)
         abstractLevel |= abstractLevel(var(outLearnt.get(i)));
       for (i = j = 1; i < outLearnt.size(); i++)
-        if (v(outLearnt.get(i)).reason() == null || !litRedundant(outLearnt.get(i), abstractLevel))
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF || !litRedundant(outLearnt.get(i), abstractLevel))
           outLearnt.set(j++, outLearnt.get(i));
     } else if (ccminMode == MiniSatConfig.ClauseMinimization.BASIC) {
       for (i = j = 1; i < outLearnt.size(); i++) {
-        MSVariable v = v(outLearnt.get(i));
-        if (v.reason() == null)
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF)
           outLearnt.set(j++, outLearnt.get(i));
         else {
-          MSClause c = v(outLearnt.get(i)).reason();
-          for (int k = c.size() == 2 ? 0 : 1; k < c.size(); k++)
-            if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
+          int c = reason(var(outLearnt.get(i)));
+          for (int k = ca.size(c) == 2 ? 0 : 1; k < ca.size(c); k++)
+            if (!seen.get(var(ca.get(c, k))) && level(var(ca.get(c, k))) > 0) {
               outLearnt.set(j++, outLearnt.get(i));
               break;
             }
@@ -904,12 +1001,12 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     if (outLearnt.size() > 1) {
       int max = 1;
       for (int k = 2; k < outLearnt.size(); k++)
-        if (v(outLearnt.get(k)).level() > v(outLearnt.get(max)).level())
+        if (level(var(outLearnt.get(k))) > level(var(outLearnt.get(max))))
           max = k;
       int p = outLearnt.get(max);
       outLearnt.set(max, outLearnt.get(1));
       outLearnt.set(1, p);
-      analyzeBtLevel = v(p).level();
+      analyzeBtLevel = level(var(p));
     }
     analyzeSzWithoutSelectors = 0;
     if (incremental) {
@@ -924,7 +1021,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     analyzeLBD = computeLBD(outLearnt, outLearnt.size() - selectors.size());
     if (lastDecisionLevel.size() > 0) {
       for (int k = 0; k < lastDecisionLevel.size(); k++) {
-        if ((v(lastDecisionLevel.get(k)).reason()).lbd() < analyzeLBD)
+        if (ca.lbd(reason(var(lastDecisionLevel.get(k)))) < analyzeLBD)
           varBumpActivity(var(lastDecisionLevel.get(k)));
       }
       lastDecisionLevel.clear();
@@ -934,5 +1031,259 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     for (int m = 0; m < selectors.size(); m++)
       seen.set(var(selectors.get(m)), false);
   }
+
+  /**
+   * Runs the cooperative parallel search.  The additional workers are created at the first call or synchronized with
+   * the clause database of this solver and solved on worker threads while this solver searches on the calling thread.
+   * If a worker finds the result, its model or conflict is copied to this solver.
+   * @return the result of the first worker which finished or {@code UNDEF} if the search was canceled by the handler
+   */
+  private Tristate parallelSearch() {
+    if (this.workers == null)
+      this.createWorkers();
+    else
+      this.syncWorkers();
+    final List<GlucoseSyrup> workers = this.workers;
+    final AtomicBoolean stop = new AtomicBoolean(false);
+    for (int i = 0; i < workers.size(); i++)
+      workers.get(i).startSharing(i + 1, this.workerBuffers, stop);
+    this.startSharing(0, this.workerBuffers, stop);
+    final LNGIntVector workerAssumptions = new LNGIntVector(this.assumptions);
+    final List<Future<Tristate>> results = new ArrayList<>(workers.size());
+    Tristate status = Tristate.UNDEF;
+    try {
+      for (final GlucoseSyrup worker : workers) {
+        results.add(this.executor().submit(() -> {
+          final Tristate workerStatus = worker.solve(null, workerAssumptions);
+          if (workerStatus != Tristate.UNDEF)
+            stop.set(true);
+          return workerStatus;
+        }));
+      }
+      while (status == Tristate.UNDEF && !canceledByHandler && !stop.get())
+        status = search();
+    } finally {
+      stop.set(true);
+      this.stopSharing();
+      for (int i = 0; i < results.size(); i++) {
+        final Tristate workerStatus = await(results.get(i));
+        workers.get(i).stopSharing();
+        if (status == Tristate.UNDEF && !canceledByHandler && workerStatus != Tristate.UNDEF) {
+          status = workerStatus;
+          if (status == Tristate.TRUE)
+            model = new LNGBooleanVector(workers.get(i).model);
+          else
+            conflict = new LNGIntVector(workers.get(i).conflict);
+        }
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Creates the workers of the cooperative parallel search and their clause buffers from the current clause database.
+   */
+  private void createWorkers() {
+    this.workerBuffers = new MSClauseBuffer[this.numThreads];
+    for (int i = 0; i < this.workerBuffers.length; i++)
+      this.workerBuffers[i] = new MSClauseBuffer(this.shareBufferSize);
+    this.workers = new ArrayList<>(this.numThreads - 1);
+    for (int i = 1; i < this.numThreads; i++)
+      this.workers.add(new GlucoseSyrup(this, i));
+    this.pendingClauses = new LNGIntVector();
+  }
+
+  /**
+   * Passes the variables and clauses which were added to this solver since the last parallel search on to the
+   * workers.  The workers keep their learnt clauses.
+   */
+  private void syncWorkers() {
+    final LNGIntVector clause = new LNGIntVector();
+    for (int i = 0; i < this.workers.size(); i++) {
+      final GlucoseSyrup worker = this.workers.get(i);
+      for (int v = worker.nVars(); v < this.nVars(); v++)
+        worker.newVar(this.polarity(v) ^ ((i + 1) % 2 == 1), this.decision(v));
+      int pos = 0;
+      while (pos < this.pendingClauses.size()) {
+        final int size = this.pendingClauses.get(pos++);
+        clause.clear();
+        for (int j = 0; j < size; j++)
+          clause.push(this.pendingClauses.get(pos++));
+        worker.addClause(clause);
+      }
+    }
+    this.pendingClauses.clear();
+  }
+
+  /**
+   * Drops the workers of the cooperative parallel search, such that they are rebuilt from the clause database at the
+   * next parallel search.
+   */
+  private void dropWorkers() {
+    this.workers = null;
+    this.workerBuffers = null;
+    this.pendingClauses = null;
+  }
+
+  /**
+   * Waits for a worker of the cooperative parallel search and returns its result.
+   * @param result the future of the worker
+   * @return the result of the worker
+   * @throws IllegalStateException if the worker failed with a checked exception
+   */
+  private static Tristate await(final Future<Tristate> result) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return result.get();
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        } catch (final ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException)
+            throw (RuntimeException) e.getCause();
+          if (e.getCause() instanceof Error)
+            throw (Error) e.getCause();
+          throw new IllegalStateException("A worker of the parallel search failed", e.getCause());
+        }
+      }
+    } finally {
+      if (interrupted)
+        Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the executor for the workers of the cooperative parallel search.  Its threads are daemon threads which
+   * terminate after one minute without work.
+   * @return the executor
+   */
+  private ThreadPoolExecutor executor() {
+    if (this.executor == null) {
+      this.executor = new ThreadPoolExecutor(this.numThreads - 1, this.numThreads - 1, 60, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(), runnable -> {
+        final Thread thread = new Thread(runnable, "LogicNG-Glucose");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+    return this.executor;
+  }
+
+  /**
+   * Connects this solver to the shared state of a cooperative parallel search.  If the solver was connected to the
+   * same buffers before, it continues importing where it stopped.
+   * @param id      the index of this worker
+   * @param buffers the clause buffers of all workers
+   * @param stop    the flag which stops all workers
+   */
+  private void startSharing(final int id, final MSClauseBuffer[] buffers, final AtomicBoolean stop) {
+    this.workerId = id;
+    this.sharedBuffers = buffers;
+    this.sharedStop = stop;
+    if (this.importBuffers != buffers) {
+      this.importBuffers = buffers;
+      this.importPositions = new long[buffers.length];
+      this.importedClause = new LNGIntVector();
+    }
+  }
+
+  /**
+   * Disconnects this solver from the shared state of a cooperative parallel search.  The import positions are kept
+   * for the next search on the same buffers.
+   */
+  private void stopSharing() {
+    this.sharedBuffers = null;
+    this.sharedStop = null;
+  }
+
+  /**
+   * Returns {@code true} if this solver is a worker of a cooperative parallel search which was stopped, {@code false}
+   * otherwise.  The search is stopped as soon as one worker found a result.
+   * @return {@code true} if the parallel search was stopped
+   */
+  boolean stopped() {
+    return this.sharedStop != null && this.sharedStop.get();
+  }
+
+  /**
+   * Exports a learnt clause to the other workers if it is a unit clause or short enough and its LBD is low enough.
+   * @param lits the literals of the learnt clause
+   */
+  private void exportClause(final LNGIntVector lits) {
+    if (lits.size() == 1 || lits.size() <= this.shareMaxSize && this.analyzeLBD <= this.shareMaxLBD)
+      this.sharedBuffers[this.workerId].push(lits, (int) this.analyzeLBD);
+  }
+
+  /**
+   * Imports the clauses exported by the other workers since the last import.  At most {@code shareImportLimit}
+   * clauses are imported from each worker, unit clauses are always imported.  Must be called on decision level 0.
+   * @return {@code false} if an imported clause is falsified on decision level 0, {@code true} otherwise
+   */
+  private boolean importClauses() {
+    assert decisionLevel() == 0;
+    for (int i = 0; i < this.sharedBuffers.length; i++) {
+      if (i == this.workerId)
+        continue;
+      final MSClauseBuffer buffer = this.sharedBuffers[i];
+      final long head = buffer.head();
+      long pos = this.importPositions[i];
+      int imported = 0;
+      while (pos < head && imported < this.shareImportLimit) {
+        final int lbd = buffer.read(pos, this.importedClause);
+        if (lbd < 0) {
+          pos = buffer.head();
+          break;
+        }
+        pos += MSClauseBuffer.entrySize(this.importedClause.size());
+        if (this.importedClause.size() > 1)
+          imported++;
+        if (!this.importClause(this.importedClause, lbd)) {
+          this.importPositions[i] = pos;
+          return false;
+        }
+      }
+      this.importPositions[i] = pos;
+    }
+    return true;
+  }
+
+  /**
+   * Adds a clause which is implied by the clause database as a learnt clause.  Satisfied clauses are skipped and
+   * falsified literals are removed, unit clauses are enqueued.  Must be called on decision level 0.
+   * @param lits the literals of the clause; the vector is modified
+   * @param lbd  the LBD of the clause
+   * @return {@code false} if the clause is falsified on decision level 0, {@code true} otherwise
+   */
+  private boolean importClause(final LNGIntVector lits, final long lbd) {
+    int j = 0;
+    for (int i = 0; i < lits.size(); i++) {
+      final Tristate value = value(lits.get(i));
+      if (value == Tristate.TRUE)
+        return true;
+      if (value == Tristate.UNDEF)
+        lits.set(j++, lits.get(i));
+    }
+    lits.removeElements(lits.size() - j);
+    if (lits.size() == 0)
+      return false;
+    if (lits.size() == 1) {
+      uncheckedEnqueue(lits.get(0), CREF_UNDEF);
+      return true;
+    }
+    int sizeWithoutSelectors = 0;
+    for (int i = 0; i < lits.size(); i++)
+      if (!isSelector(var(lits.get(i))))
+        sizeWithoutSelectors++;
+    final int cr = ca.alloc(lits, true);
+    ca.setLBD(cr, lbd);
+    ca.setOneWatched(cr, false);
+    ca.setSizeWithoutSelectors(cr, sizeWithoutSelectors);
+    learnts.push(cr);
+    attachClause(cr);
+    claBumpActivity(cr);
+    return true;
+  }
 }
 
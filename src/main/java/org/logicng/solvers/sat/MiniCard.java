@@ -55,13 +55,13 @@ import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
-import org.logicng.solvers.datastructures.MSClause;
-import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
+
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
 
 /**
  * A cardinality solver based on MiniCard.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public final class MiniCard extends MiniSatStyleSolver {
@@ -106,13 +106,10 @@ public final class MiniCard extends MiniSatStyleSolver {
 
   @Override
   public int newVar(boolean sign, boolean dvar) {
-    int v = vars.size();
-    MSVariable newVar = new MSVariable(sign);
-    vars.push(newVar);
-    watches.push(new LNGVector<MSWatcher>());
-    watches.push(new LNGVector<MSWatcher>());
+    int v = newVarState(sign, dvar);
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
     seen.push(false);
-    newVar.setDecision(dvar);
     insertVarOrder(v);
     return v;
   }
@@ -138,19 +135,24 @@ public final class MiniCard extends MiniSatStyleSolver {
       ok = false;
       return false;
     } else if (ps.size() == 1) {
-      uncheckedEnqueue(ps.get(0), null);
-      ok = propagate() == null;
+      uncheckedEnqueue(ps.get(0), CREF_UNDEF);
+      ok = propagate() == CREF_UNDEF;
       if (incremental)
         unitClauses.push(ps.get(0));
       return ok;
     } else {
-      final MSClause c = new MSClause(ps, false);
+      final int c = ca.alloc(ps, false);
       clauses.push(c);
       attachClause(c);
     }
     return true;
   }
 
+  @Override
+  public boolean eliminate() {
+    throw new UnsupportedOperationException("The MiniCard solver does not support variable elimination");
+  }
+
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
@@ -171,9 +173,9 @@ public final class MiniCard extends MiniSatStyleSolver {
       currRestarts++;
     }
     if (status == Tristate.TRUE) {
-      model = new LNGBooleanVector(vars.size());
-      for (final MSVariable v : this.vars)
-        model.push(v.assignment() == Tristate.TRUE);
+      model = new LNGBooleanVector(nVars());
+      for (int v = 0; v < nVars(); v++)
+        model.push(varValue(v) == Tristate.TRUE);
     } else if (status == Tristate.FALSE && conflict.empty())
       ok = false;
     if (this.handler != null)
@@ -204,7 +206,7 @@ public final class MiniCard extends MiniSatStyleSolver {
     int[] state;
     state = new int[5];
     state[0] = ok ? 1 : 0;
-    state[1] = vars.size();
+    state[1] = nVars();
     state[2] = clauses.size();
     state[3] = learnts.size();
     state[4] = unitClauses.size();
@@ -218,151 +220,153 @@ public final class MiniCard extends MiniSatStyleSolver {
     int i;
     completeBacktrack();
     this.ok = state[0] == 1;
-    int newVarsSize = Math.min(state[1], vars.size());
-    for (i = this.vars.size() - 1; i >= newVarsSize; i--)
+    int newVarsSize = Math.min(state[1], nVars());
+    for (i = nVars() - 1; i >= newVarsSize; i--)
       this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
-    vars.shrinkTo(newVarsSize);
+    shrinkVarState(newVarsSize);
+    int newArenaSize = this.ca.size();
     int newClausesSize = Math.min(state[2], this.clauses.size());
-    for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
+    for (i = this.clauses.size() - 1; i >= newClausesSize; i--) {
       simpleRemoveClause(this.clauses.get(i));
+      newArenaSize = Math.min(newArenaSize, this.clauses.get(i));
+    }
     this.clauses.shrinkTo(newClausesSize);
     int newLearntsSize = Math.min(state[3], this.learnts.size());
-    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
+    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--) {
       simpleRemoveClause(this.learnts.get(i));
+      newArenaSize = Math.min(newArenaSize, this.learnts.get(i));
+    }
     this.learnts.shrinkTo(newLearntsSize);
+    this.ca.shrinkTo(newArenaSize);
     this.watches.shrinkTo(newVarsSize * 2);
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
-      uncheckedEnqueue(this.unitClauses.get(i), null);
-      this.ok = propagate() == null;
+      uncheckedEnqueue(this.unitClauses.get(i), CREF_UNDEF);
+      this.ok = propagate() == CREF_UNDEF;
     }
   }
 
   @Override
-  protected void uncheckedEnqueue(int lit, MSClause reason) {
+  protected void uncheckedEnqueue(int lit, int reason) {
     assert value(lit) == Tristate.UNDEF;
-    final MSVariable var = v(lit);
-    var.assign(Tristate.fromBool(!sign(lit)));
-    var.setReason(reason);
-    var.setLevel(decisionLevel());
+    assign(lit);
+    reasons.set(var(lit), reason);
+    levels.set(var(lit), decisionLevel());
     trail.push(lit);
   }
 
   @Override
-  protected void attachClause(final MSClause c) {
-    if (c.isAtMost()) {
-      for (int i = 0; i < c.atMostWatchers(); i++) {
-        final int l = c.get(i);
-        watches.get(l).push(new MSWatcher(c, LIT_UNDEF));
+  protected void attachClause(final int c) {
+    if (ca.isAtMost(c)) {
+      for (int i = 0; i < ca.atMostWatchers(c); i++) {
+        final int l = ca.get(c, i);
+        watches.get(l).push(c, LIT_UNDEF);
       }
-      clausesLiterals += c.size();
+      clausesLiterals += ca.size(c);
     } else {
-      assert c.size() > 1;
-      watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
-      if (c.learnt())
-        learntsLiterals += c.size();
+      assert ca.size(c) > 1;
+      watches.get(not(ca.get(c, 0))).push(c, ca.get(c, 1));
+      watches.get(not(ca.get(c, 1))).push(c, ca.get(c, 0));
+      if (ca.learnt(c))
+        learntsLiterals += ca.size(c);
       else
-        clausesLiterals += c.size();
+        clausesLiterals += ca.size(c);
     }
   }
 
   @Override
-  protected void detachClause(final MSClause c) {
-    assert !c.isAtMost();
-    assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
-    if (c.learnt())
-      learntsLiterals -= c.size();
+  protected void detachClause(final int c) {
+    assert !ca.isAtMost(c);
+    assert ca.size(c) > 1;
+    watches.get(not(ca.get(c, 0))).remove(c);
+    watches.get(not(ca.get(c, 1))).remove(c);
+    if (ca.learnt(c))
+      learntsLiterals -= ca.size(c);
     else
-      clausesLiterals -= c.size();
+      clausesLiterals -= ca.size(c);
   }
 
   @Override
-  protected void removeClause(final MSClause c) {
-    if (c.isAtMost()) {
+  protected void removeClause(final int c) {
+    if (ca.isAtMost(c)) {
       detachAtMost(c);
-      for (int i = 0; i < c.atMostWatchers(); i++)
-        if (value(c.get(i)) == Tristate.FALSE && v(c.get(i)).reason() != null && v(c.get(i)).reason() == c)
-          v(c.get(i)).setReason(null);
+      for (int i = 0; i < ca.atMostWatchers(c); i++)
+        if (value(ca.get(c, i)) == Tristate.FALSE && reason(var(ca.get(c, i))) == c)
+          reasons.set(var(ca.get(c, i)), CREF_UNDEF);
     } else {
       detachClause(c);
       if (locked(c))
-        v(c.get(0)).setReason(null);
+        reasons.set(var(ca.get(c, 0)), CREF_UNDEF);
     }
+    ca.free(c);
   }
 
   @Override
-  protected MSClause propagate() {
-    MSClause confl = null;
+  protected int propagate() {
+    int confl = CREF_UNDEF;
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (blocker != LIT_UNDEF && value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
+        int c = ws.clause(iInd);
 
-        if (c.isAtMost()) {
+        if (ca.isAtMost(c)) {
           int newWatch = findNewWatch(c, p);
           if (newWatch == LIT_UNDEF) {
-            for (int k = 0; k < c.atMostWatchers(); k++)
-              if (c.get(k) != p && value(c.get(k)) != Tristate.FALSE) {
-                assert value(c.get(k)) == Tristate.UNDEF || value(c.get(k)) == Tristate.FALSE;
-                uncheckedEnqueue(not(c.get(k)), c);
+            for (int k = 0; k < ca.atMostWatchers(c); k++)
+              if (ca.get(c, k) != p && value(ca.get(c, k)) != Tristate.FALSE) {
+                assert value(ca.get(c, k)) == Tristate.UNDEF || value(ca.get(c, k)) == Tristate.FALSE;
+                uncheckedEnqueue(not(ca.get(c, k)), c);
               }
-            ws.set(jInd++, ws.get(iInd++));
+            ws.move(iInd++, jInd++);
           } else if (newWatch == LIT_ERROR) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else if (newWatch == p)
-            ws.set(jInd++, ws.get(iInd++));
+            ws.move(iInd++, jInd++);
           else {
             iInd++;
-            MSWatcher w = new MSWatcher(c, LIT_UNDEF);
-            watches.get(newWatch).push(w);
+            watches.get(newWatch).push(c, LIT_UNDEF);
           }
         } else {
           int falseLit = not(p);
-          if (c.get(0) == falseLit) {
-            c.set(0, c.get(1));
-            c.set(1, falseLit);
+          if (ca.get(c, 0) == falseLit) {
+            ca.set(c, 0, ca.get(c, 1));
+            ca.set(c, 1, falseLit);
           }
-          assert c.get(1) == falseLit;
+          assert ca.get(c, 1) == falseLit;
           iInd++;
-          int first = c.get(0);
-          MSWatcher w = new MSWatcher(c, first);
+          int first = ca.get(c, 0);
           if (first != blocker && value(first) == Tristate.TRUE) {
-            ws.set(jInd++, w);
+            ws.set(jInd++, c, first);
             continue;
           }
           boolean foundWatch = false;
-          for (int k = 2; k < c.size() && !foundWatch; k++)
-            if (value(c.get(k)) != Tristate.FALSE) {
-              c.set(1, c.get(k));
-              c.set(k, falseLit);
-              watches.get(not(c.get(1))).push(w);
+          for (int k = 2; k < ca.size(c) && !foundWatch; k++)
+            if (value(ca.get(c, k)) != Tristate.FALSE) {
+              ca.set(c, 1, ca.get(c, k));
+              ca.set(c, k, falseLit);
+              watches.get(not(ca.get(c, 1))).push(c, first);
               foundWatch = true;
             }
           if (!foundWatch) {
-            ws.set(jInd++, w);
+            ws.set(jInd++, c, first);
             if (value(first) == Tristate.FALSE) {
               confl = c;
               qhead = trail.size();
               while (iInd < ws.size())
-                ws.set(jInd++, ws.get(iInd++));
+                ws.move(iInd++, jInd++);
             } else
               uncheckedEnqueue(first, c);
           }
@@ -380,16 +384,16 @@ public final class MiniCard extends MiniSatStyleSolver {
     analyzeStack.push(p);
     int top = analyzeToClear.size();
     while (analyzeStack.size() > 0) {
-      assert v(analyzeStack.back()).reason() != null;
-      MSClause c = v(analyzeStack.back()).reason();
+      assert reason(var(analyzeStack.back())) != CREF_UNDEF;
+      int c = reason(var(analyzeStack.back()));
       analyzeStack.pop();
-      if (c.isAtMost()) {
-        for (int i = 0; i < c.size(); i++) {
-          if (value(c.get(i)) != Tristate.TRUE)
+      if (ca.isAtMost(c)) {
+        for (int i = 0; i < ca.size(c); i++) {
+          if (value(ca.get(c, i)) != Tristate.TRUE)
             continue;
-          final int q = not(c.get(i));
-          if (!seen.get(var(q)) && v(q).level() > 0) {
-            if (v(q).reason() != null && (abstractLevel(var(q)) & abstractLevels) != 0) {
+          final int q = not(ca.get(c, i));
+          if (!seen.get(var(q)) && level(var(q)) > 0) {
+            if (reason(var(q)) != CREF_UNDEF && (abstractLevel(var(q)) & abstractLevels) != 0) {
               seen.set(var(q), true);
               analyzeStack.push(q);
               analyzeToClear.push(q);
@@ -402,10 +406,10 @@ public final class MiniCard extends MiniSatStyleSolver {
           }
         }
       } else {
-        for (int i = 1; i < c.size(); i++) {
-          final int q = c.get(i);
-          if (!seen.get(var(q)) && v(q).level() > 0) {
-            if (v(q).reason() != null && (abstractLevel(var(q)) & abstractLevels) != 0) {
+        for (int i = 1; i < ca.size(c); i++) {
+          final int q = ca.get(c, i);
+          if (!seen.get(var(q)) && level(var(q)) > 0) {
+            if (reason(var(q)) != CREF_UNDEF && (abstractLevel(var(q)) & abstractLevels) != 0) {
               seen.set(var(q), true);
               analyzeStack.push(q);
               analyzeToClear.push(q);
@@ -430,24 +434,22 @@ public final class MiniCard extends MiniSatStyleSolver {
       return;
     seen.set(var(p), true);
     int x;
-    MSVariable v;
     for (int i = trail.size() - 1; i >= trailLim.get(0); i--) {
       x = var(trail.get(i));
       if (seen.get(x)) {
-        v = this.vars.get(x);
-        if (v.reason() == null) {
-          assert v.level() > 0;
+        if (reason(x) == CREF_UNDEF) {
+          assert level(x) > 0;
           outConflict.push(not(trail.get(i)));
         } else {
-          final MSClause c = v.reason();
-          if (!c.isAtMost()) {
-            for (int j = 1; j < c.size(); j++)
-              if (v(c.get(j)).level() > 0)
-                seen.set(var(c.get(j)), true);
+          final int c = reason(x);
+          if (!ca.isAtMost(c)) {
+            for (int j = 1; j < ca.size(c); j++)
+              if (level(var(ca.get(c, j))) > 0)
+                seen.set(var(ca.get(c, j)), true);
           } else {
-            for (int j = 0; j < c.size(); j++)
-              if (value(c.get(j)) == Tristate.TRUE && v(c.get(j)).level() > 0)
-                seen.set(var(c.get(j)), true);
+            for (int j = 0; j < ca.size(c); j++)
+              if (value(ca.get(c, j)) == Tristate.TRUE && level(var(ca.get(c, j))) > 0)
+                seen.set(var(ca.get(c, j)), true);
           }
         }
         seen.set(x, false);
@@ -461,9 +463,8 @@ public final class MiniCard extends MiniSatStyleSolver {
     if (decisionLevel() > level) {
       for (int c = trail.size() - 1; c >= trailLim.get(level); c--) {
         int x = var(trail.get(c));
-        MSVariable v = this.vars.get(x);
-        v.assign(Tristate.UNDEF);
-        v.setPolarity(sign(trail.get(c)));
+        unassign(x);
+        setPolarity(x, sign(trail.get(c)));
         insertVarOrder(x);
       }
       qhead = trailLim.get(level);
@@ -477,24 +478,25 @@ public final class MiniCard extends MiniSatStyleSolver {
     int i;
     int j;
     double extraLim = claInc / learnts.size();
-    learnts.manualSort(MSClause.minisatComparator);
+    learnts.manualSort(ca::compareMiniSat);
     for (i = j = 0; i < learnts.size(); i++) {
-      final MSClause c = learnts.get(i);
-      assert !c.isAtMost();
-      if (c.size() > 2 && !locked(c) && (i < learnts.size() / 2 || c.activity() < extraLim))
+      final int c = learnts.get(i);
+      assert !ca.isAtMost(c);
+      if (ca.size(c) > 2 && !locked(c) && (i < learnts.size() / 2 || ca.activity(c) < extraLim))
         removeClause(learnts.get(i));
       else
         learnts.set(j++, learnts.get(i));
     }
     learnts.removeElements(i - j);
+    checkGarbage();
   }
 
   @Override
-  protected void removeSatisfied(final LNGVector<MSClause> cs) {
+  protected void removeSatisfied(final LNGIntVector cs) {
     int i;
     int j;
     for (i = j = 0; i < cs.size(); i++) {
-      final MSClause c = cs.get(i);
+      final int c = cs.get(i);
       if (satisfied(c))
         removeClause(cs.get(i));
       else
@@ -504,19 +506,19 @@ public final class MiniCard extends MiniSatStyleSolver {
   }
 
   @Override
-  protected boolean satisfied(final MSClause c) {
-    if (c.isAtMost()) {
+  protected boolean satisfied(final int c) {
+    if (ca.isAtMost(c)) {
       int numFalse = 0;
-      for (int i = 0; i < c.size(); i++) {
-        if (value(c.get(i)) == Tristate.FALSE) {
+      for (int i = 0; i < ca.size(c); i++) {
+        if (value(ca.get(c, i)) == Tristate.FALSE) {
           numFalse++;
-          if (numFalse >= c.atMostWatchers() - 1)
+          if (numFalse >= ca.atMostWatchers(c) - 1)
             return true;
         }
       }
     } else {
-      for (int i = 0; i < c.size(); i++)
-        if (value(c.get(i)) == Tristate.TRUE)
+      for (int i = 0; i < ca.size(c); i++)
+        if (value(ca.get(c, i)) == Tristate.TRUE)
           return true;
     }
     return false;
@@ -525,7 +527,7 @@ public final class MiniCard extends MiniSatStyleSolver {
   @Override
   protected boolean simplify() {
     assert decisionLevel() == 0;
-    if (!ok || propagate() != null) {
+    if (!ok || propagate() != CREF_UNDEF) {
       ok = false;
       return false;
     }
@@ -534,6 +536,7 @@ public final class MiniCard extends MiniSatStyleSolver {
     removeSatisfied(learnts);
     if (removeSatisfied)
       removeSatisfied(clauses);
+    checkGarbage();
     rebuildOrderHeap();
     simpDBAssigns = nAssigns();
     simpDBProps = clausesLiterals + learntsLiterals;
@@ -576,15 +579,15 @@ public final class MiniCard extends MiniSatStyleSolver {
     }
     if (k == 0) {
       for (i = 0; i < ps.size(); i++) {
-        uncheckedEnqueue(not(ps.get(i)), null);
+        uncheckedEnqueue(not(ps.get(i)), CREF_UNDEF);
         if (incremental)
           unitClauses.push(not(ps.get(i)));
       }
-      ok = propagate() == null;
+      ok = propagate() == CREF_UNDEF;
       return ok;
     }
-    final MSClause cr = new MSClause(ps, false, true);
-    cr.setAtMostWatchers(ps.size() - k + 1);
+    final int cr = ca.alloc(ps, false, true);
+    ca.setAtMostWatchers(cr, ps.size() - k + 1);
     clauses.push(cr);
     attachClause(cr);
     return true;
@@ -594,10 +597,10 @@ public final class MiniCard extends MiniSatStyleSolver {
    * Detaches a given at-most clause.
    * @param c the at-most clause.
    */
-  private void detachAtMost(final MSClause c) {
-    for (int i = 0; i < c.atMostWatchers(); i++)
-      watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
-    clausesLiterals -= c.size();
+  private void detachAtMost(final int c) {
+    for (int i = 0; i < ca.atMostWatchers(c); i++)
+      watches.get(ca.get(c, i)).remove(c);
+    clausesLiterals -= ca.size(c);
   }
 
   /**
@@ -611,8 +614,8 @@ public final class MiniCard extends MiniSatStyleSolver {
       return Tristate.FALSE;
     int conflictC = 0;
     while (true) {
-      MSClause confl = propagate();
-      if (confl != null) {
+      int confl = propagate();
+      if (confl != CREF_UNDEF) {
         if (handler != null && !handler.detectedConflict()) {
           canceledByHandler = true;
           return Tristate.UNDEF;
@@ -624,10 +627,10 @@ public final class MiniCard extends MiniSatStyleSolver {
         analyze(confl, learntClause);
         cancelUntil(analyzeBtLevel);
         if (learntClause.size() == 1) {
-          uncheckedEnqueue(learntClause.get(0), null);
+          uncheckedEnqueue(learntClause.get(0), CREF_UNDEF);
           this.unitClauses.push(learntClause.get(0));
         } else {
-          final MSClause cr = new MSClause(learntClause, true);
+          final int cr = ca.alloc(learntClause, true);
           learnts.push(cr);
           attachClause(cr);
           if (!incremental)
@@ -672,24 +675,24 @@ public final class MiniCard extends MiniSatStyleSolver {
             return Tristate.TRUE;
         }
         trailLim.push(trail.size());
-        uncheckedEnqueue(next, null);
+        uncheckedEnqueue(next, CREF_UNDEF);
       }
     }
   }
 
-  private int findNewWatch(final MSClause c, int p) {
-    assert c.isAtMost();
+  private int findNewWatch(final int c, int p) {
+    assert ca.isAtMost(c);
     int newWatch = LIT_ERROR;
     int numFalse = 0;
     int numTrue = 0;
-    int maxTrue = c.size() - c.atMostWatchers() + 1;
-    for (int q = 0; q < c.atMostWatchers(); q++) {
-      Tristate val = value(c.get(q));
+    int maxTrue = ca.size(c) - ca.atMostWatchers(c) + 1;
+    for (int q = 0; q < ca.atMostWatchers(c); q++) {
+      Tristate val = value(ca.get(c, q));
       if (val == Tristate.UNDEF)
         continue;
       else if (val == Tristate.FALSE) {
         numFalse++;
-        if (numFalse >= c.atMostWatchers() - 1)
+        if (numFalse >= ca.atMostWatchers(c) - 1)
           return p;
         continue;
       }
@@ -697,13 +700,13 @@ public final class MiniCard extends MiniSatStyleSolver {
       numTrue++;
       if (numTrue > maxTrue)
         return LIT_ERROR;
-      if (c.get(q) == p) {
+      if (ca.get(c, q) == p) {
         assert newWatch == LIT_ERROR;
-        for (int next = c.atMostWatchers(); next < c.size(); next++)
-          if (value(c.get(next)) != Tristate.TRUE) {
-            newWatch = c.get(next);
-            c.set(next, c.get(q));
-            c.set(q, newWatch);
+        for (int next = ca.atMostWatchers(c); next < ca.size(c); next++)
+          if (value(ca.get(c, next)) != Tristate.TRUE) {
+            newWatch = ca.get(c, next);
+            ca.set(c, next, ca.get(c, q));
+            ca.set(c, q, newWatch);
             return newWatch;
           }
         newWatch = LIT_UNDEF;
@@ -722,37 +725,37 @@ public final class MiniCard extends MiniSatStyleSolver {
    * @param conflictClause the conflict clause to start the resolution analysis with
    * @param outLearnt      the vector where the new learnt 1-UIP clause is stored
    */
-  private void analyze(final MSClause conflictClause, final LNGIntVector outLearnt) {
-    MSClause c = conflictClause;
+  private void analyze(final int conflictClause, final LNGIntVector outLearnt) {
+    int c = conflictClause;
     int pathC = 0;
     int p = LIT_UNDEF;
     outLearnt.push(-1);
     int index = trail.size() - 1;
     do {
-      assert c != null;
-      if (c.isAtMost()) {
-        for (int j = 0; j < c.size(); j++) {
-          if (value(c.get(j)) != Tristate.TRUE)
+      assert c != CREF_UNDEF;
+      if (ca.isAtMost(c)) {
+        for (int j = 0; j < ca.size(c); j++) {
+          if (value(ca.get(c, j)) != Tristate.TRUE)
             continue;
-          final int q = not(c.get(j));
-          if (!seen.get(var(q)) && v(q).level() > 0) {
+          final int q = not(ca.get(c, j));
+          if (!seen.get(var(q)) && level(var(q)) > 0) {
             varBumpActivity(var(q));
             seen.set(var(q), true);
-            if (v(q).level() >= decisionLevel())
+            if (level(var(q)) >= decisionLevel())
               pathC++;
             else
               outLearnt.push(q);
           }
         }
       } else {
-        if (!incremental && c.learnt())
+        if (!incremental && ca.learnt(c))
           claBumpActivity(c);
-        for (int j = (p == LIT_UNDEF) ? 0 : 1; j < c.size(); j++) {
-          int q = c.get(j);
-          if (!seen.get(var(q)) && v(q).level() > 0) {
+        for (int j = (p == LIT_UNDEF) ? 0 : 1; j < ca.size(c); j++) {
+          int q = ca.get(c, j);
+          if (!seen.get(var(q)) && level(var(q)) > 0) {
             varBumpActivity(var(q));
             seen.set(var(q), true);
-            if (v(q).level() >= decisionLevel())
+            if (level(var(q)) >= decisionLevel())
               pathC++;
             else
               outLearnt.push(q);
@@ -761,7 +764,7 @@ public final class MiniCard extends MiniSatStyleSolver {
       }
       while (!seen.get(var(trail.get(index--)))) ;
       p = trail.get(index + 1);
-      c = v(p).reason();
+      c = reason(var(p));
       seen.set(var(p), false);
       pathC--;
     } while (pathC > 0);
@@ -782,17 +785,17 @@ public final class MiniCard extends MiniSatStyleSolver {
       for (i = 1; i < outLearnt.size(); i++)
         abstractLevel |= abstractLevel(var(outLearnt.get(i)));
       for (i = j = 1; i < outLearnt.size(); i++)
-        if (v(outLearnt.get(i)).reason() == null || !litRedundant(outLearnt.get(i), abstractLevel))
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF || !litRedundant(outLearnt.get(i), abstractLevel))
           outLearnt.set(j++, outLearnt.get(i));
     } else if (ccminMode == MiniSatConfig.ClauseMinimization.BASIC) {
       for (i = j = 1; i < outLearnt.size(); i++) {
-        if (v(outLearnt.get(i)).reason() == null)
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF)
           outLearnt.set(j++, outLearnt.get(i));
         else {
-          MSClause c = v(outLearnt.get(i)).reason();
-          assert !c.isAtMost();
-          for (int k = 1; k < c.size(); k++)
-            if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
+          int c = reason(var(outLearnt.get(i)));
+          assert !ca.isAtMost(c);
+          for (int k = 1; k < ca.size(c); k++)
+            if (!seen.get(var(ca.get(c, k))) && level(var(ca.get(c, k))) > 0) {
               outLearnt.set(j++, outLearnt.get(i));
               break;
             }
@@ -805,12 +808,12 @@ public final class MiniCard extends MiniSatStyleSolver {
     if (outLearnt.size() > 1) {
       int max = 1;
       for (int k = 2; k < outLearnt.size(); k++)
-        if (v(outLearnt.get(k)).level() > v(outLearnt.get(max)).level())
+        if (level(var(outLearnt.get(k))) > level(var(outLearnt.get(max))))
           max = k;
       int p = outLearnt.get(max);
       outLearnt.set(max, outLearnt.get(1));
       outLearnt.set(1, p);
-      analyzeBtLevel = v(p).level();
+      analyzeBtLevel = level(var(p));
     }
     for (int l = 0; l < analyzeToClear.size(); l++)
       seen.set(var(analyzeToClear.get(l)), false);
@@ -820,11 +823,10 @@ public final class MiniCard extends MiniSatStyleSolver {
    * Performs an unconditional backtrack to level zero.
    */
   private void completeBacktrack() {
-    for (int v = 0; v < vars.size(); v++) {
-      MSVariable var = vars.get(v);
-      var.assign(Tristate.UNDEF);
-      var.setReason(null);
-      if (!orderHeap.inHeap(v) && var.decision())
+    for (int v = 0; v < nVars(); v++) {
+      unassign(v);
+      reasons.set(v, CREF_UNDEF);
+      if (!orderHeap.inHeap(v) && decision(v))
         orderHeap.insert(v);
     }
     trail.clear();
@@ -836,13 +838,13 @@ public final class MiniCard extends MiniSatStyleSolver {
    * Performs a simple removal of clauses used during the loading of an older state.
    * @param c the clause to remove
    */
-  private void simpleRemoveClause(final MSClause c) {
-    if (c.isAtMost())
-      for (int i = 0; i < c.atMostWatchers(); i++)
-        watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
+  private void simpleRemoveClause(final int c) {
+    if (ca.isAtMost(c))
+      for (int i = 0; i < ca.atMostWatchers(c); i++)
+        watches.get(ca.get(c, i)).remove(c);
     else {
-      watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-      watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+      watches.get(not(ca.get(c, 0))).remove(c);
+      watches.get(not(ca.get(c, 1))).remove(c);
     }
   }
 }
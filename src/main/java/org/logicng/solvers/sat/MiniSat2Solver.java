@@ -49,9 +49,9 @@ import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
-import org.logicng.solvers.datastructures.MSClause;
-import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSWatchList;
+
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
 
 /**
  * A solver based on MiniSAT 2.2.0.  If the incremental mode is deactivated, this version should behave exactly
@@ -61,7 +61,7 @@ import org.logicng.solvers.datastructures.MSWatcher;
  * Therefore clause deletion and simplifications are deactivated in this mode.  This mode is most efficient on small
  * to mid-size industrial formulas (up to 50,000 variables, 100,000 clauses).  Whenever you have lots of small formulas
  * to solve or need the ability to add and delete formulas from the solver, we recommend to consider this mode.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class MiniSat2Solver extends MiniSatStyleSolver {
@@ -72,6 +72,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
   private int learntsizeAdjustStartConfl;
   private double learntsizeAdjustInc;
   private double maxLearnts;
+  private int eliminations;
 
   /**
    * Constructs a new MiniSAT 2 solver with the default values for solver configuration.  By default, incremental mode
@@ -100,17 +101,15 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     this.learntsizeAdjustStartConfl = 100;
     this.learntsizeAdjustInc = 1.5;
     this.maxLearnts = 0;
+    this.eliminations = 0;
   }
 
   @Override
   public int newVar(boolean sign, boolean dvar) {
-    int v = vars.size();
-    MSVariable newVar = new MSVariable(sign);
-    vars.push(newVar);
-    watches.push(new LNGVector<>());
-    watches.push(new LNGVector<>());
+    int v = newVarState(sign, dvar);
+    watches.push(new MSWatchList());
+    watches.push(new MSWatchList());
     seen.push(false);
-    newVar.setDecision(dvar);
     insertVarOrder(v);
     return v;
   }
@@ -118,6 +117,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   public boolean addClause(final LNGIntVector ps) {
     assert decisionLevel() == 0;
+    checkNotEliminated(ps);
     if (!ok)
       return false;
     ps.sort();
@@ -136,19 +136,33 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       ok = false;
       return false;
     } else if (ps.size() == 1) {
-      uncheckedEnqueue(ps.get(0), null);
-      ok = propagate() == null;
+      uncheckedEnqueue(ps.get(0), CREF_UNDEF);
+      ok = propagate() == CREF_UNDEF;
       if (incremental)
         unitClauses.push(ps.get(0));
       return ok;
     } else {
-      final MSClause c = new MSClause(ps, false);
+      final int c = ca.alloc(ps, false);
       clauses.push(c);
       attachClause(c);
     }
     return true;
   }
 
+  @Override
+  public boolean eliminate() {
+    final boolean result = super.eliminate();
+    if (result)
+      eliminations++;
+    if (incremental) {
+      // removed clauses may have implied assignments on level 0, so these have to be restored as unit clauses
+      unitClauses.clear();
+      for (int i = 0; i < trail.size(); i++)
+        unitClauses.push(trail.get(i));
+    }
+    return result;
+  }
+
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
@@ -169,9 +183,10 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       currRestarts++;
     }
     if (status == Tristate.TRUE) {
-      model = new LNGBooleanVector(vars.size());
-      for (final MSVariable v : this.vars)
-        model.push(v.assignment() == Tristate.TRUE);
+      model = new LNGBooleanVector(nVars());
+      for (int v = 0; v < nVars(); v++)
+        model.push(varValue(v) == Tristate.TRUE);
+      extendModel();
     } else if (status == Tristate.FALSE && conflict.empty())
       ok = false;
     if (this.handler != null)
@@ -190,9 +205,13 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
 
   /**
    * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
-   * structures.  The array has length 5 and has the following layout:
+   * structures.  The array has length 6 and has the following layout:
+   * <p>
+   * {@code | current solver state | #vars | #clauses | #learnt clauses | #unit clauses | #eliminations |}
    * <p>
-   * {@code | current solver state | #vars | #clauses | #learnt clauses | #unit clauses |}
+   * The current solver state is 1 if the solver is in a consistent state and 0 otherwise.  The number of variable
+   * eliminations performed before saving the state is stored such that states saved before an elimination can be
+   * rejected by {@link #loadState(int[])}.
    * @return the current solver state
    */
   @Override
@@ -200,12 +219,13 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     if (!incremental)
       throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
     int[] state;
-    state = new int[5];
+    state = new int[6];
     state[0] = ok ? 1 : 0;
-    state[1] = vars.size();
+    state[1] = nVars();
     state[2] = clauses.size();
     state[3] = learnts.size();
     state[4] = unitClauses.size();
+    state[5] = eliminations;
     return state;
   }
 
@@ -213,115 +233,120 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
   public void loadState(int[] state) {
     if (!incremental)
       throw new IllegalStateException("Cannot load a state when the incremental mode is deactivated");
+    if (state[5] != eliminations)
+      throw new IllegalArgumentException("Cannot load a state which was saved before the last variable elimination");
     int i;
     completeBacktrack();
     this.ok = state[0] == 1;
-    int newVarsSize = Math.min(state[1], vars.size());
-    for (i = this.vars.size() - 1; i >= newVarsSize; i--)
+    int newVarsSize = Math.min(state[1], nVars());
+    for (i = nVars() - 1; i >= newVarsSize; i--)
       this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
-    vars.shrinkTo(newVarsSize);
+    shrinkVarState(newVarsSize);
+    int newArenaSize = this.ca.size();
     int newClausesSize = Math.min(state[2], this.clauses.size());
-    for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
+    for (i = this.clauses.size() - 1; i >= newClausesSize; i--) {
       simpleRemoveClause(this.clauses.get(i));
+      newArenaSize = Math.min(newArenaSize, this.clauses.get(i));
+    }
     this.clauses.shrinkTo(newClausesSize);
     int newLearntsSize = Math.min(state[3], this.learnts.size());
-    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--)
+    for (i = this.learnts.size() - 1; i >= newLearntsSize; i--) {
       simpleRemoveClause(this.learnts.get(i));
+      newArenaSize = Math.min(newArenaSize, this.learnts.get(i));
+    }
     this.learnts.shrinkTo(newLearntsSize);
+    this.ca.shrinkTo(newArenaSize);
     this.watches.shrinkTo(newVarsSize * 2);
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
-      uncheckedEnqueue(this.unitClauses.get(i), null);
-      this.ok = propagate() == null;
+      uncheckedEnqueue(this.unitClauses.get(i), CREF_UNDEF);
+      this.ok = propagate() == CREF_UNDEF;
     }
   }
 
   @Override
-  protected void uncheckedEnqueue(int lit, MSClause reason) {
+  protected void uncheckedEnqueue(int lit, int reason) {
     assert value(lit) == Tristate.UNDEF;
-    final MSVariable var = v(lit);
-    var.assign(Tristate.fromBool(!sign(lit)));
-    var.setReason(reason);
-    var.setLevel(decisionLevel());
+    assign(lit);
+    reasons.set(var(lit), reason);
+    levels.set(var(lit), decisionLevel());
     trail.push(lit);
   }
 
   @Override
-  protected void attachClause(final MSClause c) {
-    assert c.size() > 1;
-    watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
-    if (c.learnt())
-      learntsLiterals += c.size();
+  protected void attachClause(final int c) {
+    assert ca.size(c) > 1;
+    watches.get(not(ca.get(c, 0))).push(c, ca.get(c, 1));
+    watches.get(not(ca.get(c, 1))).push(c, ca.get(c, 0));
+    if (ca.learnt(c))
+      learntsLiterals += ca.size(c);
     else
-      clausesLiterals += c.size();
+      clausesLiterals += ca.size(c);
   }
 
   @Override
-  protected void detachClause(final MSClause c) {
-    assert c.size() > 1;
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
-    if (c.learnt())
-      learntsLiterals -= c.size();
+  protected void detachClause(final int c) {
+    assert ca.size(c) > 1;
+    watches.get(not(ca.get(c, 0))).remove(c);
+    watches.get(not(ca.get(c, 1))).remove(c);
+    if (ca.learnt(c))
+      learntsLiterals -= ca.size(c);
     else
-      clausesLiterals -= c.size();
+      clausesLiterals -= ca.size(c);
   }
 
   @Override
-  protected void removeClause(final MSClause c) {
+  protected void removeClause(final int c) {
     detachClause(c);
     if (locked(c))
-      v(c.get(0)).setReason(null);
+      reasons.set(var(ca.get(c, 0)), CREF_UNDEF);
+    ca.free(c);
   }
 
   @Override
-  protected MSClause propagate() {
-    MSClause confl = null;
+  protected int propagate() {
+    int confl = CREF_UNDEF;
     int numProps = 0;
     while (qhead < trail.size()) {
       int p = trail.get(qhead++);
-      LNGVector<MSWatcher> ws = watches.get(p);
+      MSWatchList ws = watches.get(p);
       int iInd = 0;
       int jInd = 0;
       numProps++;
       while (iInd < ws.size()) {
-        MSWatcher i = ws.get(iInd);
-        int blocker = i.blocker();
+        int blocker = ws.blocker(iInd);
         if (value(blocker) == Tristate.TRUE) {
-          ws.set(jInd++, i);
-          iInd++;
+          ws.move(iInd++, jInd++);
           continue;
         }
-        MSClause c = i.clause();
+        int c = ws.clause(iInd);
         int falseLit = not(p);
-        if (c.get(0) == falseLit) {
-          c.set(0, c.get(1));
-          c.set(1, falseLit);
+        if (ca.get(c, 0) == falseLit) {
+          ca.set(c, 0, ca.get(c, 1));
+          ca.set(c, 1, falseLit);
         }
-        assert c.get(1) == falseLit;
+        assert ca.get(c, 1) == falseLit;
         iInd++;
-        int first = c.get(0);
-        MSWatcher w = new MSWatcher(c, first);
+        int first = ca.get(c, 0);
         if (first != blocker && value(first) == Tristate.TRUE) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           continue;
         }
         boolean foundWatch = false;
-        for (int k = 2; k < c.size() && !foundWatch; k++)
-          if (value(c.get(k)) != Tristate.FALSE) {
-            c.set(1, c.get(k));
-            c.set(k, falseLit);
-            watches.get(not(c.get(1))).push(w);
+        for (int k = 2; k < ca.size(c) && !foundWatch; k++)
+          if (value(ca.get(c, k)) != Tristate.FALSE) {
+            ca.set(c, 1, ca.get(c, k));
+            ca.set(c, k, falseLit);
+            watches.get(not(ca.get(c, 1))).push(c, first);
             foundWatch = true;
           }
         if (!foundWatch) {
-          ws.set(jInd++, w);
+          ws.set(jInd++, c, first);
           if (value(first) == Tristate.FALSE) {
             confl = c;
             qhead = trail.size();
             while (iInd < ws.size())
-              ws.set(jInd++, ws.get(iInd++));
+              ws.move(iInd++, jInd++);
           } else
             uncheckedEnqueue(first, c);
         }
@@ -338,13 +363,13 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     analyzeStack.push(p);
     int top = analyzeToClear.size();
     while (analyzeStack.size() > 0) {
-      assert v(analyzeStack.back()).reason() != null;
-      MSClause c = v(analyzeStack.back()).reason();
+      assert reason(var(analyzeStack.back())) != CREF_UNDEF;
+      int c = reason(var(analyzeStack.back()));
       analyzeStack.pop();
-      for (int i = 1; i < c.size(); i++) {
-        final int q = c.get(i);
-        if (!seen.get(var(q)) && v(q).level() > 0) {
-          if (v(q).reason() != null && (abstractLevel(var(q)) & abstractLevels) != 0) {
+      for (int i = 1; i < ca.size(c); i++) {
+        final int q = ca.get(c, i);
+        if (!seen.get(var(q)) && level(var(q)) > 0) {
+          if (reason(var(q)) != CREF_UNDEF && (abstractLevel(var(q)) & abstractLevels) != 0) {
             seen.set(var(q), true);
             analyzeStack.push(q);
             analyzeToClear.push(q);
@@ -368,19 +393,17 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       return;
     seen.set(var(p), true);
     int x;
-    MSVariable v;
     for (int i = trail.size() - 1; i >= trailLim.get(0); i--) {
       x = var(trail.get(i));
       if (seen.get(x)) {
-        v = this.vars.get(x);
-        if (v.reason() == null) {
-          assert v.level() > 0;
+        if (reason(x) == CREF_UNDEF) {
+          assert level(x) > 0;
           outConflict.push(not(trail.get(i)));
         } else {
-          final MSClause c = v.reason();
-          for (int j = 1; j < c.size(); j++)
-            if (v(c.get(j)).level() > 0)
-              seen.set(var(c.get(j)), true);
+          final int c = reason(x);
+          for (int j = 1; j < ca.size(c); j++)
+            if (level(var(ca.get(c, j))) > 0)
+              seen.set(var(ca.get(c, j)), true);
         }
         seen.set(x, false);
       }
@@ -393,9 +416,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     if (decisionLevel() > level) {
       for (int c = trail.size() - 1; c >= trailLim.get(level); c--) {
         int x = var(trail.get(c));
-        MSVariable v = this.vars.get(x);
-        v.assign(Tristate.UNDEF);
-        v.setPolarity(sign(trail.get(c)));
+        unassign(x);
+        setPolarity(x, sign(trail.get(c)));
         insertVarOrder(x);
       }
       qhead = trailLim.get(level);
@@ -409,31 +431,32 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     int i;
     int j;
     double extraLim = claInc / learnts.size();
-    learnts.manualSort(MSClause.minisatComparator);
+    learnts.manualSort(ca::compareMiniSat);
     for (i = j = 0; i < learnts.size(); i++) {
-      final MSClause c = learnts.get(i);
-      if (c.size() > 2 && !locked(c) && (i < learnts.size() / 2 || c.activity() < extraLim))
+      final int c = learnts.get(i);
+      if (ca.size(c) > 2 && !locked(c) && (i < learnts.size() / 2 || ca.activity(c) < extraLim))
         removeClause(learnts.get(i));
       else
         learnts.set(j++, learnts.get(i));
     }
     learnts.removeElements(i - j);
+    checkGarbage();
   }
 
   @Override
-  protected void removeSatisfied(final LNGVector<MSClause> cs) {
+  protected void removeSatisfied(final LNGIntVector cs) {
     int i;
     int j;
     for (i = j = 0; i < cs.size(); i++) {
-      final MSClause c = cs.get(i);
+      final int c = cs.get(i);
       if (satisfied(c))
         removeClause(cs.get(i));
       else {
-        assert value(c.get(0)) == Tristate.UNDEF && value(c.get(1)) == Tristate.UNDEF;
-        for (int k = 2; k < c.size(); k++)
-          if (value(c.get(k)) == Tristate.FALSE) {
-            c.set(k--, c.get(c.size() - 1));
-            c.pop();
+        assert value(ca.get(c, 0)) == Tristate.UNDEF && value(ca.get(c, 1)) == Tristate.UNDEF;
+        for (int k = 2; k < ca.size(c); k++)
+          if (value(ca.get(c, k)) == Tristate.FALSE) {
+            ca.set(c, k--, ca.get(c, ca.size(c) - 1));
+            ca.pop(c);
           }
         cs.set(j++, cs.get(i));
       }
@@ -442,9 +465,9 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
   }
 
   @Override
-  protected boolean satisfied(final MSClause c) {
-    for (int i = 0; i < c.size(); i++)
-      if (value(c.get(i)) == Tristate.TRUE)
+  protected boolean satisfied(final int c) {
+    for (int i = 0; i < ca.size(c); i++)
+      if (value(ca.get(c, i)) == Tristate.TRUE)
         return true;
     return false;
   }
@@ -452,7 +475,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
   @Override
   protected boolean simplify() {
     assert decisionLevel() == 0;
-    if (!ok || propagate() != null) {
+    if (!ok || propagate() != CREF_UNDEF) {
       ok = false;
       return false;
     }
@@ -461,6 +484,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     removeSatisfied(learnts);
     if (removeSatisfied)
       removeSatisfied(clauses);
+    checkGarbage();
     rebuildOrderHeap();
     simpDBAssigns = nAssigns();
     simpDBProps = clausesLiterals + learntsLiterals;
@@ -478,8 +502,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       return Tristate.FALSE;
     int conflictC = 0;
     while (true) {
-      MSClause confl = propagate();
-      if (confl != null) {
+      int confl = propagate();
+      if (confl != CREF_UNDEF) {
         if (handler != null && !handler.detectedConflict()) {
           canceledByHandler = true;
           return Tristate.UNDEF;
@@ -491,10 +515,10 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         analyze(confl, learntClause);
         cancelUntil(analyzeBtLevel);
         if (learntClause.size() == 1) {
-          uncheckedEnqueue(learntClause.get(0), null);
+          uncheckedEnqueue(learntClause.get(0), CREF_UNDEF);
           this.unitClauses.push(learntClause.get(0));
         } else {
-          final MSClause cr = new MSClause(learntClause, true);
+          final int cr = ca.alloc(learntClause, true);
           learnts.push(cr);
           attachClause(cr);
           if (!incremental)
@@ -539,7 +563,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
             return Tristate.TRUE;
         }
         trailLim.push(trail.size());
-        uncheckedEnqueue(next, null);
+        uncheckedEnqueue(next, CREF_UNDEF);
       }
     }
   }
@@ -550,22 +574,22 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
    * @param conflictClause the conflict clause to start the resolution analysis with
    * @param outLearnt      the vector where the new learnt 1-UIP clause is stored
    */
-  private void analyze(final MSClause conflictClause, final LNGIntVector outLearnt) {
-    MSClause c = conflictClause;
+  private void analyze(final int conflictClause, final LNGIntVector outLearnt) {
+    int c = conflictClause;
     int pathC = 0;
     int p = LIT_UNDEF;
     outLearnt.push(-1);
     int index = trail.size() - 1;
     do {
-      assert c != null;
-      if (!incremental && c.learnt())
+      assert c != CREF_UNDEF;
+      if (!incremental && ca.learnt(c))
         claBumpActivity(c);
-      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < c.size(); j++) {
-        int q = c.get(j);
-        if (!seen.get(var(q)) && v(q).level() > 0) {
+      for (int j = (p == LIT_UNDEF) ? 0 : 1; j < ca.size(c); j++) {
+        int q = ca.get(c, j);
+        if (!seen.get(var(q)) && level(var(q)) > 0) {
           varBumpActivity(var(q));
           seen.set(var(q), true);
-          if (v(q).level() >= decisionLevel())
+          if (level(var(q)) >= decisionLevel())
             pathC++;
           else
             outLearnt.push(q);
@@ -573,7 +597,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       }
       while (!seen.get(var(trail.get(index--)))) ;
       p = trail.get(index + 1);
-      c = v(p).reason();
+      c = reason(var(p));
       seen.set(var(p), false);
       pathC--;
     } while (pathC > 0);
@@ -594,16 +618,16 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       for (i = 1; i < outLearnt.size(); i++)
         abstractLevel |= abstractLevel(var(outLearnt.get(i)));
       for (i = j = 1; i < outLearnt.size(); i++)
-        if (v(outLearnt.get(i)).reason() == null || !litRedundant(outLearnt.get(i), abstractLevel))
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF || !litRedundant(outLearnt.get(i), abstractLevel))
           outLearnt.set(j++, outLearnt.get(i));
     } else if (ccminMode == MiniSatConfig.ClauseMinimization.BASIC) {
       for (i = j = 1; i < outLearnt.size(); i++) {
-        if (v(outLearnt.get(i)).reason() == null)
+        if (reason(var(outLearnt.get(i))) == CREF_UNDEF)
           outLearnt.set(j++, outLearnt.get(i));
         else {
-          MSClause c = v(outLearnt.get(i)).reason();
-          for (int k = 1; k < c.size(); k++)
-            if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
+          int c = reason(var(outLearnt.get(i)));
+          for (int k = 1; k < ca.size(c); k++)
+            if (!seen.get(var(ca.get(c, k))) && level(var(ca.get(c, k))) > 0) {
               outLearnt.set(j++, outLearnt.get(i));
               break;
             }
@@ -616,12 +640,12 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     if (outLearnt.size() > 1) {
       int max = 1;
       for (int k = 2; k < outLearnt.size(); k++)
-        if (v(outLearnt.get(k)).level() > v(outLearnt.get(max)).level())
+        if (level(var(outLearnt.get(k))) > level(var(outLearnt.get(max))))
           max = k;
       int p = outLearnt.get(max);
       outLearnt.set(max, outLearnt.get(1));
       outLearnt.set(1, p);
-      analyzeBtLevel = v(p).level();
+      analyzeBtLevel = level(var(p));
     }
     for (int l = 0; l < analyzeToClear.size(); l++)
       seen.set(var(analyzeToClear.get(l)), false);
@@ -631,11 +655,10 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
    * Performs an unconditional backtrack to level zero.
    */
   private void completeBacktrack() {
-    for (int v = 0; v < vars.size(); v++) {
-      MSVariable var = vars.get(v);
-      var.assign(Tristate.UNDEF);
-      var.setReason(null);
-      if (!orderHeap.inHeap(v) && var.decision())
+    for (int v = 0; v < nVars(); v++) {
+      unassign(v);
+      reasons.set(v, CREF_UNDEF);
+      if (!orderHeap.inHeap(v) && decision(v))
         orderHeap.insert(v);
     }
     trail.clear();
@@ -647,8 +670,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
    * Performs a simple removal of clauses used during the loading of an older state.
    * @param c the clause to remove
    */
-  private void simpleRemoveClause(final MSClause c) {
-    watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-    watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+  private void simpleRemoveClause(final int c) {
+    watches.get(not(ca.get(c, 0))).remove(c);
+    watches.get(not(ca.get(c, 1))).remove(c);
   }
 }
@@ -45,21 +45,25 @@
 package org.logicng.solvers.sat;
 
 import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGByteVector;
+import org.logicng.collections.LNGDoubleVector;
 import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
 import org.logicng.solvers.datastructures.LNGHeap;
-import org.logicng.solvers.datastructures.MSClause;
-import org.logicng.solvers.datastructures.MSVariable;
-import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSClauseArena;
+import org.logicng.solvers.datastructures.MSWatchList;
 
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
 
 /**
  * The super class for all MiniSAT-style solvers.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public abstract class MiniSatStyleSolver {
@@ -69,16 +73,39 @@ public abstract class MiniSatStyleSolver {
    */
   public static final int LIT_UNDEF = -1;
 
+  /**
+   * The fraction of wasted memory in the clause arena which triggers a garbage collection
+   */
+  protected static final double GARBAGE_FRAC = 0.2;
+
+  /**
+   * The encodings of the assigned values of literals
+   */
+  protected static final byte L_FALSE = 0;
+  protected static final byte L_TRUE = 1;
+  protected static final byte L_UNDEF = 2;
+
+  private static final Tristate[] VALUES = {Tristate.FALSE, Tristate.TRUE, Tristate.UNDEF};
+  private static final byte POLARITY = 1;
+  private static final byte DECISION = 2;
+  private static final byte FROZEN = 4;
+  private static final byte ELIMINATED = 8;
+
   // external solver configuration
   protected final MiniSatConfig config;
 
   // internal solver state
   protected boolean ok;
   protected int qhead;
-  protected LNGVector<MSClause> clauses;
-  protected LNGVector<MSClause> learnts;
-  protected LNGVector<LNGVector<MSWatcher>> watches;
-  protected LNGVector<MSVariable> vars;
+  protected MSClauseArena ca;
+  protected LNGIntVector clauses;
+  protected LNGIntVector learnts;
+  protected LNGVector<MSWatchList> watches;
+  protected LNGByteVector assigns;
+  protected LNGIntVector levels;
+  protected LNGIntVector reasons;
+  protected LNGDoubleVector activities;
+  protected LNGByteVector varFlags;
   protected LNGHeap orderHeap;
   protected LNGIntVector trail;
   protected LNGIntVector trailLim;
@@ -94,6 +121,7 @@ public abstract class MiniSatStyleSolver {
   protected int simpDBProps;
   protected int clausesLiterals;
   protected int learntsLiterals;
+  protected LNGIntVector extension;
 
   // solver configuration
   protected double varDecay;
@@ -190,10 +218,15 @@ public abstract class MiniSatStyleSolver {
     this.initializeConfig();
     this.ok = true;
     this.qhead = 0;
-    this.clauses = new LNGVector<>();
-    this.learnts = new LNGVector<>();
+    this.ca = new MSClauseArena();
+    this.clauses = new LNGIntVector();
+    this.learnts = new LNGIntVector();
     this.watches = new LNGVector<>();
-    this.vars = new LNGVector<>();
+    this.assigns = new LNGByteVector();
+    this.levels = new LNGIntVector();
+    this.reasons = new LNGIntVector();
+    this.activities = new LNGDoubleVector();
+    this.varFlags = new LNGByteVector();
     this.orderHeap = new LNGHeap(this);
     this.trail = new LNGIntVector();
     this.trailLim = new LNGIntVector();
@@ -209,6 +242,7 @@ public abstract class MiniSatStyleSolver {
     this.simpDBProps = 0;
     this.clausesLiterals = 0;
     this.learntsLiterals = 0;
+    this.extension = new LNGIntVector();
     this.name2idx = new TreeMap<>();
     this.idx2name = new TreeMap<>();
     this.canceledByHandler = false;
@@ -231,21 +265,165 @@ public abstract class MiniSatStyleSolver {
   }
 
   /**
-   * Returns the variable for a given literal.
+   * Returns the assigned value of a given literal.
    * @param lit the literal
-   * @return the variable of the literal
+   * @return the assigned value of the literal
    */
-  protected MSVariable v(int lit) {
-    return this.vars.get(lit >> 1);
+  protected Tristate value(int lit) {
+    return VALUES[this.assigns.get(lit)];
   }
 
   /**
-   * Returns the assigned value of a given literal.
+   * Returns the assigned value of a given variable.
+   * @param x the variable index
+   * @return the assigned value of the variable
+   */
+  protected Tristate varValue(int x) {
+    return VALUES[this.assigns.get(2 * x)];
+  }
+
+  /**
+   * Assigns a given literal to true (and therefore its complement to false).
    * @param lit the literal
-   * @return the assigned value of the literal
    */
-  protected Tristate value(int lit) {
-    return sign(lit) ? Tristate.negate(this.v(lit).assignment()) : this.v(lit).assignment();
+  protected void assign(int lit) {
+    this.assigns.set(lit, L_TRUE);
+    this.assigns.set(lit ^ 1, L_FALSE);
+  }
+
+  /**
+   * Removes the assignment of a given variable.
+   * @param x the variable index
+   */
+  protected void unassign(int x) {
+    this.assigns.set(2 * x, L_UNDEF);
+    this.assigns.set(2 * x + 1, L_UNDEF);
+  }
+
+  /**
+   * Returns the decision level of a given variable.
+   * @param x the variable index
+   * @return the decision level of the variable
+   */
+  protected int level(int x) {
+    return this.levels.get(x);
+  }
+
+  /**
+   * Returns the reason of a given variable.
+   * @param x the variable index
+   * @return the reference of the reason clause or {@link MSClauseArena#CREF_UNDEF} if there is none
+   */
+  protected int reason(int x) {
+    return this.reasons.get(x);
+  }
+
+  /**
+   * Returns the polarity of a given variable.
+   * @param x the variable index
+   * @return the polarity of the variable
+   */
+  protected boolean polarity(int x) {
+    return (this.varFlags.get(x) & POLARITY) != 0;
+  }
+
+  /**
+   * Sets the polarity of a given variable.
+   * @param x        the variable index
+   * @param polarity the polarity
+   */
+  protected void setPolarity(int x, boolean polarity) {
+    this.setVarFlag(x, POLARITY, polarity);
+  }
+
+  /**
+   * Returns {@code true} if a given variable should be used as a decision variable during solving, {@code false}
+   * otherwise.
+   * @param x the variable index
+   * @return {@code true} if the variable should be used as a decision variable
+   */
+  protected boolean decision(int x) {
+    return (this.varFlags.get(x) & DECISION) != 0;
+  }
+
+  /**
+   * Sets whether a given variable can be used as a decision variable during solving or not.
+   * @param x        the variable index
+   * @param decision {@code true} if it can be used as decision variable, {@code false} otherwise
+   */
+  protected void setDecision(int x, boolean decision) {
+    this.setVarFlag(x, DECISION, decision);
+  }
+
+  /**
+   * Freezes or unfreezes a given variable.  Frozen variables are never removed by {@link #eliminate()}.  Each variable
+   * which is used in assumptions or in clauses added after the elimination or whose value in the model must not
+   * be changed by the model extension has to be frozen before the elimination.
+   * @param var    the variable index
+   * @param frozen {@code true} if the variable should be frozen, {@code false} otherwise
+   */
+  public void setFrozen(int var, boolean frozen) {
+    this.setVarFlag(var, FROZEN, frozen);
+  }
+
+  /**
+   * Returns {@code true} if a given variable is frozen, {@code false} otherwise.
+   * @param var the variable index
+   * @return {@code true} if the variable is frozen
+   */
+  public boolean isFrozen(int var) {
+    return (this.varFlags.get(var) & FROZEN) != 0;
+  }
+
+  /**
+   * Returns {@code true} if a given variable was removed by {@link #eliminate()}, {@code false} otherwise.
+   * @param var the variable index
+   * @return {@code true} if the variable was eliminated
+   */
+  public boolean isEliminated(int var) {
+    return (this.varFlags.get(var) & ELIMINATED) != 0;
+  }
+
+  /**
+   * Marks a given variable as eliminated.  An eliminated variable is no decision variable anymore.
+   * @param x the variable index
+   */
+  protected void setEliminated(int x) {
+    this.setVarFlag(x, ELIMINATED, true);
+    this.setVarFlag(x, DECISION, false);
+  }
+
+  private void setVarFlag(int x, byte flag, boolean value) {
+    this.varFlags.set(x, (byte) (value ? this.varFlags.get(x) | flag : this.varFlags.get(x) & ~flag));
+  }
+
+  /**
+   * Creates the state of a new unassigned variable.  The variable gets the next free index.
+   * @param polarity the initial polarity of the variable
+   * @param decision {@code true} if the variable should be used as a decision variable, {@code false} otherwise
+   * @return the index of the new variable
+   */
+  protected int newVarState(boolean polarity, boolean decision) {
+    final int v = this.nVars();
+    this.assigns.push(L_UNDEF);
+    this.assigns.push(L_UNDEF);
+    this.levels.push(-1);
+    this.reasons.push(CREF_UNDEF);
+    this.activities.push(0);
+    this.varFlags.push((byte) ((polarity ? POLARITY : 0) | (decision ? DECISION : 0)));
+    return v;
+  }
+
+  /**
+   * Removes the state of all variables with an index greater or equal than a given number of variables.
+   * @param newVarsSize the new number of variables
+   */
+  protected void shrinkVarState(int newVarsSize) {
+    this.assigns.shrinkTo(2 * newVarsSize);
+    this.levels.shrinkTo(newVarsSize);
+    this.reasons.shrinkTo(newVarsSize);
+    this.activities.shrinkTo(newVarsSize);
+    this.varFlags.shrinkTo(newVarsSize);
   }
 
   /**
@@ -255,7 +433,15 @@ public abstract class MiniSatStyleSolver {
    * @return {@code true} if the first variable's activity is larger then the second one's
    */
   public boolean lt(int x, int y) {
-    return this.vars.get(x).activity() > this.vars.get(y).activity();
+    return this.activities.get(x) > this.activities.get(y);
+  }
+
+  /**
+   * Returns the configuration of this solver.
+   * @return the configuration of this solver
+   */
+  public MiniSatConfig config() {
+    return this.config;
   }
 
   /**
@@ -311,9 +497,59 @@ public abstract class MiniSatStyleSolver {
    * Adds a clause to the solver.
    * @param ps the literals of the clause
    * @return {@code true} if the clause was added successfully, {@code false} otherwise
+   * @throws IllegalStateException if a literal's variable was eliminated
    */
   public abstract boolean addClause(final LNGIntVector ps);
 
+  /**
+   * Simplifies the problem clauses of the solver in the style of SatELite: backward subsumption, self-subsuming
+   * resolution, bounded variable elimination, and blocked clause elimination.  The solver must be on decision level 0.
+   * <p>
+   * Variables which are not frozen (see {@link #setFrozen(int, boolean)}) may be eliminated and must not occur in
+   * clauses or assumptions afterwards.  Models computed after the elimination are extended to the eliminated
+   * variables, such that they satisfy all clauses added before the elimination.
+   * <p>
+   * The elimination reorganizes the clause database, therefore solver states saved before the elimination cannot be
+   * loaded afterwards (see {@link #loadState(int[])}).
+   * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+   * @throws UnsupportedOperationException if the solver does not support variable elimination
+   */
+  public boolean eliminate() {
+    return new SatELite(this).eliminate();
+  }
+
+  /**
+   * Checks that a given clause or set of assumptions contains no eliminated variable.
+   * @param ps the literals
+   * @throws IllegalStateException if a literal's variable was eliminated
+   */
+  protected void checkNotEliminated(final LNGIntVector ps) {
+    if (this.extension.empty())
+      return;
+    for (int i = 0; i < ps.size(); i++)
+      if (this.isEliminated(var(ps.get(i))))
+        throw new IllegalStateException("Variable " + var(ps.get(i)) + " was eliminated and cannot be used anymore");
+  }
+
+  /**
+   * Extends the current model to the eliminated variables and the variables of removed blocked clauses.  The extension
+   * stack consists of groups {@code | LIT_UNDEF | lit_1 | ... | lit_n | lit |} which are processed in reverse order:
+   * if none of the literals of a group is satisfied by the model, the last literal {@code lit} is set to true.
+   */
+  protected void extendModel() {
+    int i = this.extension.size() - 1;
+    while (i >= 0) {
+      final int lit = this.extension.get(i);
+      boolean satisfied = false;
+      int other;
+      while ((other = this.extension.get(i--)) != LIT_UNDEF)
+        if (this.model.get(var(other)) != sign(other))
+          satisfied = true;
+      if (!satisfied)
+        this.model.set(var(lit), !sign(lit));
+    }
+  }
+
   /**
    * Solves the formula currently stored in the solver.  Returns {@link Tristate#TRUE} if the formula is satisfiable (SAT),
    * {@link Tristate#FALSE} if the formula is unsatisfiable (UNSAT), or {@link Tristate#UNDEF} if the computation was canceled
@@ -333,8 +569,10 @@ public abstract class MiniSatStyleSolver {
    * @param assumptions the assumptions as a given vector of literals
    * @return {@link Tristate#TRUE} if the formula and the assumptions are satisfiable, {@link Tristate#FALSE} if they are
    * not satisfiable, or {@link Tristate#UNDEF} if the computation was canceled.
+   * @throws IllegalStateException if an assumption's variable was eliminated
    */
   public Tristate solve(final SATHandler handler, final LNGIntVector assumptions) {
+    this.checkNotEliminated(assumptions);
     this.assumptions = new LNGIntVector(assumptions);
     final Tristate result = this.solve(handler);
     this.assumptions.clear();
@@ -362,6 +600,66 @@ public abstract class MiniSatStyleSolver {
     return this.conflict;
   }
 
+  /**
+   * Returns the number of clauses which are passed on by {@link #exportClauses(boolean, Consumer)}.
+   * @param withLearnts {@code true} if the learnt clauses should be counted, {@code false} otherwise
+   * @return the number of clauses
+   */
+  public int nExportedClauses(final boolean withLearnts) {
+    return (this.ok ? 0 : 1) + this.level0Assigns() + this.clauses.size() + (withLearnts ? this.learnts.size() : 0);
+  }
+
+  /**
+   * Passes the current clause database to a consumer.  If the solver already found a conflict on decision level 0, an
+   * empty clause is passed first.  Then the assignments on decision level 0 are passed as unit clauses, followed by
+   * the problem clauses and optionally the learnt clauses.  The clauses consist of solver literals, the vector passed
+   * to the consumer is reused for the next clause.
+   * @param withLearnts {@code true} if the learnt clauses should be exported, {@code false} otherwise
+   * @param consumer    the consumer for the clauses
+   * @throws IllegalStateException if the clause database contains at-most constraints
+   */
+  public void exportClauses(final boolean withLearnts, final Consumer<LNGIntVector> consumer) {
+    final LNGIntVector clause = new LNGIntVector();
+    if (!this.ok)
+      consumer.accept(clause);
+    final int level0Assigns = this.level0Assigns();
+    for (int i = 0; i < level0Assigns; i++) {
+      clause.clear();
+      clause.push(this.trail.get(i));
+      consumer.accept(clause);
+    }
+    this.exportClauses(this.clauses, clause, consumer);
+    if (withLearnts)
+      this.exportClauses(this.learnts, clause, consumer);
+  }
+
+  /**
+   * Passes a list of clauses to a consumer.
+   * @param cs       the clauses
+   * @param clause   the vector for the literals of a clause
+   * @param consumer the consumer
+   * @throws IllegalStateException if the list contains at-most constraints
+   */
+  private void exportClauses(final LNGIntVector cs, final LNGIntVector clause, final Consumer<LNGIntVector> consumer) {
+    for (int i = 0; i < cs.size(); i++) {
+      final int c = cs.get(i);
+      if (this.ca.isAtMost(c))
+        throw new IllegalStateException("At-most constraints cannot be exported as clauses");
+      clause.clear();
+      for (int j = 0; j < this.ca.size(c); j++)
+        clause.push(this.ca.get(c, j));
+      consumer.accept(clause);
+    }
+  }
+
+  /**
+   * Returns the number of assignments on decision level 0.
+   * @return the number of assignments on decision level 0
+   */
+  private int level0Assigns() {
+    return this.decisionLevel() == 0 ? this.trail.size() : this.trailLim.get(0);
+  }
+
   /**
    * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
    * structures.
@@ -377,10 +675,12 @@ public abstract class MiniSatStyleSolver {
    * ATTENTION: You can only load a state which was created by this instance of the solver before the current state.
    * Only the sized of the internal data structures are stored, meaning you can track back in time and restore a solver
    * state with fewer variables and/or fewer clauses.  It is not possible to import a solver state from another solver
-   * or another solving execution.
+   * or another solving execution.  States which were saved before a call of {@link #eliminate()} cannot be loaded after
+   * it.
    * @param state the solver state to load
    * @throws UnsupportedOperationException if the solver does not support state saving/loading
    * @throws IllegalStateException         if the solver is not in incremental mode
+   * @throws IllegalArgumentException      if the state was saved before the last call of {@link #eliminate()}
    */
   public abstract void loadState(int[] state);
 
@@ -389,7 +689,7 @@ public abstract class MiniSatStyleSolver {
    * @return the number of variables of the solver
    */
   public int nVars() {
-    return this.vars.size();
+    return this.levels.size();
   }
 
   /**
@@ -414,7 +714,7 @@ public abstract class MiniSatStyleSolver {
    * @return the abstraction of levels
    */
   protected int abstractLevel(int x) {
-    return 1 << (this.vars.get(x).level() & 31);
+    return 1 << (this.levels.get(x) & 31);
   }
 
   /**
@@ -422,7 +722,7 @@ public abstract class MiniSatStyleSolver {
    * @param x the variable index
    */
   protected void insertVarOrder(int x) {
-    if (!this.orderHeap.inHeap(x) && this.vars.get(x).decision())
+    if (!this.orderHeap.inHeap(x) && this.decision(x))
       this.orderHeap.insert(x);
   }
 
@@ -432,12 +732,12 @@ public abstract class MiniSatStyleSolver {
    */
   protected int pickBranchLit() {
     int next = -1;
-    while (next == -1 || this.vars.get(next).assignment() != Tristate.UNDEF || !this.vars.get(next).decision())
+    while (next == -1 || this.varValue(next) != Tristate.UNDEF || !this.decision(next))
       if (this.orderHeap.empty())
         return -1;
       else
         next = this.orderHeap.removeMin();
-    return mkLit(next, this.vars.get(next).polarity());
+    return mkLit(next, this.polarity(next));
   }
 
   /**
@@ -461,11 +761,10 @@ public abstract class MiniSatStyleSolver {
    * @param inc the increment value
    */
   protected void varBumpActivity(int v, double inc) {
-    final MSVariable var = this.vars.get(v);
-    var.incrementActivity(inc);
-    if (var.activity() > 1e100) {
-      for (final MSVariable variable : this.vars)
-        variable.rescaleActivity();
+    this.activities.set(v, this.activities.get(v) + inc);
+    if (this.activities.get(v) > 1e100) {
+      for (int i = 0; i < this.activities.size(); i++)
+        this.activities.set(i, this.activities.get(i) * 1e-100);
       this.varInc *= 1e-100;
     }
     if (this.orderHeap.inHeap(v))
@@ -478,7 +777,7 @@ public abstract class MiniSatStyleSolver {
   protected void rebuildOrderHeap() {
     final LNGIntVector vs = new LNGIntVector();
     for (int v = 0; v < this.nVars(); v++)
-      if (this.vars.get(v).decision() && this.vars.get(v).assignment() == Tristate.UNDEF)
+      if (this.decision(v) && this.varValue(v) == Tristate.UNDEF)
         vs.push(v);
     this.orderHeap.build(vs);
   }
@@ -488,8 +787,8 @@ public abstract class MiniSatStyleSolver {
    * @param c the clause
    * @return {@code true} if the given clause is locked
    */
-  protected boolean locked(final MSClause c) {
-    return value(c.get(0)) == Tristate.TRUE && v(c.get(0)).reason() != null && v(c.get(0)).reason() == c;
+  protected boolean locked(int c) {
+    return value(ca.get(c, 0)) == Tristate.TRUE && reason(var(ca.get(c, 0))) == c;
   }
 
   /**
@@ -501,47 +800,90 @@ public abstract class MiniSatStyleSolver {
 
   /**
    * Bumps the activity of the given clause.
-   * @param c the clause
+   * @param c the clause reference
    */
-  protected void claBumpActivity(final MSClause c) {
-    c.incrementActivity(claInc);
-    if (c.activity() > 1e20) {
-      for (final MSClause clause : learnts)
-        clause.rescaleActivity();
+  protected void claBumpActivity(int c) {
+    ca.incrementActivity(c, claInc);
+    if (ca.activity(c) > 1e20) {
+      for (int i = 0; i < learnts.size(); i++)
+        ca.rescaleActivity(learnts.get(i));
       claInc *= 1e-20;
     }
   }
 
+  /**
+   * Relocates all clauses to a new clause arena if the fraction of wasted memory in the current clause arena exceeds
+   * {@link #GARBAGE_FRAC}.
+   */
+  protected void checkGarbage() {
+    if (ca.wasted() > ca.size() * GARBAGE_FRAC)
+      garbageCollect();
+  }
+
+  /**
+   * Relocates all clauses to a new, compact clause arena.
+   */
+  protected void garbageCollect() {
+    final MSClauseArena to = new MSClauseArena(ca.size() - ca.wasted());
+    relocAll(to);
+    ca = to;
+  }
+
+  /**
+   * Relocates all clause references of the solver to a new clause arena.  The clauses are copied in the order of the
+   * watch lists, so clauses watched by the same literal are close to each other in the new arena.
+   * @param to the new clause arena
+   */
+  protected void relocAll(final MSClauseArena to) {
+    for (int i = 0; i < watches.size(); i++) {
+      final MSWatchList ws = watches.get(i);
+      for (int j = 0; j < ws.size(); j++)
+        ws.set(j, ca.relocate(ws.clause(j), to), ws.blocker(j));
+    }
+    for (int i = 0; i < trail.size(); i++) {
+      final int x = var(trail.get(i));
+      final int reason = reasons.get(x);
+      if (reason != CREF_UNDEF)
+        reasons.set(x, ca.deleted(reason) ? CREF_UNDEF : ca.relocate(reason, to));
+    }
+    for (int i = 0; i < learnts.size(); i++)
+      learnts.set(i, ca.relocate(learnts.get(i), to));
+    for (int i = 0; i < clauses.size(); i++)
+      clauses.set(i, ca.relocate(clauses.get(i), to));
+  }
+
   /**
    * Assigns a literal (= a variable to the respective value).
    * @param lit    the literal
-   * @param reason the reason clause of the assignment (conflict resolution) or {@code null} if it was a decision
+   * @param reason the reason clause of the assignment (conflict resolution) or {@link MSClauseArena#CREF_UNDEF} if
+   *               it was a decision
    */
-  protected abstract void uncheckedEnqueue(int lit, MSClause reason);
+  protected abstract void uncheckedEnqueue(int lit, int reason);
 
   /**
    * Attaches a given clause to the solver (i.e. the watchers for this clause are initialized).
    * @param c the clause
    */
-  protected abstract void attachClause(final MSClause c);
+  protected abstract void attachClause(int c);
 
   /**
    * Detaches a given clause (e.g. removes all watchers pointing to this clause).
    * @param c the clause
    */
-  protected abstract void detachClause(final MSClause c);
+  protected abstract void detachClause(int c);
 
   /**
    * Removes a given clause.
    * @param c the clause to remove
    */
-  protected abstract void removeClause(final MSClause c);
+  protected abstract void removeClause(int c);
 
   /**
    * Performs unit propagation.
-   * @return the conflicting clause if a conflict arose during unit propagation or {@code null} if there was none
+   * @return the conflicting clause if a conflict arose during unit propagation or {@link MSClauseArena#CREF_UNDEF} if
+   * there was none
    */
-  protected abstract MSClause propagate();
+  protected abstract int propagate();
 
   /**
    * Returns {@code true} if a given literal is redundant in the current conflict analysis, {@code false} otherwise.
@@ -575,14 +917,14 @@ public abstract class MiniSatStyleSolver {
    * Removes all clauses which are satisfied under the current assignment of a set of clauses.
    * @param cs the set of clauses
    */
-  protected abstract void removeSatisfied(final LNGVector<MSClause> cs);
+  protected abstract void removeSatisfied(final LNGIntVector cs);
 
   /**
    * Returns {@code true} if a given clause is satisfied under the current assignment, {@code false} otherwise.
    * @param c the clause
    * @return {@code true} if a given clause is satisfied under the current assignment
    */
-  protected abstract boolean satisfied(final MSClause c);
+  protected abstract boolean satisfied(int c);
 
   /**
    * Simplifies the database of clauses.  This method is only executed on level 0.  All learnt clauses which are
@@ -601,7 +943,7 @@ public abstract class MiniSatStyleSolver {
     sb.append("#clauses      ").append(clauses.size()).append("\n");
     sb.append("#learnts      ").append(learnts.size()).append("\n");
     sb.append("#watches      ").append(watches.size()).append("\n");
-    sb.append("#vars         ").append(vars.size()).append("\n");
+    sb.append("#vars         ").append(nVars()).append("\n");
     sb.append("#orderheap    ").append(orderHeap.size()).append("\n");
     sb.append("#trail        ").append(trail.size()).append("\n");
     sb.append("#trailLim     ").append(trailLim.size()).append("\n");
@@ -0,0 +1,531 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSClauseArena;
+
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.LIT_UNDEF;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * SatELite-style preprocessing for MiniSAT-style solvers.
+ * <p>
+ * The preprocessor works on the problem clauses of a solver on decision level 0 and performs backward subsumption,
+ * self-subsuming resolution, bounded variable elimination, and blocked clause elimination (see N. Eén and A. Biere:
+ * Effective Preprocessing in SAT through Variable and Clause Elimination, SAT 2005).  The clauses which are
+ * required to extend a model to the eliminated variables are stored on the extension stack of the solver.
+ * <p>
+ * Clauses are never relocated during the preprocessing, therefore the occurrence lists can hold clause references
+ * and removed clauses are skipped lazily.
+ * @version 1.2
+ * @since 1.2
+ */
+final class SatELite {
+
+  private static final int SUBSUMED = -1;
+  private static final int NOT_SUBSUMED = -2;
+
+  /**
+   * The maximal length of a resolvent produced by variable elimination
+   */
+  private static final int CLAUSE_LIMIT = 20;
+
+  /**
+   * The maximal length of an occurrence list which is traversed during backward subsumption
+   */
+  private static final int SUBSUMPTION_LIMIT = 1000;
+
+  /**
+   * The maximal number of resolution steps for the elimination of a single variable
+   */
+  private static final int RESOLUTION_LIMIT = 10000;
+
+  /**
+   * The maximal number of clauses which are resolved with a clause in order to check whether it is blocked
+   */
+  private static final int BLOCKED_LIMIT = 64;
+
+  private final MiniSatStyleSolver s;
+  private final MSClauseArena ca;
+  private final LNGVector<LNGIntVector> occs;
+  private final int[] numOccs;
+  private final int[] marks;
+  private int stamp;
+  private final boolean[] touched;
+  private final LNGIntVector touchedVars;
+  private final LNGIntVector subsumptionQueue;
+  private final LNGIntVector resolvent;
+
+  /**
+   * Constructs a new preprocessor for a given solver.
+   * @param solver the solver
+   */
+  SatELite(final MiniSatStyleSolver solver) {
+    this.s = solver;
+    this.ca = solver.ca;
+    final int numLits = 2 * solver.nVars();
+    this.occs = new LNGVector<>(numLits);
+    for (int i = 0; i < numLits; i++)
+      this.occs.push(new LNGIntVector());
+    this.numOccs = new int[numLits];
+    this.marks = new int[numLits];
+    this.stamp = 0;
+    this.touched = new boolean[solver.nVars()];
+    this.touchedVars = new LNGIntVector();
+    this.subsumptionQueue = new LNGIntVector();
+    this.resolvent = new LNGIntVector();
+  }
+
+  /**
+   * Performs the preprocessing.
+   * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+   */
+  boolean eliminate() {
+    assert this.s.decisionLevel() == 0;
+    if (!this.s.ok || this.s.propagate() != CREF_UNDEF) {
+      this.s.ok = false;
+      return false;
+    }
+    for (int i = 0; i < this.s.clauses.size(); i++) {
+      final int c = this.s.clauses.get(i);
+      if (!this.ca.deleted(c) && !this.ca.isAtMost(c)) {
+        this.register(c);
+        this.clean(c);
+      }
+    }
+    while (true) {
+      if (!this.backwardSubsumption())
+        return false;
+      if (this.touchedVars.empty())
+        break;
+      final LNGIntVector vars = new LNGIntVector(this.touchedVars);
+      for (int i = 0; i < vars.size(); i++)
+        this.touched[vars.get(i)] = false;
+      this.touchedVars.clear();
+      vars.manualSort((x, y) -> Long.compare(this.cost(x), this.cost(y)));
+      for (int i = 0; i < vars.size(); i++)
+        if (!this.eliminateVar(vars.get(i)))
+          return false;
+    }
+    this.blockedClauseElimination();
+    this.cleanUpSolver();
+    return true;
+  }
+
+  /**
+   * Returns the number of occurrences of a given literal in the live clauses of the preprocessor.
+   * @param lit the literal
+   * @return the number of occurrences of the literal
+   */
+  int numOccurrences(final int lit) {
+    return this.numOccs[lit];
+  }
+
+  /**
+   * Returns {@code true} if a given variable may be removed from the formula, {@code false} otherwise.
+   * @param v the variable index
+   * @return {@code true} if the variable may be removed
+   */
+  private boolean eliminable(final int v) {
+    return !this.s.isFrozen(v) && !this.s.isEliminated(v) && this.s.decision(v) && this.s.varValue(v) == Tristate.UNDEF;
+  }
+
+  /**
+   * Returns the estimated cost of the elimination of a given variable.
+   * @param v the variable index
+   * @return the estimated cost
+   */
+  private long cost(final int v) {
+    return (long) this.numOccs[mkLit(v, false)] * this.numOccs[mkLit(v, true)];
+  }
+
+  /**
+   * Marks a variable as touched, such that it is considered in the next round of variable elimination.
+   * @param v the variable index
+   */
+  private void touch(final int v) {
+    if (!this.touched[v]) {
+      this.touched[v] = true;
+      this.touchedVars.push(v);
+    }
+  }
+
+  /**
+   * Adds a given clause to the occurrence lists and to the subsumption queue.
+   * @param c the clause
+   */
+  private void register(final int c) {
+    for (int i = 0; i < this.ca.size(c); i++) {
+      final int lit = this.ca.get(c, i);
+      this.occs.get(lit).push(c);
+      this.numOccs[lit]++;
+      this.touch(var(lit));
+    }
+    this.subsumptionQueue.push(c);
+  }
+
+  /**
+   * Adds a new clause to the solver.
+   * @param ps the literals of the clause
+   * @return {@code false} if the solver found a conflict, {@code true} otherwise
+   */
+  private boolean addClause(final LNGIntVector ps) {
+    final int before = this.s.clauses.size();
+    if (!this.s.addClause(ps))
+      return false;
+    if (this.s.clauses.size() > before)
+      this.register(this.s.clauses.back());
+    return true;
+  }
+
+  /**
+   * Removes a clause from the solver.  The occurrence lists are cleaned up lazily.
+   * @param c the clause
+   */
+  private void removeClause(final int c) {
+    for (int i = 0; i < this.ca.size(c); i++) {
+      final int lit = this.ca.get(c, i);
+      this.numOccs[lit]--;
+      this.touch(var(lit));
+    }
+    this.s.removeClause(c);
+  }
+
+  /**
+   * Removes a given clause if it is satisfied on decision level 0 and removes all literals which are false on
+   * decision level 0 from it otherwise.  The clause must already be registered, since its occurrence counts are
+   * decremented.
+   * @param c the clause
+   * @return {@code false} if the clause was removed, {@code true} otherwise
+   */
+  private boolean clean(final int c) {
+    boolean falseLits = false;
+    for (int i = 0; i < this.ca.size(c); i++) {
+      final Tristate value = this.s.value(this.ca.get(c, i));
+      if (value == Tristate.TRUE) {
+        this.removeClause(c);
+        return false;
+      }
+      falseLits |= value == Tristate.FALSE;
+    }
+    if (falseLits) {
+      this.s.detachClause(c);
+      for (int i = 0; i < this.ca.size(c); i++) {
+        final int lit = this.ca.get(c, i);
+        if (this.s.value(lit) == Tristate.FALSE) {
+          this.numOccs[lit]--;
+          this.ca.set(c, i--, this.ca.get(c, this.ca.size(c) - 1));
+          this.ca.pop(c);
+        }
+      }
+      assert this.ca.size(c) > 1;
+      this.s.attachClause(c);
+    }
+    return true;
+  }
+
+  /**
+   * Removes a literal from a given clause.
+   * @param c   the clause
+   * @param lit the literal
+   * @return {@code false} if the solver found a conflict, {@code true} otherwise
+   */
+  private boolean strengthen(final int c, final int lit) {
+    if (this.ca.size(c) == 2) {
+      final LNGIntVector unit = new LNGIntVector(1);
+      unit.push(this.ca.get(c, 0) == lit ? this.ca.get(c, 1) : this.ca.get(c, 0));
+      this.removeClause(c);
+      return this.addClause(unit);
+    }
+    this.s.detachClause(c);
+    for (int i = 0; i < this.ca.size(c); i++)
+      if (this.ca.get(c, i) == lit) {
+        this.ca.set(c, i, this.ca.get(c, this.ca.size(c) - 1));
+        this.ca.pop(c);
+        break;
+      }
+    this.s.attachClause(c);
+    this.numOccs[lit]--;
+    final LNGIntVector os = this.occs.get(lit);
+    int i = 0;
+    while (os.get(i) != c)
+      i++;
+    for (; i < os.size() - 1; i++)
+      os.set(i, os.get(i + 1));
+    os.pop();
+    this.touch(var(lit));
+    this.subsumptionQueue.push(c);
+    return true;
+  }
+
+  /**
+   * Returns the live clauses containing a given literal.  Removed clauses are dropped from the occurrence list,
+   * satisfied clauses are removed from the solver.
+   * @param lit the literal
+   * @return the occurrence list of the literal
+   */
+  private LNGIntVector occurrences(final int lit) {
+    final LNGIntVector os = this.occs.get(lit);
+    int j = 0;
+    for (int i = 0; i < os.size(); i++) {
+      final int c = os.get(i);
+      if (!this.ca.deleted(c) && this.clean(c))
+        os.set(j++, c);
+    }
+    os.shrinkTo(j);
+    return os;
+  }
+
+  /**
+   * Checks whether a clause {@code c} subsumes a clause {@code d} or can be used to strengthen it.
+   * @param c the first clause
+   * @param d the second clause
+   * @return {@link #SUBSUMED} if {@code c} subsumes {@code d}, a literal {@code l} of {@code c} if {@code d} can be
+   * strengthened by removing {@code ~l}, or {@link #NOT_SUBSUMED} otherwise
+   */
+  private int subsumes(final int c, final int d) {
+    this.stamp++;
+    for (int i = 0; i < this.ca.size(d); i++)
+      this.marks[this.ca.get(d, i)] = this.stamp;
+    int ret = SUBSUMED;
+    for (int i = 0; i < this.ca.size(c); i++) {
+      final int lit = this.ca.get(c, i);
+      if (this.marks[lit] != this.stamp) {
+        if (ret == SUBSUMED && this.marks[not(lit)] == this.stamp)
+          ret = lit;
+        else
+          return NOT_SUBSUMED;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Performs backward subsumption and self-subsuming resolution for all clauses in the subsumption queue.
+   * @return {@code false} if the solver found a conflict, {@code true} otherwise
+   */
+  private boolean backwardSubsumption() {
+    while (!this.subsumptionQueue.empty()) {
+      final int c = this.subsumptionQueue.back();
+      this.subsumptionQueue.pop();
+      if (this.ca.deleted(c) || !this.clean(c))
+        continue;
+      int best = this.ca.get(c, 0);
+      for (int i = 1; i < this.ca.size(c); i++) {
+        final int lit = this.ca.get(c, i);
+        if (this.numOccs[lit] + this.numOccs[not(lit)] < this.numOccs[best] + this.numOccs[not(best)])
+          best = lit;
+      }
+      for (int k = 0; k < 2; k++) {
+        final int lit = k == 0 ? best : not(best);
+        final LNGIntVector os = this.occs.get(lit);
+        if (os.size() > SUBSUMPTION_LIMIT)
+          continue;
+        for (int i = 0; i < os.size() && !this.ca.deleted(c); i++) {
+          final int d = os.get(i);
+          if (d == c || this.ca.deleted(d) || this.ca.size(d) < this.ca.size(c))
+            continue;
+          final int l = this.subsumes(c, d);
+          if (l == SUBSUMED)
+            this.removeClause(d);
+          else if (l != NOT_SUBSUMED && this.clean(d) && this.s.value(l) == Tristate.UNDEF) {
+            if (!this.strengthen(d, not(l)))
+              return false;
+            if (not(l) == lit)
+              i--;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the resolvent of two clauses on a given variable.  Literals which are false on decision level 0 are
+   * dropped.
+   * @param c the clause with the positive literal
+   * @param d the clause with the negative literal
+   * @param v the variable index
+   * @return {@code false} if the resolvent is a tautology, {@code true} otherwise
+   */
+  private boolean resolve(final int c, final int d, final int v) {
+    this.stamp++;
+    this.resolvent.clear();
+    for (int i = 0; i < this.ca.size(c); i++) {
+      final int lit = this.ca.get(c, i);
+      if (var(lit) != v && this.s.value(lit) != Tristate.FALSE) {
+        this.marks[lit] = this.stamp;
+        this.resolvent.push(lit);
+      }
+    }
+    for (int i = 0; i < this.ca.size(d); i++) {
+      final int lit = this.ca.get(d, i);
+      if (var(lit) == v || this.s.value(lit) == Tristate.FALSE)
+        continue;
+      if (this.marks[not(lit)] == this.stamp)
+        return false;
+      if (this.marks[lit] != this.stamp)
+        this.resolvent.push(lit);
+    }
+    return true;
+  }
+
+  /**
+   * Pushes a removed clause onto the extension stack of the solver.
+   * @param c   the clause
+   * @param lit the literal of the clause which is set to true if the clause is falsified by a model
+   */
+  private void pushExtension(final int c, final int lit) {
+    this.s.extension.push(LIT_UNDEF);
+    for (int i = 0; i < this.ca.size(c); i++)
+      if (this.ca.get(c, i) != lit)
+        this.s.extension.push(this.ca.get(c, i));
+    this.s.extension.push(lit);
+  }
+
+  /**
+   * Tries to eliminate a given variable by clause distribution.  The variable is only eliminated if the number of
+   * non-tautological resolvents does not exceed the number of clauses containing it and if no resolvent is longer
+   * than {@link #CLAUSE_LIMIT}.
+   * @param v the variable index
+   * @return {@code false} if the solver found a conflict, {@code true} otherwise
+   */
+  private boolean eliminateVar(final int v) {
+    if (!this.eliminable(v))
+      return true;
+    final LNGIntVector pos = this.occurrences(mkLit(v, false));
+    final LNGIntVector neg = this.occurrences(mkLit(v, true));
+    if ((long) pos.size() * neg.size() > RESOLUTION_LIMIT)
+      return true;
+    int count = 0;
+    for (int i = 0; i < pos.size(); i++)
+      for (int j = 0; j < neg.size(); j++)
+        if (this.resolve(pos.get(i), neg.get(j), v) && (++count > pos.size() + neg.size() ||
+                this.resolvent.size() > CLAUSE_LIMIT))
+          return true;
+    final LNGVector<LNGIntVector> resolvents = new LNGVector<>(count);
+    for (int i = 0; i < pos.size(); i++)
+      for (int j = 0; j < neg.size(); j++)
+        if (this.resolve(pos.get(i), neg.get(j), v))
+          resolvents.push(new LNGIntVector(this.resolvent));
+    final int extend = pos.size() < neg.size() ? mkLit(v, false) : mkLit(v, true);
+    final LNGIntVector extendClauses = pos.size() < neg.size() ? pos : neg;
+    for (int i = 0; i < extendClauses.size(); i++)
+      this.pushExtension(extendClauses.get(i), extend);
+    this.s.extension.push(LIT_UNDEF);
+    this.s.extension.push(not(extend));
+    for (int i = 0; i < pos.size(); i++)
+      this.removeClause(pos.get(i));
+    for (int i = 0; i < neg.size(); i++)
+      this.removeClause(neg.get(i));
+    pos.clear();
+    neg.clear();
+    this.s.setEliminated(v);
+    for (int i = 0; i < resolvents.size(); i++)
+      if (!this.addClause(resolvents.get(i)))
+        return false;
+    return true;
+  }
+
+  /**
+   * Removes all clauses which are blocked on a literal of a variable which may be removed.  A clause is blocked on a
+   * literal if all resolvents with the clauses containing the negated literal are tautologies.  A variable with a
+   * removed blocked clause is marked as eliminated, since a later clause containing it could make the removed clause
+   * relevant again.  It stays a decision variable, since its remaining clauses are still in the solver.
+   */
+  private void blockedClauseElimination() {
+    for (int v = 0; v < this.s.nVars(); v++) {
+      if (!this.eliminable(v))
+        continue;
+      for (int k = 0; k < 2; k++) {
+        final int lit = mkLit(v, k == 1);
+        final LNGIntVector negOccs = this.occurrences(not(lit));
+        if (negOccs.size() > BLOCKED_LIMIT)
+          continue;
+        final LNGIntVector os = this.occurrences(lit);
+        for (int i = 0; i < os.size(); i++) {
+          final int c = os.get(i);
+          if (this.blocked(c, v, negOccs)) {
+            this.pushExtension(c, lit);
+            this.removeClause(c);
+            this.s.setEliminated(v);
+            this.s.setDecision(v, true);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if a given clause is blocked on a given variable, {@code false} otherwise.
+   * @param c       the clause
+   * @param v       the variable index
+   * @param negOccs the clauses containing the variable in the opposite polarity
+   * @return {@code true} if the clause is blocked
+   */
+  private boolean blocked(final int c, final int v, final LNGIntVector negOccs) {
+    for (int i = 0; i < negOccs.size(); i++)
+      if (this.resolve(c, negOccs.get(i), v))
+        return false;
+    return true;
+  }
+
+  /**
+   * Removes the references of removed clauses and all learnt clauses containing eliminated variables from the solver.
+   */
+  private void cleanUpSolver() {
+    int j = 0;
+    for (int i = 0; i < this.s.clauses.size(); i++)
+      if (!this.ca.deleted(this.s.clauses.get(i)))
+        this.s.clauses.set(j++, this.s.clauses.get(i));
+    this.s.clauses.shrinkTo(j);
+    j = 0;
+    for (int i = 0; i < this.s.learnts.size(); i++) {
+      final int c = this.s.learnts.get(i);
+      if (this.ca.deleted(c))
+        continue;
+      boolean eliminated = false;
+      for (int k = 0; k < this.ca.size(c) && !eliminated; k++)
+        eliminated = this.s.isEliminated(var(this.ca.get(c, k)));
+      if (eliminated)
+        this.s.removeClause(c);
+      else
+        this.s.learnts.set(j++, c);
+    }
+    this.s.learnts.shrinkTo(j);
+    this.s.rebuildOrderHeap();
+    if (!this.s.incremental)
+      this.s.checkGarbage();
+  }
+}
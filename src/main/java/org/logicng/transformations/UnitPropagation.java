@@ -6,13 +6,14 @@ import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.FormulaTransformation;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.cache.TransformationCacheEntry;
-import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.sat.MiniSat2Solver;
 import org.logicng.solvers.sat.MiniSatConfig;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.logicng.solvers.datastructures.MSClauseArena.CREF_UNDEF;
+
 public final class UnitPropagation implements FormulaTransformation {
 
   @Override
@@ -68,11 +69,11 @@ public final class UnitPropagation implements FormulaTransformation {
      */
     public Formula propagatedFormula(final FormulaFactory f) {
       assert decisionLevel() == 0;
-      if (!this.ok || this.propagate() != null)
+      if (!this.ok || this.propagate() != CREF_UNDEF)
         return f.falsum();
       final List<Formula> clauses = new ArrayList<>();
-      for (final MSClause clause : this.clauses)
-        clauses.add(clauseToFormula(clause, f));
+      for (int i = 0; i < this.clauses.size(); i++)
+        clauses.add(clauseToFormula(this.clauses.get(i), f));
       for (int i = 0; i < this.trail.size(); i++)
         clauses.add(solverLiteralToFormula(this.trail.get(i), f));
       return f.and(clauses);
@@ -92,14 +93,14 @@ public final class UnitPropagation implements FormulaTransformation {
      * Transforms a solver clause into a formula, respecting the current solver state.
      * I.e. all falsified literals are removed from the resulting clause and
      * if any literal of the clause is satisfied, the result is {@link org.logicng.formulas.CTrue}.
-     * @param clause the solver clause to transform
+     * @param clause the reference of the solver clause to transform
      * @param f      the formula factory
      * @return the transformed clause
      */
-    private Formula clauseToFormula(final MSClause clause, final FormulaFactory f) {
-      final List<Literal> literals = new ArrayList<>(clause.size());
-      for (int i = 0; i < clause.size(); i++) {
-        int lit = clause.get(i);
+    private Formula clauseToFormula(final int clause, final FormulaFactory f) {
+      final List<Literal> literals = new ArrayList<>(this.ca.size(clause));
+      for (int i = 0; i < this.ca.size(clause); i++) {
+        int lit = this.ca.get(clause, i);
         switch (value(lit)) {
           case TRUE:
             return f.verum();
@@ -40,7 +40,10 @@ import java.util.List;
 
 /**
  * An encoder for conjunctive normal form (CNF).
- * @version 1.1
+ * <p>
+ * If the formula factory is concurrent, all encodings of the factory are serialized, since the Tseitin and
+ * Plaisted &amp; Greenbaum encodings store their auxiliary variables in the caches of the formulas.
+ * @version 1.2
  * @since 1.1
  */
 public class CNFEncoder {
@@ -81,6 +84,19 @@ public class CNFEncoder {
    * @return the CNF encoding of the formula
    */
   public Formula encode(final Formula formula) {
+    if (this.f.isConcurrent())
+      synchronized (this.f) {
+        return this.encodeFormula(formula);
+      }
+    return this.encodeFormula(formula);
+  }
+
+  /**
+   * Encodes a formula to CNF without synchronization.
+   * @param formula formula
+   * @return the CNF encoding of the formula
+   */
+  private Formula encodeFormula(final Formula formula) {
     switch (this.config().algorithm) {
       case FACTORIZATION:
         if (this.factorization == null)
@@ -0,0 +1,143 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link BatchEvaluator}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class BatchEvaluatorTest {
+
+  private final List<Formula> formulas = Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.NOT1, F.NOT2, F.IMP1, F.IMP3,
+          F.IMP4, F.EQ1, F.EQ3, F.EQ4, F.AND1, F.AND3, F.OR1, F.OR3, F.PBC1, F.PBC2, F.PBC3, F.PBC4, F.PBC5);
+
+  @Test
+  public void testSingleBatch() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(F.f);
+    final Formula formula = p.parse("(a => b) & (~c | d <=> x) | ~(a & d)");
+    final BatchEvaluator evaluator = new BatchEvaluator(formula);
+    Assert.assertEquals(5, evaluator.variables().size());
+    final long[] masks = new long[5];
+    for (int bit = 0; bit < 32; bit++)
+      for (int var = 0; var < 5; var++)
+        if ((bit >> var & 1) != 0)
+          masks[var] |= 1L << bit;
+    final long result = evaluator.evaluate(masks);
+    for (int bit = 0; bit < 32; bit++) {
+      final List<Literal> lits = new ArrayList<>();
+      for (int var = 0; var < 5; var++)
+        if ((bit >> var & 1) != 0)
+          lits.add(evaluator.variables().get(var));
+      Assert.assertEquals(formula.evaluate(new Assignment(lits)), (result >>> bit & 1L) != 0);
+    }
+  }
+
+  @Test
+  public void testAgainstEvaluate() {
+    final Random random = new Random(42);
+    final List<Assignment> assignments = new ArrayList<>();
+    for (int i = 0; i < 300; i++)
+      assignments.add(randomAssignment(random));
+    for (final Formula formula : this.formulas) {
+      final long[] results = new BatchEvaluator(formula).evaluate(assignments);
+      Assert.assertEquals(5, results.length);
+      for (int i = 0; i < assignments.size(); i++)
+        Assert.assertEquals(formula.evaluate(assignments.get(i)), (results[i / 64] >>> (i % 64) & 1L) != 0);
+      Assert.assertEquals(0L, results[4] >>> 44);
+    }
+  }
+
+  @Test
+  public void testPseudoBooleanConstraints() {
+    final Random random = new Random(42);
+    final List<Assignment> assignments = new ArrayList<>();
+    for (int i = 0; i < 128; i++)
+      assignments.add(randomAssignment(random));
+    final Literal[] lits = {F.A, F.NB, F.C, F.NX, F.Y};
+    final int[] bounds = {3, 20, 1000, 1 << 20};
+    for (int n = 0; n < 500; n++) {
+      final int bound = bounds[n % bounds.length];
+      final int[] coeffs = new int[lits.length];
+      for (int i = 0; i < coeffs.length; i++)
+        coeffs[i] = random.nextInt(2 * bound + 1) - bound;
+      final CType comparator = CType.values()[random.nextInt(CType.values().length)];
+      final int rhs = random.nextInt(6 * bound + 1) - 3 * bound;
+      final Formula pbc = F.f.pbc(comparator, rhs, lits, coeffs);
+      final long[] results = new BatchEvaluator(pbc).evaluate(assignments);
+      for (int i = 0; i < assignments.size(); i++)
+        Assert.assertEquals(pbc.toString(), pbc.evaluate(assignments.get(i)), (results[i / 64] >>> (i % 64) & 1L) != 0);
+    }
+  }
+
+  @Test
+  public void testParallel() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(F.f);
+    final Formula formula = p.parse("(a | b | c) & (~a | ~b) & (x <=> y) & (c => x)");
+    final BatchEvaluator evaluator = new BatchEvaluator(formula);
+    final Random random = new Random(42);
+    final List<Assignment> assignments = new ArrayList<>();
+    for (int i = 0; i < 64 * 200; i++)
+      assignments.add(randomAssignment(random));
+    final long[] results = evaluator.evaluate(assignments);
+    Assert.assertEquals(200, results.length);
+    for (int i = 0; i < assignments.size(); i++)
+      Assert.assertEquals(formula.evaluate(assignments.get(i)), (results[i / 64] >>> (i % 64) & 1L) != 0);
+  }
+
+  @Test
+  public void testEmpty() {
+    final BatchEvaluator evaluator = new BatchEvaluator(F.AND1);
+    Assert.assertEquals(0, evaluator.evaluate(Collections.<Assignment>emptyList()).length);
+    Assert.assertEquals(0L, evaluator.evaluate(new long[2]));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfMasks() {
+    new BatchEvaluator(F.AND1).evaluate(new long[1]);
+  }
+
+  private static Assignment randomAssignment(final Random random) {
+    final Assignment assignment = new Assignment();
+    for (final Variable var : Arrays.asList(F.A, F.B, F.C, F.X, F.Y))
+      assignment.addLiteral(random.nextBoolean() ? var : var.negate());
+    return assignment;
+  }
+}
@@ -30,6 +30,7 @@ package org.logicng.formulas;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.FunctionCacheEntry;
 import org.logicng.formulas.cache.PredicateCacheEntry;
 import org.logicng.formulas.cache.TransformationCacheEntry;
@@ -39,7 +40,7 @@ import java.util.List;
 
 /**
  * Unit tests for the package formulas.cache.
- * @version 1.1
+ * @version 1.2
  * @since 1.1
  */
 public class CacheTest {
@@ -79,4 +80,48 @@ public class CacheTest {
     Assert.assertTrue(valuesFunc.contains(FunctionCacheEntry.valueOf("SUBFORMULAS")));
   }
 
+  @Test
+  public void testFormulaCaches() {
+    testCaches(new FormulaFactory());
+    testCaches(new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).build()));
+    final FormulaFactory f = new FormulaFactory("", new FormulaFactoryConfig.Builder().sideTableCaches(true).build());
+    Assert.assertTrue(f.hasSideTableCaches());
+    Assert.assertFalse(new FormulaFactory().hasSideTableCaches());
+    testCaches(f);
+    Assert.assertEquals(4, f.transformationTable().size());
+    Assert.assertEquals(2, f.functionTable().size());
+    f.variable("a").setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, null);
+    Assert.assertNull(f.variable("a").functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(1, f.functionTable().size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIllegalConfig() {
+    new FormulaFactoryConfig.Builder().sideTableCaches(true).weakUniqueTables(true).build();
+  }
+
+  private void testCaches(final FormulaFactory f) {
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final Formula and = f.and(a, b);
+    final Formula or = f.or(a, f.not(and));
+    Assert.assertEquals(Tristate.TRUE, and.predicateCacheEntry(PredicateCacheEntry.IS_CNF));
+    Assert.assertEquals(and, and.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF));
+    Assert.assertEquals(Tristate.FALSE, or.predicateCacheEntry(PredicateCacheEntry.IS_CNF));
+    Assert.assertNull(a.transformationCacheEntry(TransformationCacheEntry.NNF));
+    Assert.assertNull(a.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(Tristate.UNDEF, a.predicateCacheEntry(PredicateCacheEntry.IS_SAT));
+    a.setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, 1);
+    a.setFunctionCacheEntry(FunctionCacheEntry.LITPROFILE, 2);
+    a.setFunctionCacheEntry(FunctionCacheEntry.VARPROFILE, 3);
+    Assert.assertEquals(3, a.functionCacheEntry(FunctionCacheEntry.VARPROFILE));
+    Assert.assertEquals(2, a.functionCacheEntry(FunctionCacheEntry.LITPROFILE));
+    a.setPredicateCacheEntry(PredicateCacheEntry.IS_SAT, true);
+    a.setPredicateCacheEntry(PredicateCacheEntry.IS_TAUTOLOGY, Tristate.FALSE);
+    Assert.assertEquals(Tristate.TRUE, a.predicateCacheEntry(PredicateCacheEntry.IS_SAT));
+    Assert.assertEquals(Tristate.FALSE, a.predicateCacheEntry(PredicateCacheEntry.IS_TAUTOLOGY));
+    Assert.assertEquals(f.and(a.negate(), b.negate()), f.not(f.or(a, b)).nnf());
+    Assert.assertEquals(f.and(a.negate(), b.negate()), f.not(f.or(a, b)).transformationCacheEntry(TransformationCacheEntry.NNF));
+    Assert.assertNull(or.transformationCacheEntry(TransformationCacheEntry.AIG));
+  }
 }
@@ -0,0 +1,197 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.transformations.cnf.CNFConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for concurrent formula factories.
+ * @version 1.2
+ * @since 1.2
+ */
+public class ConcurrentFormulaFactoryTest {
+
+  private static final int THREADS = 8;
+
+  private final FormulaFactory f = new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).build());
+
+  @Test
+  public void testConfig() {
+    Assert.assertTrue(this.f.isConcurrent());
+    Assert.assertFalse(new FormulaFactory().isConcurrent());
+    Assert.assertEquals(ConfigurationType.FORMULA_FACTORY, this.f.configurationFor(ConfigurationType.FORMULA_FACTORY).type());
+    Assert.assertEquals("FormulaFactoryConfig{\nconcurrent=true\nweakUniqueTables=false\nsideTableCaches=false\ninstrumentation=false\n}\n", this.f.configurationFor(ConfigurationType.FORMULA_FACTORY).toString());
+  }
+
+  @Test
+  public void testUniqueFormulas() throws InterruptedException, ExecutionException {
+    final List<List<Formula>> results = runConcurrently(new Callable<List<Formula>>() {
+      @Override
+      public List<Formula> call() throws ParserException {
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          final Variable a = f.variable("a" + i);
+          final Literal b = f.literal("b" + i, false);
+          final Variable c = f.variable("c" + (i % 7));
+          formulas.add(f.and(a, b));
+          formulas.add(f.or(b, a, c));
+          formulas.add(f.and(f.or(a, c), f.not(f.equivalence(a, b)), f.implication(c, b), a.negate()));
+          formulas.add(f.cc(CType.LE, 1, a, c));
+          formulas.add(f.parse("(a" + i + " | x) & ~(y => c" + (i % 3) + ")"));
+        }
+        return formulas;
+      }
+    });
+    final List<Formula> first = results.get(0);
+    for (final List<Formula> result : results) {
+      Assert.assertEquals(first.size(), result.size());
+      for (int i = 0; i < first.size(); i++)
+        Assert.assertSame(first.get(i), result.get(i));
+    }
+    Assert.assertSame(first.get(0), this.f.and(this.f.variable("a0"), this.f.literal("b0", false)));
+  }
+
+  @Test
+  public void testConfigurations() throws InterruptedException, ExecutionException {
+    final List<List<Configuration>> results = runConcurrently(new Callable<List<Configuration>>() {
+      @Override
+      public List<Configuration> call() {
+        final List<Configuration> configurations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+          f.putConfiguration(i % 2 == 0 ? new CNFConfig.Builder().build() : new MiniSatConfig.Builder().build());
+          configurations.add(f.configurationFor(ConfigurationType.CNF));
+          configurations.add(f.configurationFor(ConfigurationType.FORMULA_FACTORY));
+        }
+        return configurations;
+      }
+    });
+    for (final List<Configuration> result : results)
+      for (final Configuration configuration : result)
+        Assert.assertNotNull(configuration);
+    Assert.assertEquals(ConfigurationType.MINISAT, this.f.configurationFor(ConfigurationType.MINISAT).type());
+  }
+
+  @Test
+  public void testGeneratedVariables() throws InterruptedException, ExecutionException {
+    final List<List<Formula>> results = runConcurrently(new Callable<List<Formula>>() {
+      @Override
+      public List<Formula> call() {
+        final List<Formula> variables = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+          variables.add(f.newCCVariable());
+          variables.add(f.newPBVariable());
+          variables.add(f.newCNFVariable());
+        }
+        return variables;
+      }
+    });
+    final Set<Formula> all = new HashSet<>();
+    for (final List<Formula> result : results)
+      for (final Formula var : result) {
+        Assert.assertTrue(this.f.isGeneratedVariable((Variable) var));
+        Assert.assertTrue(all.add(var));
+      }
+    Assert.assertEquals(THREADS * 1500, all.size());
+  }
+
+  @Test
+  public void testDenseVariableIndices() throws InterruptedException, ExecutionException {
+    final FormulaFactory weak = new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).weakUniqueTables(true).build());
+    for (final FormulaFactory factory : Arrays.asList(this.f, weak)) {
+      final List<List<Variable>> results = runConcurrently(new Callable<List<Variable>>() {
+        @Override
+        public List<Variable> call() {
+          final List<Variable> variables = new ArrayList<>();
+          for (int i = 0; i < 1000; i++)
+            variables.add(factory.variable("v" + i));
+          return variables;
+        }
+      });
+      final boolean[] used = new boolean[1000];
+      for (final List<Variable> result : results)
+        for (int i = 0; i < result.size(); i++) {
+          Assert.assertSame(results.get(0).get(i), result.get(i));
+          used[result.get(i).index()] = true;
+        }
+      for (final boolean index : used)
+        Assert.assertTrue(index);
+      Assert.assertEquals(1000, factory.statistics().variableIndices());
+    }
+  }
+
+  @Test
+  public void testSharedCNF() throws InterruptedException, ExecutionException, ParserException {
+    final Formula formula = this.f.parse("(a & b) | (c & ~d) | (e <=> f) | ~(g => h)");
+    final List<List<Formula>> results = runConcurrently(new Callable<List<Formula>>() {
+      @Override
+      public List<Formula> call() {
+        final List<Formula> cnfs = new ArrayList<>();
+        cnfs.add(formula.cnf());
+        cnfs.add(formula.nnf());
+        return cnfs;
+      }
+    });
+    for (final List<Formula> result : results) {
+      Assert.assertSame(results.get(0).get(0), result.get(0));
+      Assert.assertSame(results.get(0).get(1), result.get(1));
+    }
+  }
+
+  private <T> List<T> runConcurrently(final Callable<T> task) throws InterruptedException, ExecutionException {
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++)
+        futures.add(executor.submit(task));
+      final List<T> results = new ArrayList<>();
+      for (final Future<T> future : futures)
+        results.add(future.get());
+      return results;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
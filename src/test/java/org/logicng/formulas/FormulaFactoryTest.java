@@ -36,12 +36,13 @@ import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.MiniSatConfig;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Test some basic formula factory functionality.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class FormulaFactoryTest {
@@ -76,6 +77,16 @@ public class FormulaFactoryTest {
     Assert.assertEquals("", f.name());
   }
 
+  @Test
+  public void testGeneration() {
+    final FormulaFactory f = new FormulaFactory();
+    final int generation = f.generation();
+    f.variable("a");
+    Assert.assertEquals(generation, f.generation());
+    f.clear();
+    Assert.assertEquals(generation + 1, f.generation());
+  }
+
   @Test
   public void testConfigurations() {
     final FormulaFactory f = new FormulaFactory();
@@ -145,4 +156,151 @@ public class FormulaFactoryTest {
     Assert.assertEquals(cnf, cnf.cnf());
     Assert.assertNotEquals(nCnf, nCnf.cnf());
   }
+
+  @Test
+  public void testWeakUniqueTables() throws InterruptedException {
+    final FormulaFactory f = new FormulaFactory("", new FormulaFactoryConfig.Builder().weakUniqueTables(true).build());
+    Assert.assertTrue(f.hasWeakUniqueTables());
+    Assert.assertFalse(new FormulaFactory().hasWeakUniqueTables());
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final Formula live = f.or(a, b.negate());
+    Formula garbage = f.and(a, f.or(b, f.variable("c")), f.not(f.equivalence(a, b)));
+    garbage.nnf();
+    final WeakReference<Formula> ref = new WeakReference<>(garbage);
+    garbage = null;
+    for (int i = 0; i < 50 && ref.get() != null; i++) {
+      System.gc();
+      f.variable("x" + i);
+    }
+    Assert.assertNull(ref.get());
+    Assert.assertSame(live, f.or(b.negate(), a));
+    Assert.assertSame(a, f.variable("a"));
+    for (int i = 0; i < 50 && !f.toString().contains("Conjunctions (3):  0\n"); i++)
+      Thread.sleep(10);
+    Assert.assertTrue(f.toString().contains("Conjunctions (3):  0\n"));
+    final Formula recreated = f.and(a, f.or(b, f.variable("c")), f.not(f.equivalence(a, b)));
+    Assert.assertSame(recreated, f.and(f.not(f.equivalence(b, a)), f.or(f.variable("c"), b), a));
+    Assert.assertSame(f.and(a, f.or(b, f.variable("c")), f.or(a.negate(), b.negate()), f.or(a, b)), recreated.nnf());
+  }
+
+  @Test
+  public void testNAryOperandLookup() {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 41; i++)
+      vars.add(f.variable("v" + i));
+    for (final int size : new int[]{2, 3, 4, 5, 16, 17, 40}) {
+      final List<Variable> ops = vars.subList(0, size);
+      final List<Formula> reversed = new ArrayList<>(ops);
+      java.util.Collections.reverse(reversed);
+      final List<Formula> duplicates = new ArrayList<>(ops);
+      duplicates.addAll(reversed);
+      final Formula and = f.and(ops);
+      Assert.assertSame(and, f.and(reversed));
+      Assert.assertSame(and, f.and(duplicates.toArray(new Formula[duplicates.size()])));
+      Assert.assertSame(and, f.cnf(duplicates));
+      Assert.assertEquals(size, and.numberOfOperands());
+      Assert.assertSame(ops.get(0), and.iterator().next());
+      final Formula or = f.or(reversed);
+      Assert.assertSame(or, f.or(ops));
+      Assert.assertSame(or, f.clause(ops));
+      Assert.assertSame(or, f.or(duplicates));
+      Assert.assertSame(ops.get(size - 1), or.iterator().next());
+      Assert.assertNotSame(and, f.and(vars.subList(1, size + 1)));
+    }
+    final Formula nested = f.and(vars.get(0), f.and(vars.get(1), vars.get(2)));
+    Assert.assertSame(nested, f.and(vars.get(2), vars.get(1), vars.get(0)));
+    Assert.assertSame(nested, f.and(vars.get(0), f.and(vars.get(1), vars.get(2))));
+    Assert.assertSame(f.falsum(), f.and(vars.get(0), vars.get(0).negate()));
+    Assert.assertSame(vars.get(3), f.and(vars.get(3), vars.get(3)));
+    Assert.assertSame(f.equivalence(vars.get(0), vars.get(1)), f.equivalence(vars.get(1), vars.get(0)));
+    final FormulaFactory g = new FormulaFactory();
+    Assert.assertEquals(f.and(vars.get(0), g.variable("v1")), f.and(vars.get(0), vars.get(1)));
+  }
+
+  @Test
+  public void testStatistics() {
+    final FormulaFactory f = new FormulaFactory("stats", new FormulaFactoryConfig.Builder().instrumentation(true).build());
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    f.variable("a");
+    f.and(a, b.negate());
+    f.and(b.negate(), a);
+    f.or(a, b, f.variable("c"));
+    f.newCNFVariable();
+    final FormulaFactoryStatistics stats = f.statistics();
+    Assert.assertEquals("stats", stats.name());
+    Assert.assertTrue(stats.isInstrumented());
+    Assert.assertEquals(4, stats.tableSize("positiveLiterals"));
+    Assert.assertEquals(3, stats.tableSize("negativeLiterals"));
+    Assert.assertEquals(1, stats.tableSize("conjunctions2"));
+    Assert.assertEquals(1, stats.tableSize("disjunctions3"));
+    Assert.assertEquals(0, stats.tableSize("pbConstraints"));
+    Assert.assertEquals(9, stats.totalTableSize());
+    Assert.assertEquals(1, stats.generatedCNFVariables());
+    Assert.assertEquals(0, stats.generatedCCVariables());
+    Assert.assertEquals(4, stats.variableIndices());
+    Assert.assertEquals(1, stats.hits(FType.AND));
+    Assert.assertEquals(1, stats.misses(FType.AND));
+    Assert.assertEquals(1, stats.misses(FType.OR));
+    Assert.assertEquals(7, stats.misses(FType.LITERAL));
+    Assert.assertTrue(stats.hits(FType.LITERAL) >= 1);
+    Assert.assertTrue(stats.estimatedRetainedBytes() > 0);
+    Assert.assertEquals(Long.valueOf(4), stats.toMap().get("positiveLiterals"));
+    Assert.assertEquals(Long.valueOf(1), stats.toMap().get("hits.AND"));
+    Assert.assertTrue(stats.toString().contains("estimatedRetainedBytes="));
+  }
+
+  @Test
+  public void testRetainedBytesCountSharedOperatorsOnce() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable[] vars = {f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"), f.variable("e")};
+    for (final Variable var : vars)
+      var.negate();
+    final long before = f.statistics().estimatedRetainedBytes();
+    final Formula and = f.and(vars);
+    final long afterFirst = f.statistics().estimatedRetainedBytes();
+    Assert.assertSame(and, f.and(vars[4], vars[3], vars[2], vars[1], vars[0], f.verum()));
+    final long afterAlias = f.statistics().estimatedRetainedBytes();
+    Assert.assertEquals(2, f.statistics().tableSize("conjunctionsN"));
+    Assert.assertTrue(afterAlias - afterFirst < afterFirst - before);
+  }
+
+  @Test
+  public void testRetainedBytesCountCacheArrays() {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula and = f.and(f.variable("a"), f.variable("b"), f.literal("c", false));
+    final long before = f.statistics().estimatedRetainedBytes();
+    and.variableArray();
+    Assert.assertTrue(f.statistics().estimatedRetainedBytes() > before);
+  }
+
+  @Test
+  public void testStatisticsWithoutEstimate() {
+    final FormulaFactory f = new FormulaFactory();
+    f.and(f.variable("a"), f.variable("b"));
+    final FormulaFactoryStatistics stats = f.statistics(false);
+    Assert.assertEquals(-1, stats.estimatedRetainedBytes());
+    Assert.assertEquals(1, stats.tableSize("conjunctions2"));
+    Assert.assertTrue(f.statistics(true).estimatedRetainedBytes() > 0);
+  }
+
+  @Test
+  public void testStatisticsWithoutInstrumentation() {
+    final FormulaFactory f = new FormulaFactory();
+    f.and(f.variable("a"), f.variable("b"));
+    f.and(f.variable("a"), f.variable("b"));
+    final FormulaFactoryStatistics stats = f.statistics();
+    Assert.assertFalse(stats.isInstrumented());
+    Assert.assertEquals(0, stats.hits());
+    Assert.assertEquals(0, stats.misses());
+    Assert.assertFalse(stats.toMap().containsKey("hits.AND"));
+    Assert.assertEquals(1, stats.tableSize("conjunctions2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStatisticsUnknownTable() {
+    new FormulaFactory().statistics().tableSize("generatedCNFVariables");
+  }
 }
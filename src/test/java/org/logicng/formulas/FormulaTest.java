@@ -33,6 +33,7 @@ import org.junit.Test;
 import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.cache.CacheEntry;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import static org.logicng.formulas.cache.PredicateCacheEntry.IS_CNF;
@@ -41,7 +42,7 @@ import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF
 
 /**
  * Test some common formula functionality.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class FormulaTest {
@@ -56,6 +57,27 @@ public class FormulaTest {
     Assert.assertFalse(formula.containsVariable("y"));
   }
 
+  @Test
+  public void testVariableAndLiteralArrays() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable b = f.variable("b");
+    final Variable a = f.variable("a");
+    final Formula formula = f.and(f.or(a, b.negate()), f.implication(b, a.negate()), f.pbc(CType.GE, 1, new Literal[]{a, b}, new int[]{1, 2}));
+    Assert.assertArrayEquals(new Variable[]{b, a}, formula.variableArray());
+    Assert.assertArrayEquals(new Literal[]{b, b.negate(), a, a.negate()}, formula.literalArray());
+    Assert.assertSame(formula.literalArray(), formula.literalArray());
+    Assert.assertEquals(Arrays.asList(a, b), new ArrayList<>(formula.variables()));
+    Assert.assertEquals(Arrays.asList(a, a.negate(), b, b.negate()), new ArrayList<>(formula.literals()));
+    formula.variables().add(f.variable("c"));
+    formula.literals().clear();
+    Assert.assertEquals(2, formula.variables().size());
+    Assert.assertEquals(4, formula.literals().size());
+    Assert.assertTrue(formula.containsVariable(a));
+    Assert.assertFalse(formula.containsVariable(f.variable("c")));
+    Assert.assertTrue(formula.containsVariable(new FormulaFactory().variable("a")));
+    Assert.assertEquals(0, f.verum().variableArray().length);
+  }
+
   @Test
   public void testTransformationCache() {
     final FormulaFactory f = new FormulaFactory();
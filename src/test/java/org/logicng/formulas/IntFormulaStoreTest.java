@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.formulas;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.sat.MiniSat2Solver;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link IntFormulaStore}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class IntFormulaStoreTest {
+
+  @Test
+  public void testRoundTrip() {
+    final List<Formula> formulas = Arrays.asList(F.TRUE, F.FALSE, F.A, F.NA, F.OR3, F.AND3, F.NOT1, F.NOT2, F.IMP3, F.IMP4,
+            F.EQ3, F.EQ4, F.PBC1, F.PBC2, F.PBC3, F.PBC4, F.PBC5, F.f.and(F.PBC1, F.OR1, F.f.not(F.EQ3)));
+    final IntFormulaStore store = new IntFormulaStore(4);
+    final FormulaFactory g = new FormulaFactory();
+    for (final Formula formula : formulas) {
+      final int node = store.add(formula);
+      Assert.assertEquals(node, store.add(formula));
+      Assert.assertEquals(formula, store.formula(node, F.f));
+      Assert.assertSame(formula, store.formula(node, F.f));
+      Assert.assertEquals(formula, store.formula(node, g));
+    }
+  }
+
+  @Test
+  public void testSimplifications() {
+    final IntFormulaStore store = new IntFormulaStore();
+    final int a = store.variable("a");
+    final int b = store.variable("b");
+    final int na = store.literal("a", false);
+    final int ab = store.and(a, b);
+    Assert.assertEquals(na, store.not(a));
+    Assert.assertEquals(a, store.not(na));
+    Assert.assertEquals(ab, store.not(store.not(ab)));
+    Assert.assertEquals(ab, store.and(b, a, store.verum(), b));
+    Assert.assertEquals(ab, store.and(store.and(a), store.and(b)));
+    Assert.assertEquals(store.falsum(), store.and(a, b, na));
+    Assert.assertEquals(store.verum(), store.or(ab, store.not(ab)));
+    Assert.assertEquals(store.falsum(), store.and(ab, store.falsum()));
+    Assert.assertEquals(store.falsum(), store.or());
+    Assert.assertEquals(store.and(a, b, store.variable("c")), store.and(ab, store.variable("c")));
+    Assert.assertEquals(store.verum(), store.implication(a, a));
+    Assert.assertEquals(na, store.implication(a, store.falsum()));
+    Assert.assertEquals(store.equivalence(a, b), store.equivalence(b, a));
+    Assert.assertEquals(store.falsum(), store.equivalence(a, na));
+    Assert.assertEquals(3, store.numberOfVariables());
+  }
+
+  @Test
+  public void testAccessors() {
+    final IntFormulaStore store = new IntFormulaStore();
+    final int pbc = store.add(F.PBC1);
+    Assert.assertEquals(FType.PBC, store.type(pbc));
+    Assert.assertEquals(CType.EQ, store.comparator(pbc));
+    Assert.assertEquals(2, store.rhs(pbc));
+    Assert.assertEquals(3, store.numberOfOperands(pbc));
+    Assert.assertEquals("b", store.name(store.operand(pbc, 1)));
+    Assert.assertTrue(store.phase(store.operand(pbc, 1)));
+    Assert.assertEquals(-4, store.coefficient(pbc, 1));
+    final int imp = store.add(F.IMP1);
+    Assert.assertEquals(FType.IMPL, store.type(imp));
+    Assert.assertEquals(store.variable("a"), store.operand(imp, 0));
+    Assert.assertEquals(store.variable("b"), store.operand(imp, 1));
+    Assert.assertEquals(0, store.numberOfOperands(store.verum()));
+    Assert.assertTrue(store.isCNF(store.add(F.AND3)));
+    Assert.assertFalse(store.isCNF(imp));
+    Assert.assertFalse(store.isCNF(pbc));
+    Assert.assertEquals("IntFormulaStore{nodes=13, variables=4, operands=12}", store.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalOperand() {
+    final IntFormulaStore store = new IntFormulaStore();
+    store.operand(store.variable("a"), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalPBC() {
+    final IntFormulaStore store = new IntFormulaStore();
+    store.pbc(CType.LE, 1, new int[]{store.variable("a"), store.and(store.variable("a"), store.variable("b"))}, new int[]{1, 1});
+  }
+
+  @Test
+  public void testSolver() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(F.f);
+    final IntFormulaStore store = new IntFormulaStore();
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    store.addClauses(solver, store.add(p.parse("(a | b | ~c) & (~a | c) & ~b")));
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null));
+    Assert.assertEquals(3, solver.nVars());
+    store.addClauses(solver, store.add(p.parse("~a | ~c")));
+    Assert.assertEquals(3, solver.nVars());
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null));
+    store.addClauses(solver, store.variable("a"));
+    Assert.assertEquals(Tristate.FALSE, solver.solve(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSolverNonCNF() {
+    final IntFormulaStore store = new IntFormulaStore();
+    store.addClauses(new MiniSat2Solver(), store.add(F.IMP1));
+  }
+
+  @Test
+  public void testInvalidHandles() {
+    final IntFormulaStore store = new IntFormulaStore();
+    final int a = store.variable("a");
+    final int unused = store.numberOfNodes();
+    for (final int handle : new int[]{-1, unused}) {
+      try {
+        store.type(handle);
+        Assert.fail();
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        store.implication(a, handle);
+        Assert.fail();
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        store.and(IntFormulaStore.FALSUM, handle);
+        Assert.fail();
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testLargeFormula() {
+    final IntFormulaStore store = new IntFormulaStore(16);
+    int formula = store.verum();
+    for (int i = 0; i < 10000; i++)
+      formula = store.and(formula, store.or(store.variable("v" + i), store.literal("v" + (i + 1), false)));
+    Assert.assertEquals(10001, store.numberOfVariables());
+    Assert.assertEquals(10000, store.numberOfOperands(formula));
+    final FormulaFactory f = new FormulaFactory();
+    final Formula materialized = store.formula(formula, f);
+    Assert.assertEquals(10000, materialized.numberOfOperands());
+    Assert.assertEquals(formula, store.add(materialized));
+  }
+}
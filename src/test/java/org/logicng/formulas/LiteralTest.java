@@ -34,7 +34,7 @@ import org.logicng.datastructures.Substitution;
 
 /**
  * Unit Tests for the class {@link Literal}.
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public class LiteralTest {
@@ -179,4 +179,20 @@ public class LiteralTest {
     Assert.assertEquals(F.A, F.NA.variable());
     Assert.assertEquals(F.NA, F.NA.negative());
   }
+
+  @Test
+  public void testIndex() {
+    final FormulaFactory f = new FormulaFactory();
+    final Variable a = f.variable("a");
+    final Literal nb = f.literal("b", false);
+    final Variable c = f.variable("c");
+    Assert.assertEquals(0, a.index());
+    Assert.assertEquals(1, nb.index());
+    Assert.assertEquals(1, nb.variable().index());
+    Assert.assertEquals(2, c.index());
+    Assert.assertEquals(0, f.literal("a", false).index());
+    Assert.assertEquals(3, f.numberOfVariableIndices());
+    f.clear();
+    Assert.assertEquals(3, f.variable("a").index());
+  }
 }
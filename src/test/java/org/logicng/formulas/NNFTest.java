@@ -35,7 +35,7 @@ import org.junit.Test;
 /**
  * Unit Tests for NNF conversion.
  *
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public class NNFTest {
@@ -86,4 +86,17 @@ public class NNFTest {
     Assert.assertEquals(p.parse("~a & ~b & x & y"), p.parse("~(a | b | ~x | ~y)").nnf());
     Assert.assertEquals(p.parse("~a & ~b & x & y"), p.parse("~(a | b | ~x | ~y)").nnf());
   }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    Formula negated = f.literal("a", false);
+    for (int i = 0; i < 50000; i++) {
+      formula = f.or(f.variable("x" + i), f.and(f.variable("y" + i), formula));
+      negated = f.and(f.literal("x" + i, false), f.or(f.literal("y" + i, false), negated));
+    }
+    Assert.assertSame(formula, formula.nnf());
+    Assert.assertSame(negated, f.not(formula).nnf());
+  }
 }
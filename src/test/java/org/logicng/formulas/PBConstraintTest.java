@@ -42,7 +42,7 @@ import java.util.TreeSet;
 
 /**
  * Unit Tests for the class {@link PBConstraint}.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class PBConstraintTest {
@@ -84,6 +84,23 @@ public class PBConstraintTest {
     f.pbc(CType.EQ, 3, lits2, coeffs2);
   }
 
+  @Test
+  public void testPBFromBuffers() {
+    final Literal[] lits = new Literal[]{f.variable("a"), f.literal("b", false), f.variable("c"), null};
+    final int[] coeffs = new int[]{3, -2, 7, 0, 0};
+    final PBConstraint pbc = f.pbc(CType.LE, 8, lits, coeffs, 3);
+    Assert.assertSame(this.pb2, pbc);
+    lits[0] = f.variable("x");
+    coeffs[0] = 5;
+    Assert.assertEquals(f.variable("a"), pbc.operands()[0]);
+    Assert.assertEquals(3, pbc.coefficients()[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalPBFromBuffers() {
+    f.pbc(CType.LE, 8, new Literal[]{f.variable("a")}, new int[]{1, 2}, 2);
+  }
+
   @Test
   public void testType() {
     Assert.assertEquals(FType.PBC, this.pb1.type());
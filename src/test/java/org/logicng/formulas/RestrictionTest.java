@@ -35,10 +35,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Unit tests for formula restriction.
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public class RestrictionTest {
@@ -96,4 +98,34 @@ public class RestrictionTest {
     Assert.assertEquals(p.parse("c & ~y"), p.parse("a & ~b & c & ~x & ~y").restrict(ass));
     Assert.assertEquals(F.FALSE, p.parse("a & b & c & ~x & y").restrict(ass));
   }
+
+  @Test
+  public void testBulkRestrict() {
+    final List<Formula> formulas = Arrays.asList(F.OR1, F.IMP3, F.EQ3, F.AND3, F.C);
+    final List<Formula> restricted = F.f.restrict(formulas, ass);
+    Assert.assertEquals(Arrays.asList(F.Y, F.TRUE, F.NY, F.Y, F.C), restricted);
+    Assert.assertEquals(Collections.emptyList(), F.f.restrict(Collections.<Formula>emptyList(), ass));
+  }
+
+  @Test
+  public void testSharedRestrict() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 60; i++) {
+      final Variable x = f.variable("x" + i);
+      formula = f.or(f.and(x, formula), f.and(x.negate(), formula));
+    }
+    Assert.assertSame(formula, formula.restrict(new Assignment(f.variable("y"))));
+    Assert.assertEquals(f.verum(), formula.restrict(new Assignment(f.variable("a"))));
+  }
+
+  @Test
+  public void testDeepRestrict() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 100000; i++)
+      formula = f.implication(f.variable("x" + i), formula);
+    Assert.assertSame(formula, formula.restrict(new Assignment(f.variable("y"))));
+    Assert.assertEquals(f.verum(), formula.restrict(new Assignment(f.variable("a"))));
+  }
 }
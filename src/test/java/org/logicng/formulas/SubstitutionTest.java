@@ -37,7 +37,7 @@ import org.logicng.io.parsers.PropositionalParser;
 
 /**
  * Unit tests for the class {@link Substitution}.
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  */
 public class SubstitutionTest {
@@ -174,4 +174,16 @@ public class SubstitutionTest {
     subst.addMapping(F.B, F.OR1);
   }
 
+  @Test
+  public void testSharedSubstitution() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    Formula expected = f.variable("b");
+    for (int i = 0; i < 60; i++) {
+      final Variable x = f.variable("x" + i);
+      formula = f.or(f.and(x, formula), f.and(x.negate(), formula));
+      expected = f.or(f.and(x, expected), f.and(x.negate(), expected));
+    }
+    Assert.assertSame(expected, formula.substitute(f.variable("a"), f.variable("b")));
+  }
 }
@@ -30,11 +30,18 @@ package org.logicng.formulas.printer;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.formulas.CType;
 import org.logicng.formulas.F;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
 
 /**
  * Unit tests for {@link DefaultStringRepresentation}
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class DefaultStringRepresentationTest {
@@ -64,6 +71,137 @@ public class DefaultStringRepresentationTest {
     Assert.assertEquals("2*a + -4*b + 3*x <= 2", F.f.string(F.PBC5, sr));
   }
 
+  @Test
+  public void testWrite() throws IOException {
+    for (final Formula formula : new Formula[]{F.FALSE, F.NA, F.IMP3, F.EQ4, F.AND3, F.PBC1, F.f.not(F.f.and(F.PBC2, F.EQ4))}) {
+      final StringWriter writer = new StringWriter();
+      sr.write(formula, writer);
+      Assert.assertEquals(sr.toString(formula), writer.toString());
+    }
+    Assert.assertEquals("~((2*a + -4*b + 3*x > 2) & (a => b <=> ~a => ~b))", sr.toString(F.f.not(F.f.and(F.PBC2, F.EQ4))));
+    final StringWriter writer = new StringWriter();
+    F.f.string(F.OR3, writer);
+    Assert.assertEquals(F.OR3.toString(), writer.toString());
+  }
+
+  @Test
+  public void testDeepFormula() {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 100000; i++)
+      formula = f.not(f.and(f.variable(i % 2 == 0 ? "x" : "y"), formula));
+    final String string = sr.toString(formula);
+    Assert.assertTrue(string.startsWith("~(y & ~(x & ~(y & "));
+    Assert.assertTrue(string.contains("~(y & ~(x & a))))"));
+    Assert.assertEquals(100000 * "~(y & ".length() + "a".length() + 100000, string.length());
+  }
+
+  @Test
+  public void testWriteShared() throws IOException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula a = f.variable("a");
+    final Formula b = f.variable("b");
+    final Formula c = f.variable("c");
+    final Formula x = f.variable("x");
+    final Formula s = f.or(f.and(a, b), c);
+    final StringWriter writer = new StringWriter();
+    sr.writeShared(f.and(s, f.implication(s, x)), writer);
+    Assert.assertEquals("#1 := a & b | c\n#1 & (#1 => x)", writer.toString());
+    final Formula n = f.not(f.equivalence(a, f.and(b, c)));
+    final Formula m = f.or(n, x);
+    final StringWriter writer2 = new StringWriter();
+    sr.writeShared(f.and(m, f.or(n, f.variable("y")), f.implication(m, a)), writer2);
+    Assert.assertEquals("#1 := ~(a <=> b & c)\n#2 := #1 | x\n#2 & (#1 | y) & (#2 => a)", writer2.toString());
+    final StringWriter writer3 = new StringWriter();
+    sr.writeShared(f.and(a, f.or(a, b)), writer3);
+    Assert.assertEquals("a & (a | b)", writer3.toString());
+    final Formula t = f.and(f.variable("@1"), c);
+    final StringWriter writer4 = new StringWriter();
+    sr.writeShared(f.or(t, f.implication(t, a)), writer4);
+    Assert.assertEquals("#1 := @1 & c\n#1 | (#1 => a)", writer4.toString());
+  }
+
+  @Test
+  public void testOverriddenMethods() throws IOException {
+    final FormulaStringRepresentation upperCase = new FormulaStringRepresentation() {
+      @Override
+      public String toString(final Formula formula) {
+        return formula.type() == FType.LITERAL ? super.toString(formula).toUpperCase() : super.toString(formula);
+      }
+
+      @Override
+      protected String bracket(final Formula formula) {
+        return "[" + this.toString(formula) + "]";
+      }
+
+      @Override
+      protected String falsum() {
+        return sr.falsum();
+      }
+
+      @Override
+      protected String verum() {
+        return sr.verum();
+      }
+
+      @Override
+      protected String negation() {
+        return sr.negation();
+      }
+
+      @Override
+      protected String implication() {
+        return sr.implication();
+      }
+
+      @Override
+      protected String equivalence() {
+        return sr.equivalence();
+      }
+
+      @Override
+      protected String and() {
+        return sr.and();
+      }
+
+      @Override
+      protected String or() {
+        return sr.or();
+      }
+
+      @Override
+      protected String pbComparator(final CType comparator) {
+        return sr.pbComparator(comparator);
+      }
+
+      @Override
+      protected String pbMul() {
+        return sr.pbMul();
+      }
+
+      @Override
+      protected String pbAdd() {
+        return sr.pbAdd();
+      }
+
+      @Override
+      protected String lbr() {
+        return sr.lbr();
+      }
+
+      @Override
+      protected String rbr() {
+        return sr.rbr();
+      }
+    };
+    Assert.assertEquals("~A => ~B", F.f.string(F.IMP2, upperCase));
+    Assert.assertEquals("[X | Y] & [~X | ~Y]", F.f.string(F.AND3, upperCase));
+    Assert.assertEquals("~[A & B]", F.f.string(F.f.not(F.AND1), upperCase));
+    final StringWriter writer = new StringWriter();
+    upperCase.write(F.EQ4, writer);
+    Assert.assertEquals("A => B <=> ~A => ~B", writer.toString());
+  }
+
   @Test
   public void testToString() {
     Assert.assertEquals("DefaultStringRepresentation", sr.toString());
@@ -0,0 +1,159 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.writers.AIGERWriter;
+import org.logicng.predicates.AIGPredicate;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.transformations.AIGTransformation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link AIGERReader} and {@link AIGERWriter}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class AIGERReaderTest {
+
+  private final File file = new File("tests/writers/temp/circuit.aig");
+
+  @Test
+  public void testRoundTrip() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Formula> aigs = new ArrayList<>();
+    for (final String string : Arrays.asList("a", "~a", "$true", "$false", "a & b & ~c", "a | b | ~c", "a => (b <=> ~c)",
+            "(a | ~b) & (b | c) & ~(a & ~c & d)", "(a <=> b) & (c <=> ~d) & (e | ~(f & g))", "a + 2 * b + c + d <= 2"))
+      aigs.add(f.parse(string).transform(new AIGTransformation()));
+    for (final boolean binary : Arrays.asList(false, true)) {
+      AIGERWriter.write(this.file, aigs, binary);
+      final List<Formula> read = AIGERReader.read(this.file, f);
+      Assert.assertEquals(aigs.size(), read.size());
+      for (int i = 0; i < aigs.size(); i++) {
+        Assert.assertTrue(read.get(i).holds(new AIGPredicate()));
+        assertEquivalent(f, aigs.get(i), read.get(i));
+        Assert.assertSame(aigs.get(i), read.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testArbitraryFormulas() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Formula> formulas = new ArrayList<>();
+    for (final String string : Arrays.asList("a | b | ~c", "a => (b <=> ~c)", "~(a | (b => c)) <=> d", "a + 2 * b - 3 * c >= 1"))
+      formulas.add(f.parse(string));
+    for (final boolean binary : Arrays.asList(false, true)) {
+      AIGERWriter.write(this.file, formulas, binary);
+      final List<Formula> read = AIGERReader.read(this.file, new FormulaFactory());
+      for (int i = 0; i < formulas.size(); i++)
+        assertEquivalent(f, formulas.get(i), f.parse(read.get(i).toString()));
+    }
+  }
+
+  @Test
+  public void testSharing() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula shared = f.parse("~(a & b) & ~(c & ~d)");
+    final Formula out1 = f.and(shared, f.variable("e"));
+    final Formula out2 = f.not(f.and(shared, f.variable("x")));
+    final String ascii = write(Arrays.asList(out1, out2, shared), false);
+    Assert.assertTrue(ascii.startsWith("aag 11 6 0 3 5\n"));
+    final List<Formula> read = AIGERReader.read(new ByteArrayInputStream(ascii.getBytes(StandardCharsets.UTF_8)), f);
+    Assert.assertEquals(Arrays.asList(out1, out2, shared), read);
+    for (int i = 0; i < read.size(); i++)
+      Assert.assertSame(Arrays.asList(out1, out2, shared).get(i), read.get(i));
+    final String binary = write(Arrays.asList(out1, out2, shared), true);
+    Assert.assertTrue(binary.startsWith("aig 11 6 0 3 5\n"));
+    Assert.assertTrue(binary.length() < ascii.length());
+  }
+
+  @Test
+  public void testAsciiFile() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final String aag = "aag 7 2 0 2 3\n2\n4\n6\n12\n6 13 15\n12 2 4\n14 3 5\ni0 x\ni1 y\no0 s\no1 c\nc\nhalf adder\n";
+    final List<Formula> read = AIGERReader.read(new ByteArrayInputStream(aag.getBytes(StandardCharsets.UTF_8)), f);
+    Assert.assertEquals(2, read.size());
+    assertEquivalent(f, f.parse("x & ~y | ~x & y"), read.get(0));
+    Assert.assertEquals(f.parse("x & y"), read.get(1));
+    final String unnamed = "aag 3 2 0 1 1\n2\n4\n7\n6 2 5\n";
+    Assert.assertEquals(Collections.singletonList(f.parse("~(i0 & ~i1)")),
+            AIGERReader.read(new ByteArrayInputStream(unnamed.getBytes(StandardCharsets.UTF_8)), f));
+    final String constants = "aag 0 0 0 2 0\n0\n1\n";
+    Assert.assertEquals(Arrays.asList(f.falsum(), f.verum()),
+            AIGERReader.read(new ByteArrayInputStream(constants.getBytes(StandardCharsets.UTF_8)), f));
+  }
+
+  @Test
+  public void testEmpty() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    Assert.assertEquals("aag 0 0 0 0 0\n", write(Collections.<Formula>emptyList(), false));
+    Assert.assertTrue(AIGERReader.read(new ByteArrayInputStream("aig 0 0 0 0 0\n".getBytes(StandardCharsets.UTF_8)), f).isEmpty());
+  }
+
+  @Test
+  public void testIllegalFiles() throws IOException {
+    final String[] files = {"p cnf 1 1\n", "aag 1 1 1 0 0\n2\n2 3\n", "aag 1 1 0 0 1\n2\n", "aig 3 1 0 1 1\n2\n",
+            "aag 1 1 0 1 0\n2\n6\n", "aag 2 1 0 1 1\n2\n4\n4 5 2\n", "aag 3 1 0 1 2\n2\n4\n4 6 2\n6 4 2\n",
+            "aag 1 1 0 0 0 1\n2\n", "aag 2 1 0 0 0\n3\n", "aag 2 1 0 1 0\n2\n4\n", "aag 1 1 0 0 0\n2\nx0 a\n", "aig 2 1 0 1 1\n4\n\u0080"};
+    for (final String file : files) {
+      try {
+        AIGERReader.read(new ByteArrayInputStream(file.getBytes(StandardCharsets.ISO_8859_1)), new FormulaFactory());
+        Assert.fail("Expected a parser exception for " + file);
+      } catch (final ParserException e) {
+        // expected
+      }
+    }
+  }
+
+  private static String write(final List<Formula> formulas, final boolean binary) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    AIGERWriter.write(out, formulas, binary);
+    return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+  }
+
+  private static void assertEquivalent(final FormulaFactory f, final Formula expected, final Formula actual) {
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(f.not(f.equivalence(expected, actual)));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+}
@@ -0,0 +1,155 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.writers.BinaryCNFWriter;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BinaryCNFReader} and {@link BinaryCNFWriter}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class BinaryCNFReaderTest {
+
+  private final File file = new File("tests/writers/temp/cnf.bin");
+
+  @Test
+  public void testConvertDimacs() throws IOException, ParserException {
+    final String[] files = {"3col40_5_10.shuffled.cnf", "9symml_gr_rcs_w6.shuffled.cnf", "ca032.shuffled.cnf", "bart30.shuffled.cnf"};
+    final Tristate[] results = {Tristate.FALSE, Tristate.TRUE, Tristate.FALSE, Tristate.TRUE};
+    for (int i = 0; i < files.length; i++) {
+      final File dimacs = new File("tests/sat/" + files[i]);
+      final List<String> expected = new ArrayList<>();
+      DimacsReader.read(dimacs, clause -> expected.add(sortedCodes(clause, true)));
+      Assert.assertEquals(expected.size(), BinaryCNFWriter.convert(dimacs, this.file));
+      Assert.assertTrue(this.file.length() < dimacs.length());
+      final List<String> actual = new ArrayList<>();
+      Assert.assertEquals(expected.size(), BinaryCNFReader.read(this.file, clause -> actual.add(sortedCodes(clause, false))));
+      Assert.assertEquals(expected, actual);
+      final FormulaFactory f = new FormulaFactory();
+      final MiniSat miniSat = MiniSat.miniSat(f);
+      BinaryCNFReader.read(this.file, miniSat.underlyingSolver(), "v");
+      Assert.assertEquals(results[i], miniSat.sat());
+      final CleaneLing cleaneLing = CleaneLing.minimalistic(f);
+      BinaryCNFReader.read(this.file, cleaneLing.underlyingSolver());
+      Assert.assertEquals(results[i], cleaneLing.sat());
+    }
+  }
+
+  @Test
+  public void testFormula() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = f.parse("(a | ~b | c) & (~a | d) & (b <=> ~e) & (c | e) & ~(c & d)");
+    BinaryCNFWriter.write(this.file, formula);
+    final MiniSat solver = MiniSat.miniSat(f);
+    Assert.assertEquals(formula.cnf().numberOfOperands(), BinaryCNFReader.read(this.file, solver.underlyingSolver(), null));
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    Assert.assertTrue(formula.evaluate(solver.model(formula.variables())));
+    BinaryCNFWriter.write(this.file, f.falsum());
+    final MiniSat unsat = MiniSat.miniSat(f);
+    Assert.assertEquals(1, BinaryCNFReader.read(this.file, unsat.underlyingSolver(), null));
+    Assert.assertEquals(Tristate.FALSE, unsat.sat());
+    BinaryCNFWriter.write(this.file, f.verum());
+    Assert.assertEquals(0, BinaryCNFReader.read(this.file, MiniSat.miniSat(f).underlyingSolver(), null));
+  }
+
+  @Test
+  public void testFormulaVariableOrder() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    BinaryCNFWriter.write(this.file, f.or(f.variable("b"), f.literal("a", false)));
+    final List<String> clauses = new ArrayList<>();
+    BinaryCNFReader.read(this.file, clause -> clauses.add(sortedCodes(clause, false)));
+    Assert.assertEquals(Arrays.asList("[1, 2]"), clauses);
+  }
+
+  @Test
+  public void testSolverWithLearnts() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final MiniSat solver = MiniSat.glucose(f);
+    solver.add(new PigeonHoleGenerator(f).generate(6));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    BinaryCNFWriter.write(this.file, solver.underlyingSolver(), true);
+    final MiniSat reloaded = MiniSat.miniSat(f);
+    Assert.assertEquals(solver.underlyingSolver().nExportedClauses(true), BinaryCNFReader.read(this.file, reloaded.underlyingSolver(), null));
+    Assert.assertEquals(solver.underlyingSolver().nVars(), reloaded.underlyingSolver().nVars());
+    Assert.assertEquals(Tristate.FALSE, reloaded.sat());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testWrongMagic() throws IOException, ParserException {
+    Files.write(this.file.toPath(), new byte[]{1, 2, 3, 4, 0, 0, 0, 1});
+    BinaryCNFReader.read(this.file, clause -> {
+    });
+  }
+
+  @Test(expected = ParserException.class)
+  public void testTruncated() throws IOException, ParserException {
+    BinaryCNFWriter.convert(new File("tests/sat/3col40_5_10.shuffled.cnf"), this.file);
+    final byte[] bytes = Files.readAllBytes(this.file.toPath());
+    Files.write(this.file.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+    BinaryCNFReader.read(this.file, clause -> {
+    });
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalNameLength() throws IOException, ParserException {
+    final ByteBuffer buffer = ByteBuffer.allocate(36);
+    buffer.putInt(BinaryCNFWriter.MAGIC).putInt(BinaryCNFWriter.VERSION).putInt(1).putInt(0).putLong(0);
+    buffer.putInt(1).putInt(0).putInt(Integer.MAX_VALUE);
+    Files.write(this.file.toPath(), buffer.array());
+    BinaryCNFReader.read(this.file, clause -> {
+    });
+  }
+
+  private static String sortedCodes(final LNGIntVector clause, final boolean dimacs) {
+    final int[] codes = new int[clause.size()];
+    for (int i = 0; i < codes.length; i++) {
+      final int lit = clause.get(i);
+      codes[i] = dimacs ? 2 * (Math.abs(lit) - 1) + (lit < 0 ? 1 : 0) : lit;
+    }
+    Arrays.sort(codes);
+    return Arrays.toString(codes);
+  }
+}
@@ -0,0 +1,128 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.writers.BinaryFormulaWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BinaryFormulaReader} and {@link BinaryFormulaWriter}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class BinaryFormulaReaderTest {
+
+  @Test
+  public void testRoundTrip() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser p = new PseudoBooleanParser(f);
+    final List<Formula> formulas = Arrays.asList(
+            p.parse("$true"),
+            p.parse("$false"),
+            p.parse("~a"),
+            p.parse("(a & b) <=> (~c => (x | z))"),
+            p.parse("~(a & b) | b & ~c"),
+            p.parse("a | ~b | (2*a + 3*~b + 4*c <= 23)"),
+            p.parse("a & b"),
+            p.parse("a & b"));
+    final File file = new File("tests/writers/temp/formulas.bin");
+    BinaryFormulaWriter.write(file, formulas);
+    final FormulaFactory g = new FormulaFactory();
+    final List<Formula> read = BinaryFormulaReader.read(file, g);
+    Assert.assertEquals(formulas.size(), read.size());
+    for (int i = 0; i < formulas.size(); i++) {
+      Assert.assertSame(g, read.get(i).factory());
+      Assert.assertEquals(formulas.get(i).toString(), read.get(i).toString());
+    }
+    Assert.assertSame(read.get(6), read.get(7));
+  }
+
+  @Test
+  public void testSharedNodesAreWrittenOnce() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    Formula formula = f.variable("a");
+    for (int i = 0; i < 1000; i++)
+      formula = f.or(f.and(f.variable("x" + i), formula), f.and(f.literal("x" + i, false), formula));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryFormulaWriter.write(out, Collections.singletonList(formula));
+    Assert.assertTrue(out.size() < 100000);
+    final FormulaFactory g = new FormulaFactory();
+    final Formula read = BinaryFormulaReader.read(ByteBuffer.wrap(out.toByteArray()), g).get(0);
+    Assert.assertEquals(formula.numberOfInternalNodes(), read.numberOfInternalNodes());
+    Assert.assertSame(read, BinaryFormulaReader.read(ByteBuffer.wrap(out.toByteArray()), g).get(0));
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalMagic() throws ParserException {
+    BinaryFormulaReader.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), new FormulaFactory());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testTruncated() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryFormulaWriter.write(out, new ArrayList<>(Collections.singletonList(f.and(f.variable("a"), f.variable("b")))));
+    final byte[] bytes = out.toByteArray();
+    BinaryFormulaReader.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 3)), new FormulaFactory());
+  }
+
+  @Test
+  public void testLiteralCodes() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final ByteBuffer buffer = ByteBuffer.allocate(34);
+    buffer.putInt(BinaryFormulaWriter.MAGIC).putInt(BinaryFormulaWriter.VERSION).putInt(1).putInt(1).put((byte) 'a');
+    buffer.putInt(1).put(BinaryFormulaWriter.TYPE_LITERAL).putInt(1).putInt(1).putInt(0).flip();
+    Assert.assertEquals(Collections.singletonList(f.literal("a", false)), BinaryFormulaReader.read(buffer, f));
+  }
+
+  @Test(expected = ParserException.class)
+  public void testNegativeCount() throws ParserException {
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    buffer.putInt(BinaryFormulaWriter.MAGIC).putInt(BinaryFormulaWriter.VERSION).putInt(-1).putInt(0).flip();
+    BinaryFormulaReader.read(buffer, new FormulaFactory());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testCountExceedingData() throws ParserException {
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    buffer.putInt(BinaryFormulaWriter.MAGIC).putInt(BinaryFormulaWriter.VERSION).putInt(0).putInt(Integer.MAX_VALUE).flip();
+    BinaryFormulaReader.read(buffer, new FormulaFactory());
+  }
+}
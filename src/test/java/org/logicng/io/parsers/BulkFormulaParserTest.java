@@ -0,0 +1,114 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaFactoryConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BulkFormulaParser}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class BulkFormulaParserTest {
+
+  private static List<String> lines(final int n) {
+    final List<String> lines = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      if (i % 100 == 99)
+        lines.add("");
+      else
+        lines.add(String.format("(a%d | ~b%d) & (c%d => 2*a%d + b%d >= 1) <=> d%d", i, i % 17, i % 5, i % 23, i, i % 3));
+    }
+    return lines;
+  }
+
+  @Test
+  public void testConcurrentFactory() throws ParserException {
+    final FormulaFactory f = new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).build());
+    final List<String> lines = lines(5000);
+    final List<Formula> formulas = BulkFormulaParser.parse(lines, f);
+    Assert.assertEquals(lines.size(), formulas.size());
+    for (int i = 0; i < lines.size(); i++)
+      Assert.assertSame(f.parse(lines.get(i)), formulas.get(i));
+    Assert.assertSame(f.verum(), formulas.get(99));
+  }
+
+  @Test
+  public void testSequentialFactory() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<String> lines = lines(3000);
+    final List<Formula> formulas = BulkFormulaParser.parse(lines, f);
+    Assert.assertEquals(lines.size(), formulas.size());
+    for (int i = 0; i < lines.size(); i++)
+      Assert.assertSame(f.parse(lines.get(i)), formulas.get(i));
+  }
+
+  @Test
+  public void testEmpty() throws ParserException {
+    Assert.assertTrue(BulkFormulaParser.parse(new ArrayList<String>(), new FormulaFactory()).isEmpty());
+  }
+
+  @Test
+  public void testFile() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).build());
+    final File file = new File("tests/writers/temp/formulas.txt");
+    final List<String> lines = lines(2500);
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    final List<Formula> formulas = BulkFormulaParser.parse(file, f);
+    Assert.assertEquals(lines.size(), formulas.size());
+    Assert.assertSame(f.parse(lines.get(2499)), formulas.get(2499));
+  }
+
+  @Test
+  public void testErrorLine() {
+    for (final FormulaFactory f : Arrays.asList(new FormulaFactory(),
+            new FormulaFactory("", new FormulaFactoryConfig.Builder().concurrent(true).build()))) {
+      final List<String> lines = lines(5000);
+      lines.set(4000, "a & (b");
+      lines.set(1500, "a & | b");
+      try {
+        BulkFormulaParser.parse(lines, f);
+        Assert.fail("Expected a parser exception");
+      } catch (final ParserException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("in line 1501"));
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link DimacsReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class DimacsReaderTest {
+
+  private static List<String> readClauses(final String input) throws IOException, ParserException {
+    final List<String> clauses = new ArrayList<>();
+    DimacsReader.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), clause -> clauses.add(clause.toString()));
+    return clauses;
+  }
+
+  @Test
+  public void testStream() throws IOException, ParserException {
+    Assert.assertTrue(readClauses("").isEmpty());
+    Assert.assertTrue(readClauses("c only a comment\np cnf 0 0\n").isEmpty());
+    final List<String> clauses = readClauses("c comment\np cnf 3 3\n1 -2 0\n  -3\n 2 0\nc another comment\n3 0\n%\n0\n");
+    Assert.assertEquals(3, clauses.size());
+    Assert.assertEquals("[1, -2]", clauses.get(0));
+    Assert.assertEquals("[-3, 2]", clauses.get(1));
+    Assert.assertEquals("[3]", clauses.get(2));
+    Assert.assertEquals(2, readClauses("p cnf 2 2\r\n1 2 0\r\n-1 -2").size());
+  }
+
+  @Test
+  public void testClauseCount() throws IOException, ParserException {
+    final LNGIntVector sizes = new LNGIntVector();
+    final int numClauses = DimacsReader.read(new File("tests/sat/3col40_5_10.shuffled.cnf"), clause -> sizes.push(clause.size()));
+    Assert.assertEquals(346, numClauses);
+    Assert.assertEquals(346, sizes.size());
+  }
+
+  @Test
+  public void testReadCNF() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<Formula> clauses = DimacsReader.readCNF(new File("tests/sat/3col40_5_10.shuffled.cnf"), f, "v");
+    Assert.assertEquals(346, clauses.size());
+    Assert.assertEquals(f.parse("~v4 | v23 | v19 | ~v42"), clauses.get(0));
+    final SATSolver solver = MiniSat.miniSat(f);
+    solver.add(clauses);
+    final SATSolver direct = MiniSat.miniSat(f);
+    DimacsReader.read(new File("tests/sat/3col40_5_10.shuffled.cnf"), ((MiniSat) direct).underlyingSolver(), "v");
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    Assert.assertEquals(Tristate.FALSE, direct.sat());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalToken() throws IOException, ParserException {
+    readClauses("p cnf 2 1\n1 x 0\n");
+  }
+
+  @Test(expected = ParserException.class)
+  public void testNumberOverflow() throws IOException, ParserException {
+    readClauses("p cnf 2 1\n18446744073709551617 0\n");
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalProblemLine() throws IOException, ParserException {
+    readClauses("p dnf 2 1\n1 2 0\n");
+  }
+
+  @Test
+  public void testUnnamedVariables() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final SATSolver solver = MiniSat.glucose(f);
+    DimacsReader.read(new File("tests/sat/3col40_5_10.shuffled.cnf"), ((MiniSat) solver).underlyingSolver(), null);
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+  }
+
+  @Test
+  public void testDimacsFiles() throws IOException, ParserException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    final FormulaFactory f = new FormulaFactory();
+    final SATSolver[] solvers = {MiniSat.miniSat(f), MiniSat.glucose(f), CleaneLing.minimalistic(f)};
+    final File[] files = new File("tests/sat").listFiles();
+    Assert.assertNotNull(files);
+    for (final SATSolver solver : solvers) {
+      for (final File file : files) {
+        if (file.getName().endsWith(".cnf")) {
+          solver.reset();
+          if (solver instanceof MiniSat)
+            DimacsReader.read(file, ((MiniSat) solver).underlyingSolver(), "v");
+          else
+            DimacsReader.read(file, ((CleaneLing) solver).underlyingSolver());
+          Assert.assertEquals(expectedResults.get(file.getName()), solver.sat() == Tristate.TRUE);
+        }
+      }
+    }
+  }
+}
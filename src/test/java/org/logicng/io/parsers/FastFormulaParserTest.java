@@ -0,0 +1,196 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.F;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+
+import java.io.StringReader;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link FastFormulaParser}.  The results are compared to the ANTLR based parsers.
+ * @version 1.2
+ * @since 1.2
+ */
+public class FastFormulaParserTest {
+
+  private static final CType[] CTYPES = CType.values();
+
+  private static final String[] TOKENS = new String[]{
+          "a", "b", "~a", "~b", "c1", "_x", "@y", "A_b2", "0", "3", "-2", "13", "$true", "$false", "$", "(", ")", "~",
+          "&", "|", "=>", "<=>", "*", "+", "-", "=", "<=", "<", ">=", ">", ";", " ", " ", " ", "\n", "\t"
+  };
+
+  private static final String[] INPUTS = new String[]{
+          "", " \r\n\n  \t", "$true", "$false", "a", "~a", "~~a", "~ ~a", "~(a)", "a & b", "~a & b & ~c & d", "a | b",
+          "a & b & a", "a | a", "a => b", "~a => ~b", "a <=> b", "x | y & z", "x & y | z", "x => y & z", "x & y => z",
+          "x <=> y & z", "x => y => z", "x <=> y <=> z", "(x | y) & z", "x => y <=> z", "x => (y <=> z)", "((a))",
+          "a & (b | (c => ~(d <=> e)))", "$true & a", "$false | a", "a\n&\tb", " a\r=>\t\tb", "@RESERVED_CC_1 & b",
+          "13 * abc = 4", "-13 * ~a = -442", "13 * abc > 4", "13 * abc >= 4", "13 * abc < 4", "13 * abc <= 4",
+          "4 * c + -4 * ~d < -4", "5 * c + ~c >= -5", "c + d >= -5", "~c + ~d >= -5", "~c = -5", "~(c = -5)",
+          "(x => y & z) & (6 * a + -6 * ~b + 12 * ~c > -6)", "~(6 * a - 6 * ~b - -12 * ~c > -6)",
+          " 2\n*a\r+\n\n-4*\tb    +3*x=2", "a - b = 1", "a + b = 0 | c", "a=1=>b", "a<=1<=>b<2", "3*a-2*b=1", "a + b",
+          "a b", "a & ", "(a", "a)", "$$%", "-1", ";;23", "a * 3 = 1", "3 * ~ a = 1", "$truea", "a=b", "a < b", "a@b",
+          "2147483647 * a = -2147483648", "a & b | ~(c => d)", "~a <=> ~b"
+  };
+
+  @Test
+  public void testInputs() {
+    for (final String input : INPUTS)
+      compare(input);
+  }
+
+  @Test
+  public void testRandomInputs() {
+    final Random random = new Random(42);
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      sb.setLength(0);
+      final int length = 1 + random.nextInt(12);
+      for (int j = 0; j < length; j++)
+        sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+      compare(sb.toString());
+    }
+  }
+
+  @Test
+  public void testRandomFormulas() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser antlr = new PseudoBooleanParser(f);
+    final FastFormulaParser parser = new FastFormulaParser(f);
+    final Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      final Formula formula = randomFormula(f, random, 5);
+      final String string = formula.toString();
+      Assert.assertSame(antlr.parse(string), parser.parse(string));
+      Assert.assertSame(antlr.parse(string), parser.parse(new StringReader(string)));
+    }
+  }
+
+  @Test
+  public void testLargeInput() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      if (i > 0)
+        sb.append(" & ");
+      sb.append("(v").append(i).append(" | ~v").append(i + 1).append(" | 2*v").append(i % 7).append(" + v9 >= 1)");
+    }
+    final String input = sb.toString();
+    final Formula expected = new PseudoBooleanParser(f).parse(input);
+    final FastFormulaParser parser = new FastFormulaParser(f);
+    Assert.assertSame(expected, parser.parse(sb));
+    Assert.assertSame(expected, parser.parse(new StringReader(input)));
+    Assert.assertSame(f.variable("v1"), parser.parse("v1"));
+  }
+
+  @Test
+  public void testClearedFactory() throws ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final FastFormulaParser parser = new FastFormulaParser(f);
+    Assert.assertEquals(f.and(f.variable("a"), f.literal("b", false)), parser.parse("a & ~b"));
+    Assert.assertSame(f.variable("b"), parser.parse("b"));
+    f.clear();
+    Assert.assertSame(f.variable("b"), parser.parse("b"));
+    Assert.assertEquals(1, f.statistics().tableSize("positiveLiterals"));
+    Assert.assertSame(f.variable("a"), parser.parse("a"));
+  }
+
+  @Test
+  public void testNull() throws ParserException {
+    Assert.assertSame(F.f.verum(), new FastFormulaParser(F.f).parse((CharSequence) null));
+  }
+
+  @Test(expected = ParserException.class)
+  public void testNumberTooLarge() throws ParserException {
+    new FastFormulaParser(F.f).parse("2147483648 * a = 1");
+  }
+
+  @Test(expected = ParserException.class)
+  public void testPseudoBooleanInPropositionalMode() throws ParserException {
+    new FastFormulaParser(F.f, false).parse("a + b = 1");
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("FastFormulaParser", new FastFormulaParser(F.f).toString());
+  }
+
+  private static void compare(final String input) {
+    final FormulaFactory f = new FormulaFactory();
+    compare(input, new PropositionalParser(f), new FastFormulaParser(f, false));
+    compare(input, new PseudoBooleanParser(f), new FastFormulaParser(f, true));
+  }
+
+  private static void compare(final String input, final Object antlr, final FastFormulaParser parser) {
+    Formula expected = null;
+    try {
+      expected = antlr instanceof PropositionalParser ? ((PropositionalParser) antlr).parse(input) : ((PseudoBooleanParser) antlr).parse(input);
+    } catch (final ParserException e) {
+      // expected is null
+    }
+    Formula actual = null;
+    try {
+      actual = parser.parse(input);
+    } catch (final ParserException e) {
+      // actual is null
+    }
+    Assert.assertSame(String.format("Different results for '%s' with %s", input, antlr), expected, actual);
+  }
+
+  private static Formula randomFormula(final FormulaFactory f, final Random random, final int depth) {
+    final int type = depth == 0 ? random.nextInt(3) : random.nextInt(9);
+    switch (type) {
+      case 0:
+        return f.literal("v" + random.nextInt(10), random.nextBoolean());
+      case 1:
+        return random.nextBoolean() ? f.verum() : f.falsum();
+      case 2:
+        return f.pbc(CTYPES[random.nextInt(CTYPES.length)], random.nextInt(7) - 3,
+                new Literal[]{f.variable("v" + random.nextInt(10)), f.literal("w" + random.nextInt(10), false)},
+                new int[]{random.nextInt(9) - 4, random.nextInt(5) + 1});
+      case 3:
+        return f.not(randomFormula(f, random, depth - 1));
+      case 4:
+        return f.implication(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      case 5:
+        return f.equivalence(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      case 6:
+      case 7:
+        return f.and(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+      default:
+        return f.or(randomFormula(f, random, depth - 1), randomFormula(f, random, depth - 1));
+    }
+  }
+}
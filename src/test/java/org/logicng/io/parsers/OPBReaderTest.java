@@ -0,0 +1,143 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link OPBReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class OPBReaderTest {
+
+  private static OPBReader.Objective read(final FormulaFactory f, final String input, final List<PBConstraint> constraints)
+          throws IOException, ParserException {
+    return OPBReader.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), f, constraints::add);
+  }
+
+  @Test
+  public void testConstraints() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final PseudoBooleanParser p = new PseudoBooleanParser(f);
+    final List<PBConstraint> constraints = new ArrayList<>();
+    final String input = "* #variable= 3 #constraint= 5\n" +
+            "+2 x1 -1 ~x2 >= 1 ;\n" +
+            "+1 x1 +1 x2\n +1 x3 = 1;\n" +
+            "* a comment\n" +
+            "3 x1 +4 x3 <= 5 ;\n" +
+            "+1 x1 +1 x2 > 0 ;\n" +
+            "-1 x3 < 0 ;\n";
+    Assert.assertNull(read(f, input, constraints));
+    Assert.assertEquals(5, constraints.size());
+    Assert.assertSame(p.parse("2*x1 + -1*~x2 >= 1"), constraints.get(0));
+    Assert.assertSame(p.parse("x1 + x2 + x3 = 1"), constraints.get(1));
+    Assert.assertSame(p.parse("3*x1 + 4*x3 <= 5"), constraints.get(2));
+    Assert.assertSame(p.parse("x1 + x2 > 0"), constraints.get(3));
+    Assert.assertSame(p.parse("-1*x3 < 0"), constraints.get(4));
+  }
+
+  @Test
+  public void testObjective() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<PBConstraint> constraints = new ArrayList<>();
+    OPBReader.Objective objective = read(f, "* comment\nmin: +1 x1 -2 ~x2 ;\n+1 x1 +1 x2 >= 1 ;\n", constraints);
+    Assert.assertEquals(1, constraints.size());
+    Assert.assertTrue(objective.minimize());
+    Assert.assertArrayEquals(new Object[]{f.variable("x1"), f.literal("x2", false)}, objective.literals());
+    Assert.assertArrayEquals(new int[]{1, -2}, objective.coefficients());
+    Assert.assertEquals("min: +1 x1 -2 ~x2 ;", objective.toString());
+    final Assignment assignment = new Assignment(Arrays.asList(f.variable("x1"), f.literal("x2", false)));
+    Assert.assertEquals(-1, objective.evaluate(assignment));
+    objective = read(f, "max: ;", constraints);
+    Assert.assertFalse(objective.minimize());
+    Assert.assertEquals(0, objective.literals().length);
+  }
+
+  @Test
+  public void testConstraintStartingWithM() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<PBConstraint> constraints = new ArrayList<>();
+    Assert.assertNull(read(f, "mx >= 1 ;\nmin +2 ~max >= 1 ;\n", constraints));
+    Assert.assertEquals(2, constraints.size());
+    Assert.assertEquals(f.pbc(CType.GE, 1, new Literal[]{f.variable("mx")}, new int[]{1}), constraints.get(0));
+    Assert.assertEquals(f.pbc(CType.GE, 1, new Literal[]{f.variable("min"), f.literal("max", false)}, new int[]{1, 2}),
+            constraints.get(1));
+  }
+
+  @Test
+  public void testLargeConstraint() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final List<PBConstraint> constraints = new ArrayList<>();
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++)
+      sb.append("+").append(i + 1).append(" v").append(i).append(" ");
+    sb.append(">= 50 ;");
+    read(f, sb.toString(), constraints);
+    Assert.assertEquals(100, constraints.get(0).operands().length);
+    Assert.assertEquals(100, constraints.get(0).coefficients()[99]);
+  }
+
+  @Test(expected = ParserException.class)
+  public void testNonLinear() throws IOException, ParserException {
+    read(new FormulaFactory(), "+1 x1 x2 >= 1 ;", new ArrayList<PBConstraint>());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testMissingSemicolon() throws IOException, ParserException {
+    read(new FormulaFactory(), "+1 x1 >= 1\n+1 x2 >= 1 ;", new ArrayList<PBConstraint>());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testMissingComparator() throws IOException, ParserException {
+    read(new FormulaFactory(), "+1 x1 ;", new ArrayList<PBConstraint>());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testUnexpectedEnd() throws IOException, ParserException {
+    read(new FormulaFactory(), "+1 x1 +2", new ArrayList<PBConstraint>());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testDuplicateObjective() throws IOException, ParserException {
+    read(new FormulaFactory(), "min: +1 x1 ;\nmin: +1 x2 ;", new ArrayList<PBConstraint>());
+  }
+}
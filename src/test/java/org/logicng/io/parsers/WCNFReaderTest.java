@@ -0,0 +1,131 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.parsers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Unit tests for {@link WCNFReader}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class WCNFReaderTest {
+
+  private static LNGIntVector read(final String input, final MaxSATSolver solver) throws IOException, ParserException {
+    return WCNFReader.read(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), solver.underlyingSolver());
+  }
+
+  @Test
+  public void testPartialWeighted() throws IOException, ParserException {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    final LNGIntVector varMap = read("c comment\np wcnf 5 5 10\n10 1 2 0\n10 -1 -2 0\n3 1 0\n4 2 0\n0 5 0\n", solver);
+    Assert.assertEquals(2, solver.underlyingSolver().nHard());
+    Assert.assertEquals(2, solver.underlyingSolver().nSoft());
+    Assert.assertEquals(6, varMap.size());
+    Assert.assertEquals(0, varMap.get(1));
+    Assert.assertEquals(1, varMap.get(2));
+    Assert.assertEquals(-1, varMap.get(3));
+    Assert.assertEquals(2, varMap.get(5));
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(3, solver.result());
+    Assert.assertFalse(solver.underlyingSolver().model().get(0));
+    Assert.assertTrue(solver.underlyingSolver().model().get(1));
+  }
+
+  @Test
+  public void testUnweighted() throws IOException, ParserException {
+    final MaxSATSolver solver = MaxSATSolver.msu3();
+    read("p cnf 2 4\n1 2 0\n-1 2 0\n1 -2 0\n-1\n-2 0", solver);
+    Assert.assertEquals(0, solver.underlyingSolver().nHard());
+    Assert.assertEquals(4, solver.underlyingSolver().nSoft());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(1, solver.result());
+  }
+
+  @Test
+  public void testWithoutProblemLine() throws IOException, ParserException {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    read("h 1 2 0\nh -1 -2 0\n5 1 0\n2 2 0\n", solver);
+    Assert.assertEquals(2, solver.underlyingSolver().nHard());
+    Assert.assertEquals(2, solver.underlyingSolver().nSoft());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(2, solver.result());
+  }
+
+  @Test
+  public void testFiles() throws IOException, ParserException {
+    final String[] files = {"8.wcsp.log.wcnf", "54.wcsp.log.wcnf", "404.wcsp.log.wcnf", "term1_gr_2pin_w4.shuffled.cnf"};
+    final int[] results = {2, 37, 114, 0};
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver solver = MaxSATSolver.wbo();
+      WCNFReader.read(new File("tests/partialweightedmaxsat/" + files[i]), solver);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
+  @Test
+  public void testGzip() throws IOException, ParserException {
+    final File file = new File("tests/writers/temp/8.wcsp.log.wcnf.gz");
+    try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+      Files.copy(new File("tests/partialweightedmaxsat/8.wcsp.log.wcnf").toPath(), out);
+    }
+    final MaxSATSolver solver = MaxSATSolver.incWBO();
+    WCNFReader.read(file, solver);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(2, solver.result());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalProblemLine() throws IOException, ParserException {
+    read("p pb 2 1\n1 1 2 0\n", MaxSATSolver.wbo());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testIllegalLiteral() throws IOException, ParserException {
+    read("p wcnf 2 1 5\n1 a 2 0\n", MaxSATSolver.wbo());
+  }
+
+  @Test(expected = ParserException.class)
+  public void testNegativeWeight() throws IOException, ParserException {
+    read("p wcnf 2 1 5\n-1 1 2 0\n", MaxSATSolver.wbo());
+  }
+}
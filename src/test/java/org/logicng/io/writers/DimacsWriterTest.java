@@ -0,0 +1,126 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.io.writers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.DimacsReader;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Unit tests for {@link DimacsWriter}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class DimacsWriterTest {
+
+  private final File cnfFile = new File("tests/writers/temp/solver.cnf");
+  private final File mappingFile = new File("tests/writers/temp/solver.map");
+
+  @Test
+  public void testSolverClauses() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(f.parse("(a | ~b | c) & ~d & (b | d)"));
+    DimacsWriter.write(this.cnfFile, this.mappingFile, solver.underlyingSolver(), true);
+    final List<String> lines = Files.readAllLines(this.cnfFile.toPath(), StandardCharsets.US_ASCII);
+    Assert.assertEquals("p cnf 4 3", lines.get(0));
+    Assert.assertEquals("-4 0", lines.get(1));
+    Assert.assertEquals("2 0", lines.get(2));
+    Assert.assertEquals("1 3 -2 0", lines.get(3));
+    Assert.assertTrue(new String(Files.readAllBytes(this.cnfFile.toPath()), StandardCharsets.US_ASCII).startsWith("p cnf 4 3\n-4 0\n"));
+    final List<String> mapping = Files.readAllLines(this.mappingFile.toPath(), StandardCharsets.UTF_8);
+    Assert.assertEquals(4, mapping.size());
+    Assert.assertEquals("1 a", mapping.get(0));
+    Assert.assertEquals("4 d", mapping.get(3));
+  }
+
+  @Test
+  public void testRoundTripWithModel() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final Formula formula = f.parse("(a | ~b | c) & (~a | d) & (b <=> ~e) & (c | e) & ~(c & d)");
+    final MiniSat solver = MiniSat.glucose(f);
+    solver.add(formula);
+    Assert.assertEquals(Tristate.TRUE, solver.sat());
+    DimacsWriter.write(this.cnfFile, this.mappingFile, solver.underlyingSolver(), true);
+    final MiniSat reloaded = MiniSat.miniSat(f);
+    DimacsReader.read(this.cnfFile, this.mappingFile, reloaded.underlyingSolver());
+    Assert.assertEquals(Tristate.TRUE, reloaded.sat());
+    final Assignment model = reloaded.model(formula.variables());
+    Assert.assertTrue(formula.evaluate(model));
+  }
+
+  @Test
+  public void testLearntClauses() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(new PigeonHoleGenerator(f).generate(6));
+    Assert.assertEquals(Tristate.FALSE, solver.sat());
+    final int withoutLearnts = solver.underlyingSolver().nExportedClauses(false);
+    final int withLearnts = solver.underlyingSolver().nExportedClauses(true);
+    Assert.assertTrue(withLearnts >= withoutLearnts);
+    DimacsWriter.write(this.cnfFile, solver.underlyingSolver(), true);
+    final SATSolver reloaded = MiniSat.miniSat(f);
+    Assert.assertEquals(withLearnts, DimacsReader.read(this.cnfFile, ((MiniSat) reloaded).underlyingSolver(), "v"));
+    Assert.assertEquals(Tristate.FALSE, reloaded.sat());
+  }
+
+  @Test
+  public void testUnsatisfiableOnLevel0() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(f.parse("a & ~a"));
+    DimacsWriter.write(this.cnfFile, solver.underlyingSolver(), false);
+    final List<String> lines = Files.readAllLines(this.cnfFile.toPath(), StandardCharsets.US_ASCII);
+    Assert.assertEquals("0", lines.get(1));
+    final MiniSat reloaded = MiniSat.miniSat(f);
+    DimacsReader.read(this.cnfFile, reloaded.underlyingSolver(), null);
+    Assert.assertEquals(Tristate.FALSE, reloaded.sat());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAtMostConstraints() throws IOException, ParserException {
+    final FormulaFactory f = new FormulaFactory();
+    final MiniSat solver = MiniSat.miniCard(f);
+    solver.add(f.amo(f.variable("a"), f.variable("b"), f.variable("c")));
+    DimacsWriter.write(this.cnfFile, solver.underlyingSolver(), false);
+  }
+}
@@ -0,0 +1,126 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.datastructures;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for the class {@link MSClauseBuffer}.
+ * @version 1.2
+ * @since 1.2
+ */
+public class MSClauseBufferTest {
+
+  @Test
+  public void testPushAndRead() {
+    final MSClauseBuffer buffer = new MSClauseBuffer(100);
+    Assert.assertEquals(128, buffer.capacity());
+    Assert.assertEquals(0, buffer.head());
+    Assert.assertTrue(buffer.push(new LNGIntVector(new int[]{2, 5, 7}), 2));
+    Assert.assertTrue(buffer.push(new LNGIntVector(new int[]{9}), 1));
+    Assert.assertEquals(MSClauseBuffer.entrySize(3) + MSClauseBuffer.entrySize(1), buffer.head());
+    final LNGIntVector lits = new LNGIntVector();
+    Assert.assertEquals(2, buffer.read(0, lits));
+    Assert.assertEquals("[2, 5, 7]", lits.toString());
+    Assert.assertEquals(1, buffer.read(MSClauseBuffer.entrySize(3), lits));
+    Assert.assertEquals("[9]", lits.toString());
+    Assert.assertEquals("MSClauseBuffer{capacity=128, head=8}", buffer.toString());
+  }
+
+  @Test
+  public void testTooLarge() {
+    final MSClauseBuffer buffer = new MSClauseBuffer(8);
+    Assert.assertEquals(8, buffer.capacity());
+    Assert.assertFalse(buffer.push(new LNGIntVector(new int[]{1, 2, 3, 4, 5, 6, 7}), 2));
+    Assert.assertTrue(buffer.push(new LNGIntVector(new int[]{1, 2, 3, 4, 5, 6}), 2));
+    Assert.assertEquals(8, buffer.head());
+  }
+
+  @Test
+  public void testOverwritten() {
+    final MSClauseBuffer buffer = new MSClauseBuffer(16);
+    final LNGIntVector clause = new LNGIntVector(new int[]{1, 2, 3});
+    for (int i = 0; i < 4; i++)
+      buffer.push(clause, 2);
+    final LNGIntVector lits = new LNGIntVector();
+    Assert.assertEquals(-1, buffer.read(0, lits));
+    Assert.assertTrue(lits.empty());
+    Assert.assertEquals(2, buffer.read(MSClauseBuffer.entrySize(3), lits));
+    Assert.assertEquals("[1, 2, 3]", lits.toString());
+  }
+
+  @Test
+  public void testConcurrentReader() throws InterruptedException {
+    final MSClauseBuffer buffer = new MSClauseBuffer(64);
+    final int numClauses = 100000;
+    final AtomicReference<String> error = new AtomicReference<>();
+    final AtomicBoolean done = new AtomicBoolean(false);
+    final Thread reader = new Thread(() -> {
+      final LNGIntVector lits = new LNGIntVector();
+      long pos = 0;
+      int last = -1;
+      while (error.get() == null) {
+        if (pos >= buffer.head()) {
+          if (done.get() && pos >= buffer.head())
+            break;
+          Thread.yield();
+          continue;
+        }
+        final int lbd = buffer.read(pos, lits);
+        if (lbd < 0) {
+          pos = buffer.head();
+          continue;
+        }
+        if (lbd <= last || lits.size() != lbd % 5 + 1)
+          error.set("Unexpected clause " + lbd + " " + lits);
+        for (int i = 0; i < lits.size(); i++)
+          if (lits.get(i) != lbd + i)
+            error.set("Corrupted clause " + lbd + " " + lits);
+        last = lbd;
+        pos += MSClauseBuffer.entrySize(lits.size());
+      }
+    });
+    reader.start();
+    final LNGIntVector clause = new LNGIntVector();
+    for (int n = 0; n < numClauses; n++) {
+      clause.clear();
+      for (int i = 0; i < n % 5 + 1; i++)
+        clause.push(n + i);
+      buffer.push(clause, n);
+    }
+    done.set(true);
+    reader.join(60000);
+    Assert.assertNull(error.get());
+    Assert.assertFalse(reader.isAlive());
+  }
+}
@@ -31,13 +31,12 @@ package org.logicng.solvers.datastructures;
 import org.junit.Assert;
 import org.junit.Test;
 import org.logicng.collections.LNGIntVector;
-import org.logicng.datastructures.Tristate;
 
 import java.util.Arrays;
 
 /**
  * Unit tests for the toString() methods of the solver data structures.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class SolversDatastructuresTest {
@@ -126,20 +125,83 @@ public class SolversDatastructuresTest {
   }
 
   @Test
-  public void testMSClause() {
+  public void testMSClauseArena() {
     final LNGIntVector vec = new LNGIntVector();
     vec.push(2);
     vec.push(4);
     vec.push(6);
-    final MSClause clause = new MSClause(vec, true);
-    clause.setCanBeDel(true);
-    clause.setLBD(42);
-    clause.setSeen(true);
+    final MSClauseArena ca = new MSClauseArena();
+    final int clause = ca.alloc(vec, true);
+    ca.setCanBeDel(clause, true);
+    ca.setLBD(clause, 42);
+    ca.setSeen(clause, true);
     final String expected = "MSClause{activity=0.0, learnt=true, szWithoutSelectors=0, seen=true, lbd=42, canBeDel=true, oneWatched=false, isAtMost=false, atMostWatchers=-1, lits=[1, 2, 3]}";
-    Assert.assertEquals(expected, clause.toString());
-    Assert.assertTrue(clause.equals(clause));
-    Assert.assertEquals(clause.hashCode(), clause.hashCode());
-    Assert.assertFalse(clause.equals("Test"));
+    Assert.assertEquals(expected, ca.toString(clause));
+    vec.push(9);
+    final int atMost = ca.alloc(vec, false, true);
+    ca.setAtMostWatchers(atMost, 2);
+    ca.incrementActivity(atMost, 1.5);
+    final String expectedAtMost = "MSClause{activity=1.5, learnt=false, szWithoutSelectors=0, seen=false, lbd=0, canBeDel=true, oneWatched=false, isAtMost=true, atMostWatchers=2, lits=[1, 2, 3, -4]}";
+    Assert.assertEquals(expectedAtMost, ca.toString(atMost));
+    Assert.assertEquals("MSClauseArena{size=21, wasted=0, capacity=1024}", ca.toString());
+  }
+
+  @Test
+  public void testMSClauseArenaRelocation() {
+    final MSClauseArena ca = new MSClauseArena(4);
+    final LNGIntVector vec = new LNGIntVector();
+    final int[] clauses = new int[10];
+    for (int i = 0; i < clauses.length; i++) {
+      vec.push(2 * i);
+      clauses[i] = ca.alloc(vec, i % 2 == 0);
+      ca.incrementActivity(clauses[i], i);
+    }
+    ca.pop(clauses[9]);
+    for (int i = 0; i < clauses.length; i += 3)
+      ca.free(clauses[i]);
+    Assert.assertTrue(ca.deleted(clauses[3]));
+    Assert.assertFalse(ca.deleted(clauses[4]));
+    Assert.assertEquals(125, ca.size());
+    Assert.assertEquals(1 + 8 + 11 + 14 + 16, ca.wasted());
+    final MSClauseArena to = new MSClauseArena(ca.size() - ca.wasted());
+    final int c8 = ca.relocate(clauses[8], to);
+    final int c4 = ca.relocate(clauses[4], to);
+    Assert.assertEquals(0, c8);
+    Assert.assertEquals(16, c4);
+    Assert.assertEquals(c8, ca.relocate(clauses[8], to));
+    Assert.assertEquals(9, to.size(c8));
+    Assert.assertEquals(16, to.get(c8, 8));
+    Assert.assertTrue(to.learnt(c8));
+    Assert.assertFalse(to.learnt(ca.relocate(clauses[5], to)));
+    Assert.assertEquals(4.0, to.activity(c4), 0.0);
+    Assert.assertEquals(0, to.wasted());
+    to.shrinkTo(c4);
+    Assert.assertEquals(c4, to.size());
+  }
+
+  @Test
+  public void testMSClauseArenaSort() {
+    final MSClauseArena ca = new MSClauseArena();
+    final LNGIntVector vec = new LNGIntVector();
+    final LNGIntVector learnts = new LNGIntVector();
+    final double[] activities = {3, 1, 4, 1, 5, 9, 2, 6};
+    vec.push(0);
+    for (int i = 0; i < activities.length; i++) {
+      vec.push(2 * i + 2);
+      final int c = ca.alloc(vec, true);
+      ca.incrementActivity(c, activities[i]);
+      ca.setLBD(c, 10 - i);
+      learnts.push(c);
+    }
+    learnts.manualSort(ca::compareMiniSat);
+    Assert.assertEquals(2, ca.size(learnts.back()));
+    for (int i = 1; i < learnts.size() - 1; i++)
+      Assert.assertTrue(ca.activity(learnts.get(i - 1)) <= ca.activity(learnts.get(i)));
+    learnts.manualSort(ca::compareGlucose);
+    Assert.assertEquals(2, ca.size(learnts.back()));
+    Assert.assertEquals(3, ca.size(learnts.get(0)));
+    for (int i = 1; i < learnts.size() - 1; i++)
+      Assert.assertTrue(ca.lbd(learnts.get(i - 1)) > ca.lbd(learnts.get(i)));
   }
 
   @Test
@@ -165,27 +227,27 @@ public class SolversDatastructuresTest {
   }
 
   @Test
-  public void testMSVariable() {
-    final MSVariable var = new MSVariable(true);
-    var.setDecision(true);
-    var.setLevel(12);
-    var.setReason(null);
-    var.assign(Tristate.TRUE);
-    final String expected = "MSVariable{assignment=TRUE, level=12, reason=null, activity=0.000000, polarity=true, decision=true}";
-    Assert.assertEquals(expected, var.toString());
-  }
-
-  @Test
-  public void testMSWatcher() {
-    final LNGIntVector vec = new LNGIntVector();
-    vec.push(2);
-    vec.push(4);
-    vec.push(6);
-    final MSClause clause = new MSClause(vec, true);
-    final MSWatcher watcher = new MSWatcher(clause, 2);
-    final String expected = "MSWatcher{clause=MSClause{activity=0.0, learnt=true, szWithoutSelectors=0, seen=false, lbd=0, canBeDel=true, oneWatched=false, isAtMost=false, atMostWatchers=-1, lits=[1, 2, 3]}, blocker=2}";
-    Assert.assertEquals(expected, watcher.toString());
-    Assert.assertEquals(watcher.hashCode(), watcher.hashCode());
+  public void testMSWatchList() {
+    final MSWatchList ws = new MSWatchList();
+    Assert.assertTrue(ws.empty());
+    for (int i = 0; i < 6; i++)
+      ws.push(10 * i, i);
+    Assert.assertEquals(6, ws.size());
+    Assert.assertEquals(30, ws.clause(3));
+    Assert.assertEquals(3, ws.blocker(3));
+    Assert.assertTrue(ws.remove(20));
+    Assert.assertFalse(ws.remove(20));
+    Assert.assertEquals("MSWatchList{watchers=[{clause=0, blocker=0}, {clause=10, blocker=1}, {clause=30, blocker=3}, {clause=40, blocker=4}, {clause=50, blocker=5}]}", ws.toString());
+    int j = 0;
+    for (int i = 0; i < ws.size(); i++)
+      if (ws.blocker(i) % 2 == 1)
+        ws.move(i, j++);
+    ws.removeElements(ws.size() - j);
+    ws.set(0, 11, 7);
+    Assert.assertEquals("MSWatchList{watchers=[{clause=11, blocker=7}, {clause=30, blocker=3}, {clause=50, blocker=5}]}", ws.toString());
+    ws.clear();
+    Assert.assertTrue(ws.empty());
+    Assert.assertEquals("MSWatchList{watchers=[]}", ws.toString());
   }
 
   @Test
@@ -36,7 +36,7 @@ import java.util.Arrays;
 
 /**
  * Unit tests for the solver configurations.
- * @version 1.1
+ * @version 1.2
  * @since 1.0
  */
 public class ConfigurationsTest {
@@ -88,6 +88,11 @@ public class ConfigurationsTest {
             .reduceOnSize(true)
             .reduceOnSizeSize(10)
             .maxVarDecay(0.99)
+            .numThreads(4)
+            .shareMaxSize(20)
+            .shareMaxLBD(3)
+            .shareImportLimit(100)
+            .shareBufferSize(4096)
             .build();
     final String expected = "GlucoseConfig{\n" +
             "lbLBDMinimizingClause=3\n" +
@@ -103,6 +108,11 @@ public class ConfigurationsTest {
             "reduceOnSize=true\n" +
             "reduceOnSizeSize=10\n" +
             "maxVarDecay=0.99\n" +
+            "numThreads=4\n" +
+            "shareMaxSize=20\n" +
+            "shareMaxLBD=3\n" +
+            "shareImportLimit=100\n" +
+            "shareBufferSize=4096\n" +
             "}\n";
     Assert.assertEquals(expected, config.toString());
   }
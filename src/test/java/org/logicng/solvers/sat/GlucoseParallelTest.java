@@ -0,0 +1,283 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.SATHandler;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.DimacsReader;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the cooperative parallel search of the Glucose solver.
+ * @version 1.2
+ * @since 1.2
+ */
+public class GlucoseParallelTest {
+
+  private final FormulaFactory f;
+  private final PigeonHoleGenerator pg;
+  private final PropositionalParser parser;
+  private final SATSolver[] solvers;
+
+  public GlucoseParallelTest() {
+    this.f = new FormulaFactory();
+    this.pg = new PigeonHoleGenerator(f);
+    this.parser = new PropositionalParser(f);
+    final GlucoseConfig glucoseConfig = new GlucoseConfig.Builder().numThreads(3).shareMaxLBD(4).build();
+    this.solvers = new SATSolver[2];
+    this.solvers[0] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(true).build(), glucoseConfig);
+    this.solvers[1] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(), glucoseConfig);
+  }
+
+  @Test
+  public void testDimacsFiles() throws IOException, ParserException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    final File[] files = new File("tests/sat").listFiles();
+    assert files != null;
+    for (final SATSolver solver : this.solvers) {
+      for (final File file : files) {
+        if (!file.getName().endsWith(".cnf"))
+          continue;
+        final List<Formula> clauses = DimacsReader.readCNF(file, f, "v");
+        solver.reset();
+        for (final Formula clause : clauses)
+          solver.add(clause);
+        final boolean result = solver.sat() == TRUE;
+        Assert.assertEquals(file.getName(), expectedResults.get(file.getName()), result);
+        if (result) {
+          final Assignment model = solver.model();
+          for (final Formula clause : clauses)
+            Assert.assertTrue(clause.evaluate(model));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    for (final SATSolver s : this.solvers) {
+      for (int i = 1; i <= 6; i++) {
+        s.add(pg.generate(i));
+        Assert.assertEquals(FALSE, s.sat());
+        Assert.assertNull(s.model());
+        s.reset();
+      }
+    }
+  }
+
+  @Test
+  public void testIncremental() throws ParserException {
+    final Variable[] lits = new Variable[8];
+    for (int i = 0; i < lits.length; i++)
+      lits[i] = f.variable("v" + i);
+    for (final SATSolver s : this.solvers) {
+      s.add(f.cc(CType.LE, 3, lits));
+      s.add(parser.parse("v0 | v1 | v2 | v3"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model(Arrays.asList(lits)).positiveLiterals().size() <= 3);
+      Assert.assertEquals(78, s.enumerateAllModels(Arrays.asList(lits)).size());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final SATSolver s = this.solvers[0];
+    s.add(parser.parse("(a | b) & (~a | c) & (~b | ~c)"));
+    Assert.assertEquals(TRUE, s.sat(f.literal("a", false)));
+    Assert.assertTrue(s.model().evaluateLit(f.variable("b")));
+    Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.variable("a"), f.variable("b"))));
+    Assert.assertEquals(TRUE, s.sat(f.literal("c", false)));
+    Assert.assertTrue(s.model().evaluateLit(f.literal("a", false)));
+    Assert.assertEquals(TRUE, s.sat());
+  }
+
+  @Test
+  public void testTimeoutSATHandler() {
+    for (final SATSolver s : this.solvers) {
+      s.add(pg.generate(10));
+      Assert.assertEquals(UNDEF, s.sat(new TimeoutSATHandler(1000)));
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testUnderlyingSolver() {
+    final GlucoseSyrup solver = new GlucoseSyrup(new MiniSatConfig.Builder().build(),
+            new GlucoseConfig.Builder().numThreads(4).shareMaxSize(2).shareImportLimit(1).shareBufferSize(64).build());
+    addPigeonHole(solver, 7, 6);
+    Assert.assertEquals(Tristate.FALSE, solver.solve(null));
+    Assert.assertEquals(Tristate.FALSE, solver.solve(null));
+  }
+
+  @Test
+  public void testWorkerResult() {
+    final GlucoseSyrup unsat = new GlucoseSyrup(new MiniSatConfig.Builder().build(),
+            new GlucoseConfig.Builder().numThreads(2).build());
+    addPigeonHole(unsat, 7, 6);
+    final BlockingHandler unsatHandler = new BlockingHandler(unsat);
+    Assert.assertEquals(Tristate.FALSE, unsat.solve(unsatHandler));
+    Assert.assertTrue(unsatHandler.conflicts <= 1);
+
+    final GlucoseSyrup sat = new GlucoseSyrup(new MiniSatConfig.Builder().build(),
+            new GlucoseConfig.Builder().numThreads(2).build());
+    addPigeonHole(sat, 7, 7);
+    sat.addClause(clause(MiniSatStyleSolver.mkLit(0, false)));
+    sat.addClause(clause(MiniSatStyleSolver.mkLit(8, false)));
+    final BlockingHandler satHandler = new BlockingHandler(sat);
+    Assert.assertEquals(Tristate.TRUE, sat.solve(satHandler));
+    Assert.assertTrue(satHandler.conflicts <= 1);
+    final LNGBooleanVector model = sat.model();
+    for (int i = 0; i < 7; i++) {
+      int holes = 0;
+      for (int j = 0; j < 7; j++)
+        if (model.get(i * 7 + j))
+          holes++;
+      Assert.assertTrue(holes >= 1);
+    }
+    for (int j = 0; j < 7; j++) {
+      int pigeons = 0;
+      for (int i = 0; i < 7; i++)
+        if (model.get(i * 7 + j))
+          pigeons++;
+      Assert.assertTrue(pigeons <= 1);
+    }
+  }
+
+  @Test
+  public void testWorkersAcrossCalls() {
+    final GlucoseSyrup solver = new GlucoseSyrup(new MiniSatConfig.Builder().build(),
+            new GlucoseConfig.Builder().numThreads(2).build());
+    addPigeonHole(solver, 7, 7);
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null));
+    final LNGIntVector pigeon = new LNGIntVector();
+    for (int j = 0; j < 7; j++) {
+      pigeon.push(MiniSatStyleSolver.mkLit(solver.newVar(true, true), false));
+      for (int i = 0; i < 7; i++)
+        solver.addClause(clause(MiniSatStyleSolver.mkLit(i * 7 + j, true), MiniSatStyleSolver.not(pigeon.get(j))));
+    }
+    solver.addClause(pigeon);
+    final BlockingHandler handler = new BlockingHandler(solver);
+    Assert.assertEquals(Tristate.FALSE, solver.solve(handler));
+    Assert.assertTrue(handler.conflicts <= 1);
+  }
+
+  private static void addPigeonHole(final GlucoseSyrup solver, final int pigeons, final int holes) {
+    for (int i = 0; i < pigeons * holes; i++)
+      solver.newVar(true, true);
+    for (int i = 0; i < pigeons; i++) {
+      final LNGIntVector clause = new LNGIntVector();
+      for (int j = 0; j < holes; j++)
+        clause.push(MiniSatStyleSolver.mkLit(i * holes + j, false));
+      solver.addClause(clause);
+    }
+    for (int j = 0; j < holes; j++)
+      for (int i = 0; i < pigeons; i++)
+        for (int k = i + 1; k < pigeons; k++)
+          solver.addClause(clause(MiniSatStyleSolver.mkLit(i * holes + j, true),
+                  MiniSatStyleSolver.mkLit(k * holes + j, true)));
+  }
+
+  private static LNGIntVector clause(final int... lits) {
+    final LNGIntVector clause = new LNGIntVector(lits.length);
+    for (final int lit : lits)
+      clause.push(lit);
+    return clause;
+  }
+
+  /**
+   * A handler which blocks the solver on its first conflict until a worker of the parallel search found the result.
+   */
+  private static final class BlockingHandler implements SATHandler {
+    private final GlucoseSyrup solver;
+    private int conflicts;
+
+    private BlockingHandler(final GlucoseSyrup solver) {
+      this.solver = solver;
+    }
+
+    @Override
+    public boolean detectedConflict() {
+      if (this.conflicts++ > 0)
+        return true;
+      final long end = System.currentTimeMillis() + 10000;
+      while (!this.solver.stopped() && System.currentTimeMillis() < end) {
+        try {
+          Thread.sleep(5);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+  }
+}
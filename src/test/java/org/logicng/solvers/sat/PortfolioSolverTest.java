@@ -0,0 +1,236 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.DimacsReader;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.PortfolioSolver;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the portfolio SAT solver.
+ * @version 1.2
+ * @since 1.2
+ */
+public class PortfolioSolverTest {
+
+  private final FormulaFactory f;
+  private final PigeonHoleGenerator pg;
+  private final PropositionalParser parser;
+  private final SATSolver[] solvers;
+
+  public PortfolioSolverTest() {
+    this.f = new FormulaFactory();
+    this.pg = new PigeonHoleGenerator(f);
+    this.parser = new PropositionalParser(f);
+    this.solvers = new SATSolver[3];
+    this.solvers[0] = PortfolioSolver.portfolio(f);
+    this.solvers[1] = PortfolioSolver.portfolio(f, Arrays.asList(MiniSat.miniSat(f), MiniSat.glucose(f)));
+    this.solvers[2] = PortfolioSolver.portfolio(f, Arrays.asList(CleaneLing.full(f), CleaneLing.minimalistic(f),
+            MiniSat.miniCard(f)));
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    for (final SATSolver s : this.solvers) {
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(parser.parse("(a | b) & (~a | c) & (~b | ~c)"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(parser.parse("(a | b) & (~a | c) & (~b | ~c)").evaluate(s.model()));
+      s.add(parser.parse("a & b"));
+      Assert.assertEquals(FALSE, s.sat());
+      Assert.assertNull(s.model());
+      s.reset();
+      Assert.assertEquals(TRUE, s.sat());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    for (final SATSolver s : this.solvers) {
+      for (int i = 1; i <= 6; i++) {
+        s.add(pg.generate(i));
+        Assert.assertEquals(FALSE, s.sat());
+        Assert.assertNull(s.model());
+        s.reset();
+      }
+    }
+  }
+
+  @Test
+  public void testCardinalityConstraints() {
+    final Variable[] lits = new Variable[10];
+    for (int i = 0; i < lits.length; i++)
+      lits[i] = f.variable("v" + i);
+    for (final SATSolver s : this.solvers) {
+      s.add(f.cc(CType.EQ, 3, lits));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(3, s.model(Arrays.asList(lits)).positiveLiterals().size());
+      Assert.assertEquals(120, s.enumerateAllModels(Arrays.asList(lits)).size());
+      Assert.assertEquals(TRUE, s.sat());
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    for (final SATSolver s : Arrays.copyOf(this.solvers, 2)) {
+      s.add(parser.parse("(a | b) & (~a | c) & (~b | ~c)"));
+      Assert.assertEquals(TRUE, s.sat(f.literal("a", false)));
+      Assert.assertTrue(s.model().evaluateLit(f.variable("b")));
+      Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.variable("a"), f.variable("b"))));
+      Assert.assertEquals(TRUE, s.sat(Collections.<Literal>singletonList(f.literal("c", false))));
+      Assert.assertTrue(s.model().evaluateLit(f.literal("a", false)));
+      Assert.assertEquals(TRUE, s.sat());
+      s.reset();
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAssumptionsWithoutMiniSat() {
+    final SATSolver s = PortfolioSolver.portfolio(f, Collections.singletonList(CleaneLing.full(f)));
+    s.sat(f.variable("a"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSolver() {
+    PortfolioSolver.portfolio(f, Collections.singletonList(PortfolioSolver.portfolio(f)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testModelBeforeSolving() {
+    PortfolioSolver.portfolio(f).model();
+  }
+
+  @Test
+  public void testSaveAndLoadState() throws ParserException {
+    for (final SATSolver s : Arrays.copyOf(this.solvers, 2)) {
+      s.add(parser.parse("a | b | c"));
+      final SolverState state1 = s.saveState();
+      s.add(parser.parse("~a & ~b"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().evaluateLit(f.variable("c")));
+      final SolverState state2 = s.saveState();
+      s.add(f.literal("c", false));
+      Assert.assertEquals(FALSE, s.sat());
+      s.loadState(state2);
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().evaluateLit(f.variable("c")));
+      s.loadState(state1);
+      s.add(f.literal("c", false));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().evaluateLit(f.literal("c", false)));
+      try {
+        s.loadState(state2);
+        Assert.fail();
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+      s.reset();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSaveStateNonIncremental() {
+    final SATSolver s = PortfolioSolver.portfolio(f, Arrays.asList(MiniSat.miniSat(f,
+            new MiniSatConfig.Builder().incremental(false).build()), CleaneLing.minimalistic(f)));
+    s.saveState();
+  }
+
+  @Test
+  public void testTimeoutSATHandler() {
+    for (final SATSolver s : this.solvers) {
+      s.add(pg.generate(10));
+      Assert.assertEquals(UNDEF, s.sat(new TimeoutSATHandler(1000)));
+      s.reset();
+    }
+  }
+
+  @Test
+  public void testDimacsFiles() throws IOException, ParserException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    final File[] files = new File("tests/sat").listFiles();
+    assert files != null;
+    final SATSolver solver = this.solvers[0];
+    for (final File file : files) {
+      if (!file.getName().endsWith(".cnf"))
+        continue;
+      final List<Formula> clauses = DimacsReader.readCNF(file, f, "v");
+      solver.reset();
+      for (final Formula clause : clauses)
+        solver.add(clause);
+      final boolean result = solver.sat() == TRUE;
+      Assert.assertEquals(file.getName(), expectedResults.get(file.getName()), result);
+      if (result) {
+        final Assignment model = solver.model();
+        for (final Formula clause : clauses)
+          Assert.assertTrue(clause.evaluate(model));
+      }
+    }
+  }
+
+  @Test
+  public void testToString() {
+    Assert.assertEquals("PortfolioSolver{result=UNDEF, incremental=true, solvers=4}", this.solvers[0].toString());
+  }
+}
@@ -0,0 +1,301 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2016 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.io.parsers.DimacsReader;
+import org.logicng.io.parsers.ParserException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * Unit tests for the SatELite-style preprocessing of MiniSat-style solvers.
+ * @version 1.2
+ * @since 1.2
+ */
+public class SatELiteTest {
+
+  @Test
+  public void testDimacsFiles() throws IOException, ParserException {
+    final Map<String, Boolean> expectedResults = new HashMap<>();
+    try (final BufferedReader reader = new BufferedReader(new FileReader("tests/sat/results.txt"))) {
+      while (reader.ready()) {
+        final String[] tokens = reader.readLine().split(";");
+        expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+      }
+    }
+    final File[] files = new File("tests/sat").listFiles();
+    assert files != null;
+    int clausesBefore = 0;
+    int clausesAfter = 0;
+    for (final File file : files) {
+      if (!file.getName().endsWith(".cnf"))
+        continue;
+      final List<LNGIntVector> clauses = readClauses(file);
+      final MiniSatStyleSolver[] solvers = {
+              new MiniSat2Solver(new MiniSatConfig.Builder().incremental(false).build()),
+              new MiniSat2Solver(),
+              new GlucoseSyrup()
+      };
+      for (final MiniSatStyleSolver solver : solvers) {
+        addClauses(solver, clauses);
+        clausesBefore += solver.clauses.size();
+        solver.eliminate();
+        clausesAfter += solver.clauses.size();
+        final Tristate result = solver.solve(null);
+        Assert.assertEquals(file.getName(), expectedResults.get(file.getName()), result == TRUE);
+        if (result == TRUE)
+          assertModel(solver.model(), clauses);
+      }
+    }
+    Assert.assertTrue(clausesAfter < clausesBefore);
+  }
+
+  @Test
+  public void testVariableElimination() {
+    final MiniSat2Solver solver = solver(4);
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(-1, 3));
+    solver.addClause(clause(-1, 4));
+    solver.addClause(clause(-2, -3, -4));
+    solver.setFrozen(1, true);
+    Assert.assertTrue(solver.eliminate());
+    Assert.assertTrue(solver.isEliminated(0));
+    Assert.assertFalse(solver.isEliminated(1));
+    Assert.assertTrue(solver.isFrozen(1));
+    Assert.assertEquals(TRUE, solver.solve(null));
+    assertModel(solver.model(), clauses(clause(1, 2), clause(-1, 3), clause(-1, 4), clause(-2, -3, -4)));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(2)));
+    assertModel(solver.model(), clauses(clause(1, 2), clause(-1, 3), clause(-1, 4), clause(-2, -3, -4)));
+    Assert.assertTrue(solver.model().get(1));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-2)));
+    assertModel(solver.model(), clauses(clause(1, 2), clause(-1, 3), clause(-1, 4), clause(-2, -3, -4)));
+  }
+
+  @Test
+  public void testSubsumption() {
+    final MiniSat2Solver solver = solver(3);
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(1, 2, 3));
+    solver.addClause(clause(1, -2, 3));
+    for (int v = 0; v < 3; v++)
+      solver.setFrozen(v, true);
+    Assert.assertTrue(solver.eliminate());
+    Assert.assertEquals(2, solver.clauses.size());
+    Assert.assertEquals(4, solver.clausesLiterals);
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-1, -2)));
+    Assert.assertEquals(FALSE, solver.solve(null, clause(-1, -3)));
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-1, 2, 3)));
+  }
+
+  @Test
+  public void testOccurrenceCountsWithUnits() {
+    final MiniSat2Solver solver = solver(5);
+    solver.addClause(clause(1, 2, 3));
+    solver.addClause(clause(-1, 2, 4));
+    solver.addClause(clause(-1, -2, 5));
+    solver.addClause(clause(1));
+    for (int v = 0; v < 5; v++)
+      solver.setFrozen(v, true);
+    final SatELite satELite = new SatELite(solver);
+    Assert.assertTrue(satELite.eliminate());
+    for (int lit = 0; lit < 2 * solver.nVars(); lit++)
+      Assert.assertTrue(satELite.numOccurrences(lit) >= 0);
+    Assert.assertEquals(0, satELite.numOccurrences(mkLit(0, false)));
+    Assert.assertEquals(0, satELite.numOccurrences(mkLit(0, true)));
+    Assert.assertEquals(1, satELite.numOccurrences(mkLit(1, false)));
+    Assert.assertEquals(1, satELite.numOccurrences(mkLit(1, true)));
+    Assert.assertEquals(0, satELite.numOccurrences(mkLit(2, false)));
+    Assert.assertEquals(TRUE, solver.solve(null));
+  }
+
+  @Test
+  public void testUnsatisfiable() {
+    final GlucoseSyrup solver = new GlucoseSyrup();
+    for (int i = 0; i < 2; i++)
+      solver.newVar(true, true);
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(1, -2));
+    solver.addClause(clause(-1, 2));
+    solver.addClause(clause(-1, -2));
+    Assert.assertFalse(solver.eliminate());
+    Assert.assertEquals(FALSE, solver.solve(null));
+  }
+
+  @Test
+  public void testIncrementalAfterElimination() {
+    final MiniSat2Solver solver = solver(4);
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(-1, 3));
+    solver.addClause(clause(-3, 4));
+    solver.setFrozen(1, true);
+    solver.setFrozen(3, true);
+    Assert.assertTrue(solver.eliminate());
+    final int[] state = solver.saveState();
+    solver.addClause(clause(-2));
+    solver.addClause(clause(-4));
+    Assert.assertEquals(FALSE, solver.solve(null));
+    solver.loadState(state);
+    Assert.assertEquals(TRUE, solver.solve(null, clause(-4)));
+    assertModel(solver.model(), clauses(clause(1, 2), clause(-1, 3), clause(-3, 4), clause(-4)));
+  }
+
+  @Test
+  public void testBlockedClauseEliminationMarksVariable() {
+    final MiniSat2Solver solver = solver(8);
+    final List<LNGIntVector> clauses = clauses(clause(1, 2), clause(1, 3), clause(1, 4), clause(-1, -2, 5),
+            clause(-1, -2, 6), clause(-1, -2, 7), clause(-1, -2, 8));
+    addClauses(solver, clauses);
+    for (int v = 1; v < 8; v++)
+      solver.setFrozen(v, true);
+    Assert.assertTrue(solver.eliminate());
+    Assert.assertEquals(6, solver.clauses.size());
+    Assert.assertTrue(solver.isEliminated(0));
+    try {
+      solver.addClause(clause(-1));
+      Assert.fail();
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+    solver.addClause(clause(-2));
+    Assert.assertEquals(TRUE, solver.solve(null));
+    assertModel(solver.model(), clauses);
+  }
+
+  @Test
+  public void testSavedEliminationCount() {
+    final MiniSat2Solver solver = solver(2);
+    solver.addClause(clause(1, 2));
+    Assert.assertArrayEquals(new int[]{1, 2, 1, 0, 0, 0}, solver.saveState());
+    Assert.assertTrue(solver.eliminate());
+    Assert.assertEquals(1, solver.saveState()[5]);
+    final MiniSat2Solver unsat = solver(2);
+    unsat.addClause(clause(1, 2));
+    unsat.addClause(clause(1, -2));
+    unsat.addClause(clause(-1, 2));
+    unsat.addClause(clause(-1, -2));
+    Assert.assertFalse(unsat.eliminate());
+    Assert.assertEquals(0, unsat.saveState()[5]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadStateBeforeElimination() {
+    final MiniSat2Solver solver = solver(4);
+    solver.addClause(clause(1, 2));
+    solver.addClause(clause(-1, 3));
+    solver.setFrozen(2, true);
+    final int[] state = solver.saveState();
+    Assert.assertTrue(solver.eliminate());
+    solver.loadState(state);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddClauseWithEliminatedVariable() {
+    final MiniSat2Solver solver = solver(2);
+    solver.addClause(clause(1, 2));
+    Assert.assertTrue(solver.eliminate());
+    solver.addClause(clause(-1, -2));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAssumptionWithEliminatedVariable() {
+    final GlucoseSyrup solver = new GlucoseSyrup();
+    solver.newVar(true, true);
+    solver.newVar(true, true);
+    solver.addClause(clause(1, 2));
+    Assert.assertTrue(solver.eliminate());
+    solver.solve(null, clause(-1));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testMiniCard() {
+    new MiniCard().eliminate();
+  }
+
+  private static MiniSat2Solver solver(final int numVars) {
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    for (int i = 0; i < numVars; i++)
+      solver.newVar(true, true);
+    return solver;
+  }
+
+  private static List<LNGIntVector> readClauses(final File file) throws IOException, ParserException {
+    final List<LNGIntVector> clauses = new ArrayList<>();
+    DimacsReader.read(file, clause -> clauses.add(clause(clause.toArray())));
+    return clauses;
+  }
+
+  private static void addClauses(final MiniSatStyleSolver solver, final List<LNGIntVector> clauses) {
+    for (final LNGIntVector clause : clauses) {
+      for (int i = 0; i < clause.size(); i++)
+        while (solver.nVars() <= var(clause.get(i)))
+          solver.newVar(true, true);
+      solver.addClause(new LNGIntVector(clause));
+    }
+  }
+
+  private static void assertModel(final LNGBooleanVector model, final List<LNGIntVector> clauses) {
+    for (final LNGIntVector clause : clauses) {
+      boolean satisfied = false;
+      for (int i = 0; i < clause.size() && !satisfied; i++)
+        satisfied = model.get(var(clause.get(i))) != sign(clause.get(i));
+      Assert.assertTrue(clause.toString(), satisfied);
+    }
+  }
+
+  private static List<LNGIntVector> clauses(final LNGIntVector... clauses) {
+    final List<LNGIntVector> result = new ArrayList<>();
+    for (final LNGIntVector clause : clauses)
+      result.add(new LNGIntVector(clause));
+    return result;
+  }
+
+  private static LNGIntVector clause(final int... lits) {
+    final LNGIntVector clause = new LNGIntVector(lits.length);
+    for (final int lit : lits)
+      clause.push(mkLit(Math.abs(lit) - 1, lit < 0));
+    return clause;
+  }
+}